@@ -0,0 +1,93 @@
+package pdfact.benchmarks;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Resolves the names of the documents to run the benchmarks on to PDF files.
+ *
+ * <p>
+ * A document name is one of the following:
+ * <ul>
+ * <li>"synthetic-N", which denotes a synthetic document with N pages, generated by
+ * {@link SyntheticPdfGenerator};</li>
+ * <li>the file name of a PDF bundled with the benchmarks (the test PDFs of the other modules,
+ * for example "ACL_2004.pdf");</li>
+ * <li>a path to any other PDF file.</li>
+ * </ul>
+ *
+ * @author Claudius Korzen
+ */
+public class BenchmarkDocuments {
+  /**
+   * The prefix of the names of synthetic documents.
+   */
+  public static final String SYNTHETIC_PREFIX = "synthetic-";
+
+  /**
+   * The directory of the bundled PDFs on the classpath.
+   */
+  protected static final String BUNDLED_PDFS_DIR = "/pdfs/";
+
+  // ==============================================================================================
+
+  /**
+   * Resolves the given document name to a PDF file. Synthetic and bundled documents are written
+   * to a temporary file, which is deleted on exit.
+   *
+   * @param name The name of the document.
+   *
+   * @return The path to the PDF file.
+   *
+   * @throws IOException If the document couldn't be resolved.
+   */
+  public static Path resolve(String name) throws IOException {
+    if (name.startsWith(SYNTHETIC_PREFIX)) {
+      int numPages;
+      try {
+        numPages = Integer.parseInt(name.substring(SYNTHETIC_PREFIX.length()));
+      } catch (NumberFormatException e) {
+        throw new IOException("Invalid number of pages in '" + name + "'.", e);
+      }
+
+      Path file = createTempFile(name);
+      new SyntheticPdfGenerator().generate(numPages, file);
+      return file;
+    }
+
+    try (InputStream stream = BenchmarkDocuments.class.getResourceAsStream(
+        BUNDLED_PDFS_DIR + name)) {
+      if (stream != null) {
+        Path file = createTempFile(name);
+        Files.copy(stream, file, StandardCopyOption.REPLACE_EXISTING);
+        return file;
+      }
+    }
+
+    Path file = Paths.get(name);
+    if (!Files.isReadable(file)) {
+      throw new IOException("The document '" + name + "' is neither a synthetic document, a "
+          + "bundled document nor a readable file.");
+    }
+    return file;
+  }
+
+  /**
+   * Creates a temporary PDF file that is deleted on exit.
+   *
+   * @param name The name of the document to be written to the file.
+   *
+   * @return The path to the temporary file.
+   *
+   * @throws IOException If the file couldn't be created.
+   */
+  protected static Path createTempFile(String name) throws IOException {
+    Path file = Files.createTempFile("pdfact-benchmark-" + name.replace(".pdf", "") + "-", ".pdf");
+    file.toFile().deleteOnExit();
+    return file;
+  }
+}
@@ -0,0 +1,75 @@
+package pdfact.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import pdfact.cli.model.SerializationFormat;
+import pdfact.core.model.Document;
+import pdfact.core.pipes.PlainPdfActCorePipe;
+import pdfact.core.util.binary.PdfBinaryReader;
+
+/**
+ * Benchmarks reading a document from its binary serialization.
+ *
+ * @author Claudius Korzen
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BinaryReaderBenchmark {
+  /**
+   * The name of the document to serialize and read, see {@link BenchmarkDocuments}.
+   */
+  @Param({ "ACL_2004.pdf", "synthetic-10", "synthetic-100" })
+  public String document;
+
+  /**
+   * The binary serialization of the document.
+   */
+  protected byte[] serialization;
+
+  // ==============================================================================================
+
+  /**
+   * Processes and serializes the document.
+   *
+   * @throws Exception If processing or serializing the document failed.
+   */
+  @Setup(Level.Trial)
+  public void setup() throws Exception {
+    Document pdf = new PlainPdfActCorePipe().execute(
+        new Document(BenchmarkDocuments.resolve(this.document)));
+    this.serialization = SerializerBenchmark.newSerializer(SerializationFormat.BINARY)
+        .serialize(pdf);
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Reads the document from its binary serialization.
+   *
+   * @return The read document.
+   *
+   * @throws Exception If reading the document failed.
+   */
+  @Benchmark
+  public Document read() throws Exception {
+    return new PdfBinaryReader().read(new ByteArrayInputStream(this.serialization));
+  }
+}
@@ -0,0 +1,117 @@
+package pdfact.benchmarks;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import pdfact.core.model.Document;
+import pdfact.core.util.pipeline.Pipe;
+
+/**
+ * Benchmarks each pipe of the core pipeline on its own.
+ *
+ * <p>
+ * Since the pipes modify the document, each invocation of a pipe gets a freshly parsed document,
+ * processed by all pipes in front of the benchmarked pipe. This preparation is not measured, but
+ * takes time; use "-p document=..." and "-p pipe=..." to restrict a run to the documents and
+ * pipes of interest.
+ *
+ * @author Claudius Korzen
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class CorePipeBenchmark {
+  /**
+   * The name of the document to process, see {@link BenchmarkDocuments}.
+   */
+  @Param({ "ACL_2004.pdf", "synthetic-10", "synthetic-100" })
+  public String document;
+
+  /**
+   * The simple class name of the pipe to benchmark.
+   */
+  @Param({ "PlainParseDocumentPipe", "PlainMergeDiacriticsPipe", "PlainSplitLigaturesPipe",
+      "PlainStandardizeCharactersPipe", "PlainFilterCharactersPipe", "PlainFilterFiguresPipe",
+      "PlainFilterShapesPipe", "XYCutTokenizeToTextAreasPipe", "PlainTokenizeToTextLinesPipe",
+      "XYCutTokenizeToWordsPipe", "PlainTokenizeToTextBlocksPipe", "PlainDetectSemanticsPipe",
+      "PlainTokenizeToParagraphsPipe", "PlainDehyphenateWordsPipe" })
+  public String pipe;
+
+  /**
+   * The path to the PDF file to process.
+   */
+  protected Path path;
+
+  /**
+   * The pipes of the core pipeline, for the current invocation.
+   */
+  protected List<Pipe> pipes;
+
+  /**
+   * The index of the benchmarked pipe in the core pipeline.
+   */
+  protected int pipeIndex;
+
+  /**
+   * The document to pass to the benchmarked pipe in the current invocation.
+   */
+  protected Document pdf;
+
+  // ==============================================================================================
+
+  /**
+   * Resolves the document and the pipe to benchmark.
+   *
+   * @throws Exception If the document couldn't be resolved.
+   */
+  @Setup(Level.Trial)
+  public void setupTrial() throws Exception {
+    this.path = BenchmarkDocuments.resolve(this.document);
+    this.pipeIndex = CorePipes.indexOf(CorePipes.newPipes(), this.pipe);
+  }
+
+  /**
+   * Parses the document and processes it by all pipes in front of the benchmarked pipe.
+   *
+   * @throws Exception If processing the document failed.
+   */
+  @Setup(Level.Invocation)
+  public void setupInvocation() throws Exception {
+    this.pipes = CorePipes.newPipes();
+    this.pdf = new Document(this.path);
+    for (int i = 0; i < this.pipeIndex; i++) {
+      this.pdf = this.pipes.get(i).execute(this.pdf);
+    }
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Executes the benchmarked pipe.
+   *
+   * @return The processed document.
+   *
+   * @throws Exception If executing the pipe failed.
+   */
+  @Benchmark
+  public Document execute() throws Exception {
+    return this.pipes.get(this.pipeIndex).execute(this.pdf);
+  }
+}
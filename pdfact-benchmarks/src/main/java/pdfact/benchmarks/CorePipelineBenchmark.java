@@ -0,0 +1,70 @@
+package pdfact.benchmarks;
+
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import pdfact.core.model.Document;
+import pdfact.core.pipes.PlainPdfActCorePipe;
+
+/**
+ * Benchmarks the whole core pipeline, from parsing a PDF file to dehyphenating the words.
+ *
+ * @author Claudius Korzen
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class CorePipelineBenchmark {
+  /**
+   * The name of the document to process, see {@link BenchmarkDocuments}.
+   */
+  @Param({ "ACL_2004.pdf", "synthetic-10", "synthetic-100" })
+  public String document;
+
+  /**
+   * The path to the PDF file to process.
+   */
+  protected Path path;
+
+  // ==============================================================================================
+
+  /**
+   * Resolves the document to process.
+   *
+   * @throws Exception If the document couldn't be resolved.
+   */
+  @Setup(Level.Trial)
+  public void setup() throws Exception {
+    this.path = BenchmarkDocuments.resolve(this.document);
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Processes the document by the core pipeline.
+   *
+   * @return The processed document.
+   *
+   * @throws Exception If processing the document failed.
+   */
+  @Benchmark
+  public Document process() throws Exception {
+    return new PlainPdfActCorePipe().execute(new Document(this.path));
+  }
+}
@@ -0,0 +1,47 @@
+package pdfact.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import pdfact.core.pipes.PlainPdfActCorePipe;
+import pdfact.core.util.pipeline.Pipe;
+import pdfact.core.util.pipeline.Pipeline;
+import pdfact.core.util.pipeline.PlainPipeline;
+
+/**
+ * Provides the pipes of the core pipeline, in the order in which they are executed by
+ * {@link PlainPdfActCorePipe}, such that the benchmarks always cover the current pipeline.
+ *
+ * @author Claudius Korzen
+ */
+public class CorePipes extends PlainPdfActCorePipe {
+  /**
+   * Creates new instances of the pipes of the core pipeline.
+   *
+   * @return The pipes, in the order of their execution.
+   */
+  public static List<Pipe> newPipes() {
+    Pipeline pipeline = new PlainPipeline();
+    new CorePipes().addPipes(pipeline, new ArrayList<String>());
+    return pipeline.getPipes();
+  }
+
+  /**
+   * Returns the index of the pipe with the given (simple) class name in the given list of pipes.
+   *
+   * @param pipes The list of pipes.
+   * @param name  The simple class name of the pipe, for example: "PlainParseDocumentPipe".
+   *
+   * @return The index of the pipe in the given list.
+   *
+   * @throws IllegalArgumentException If there is no pipe with the given class name.
+   */
+  public static int indexOf(List<Pipe> pipes, String name) {
+    for (int i = 0; i < pipes.size(); i++) {
+      if (pipes.get(i).getClass().getSimpleName().equals(name)) {
+        return i;
+      }
+    }
+    throw new IllegalArgumentException("The core pipeline doesn't contain a pipe '" + name + "'.");
+  }
+}
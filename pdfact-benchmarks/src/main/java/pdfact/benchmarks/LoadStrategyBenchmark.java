@@ -0,0 +1,90 @@
+package pdfact.benchmarks;
+
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import pdfact.core.model.Document;
+import pdfact.core.model.LoadStrategy;
+import pdfact.core.pipes.parse.ParseDocumentPipe;
+import pdfact.core.pipes.parse.PlainParseDocumentPipe;
+
+/**
+ * Benchmarks the parsing of a PDF file with the different strategies to load the PDF file. The
+ * heap needed by a strategy can be compared by running this benchmark with the GC profiler
+ * ("-prof gc") and with decreasing maximum heap sizes ("-jvmArgs -Xmx..."), the throughput by
+ * the measured times.
+ *
+ * @author Claudius Korzen
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class LoadStrategyBenchmark {
+  /**
+   * The name of the document to parse, see {@link BenchmarkDocuments}.
+   */
+  @Param({ "ACL_2004.pdf", "synthetic-100" })
+  public String document;
+
+  /**
+   * The name of the strategy to load the PDF file, see {@link LoadStrategy}.
+   */
+  @Param({ "main-memory", "mixed", "temp-file" })
+  public String strategy;
+
+  /**
+   * The maximum number of megabytes to buffer in main memory with the strategy "mixed".
+   */
+  @Param({ "1" })
+  public long maxMainMemoryMegabytes;
+
+  /**
+   * The path to the PDF file to parse.
+   */
+  protected Path path;
+
+  // ==============================================================================================
+
+  /**
+   * Resolves the document to parse.
+   *
+   * @throws Exception If the document couldn't be resolved.
+   */
+  @Setup(Level.Trial)
+  public void setup() throws Exception {
+    this.path = BenchmarkDocuments.resolve(this.document);
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Parses the document with the load strategy to benchmark.
+   *
+   * @return The parsed document.
+   *
+   * @throws Exception If parsing the document failed.
+   */
+  @Benchmark
+  public Document parse() throws Exception {
+    ParseDocumentPipe pipe = new PlainParseDocumentPipe();
+    pipe.setLoadStrategy(LoadStrategy.fromString(this.strategy));
+    pipe.setMaxMainMemoryBytes(this.maxMainMemoryMegabytes * 1024 * 1024);
+    return pipe.execute(new Document(this.path));
+  }
+}
@@ -0,0 +1,150 @@
+package pdfact.benchmarks;
+
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import pdfact.cli.model.ExtractionUnit;
+import pdfact.cli.model.SerializationFormat;
+import pdfact.cli.pipes.serialize.PdfBinarySerializer;
+import pdfact.cli.pipes.serialize.PdfJsonSerializer;
+import pdfact.cli.pipes.serialize.PdfSerializer;
+import pdfact.cli.pipes.serialize.PdfStreamSerializer;
+import pdfact.cli.pipes.serialize.PdfTxtSerializer;
+import pdfact.cli.pipes.serialize.PdfXmlSerializer;
+import pdfact.core.model.Document;
+import pdfact.core.model.SemanticRole;
+import pdfact.core.pipes.PlainPdfActCorePipe;
+
+/**
+ * Benchmarks each serializer on a processed document, with all extraction units and all semantic
+ * roles. The serialization is written to a stream that discards it, so that only the cost of
+ * serializing is measured.
+ *
+ * @author Claudius Korzen
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializerBenchmark {
+  /**
+   * The name of the document to serialize, see {@link BenchmarkDocuments}.
+   */
+  @Param({ "ACL_2004.pdf", "synthetic-10", "synthetic-100" })
+  public String document;
+
+  /**
+   * The name of the serialization format.
+   */
+  @Param({ "txt", "xml", "json", "binary" })
+  public String format;
+
+  /**
+   * The processed document to serialize.
+   */
+  protected Document pdf;
+
+  /**
+   * The serializer to benchmark.
+   */
+  protected PdfSerializer serializer;
+
+  // ==============================================================================================
+
+  /**
+   * Processes the document and creates the serializer.
+   *
+   * @throws Exception If processing the document failed.
+   */
+  @Setup(Level.Trial)
+  public void setup() throws Exception {
+    this.pdf = new PlainPdfActCorePipe().execute(
+        new Document(BenchmarkDocuments.resolve(this.document)));
+    this.serializer = newSerializer(SerializationFormat.fromString(this.format));
+  }
+
+  /**
+   * Creates a serializer for the given format that serializes all extraction units and all
+   * semantic roles.
+   *
+   * @param format The serialization format.
+   *
+   * @return The serializer.
+   */
+  protected static PdfSerializer newSerializer(SerializationFormat format) {
+    Set<ExtractionUnit> units = new HashSet<>(Arrays.asList(ExtractionUnit.values()));
+    Set<SemanticRole> roles = new HashSet<>(Arrays.asList(SemanticRole.values()));
+
+    switch (format) {
+      case XML:
+        return new PdfXmlSerializer(units, roles);
+      case JSON:
+        return new PdfJsonSerializer(units, roles);
+      case BINARY:
+        return new PdfBinarySerializer(units, roles);
+      case TXT:
+        return new PdfTxtSerializer(false, units, roles);
+      default:
+        throw new IllegalArgumentException("Unknown serialization format '" + format + "'.");
+    }
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Serializes the document.
+   *
+   * @return The number of bytes of the serialization.
+   *
+   * @throws Exception If serializing the document failed.
+   */
+  @Benchmark
+  public long serialize() throws Exception {
+    if (this.serializer instanceof PdfStreamSerializer) {
+      CountingOutputStream stream = new CountingOutputStream();
+      ((PdfStreamSerializer) this.serializer).serialize(this.pdf, stream);
+      return stream.count;
+    }
+    return this.serializer.serialize(this.pdf).length;
+  }
+
+  // ==============================================================================================
+
+  /**
+   * An output stream that discards all bytes written to it, but counts them.
+   */
+  protected static class CountingOutputStream extends OutputStream {
+    /**
+     * The number of bytes written to this stream.
+     */
+    protected long count;
+
+    @Override
+    public void write(int b) {
+      this.count++;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+      this.count += len;
+    }
+  }
+}
@@ -0,0 +1,438 @@
+package pdfact.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.font.PDFont;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+
+/**
+ * A generator of synthetic PDF documents with an arbitrary number of pages, for benchmarking
+ * PdfAct on documents that are larger than the bundled test PDFs.
+ *
+ * <p>
+ * The generated documents are laid out like a typical two-column research paper: the first page
+ * starts with a title, an author line and a horizontal rule; the body text consists of sections
+ * with headings and paragraphs of pseudo-random words (some of which are hyphenated at the end of
+ * a line); each page has a page number in its footer. The words are drawn from a fixed seed, so
+ * the documents generated for the same number of pages are identical.
+ *
+ * @author Claudius Korzen
+ */
+public class SyntheticPdfGenerator {
+  /**
+   * The words from which the text is composed.
+   */
+  protected static final String[] WORDS = { "the", "of", "and", "a", "to", "in", "is", "that",
+      "for", "we", "on", "with", "as", "by", "this", "are", "from", "be", "which", "an",
+      "extraction", "document", "paragraph", "structure", "layout", "information", "evaluation",
+      "approach", "character", "semantic", "representation", "experiments", "performance",
+      "algorithm", "heading", "recognition", "conditional", "probability", "segmentation",
+      "dataset", "results", "method", "model", "text", "page", "column", "figure", "table",
+      "accuracy", "precision", "recall", "features", "training", "corpus", "baseline",
+      "significantly", "respectively", "furthermore", "consequently", "nevertheless" };
+
+  /**
+   * The width and the height of a page.
+   */
+  protected static final PDRectangle PAGE_SIZE = PDRectangle.A4;
+
+  /**
+   * The margin of a page.
+   */
+  protected static final float MARGIN = 72;
+
+  /**
+   * The gap between two columns.
+   */
+  protected static final float COLUMN_GAP = 20;
+
+  /**
+   * The font of the body text.
+   */
+  protected static final PDFont BODY_FONT = PDType1Font.TIMES_ROMAN;
+
+  /**
+   * The font size of the body text.
+   */
+  protected static final float BODY_FONT_SIZE = 10;
+
+  /**
+   * The font of the headings.
+   */
+  protected static final PDFont HEADING_FONT = PDType1Font.TIMES_BOLD;
+
+  /**
+   * The font size of the headings.
+   */
+  protected static final float HEADING_FONT_SIZE = 12;
+
+  /**
+   * The distance between the baselines of two lines, relative to the font size.
+   */
+  protected static final float LINE_PITCH = 1.2f;
+
+  /**
+   * The seed of the random generator.
+   */
+  protected static final long SEED = 42;
+
+  // ==============================================================================================
+
+  /**
+   * The document currently generated.
+   */
+  protected PDDocument document;
+
+  /**
+   * The content stream of the current page.
+   */
+  protected PDPageContentStream stream;
+
+  /**
+   * The number of the current page.
+   */
+  protected int pageNumber;
+
+  /**
+   * The index of the current column.
+   */
+  protected int column;
+
+  /**
+   * The y-coordinate of the baseline of the next line in the current column.
+   */
+  protected float y;
+
+  /**
+   * The upper y-coordinate of the columns on the current page.
+   */
+  protected float columnsTop;
+
+  /**
+   * The random generator.
+   */
+  protected Random random;
+
+  // ==============================================================================================
+
+  /**
+   * Generates a synthetic PDF document with the given number of pages and writes it to the given
+   * file.
+   *
+   * @param numPages The number of pages to generate.
+   * @param target   The file to write the document to.
+   *
+   * @throws IOException If writing the document failed.
+   */
+  public void generate(int numPages, Path target) throws IOException {
+    this.random = new Random(SEED);
+    this.document = new PDDocument();
+    this.pageNumber = 0;
+
+    try {
+      newPage();
+      writeTitle();
+
+      int sectionNumber = 1;
+      while (this.pageNumber <= numPages) {
+        if (!writeHeading(sectionNumber + " " + randomWords(2 + this.random.nextInt(3)),
+            numPages)) {
+          break;
+        }
+        int numParagraphs = 2 + this.random.nextInt(4);
+        for (int i = 0; i < numParagraphs && this.pageNumber <= numPages; i++) {
+          writeParagraph(40 + this.random.nextInt(120), numPages);
+        }
+        sectionNumber++;
+      }
+
+      this.stream.close();
+      this.stream = null;
+
+      // Remove the page that was started after the last requested page was full.
+      while (this.document.getNumberOfPages() > numPages) {
+        this.document.removePage(this.document.getNumberOfPages() - 1);
+      }
+
+      this.document.save(target.toFile());
+    } finally {
+      if (this.stream != null) {
+        this.stream.close();
+      }
+      this.document.close();
+      this.document = null;
+    }
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Writes the title, the author line and a horizontal rule at the top of the first page.
+   *
+   * @throws IOException If writing to the content stream failed.
+   */
+  protected void writeTitle() throws IOException {
+    float width = PAGE_SIZE.getWidth();
+    float top = PAGE_SIZE.getHeight() - MARGIN;
+
+    String title = "A Synthetic Document for Benchmarking Information Extraction";
+    writeCentered(title, PDType1Font.TIMES_BOLD, 16, top - 16);
+    writeCentered("Jane Doe and John Roe", PDType1Font.TIMES_ITALIC, 11, top - 40);
+
+    this.stream.addRect(MARGIN, top - 54, width - 2 * MARGIN, 0.5f);
+    this.stream.fill();
+
+    this.columnsTop = top - 70;
+    this.y = this.columnsTop;
+  }
+
+  /**
+   * Writes a heading to the current column.
+   *
+   * @param heading  The text of the heading.
+   * @param numPages The number of pages to generate.
+   *
+   * @return False, if all pages were filled before the heading could be written; true otherwise.
+   *
+   * @throws IOException If writing to the content stream failed.
+   */
+  protected boolean writeHeading(String heading, int numPages) throws IOException {
+    float pitch = HEADING_FONT_SIZE * LINE_PITCH;
+    // Don't write a heading at the very end of a column.
+    if (this.y - 3 * pitch < MARGIN) {
+      nextColumn();
+    }
+    if (this.pageNumber > numPages) {
+      return false;
+    }
+    if (this.y < this.columnsTop) {
+      this.y -= pitch / 2;
+    }
+    writeLine(heading, HEADING_FONT, HEADING_FONT_SIZE, getColumnX());
+    this.y -= pitch;
+    return true;
+  }
+
+  /**
+   * Writes a paragraph with the given number of words to the current column, breaking the text
+   * into lines (and the lines into columns and pages) as needed.
+   *
+   * @param numWords The number of words of the paragraph.
+   * @param numPages The number of pages to generate.
+   *
+   * @throws IOException If writing to the content stream failed.
+   */
+  protected void writeParagraph(int numWords, int numPages) throws IOException {
+    float columnWidth = getColumnWidth();
+    float pitch = BODY_FONT_SIZE * LINE_PITCH;
+
+    List<String> words = new ArrayList<>();
+    for (int i = 0; i < numWords; i++) {
+      words.add(WORDS[this.random.nextInt(WORDS.length)]);
+    }
+
+    StringBuilder line = new StringBuilder();
+    int i = 0;
+    while (i < words.size()) {
+      String word = words.get(i);
+      String candidate = line.length() == 0 ? word : line + " " + word;
+      if (getWidth(candidate, BODY_FONT, BODY_FONT_SIZE) <= columnWidth) {
+        line.setLength(0);
+        line.append(candidate);
+        i++;
+        continue;
+      }
+
+      // The word doesn't fit into the line. Hyphenate long words, move short words to the next
+      // line.
+      if (word.length() >= 8) {
+        String prefix = word.substring(0, word.length() / 2);
+        String hyphenated = (line.length() == 0 ? "" : line + " ") + prefix + "-";
+        if (getWidth(hyphenated, BODY_FONT, BODY_FONT_SIZE) <= columnWidth) {
+          line.setLength(0);
+          line.append(hyphenated);
+          words.set(i, word.substring(prefix.length()));
+        }
+      }
+      if (line.length() == 0) {
+        // A single word that doesn't fit into an empty line.
+        line.append(word);
+        i++;
+      }
+
+      if (!writeBodyLine(line.toString(), pitch, numPages)) {
+        return;
+      }
+      line.setLength(0);
+    }
+
+    if (line.length() > 0) {
+      writeBodyLine(line.toString(), pitch, numPages);
+    }
+    // Separate the paragraphs by a vertical gap.
+    this.y -= pitch / 2;
+  }
+
+  /**
+   * Writes a line of the body text to the current column, moving to the next column or page
+   * first if the current column is full.
+   *
+   * @param text     The text of the line.
+   * @param pitch    The distance between the baselines of two lines.
+   * @param numPages The number of pages to generate.
+   *
+   * @return False, if all pages were filled before the line could be written; true otherwise.
+   *
+   * @throws IOException If writing to the content stream failed.
+   */
+  protected boolean writeBodyLine(String text, float pitch, int numPages) throws IOException {
+    if (this.y - pitch < MARGIN) {
+      nextColumn();
+    }
+    if (this.pageNumber > numPages) {
+      return false;
+    }
+    writeLine(text, BODY_FONT, BODY_FONT_SIZE, getColumnX());
+    this.y -= pitch;
+    return true;
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Moves to the next column, starting a new page if the current column is the last column.
+   *
+   * @throws IOException If writing to the content stream failed.
+   */
+  protected void nextColumn() throws IOException {
+    if (this.column == 0) {
+      this.column = 1;
+      this.y = this.columnsTop;
+    } else {
+      newPage();
+    }
+  }
+
+  /**
+   * Finishes the current page (if any) and starts a new page.
+   *
+   * @throws IOException If writing to the content stream failed.
+   */
+  protected void newPage() throws IOException {
+    if (this.stream != null) {
+      this.stream.close();
+    }
+
+    PDPage page = new PDPage(PAGE_SIZE);
+    this.document.addPage(page);
+    this.stream = new PDPageContentStream(this.document, page);
+    this.pageNumber++;
+    this.column = 0;
+    this.columnsTop = PAGE_SIZE.getHeight() - MARGIN;
+    this.y = this.columnsTop;
+
+    // Write the page number to the footer.
+    writeCentered(Integer.toString(this.pageNumber), BODY_FONT, BODY_FONT_SIZE, MARGIN / 2);
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Writes the given text at the current y-coordinate.
+   *
+   * @param text     The text to write.
+   * @param font     The font of the text.
+   * @param fontSize The font size of the text.
+   * @param x        The x-coordinate of the text.
+   *
+   * @throws IOException If writing to the content stream failed.
+   */
+  protected void writeLine(String text, PDFont font, float fontSize, float x)
+      throws IOException {
+    this.stream.beginText();
+    this.stream.setFont(font, fontSize);
+    this.stream.newLineAtOffset(x, this.y);
+    this.stream.showText(text);
+    this.stream.endText();
+  }
+
+  /**
+   * Writes the given text horizontally centered on the page.
+   *
+   * @param text     The text to write.
+   * @param font     The font of the text.
+   * @param fontSize The font size of the text.
+   * @param baseline The y-coordinate of the baseline of the text.
+   *
+   * @throws IOException If writing to the content stream failed.
+   */
+  protected void writeCentered(String text, PDFont font, float fontSize, float baseline)
+      throws IOException {
+    float x = (PAGE_SIZE.getWidth() - getWidth(text, font, fontSize)) / 2;
+    this.stream.beginText();
+    this.stream.setFont(font, fontSize);
+    this.stream.newLineAtOffset(x, baseline);
+    this.stream.showText(text);
+    this.stream.endText();
+  }
+
+  /**
+   * Returns the x-coordinate of the current column.
+   *
+   * @return The x-coordinate of the current column.
+   */
+  protected float getColumnX() {
+    return MARGIN + this.column * (getColumnWidth() + COLUMN_GAP);
+  }
+
+  /**
+   * Returns the width of a column.
+   *
+   * @return The width of a column.
+   */
+  protected float getColumnWidth() {
+    return (PAGE_SIZE.getWidth() - 2 * MARGIN - COLUMN_GAP) / 2;
+  }
+
+  /**
+   * Returns the width of the given text.
+   *
+   * @param text     The text.
+   * @param font     The font of the text.
+   * @param fontSize The font size of the text.
+   *
+   * @return The width of the given text.
+   *
+   * @throws IOException If the width couldn't be computed.
+   */
+  protected float getWidth(String text, PDFont font, float fontSize) throws IOException {
+    return font.getStringWidth(text) / 1000 * fontSize;
+  }
+
+  /**
+   * Returns a string of the given number of random words, with the first letter capitalized.
+   *
+   * @param numWords The number of words.
+   *
+   * @return The string of random words.
+   */
+  protected String randomWords(int numWords) {
+    StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < numWords; i++) {
+      String word = WORDS[this.random.nextInt(WORDS.length)];
+      if (i > 0) {
+        sb.append(" ");
+      }
+      sb.append(i == 0 ? Character.toUpperCase(word.charAt(0)) + word.substring(1) : word);
+    }
+    return sb.toString();
+  }
+}
@@ -2,18 +2,39 @@ package pdfact.cli;
 
 import static org.apache.logging.log4j.Level.DEBUG;
 import static org.apache.logging.log4j.Level.ERROR;
+import static pdfact.cli.PdfActCliSettings.DEFAULT_NUM_BATCH_THREADS;
+import static pdfact.cli.PdfActCliSettings.DEFAULT_SERIALIZE_FORMAT;
+import static pdfact.core.PdfActCoreSettings.DEFAULT_LOAD_STRATEGY;
+import static pdfact.core.PdfActCoreSettings.DEFAULT_MAX_MAIN_MEMORY_BYTES;
+import static pdfact.core.PdfActCoreSettings.DEFAULT_NUM_PARSE_THREADS;
+import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import org.apache.logging.log4j.core.config.Configurator;
 import pdfact.cli.model.ExtractionUnit;
 import pdfact.cli.model.SerializationFormat;
 import pdfact.cli.pipes.PdfActServicePipe;
 import pdfact.cli.pipes.PlainPdfActServicePipe;
+import pdfact.cli.util.exception.PdfActBatchException;
 import pdfact.core.model.Document;
+import pdfact.core.model.LoadStrategy;
+import pdfact.core.model.PageSelection;
 import pdfact.core.model.SemanticRole;
 import pdfact.core.util.exception.PdfActException;
+import pdfact.core.util.pipeline.PipelineMetrics;
 
 /**
  * The main class of PdfAct.
@@ -114,6 +135,59 @@ public class PdfAct {
    */
   protected boolean isPdfJsMode;
 
+  /**
+   * The number of threads to use on parsing the pages of a PDF file.
+   */
+  protected int numParseThreads = DEFAULT_NUM_PARSE_THREADS;
+
+  /**
+   * The number of PDF files to process in parallel in batch mode.
+   */
+  protected int numBatchThreads = DEFAULT_NUM_BATCH_THREADS;
+
+  /**
+   * The boolean flag indicating whether or not a PDF file is processed page by page.
+   */
+  protected boolean isStreaming;
+
+  /**
+   * The boolean flag indicating whether or not only the text of a PDF file is parsed.
+   */
+  protected boolean isTextOnly;
+
+  /**
+   * The strategy to load a PDF file.
+   */
+  protected LoadStrategy loadStrategy = DEFAULT_LOAD_STRATEGY;
+
+  /**
+   * The maximum number of bytes to buffer in main memory on loading a PDF file with the strategy
+   * {@link LoadStrategy#MIXED}.
+   */
+  protected long maxMainMemoryBytes = DEFAULT_MAX_MAIN_MEMORY_BYTES;
+
+  /**
+   * The pages of a PDF file to process; null if all pages should be processed.
+   */
+  protected PageSelection pageSelection;
+
+  /**
+   * The boolean flag indicating whether or not only the first pages needed to find the semantic
+   * roles to extract are processed.
+   */
+  protected boolean isEarlyTermination;
+
+  /**
+   * The boolean flag indicating whether or not the JSON serialization is written compactly.
+   */
+  protected boolean isCompact;
+
+  /**
+   * The collector into which the metrics of the executed pipes are recorded; null if no metrics
+   * should be recorded.
+   */
+  protected PipelineMetrics metrics;
+
   // ==============================================================================================
 
   /**
@@ -139,18 +213,146 @@ public class PdfAct {
    * @throws PdfActException If something went wrong on parsing the PDF.
    */
   public Document parse(Path pdfPath) throws PdfActException {
-    // Set the different debug levels according to the given debug flags.
-    Configurator.setLevel("pdf-parsing", this.isDebugPdfParsing ? DEBUG : ERROR);
-    Configurator.setLevel("char-extraction", this.isDebugCharacterExtraction ? DEBUG : ERROR);
-    Configurator.setLevel("splitting-ligatures", this.isDebugSplittingLigatures ? DEBUG : ERROR);
-    Configurator.setLevel("merging-diacritics", this.isDebugMergingDiacritics ? DEBUG : ERROR);
-    Configurator.setLevel("line-detection", this.isDebugTextLineDetection ? DEBUG : ERROR);
-    Configurator.setLevel("word-detection", this.isDebugWordDetection ? DEBUG : ERROR);
-    Configurator.setLevel("block-detection", this.isDebugTextBlockDetection ? DEBUG : ERROR);
-    Configurator.setLevel("role-detection", this.isDebugRoleDetection ? DEBUG : ERROR);
-    Configurator.setLevel("paragraph-detection", this.isDebugParagraphDetection ? DEBUG : ERROR);
-    Configurator.setLevel("word-dehyphenation", this.isDebugWordDehyphenation ? DEBUG : ERROR);
+    setLogLevels();
 
+    return parse(pdfPath, this.serializationPath, this.serializationStream,
+        this.visualizationPath);
+  }
+
+  /**
+   * Parses the given PDF files in parallel, using a pool of {@link #getNumBatchThreads()}
+   * threads. The serialization of each PDF file is written to the given output directory, to a
+   * file with the name of the PDF file and the extension of the serialization format (for
+   * example, "paper.pdf" is serialized to "paper.txt"). If a visualization path is given, it is
+   * interpreted as a directory, to which the visualization of each PDF file is written.
+   *
+   * The PDF files are submitted to the pool one after another. If all threads are busy and the
+   * queue of waiting PDF files is full, the calling thread processes the next PDF file itself, so
+   * that the number of PDF files held in memory at the same time is bounded. An error on
+   * processing a PDF file doesn't stop the processing of the other PDF files.
+   *
+   * Two PDF files with the same name (in different directories) would be written to the same
+   * output file. Such collisions are detected before any PDF file is processed, and the batch is
+   * rejected.
+   *
+   * @param pdfPaths  The paths to the PDF files to parse.
+   * @param outputDir The path to the directory to which the serializations should be written. If
+   *                  null, the serialization of a PDF file is written to the directory of the
+   *                  PDF file.
+   *
+   * @return The errors that occurred on processing the PDF files, per path of the related PDF
+   *         file, in the order of the given paths. Empty if all PDF files were processed
+   *         successfully.
+   *
+   * @throws PdfActException If two PDF files would be written to the same output file or if the
+   *                         processing of the PDF files was interrupted.
+   */
+  public Map<Path, PdfActException> parse(List<Path> pdfPaths, Path outputDir)
+      throws PdfActException {
+    Map<Path, PdfActException> errors = new LinkedHashMap<>();
+    if (pdfPaths == null || pdfPaths.isEmpty()) {
+      return errors;
+    }
+
+    setLogLevels();
+
+    SerializationFormat format = this.serializationFormat;
+    if (format == null) {
+      format = DEFAULT_SERIALIZE_FORMAT;
+    }
+
+    // Compute the output files of the PDF files and make sure that they are all distinct.
+    Map<Path, Path> serializationPaths = new LinkedHashMap<>();
+    Map<Path, Path> visualizationPaths = new LinkedHashMap<>();
+    Map<Path, Path> pdfPathsByOutputPath = new HashMap<>();
+    for (Path pdfPath : pdfPaths) {
+      String name = computeBasename(pdfPath);
+      Path dir = outputDir != null ? outputDir : pdfPath.toAbsolutePath().getParent();
+      Path serializationPath = dir.resolve(name + "." + format.getName());
+      serializationPaths.put(pdfPath, serializationPath);
+      checkOutputPath(pdfPath, serializationPath, pdfPathsByOutputPath);
+      if (this.visualizationPath != null) {
+        Path visualizationPath = this.visualizationPath.resolve(name + ".pdf");
+        visualizationPaths.put(pdfPath, visualizationPath);
+        checkOutputPath(pdfPath, visualizationPath, pdfPathsByOutputPath);
+      }
+    }
+
+    // Create the output directories, if they don't exist yet.
+    try {
+      if (outputDir != null) {
+        Files.createDirectories(outputDir);
+      }
+      if (this.visualizationPath != null) {
+        Files.createDirectories(this.visualizationPath);
+      }
+    } catch (IOException e) {
+      throw new PdfActBatchException("Couldn't create the output directories.", e);
+    }
+
+    // Create a pool with a bounded queue. If the queue is full, the calling thread runs the next
+    // task itself (and thus, stops submitting further tasks meanwhile).
+    int numThreads = Math.max(1, this.numBatchThreads);
+    ThreadPoolExecutor executor = new ThreadPoolExecutor(numThreads, numThreads, 0L,
+        TimeUnit.MILLISECONDS, new ArrayBlockingQueue<Runnable>(numThreads),
+        new ThreadPoolExecutor.CallerRunsPolicy());
+
+    try {
+      Map<Path, Future<Void>> futures = new LinkedHashMap<>();
+      for (final Path pdfPath : pdfPaths) {
+        final Path serializationPath = serializationPaths.get(pdfPath);
+        final Path visualizationPath = visualizationPaths.get(pdfPath);
+
+        futures.put(pdfPath, executor.submit(new Callable<Void>() {
+          @Override
+          public Void call() throws PdfActException {
+            parse(pdfPath, serializationPath, null, visualizationPath);
+            return null;
+          }
+        }));
+      }
+
+      // Wait for the PDF files to be processed and collect the errors.
+      for (Map.Entry<Path, Future<Void>> entry : futures.entrySet()) {
+        try {
+          entry.getValue().get();
+        } catch (ExecutionException e) {
+          Throwable cause = e.getCause();
+          if (cause instanceof PdfActException) {
+            errors.put(entry.getKey(), (PdfActException) cause);
+          } else {
+            errors.put(entry.getKey(), new PdfActBatchException("An unexpected error occurred on "
+                + "processing the PDF file '" + entry.getKey() + "'.", cause));
+          }
+        }
+      }
+    } catch (InterruptedException e) {
+      throw new PdfActBatchException("Processing the PDF files was interrupted.", e);
+    } finally {
+      executor.shutdownNow();
+    }
+
+    return errors;
+  }
+
+  /**
+   * Parses the given PDF file and writes the serialization and visualization to the given
+   * targets.
+   *
+   * @param pdfPath             The path to the PDF file to parse.
+   * @param serializationPath   The path to the file to which the serialization should be written
+   *                            (may be null).
+   * @param serializationStream The stream to which the serialization should be written (may be
+   *                            null).
+   * @param visualizationPath   The path to the file to which the visualization should be written
+   *                            (may be null).
+   *
+   * @return The parsed PDF document.
+   *
+   * @throws PdfActException If something went wrong on parsing the PDF.
+   */
+  protected Document parse(Path pdfPath, Path serializationPath, OutputStream serializationStream,
+      Path visualizationPath) throws PdfActException {
     // Create a service pipe.
     PdfActServicePipe service = new PlainPdfActServicePipe();
 
@@ -160,18 +362,18 @@ public class PdfAct {
     }
 
     // Pass the path to the serialization file, if there is any.
-    if (this.serializationPath != null) {
-      service.setSerializationPath(this.serializationPath);
+    if (serializationPath != null) {
+      service.setSerializationPath(serializationPath);
     }
 
     // Pass the serialization stream, if there is any.
-    if (this.serializationStream != null) {
-      service.setSerializationStream(this.serializationStream);
+    if (serializationStream != null) {
+      service.setSerializationStream(serializationStream);
     }
 
     // Pass the path to the visualization file.
-    if (this.visualizationPath != null) {
-      service.setVisualizationPath(this.visualizationPath);
+    if (visualizationPath != null) {
+      service.setVisualizationPath(visualizationPath);
     }
 
     // Pass the units of text to extract.
@@ -186,9 +388,18 @@ public class PdfAct {
 
     service.setInsertControlCharacters(this.insertControlCharacters);
     service.setIsPdfJsMode(this.isPdfJsMode);
+    service.setNumParseThreads(this.numParseThreads);
+    service.setIsStreaming(this.isStreaming);
+    service.setIsTextOnly(this.isTextOnly);
+    service.setLoadStrategy(this.loadStrategy);
+    service.setMaxMainMemoryBytes(this.maxMainMemoryBytes);
+    service.setIsCompact(this.isCompact);
+    service.setIsEarlyTermination(this.isEarlyTermination);
+    service.setMetrics(this.metrics);
 
     // Create the PDF document from the given path.
     Document pdf = new Document(pdfPath);
+    pdf.setPageSelection(this.pageSelection);
 
     // Run PdfAct.
     service.execute(pdf);
@@ -196,6 +407,60 @@ public class PdfAct {
     return pdf;
   }
 
+  /**
+   * Sets the different debug levels according to the given debug flags.
+   */
+  protected void setLogLevels() {
+    Configurator.setLevel("pdf-parsing", this.isDebugPdfParsing ? DEBUG : ERROR);
+    Configurator.setLevel("char-extraction", this.isDebugCharacterExtraction ? DEBUG : ERROR);
+    Configurator.setLevel("splitting-ligatures", this.isDebugSplittingLigatures ? DEBUG : ERROR);
+    Configurator.setLevel("merging-diacritics", this.isDebugMergingDiacritics ? DEBUG : ERROR);
+    Configurator.setLevel("line-detection", this.isDebugTextLineDetection ? DEBUG : ERROR);
+    Configurator.setLevel("word-detection", this.isDebugWordDetection ? DEBUG : ERROR);
+    Configurator.setLevel("block-detection", this.isDebugTextBlockDetection ? DEBUG : ERROR);
+    Configurator.setLevel("role-detection", this.isDebugRoleDetection ? DEBUG : ERROR);
+    Configurator.setLevel("paragraph-detection", this.isDebugParagraphDetection ? DEBUG : ERROR);
+    Configurator.setLevel("word-dehyphenation", this.isDebugWordDehyphenation ? DEBUG : ERROR);
+  }
+
+  /**
+   * Checks that the given output file of the given PDF file isn't the output file of another PDF
+   * file of the same batch.
+   *
+   * @param pdfPath              The path to the PDF file.
+   * @param outputPath           The path to the output file of the PDF file.
+   * @param pdfPathsByOutputPath The PDF files of the batch checked so far, per output file. The
+   *                             given output file is added to this map.
+   *
+   * @throws PdfActException If the output file is the output file of another PDF file.
+   */
+  protected void checkOutputPath(Path pdfPath, Path outputPath,
+      Map<Path, Path> pdfPathsByOutputPath) throws PdfActException {
+    Path key = outputPath.toAbsolutePath().normalize();
+    Path otherPdfPath = pdfPathsByOutputPath.put(key, pdfPath);
+    if (otherPdfPath != null) {
+      throw new PdfActBatchException("The PDF files '" + otherPdfPath + "' and '" + pdfPath
+          + "' would both be written to '" + outputPath + "'. Rename one of the files or process "
+          + "them in separate batches.");
+    }
+  }
+
+  /**
+   * Computes the basename of the given PDF file, that is the file name without the extension
+   * ".pdf". For example, the basename of "/foo/paper.pdf" is "paper".
+   *
+   * @param pdfPath The path to the PDF file.
+   *
+   * @return The basename of the PDF file.
+   */
+  protected String computeBasename(Path pdfPath) {
+    String name = pdfPath.getFileName().toString();
+    if (name.toLowerCase().endsWith(".pdf")) {
+      name = name.substring(0, name.length() - 4);
+    }
+    return name;
+  }
+
   // ==============================================================================================
 
   /**
@@ -497,5 +762,236 @@ public class PdfAct {
   public void setIsPdfJsMode(boolean isPdfJsMode) {
     this.isPdfJsMode = isPdfJsMode;
   }
-}
 
+  // ==============================================================================================
+
+  /**
+   * Returns the number of threads to use on parsing the pages of a PDF file.
+   *
+   * @return The number of threads to use on parsing the pages of a PDF file.
+   */
+  public int getNumParseThreads() {
+    return this.numParseThreads;
+  }
+
+  /**
+   * Sets the number of threads to use on parsing the pages of a PDF file. If this number is larger
+   * than 1, the pages are parsed in parallel.
+   *
+   * @param numThreads The number of threads to use on parsing the pages of a PDF file.
+   */
+  public void setNumParseThreads(int numThreads) {
+    this.numParseThreads = numThreads;
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Returns the number of PDF files to process in parallel in batch mode.
+   *
+   * @return The number of PDF files to process in parallel in batch mode.
+   */
+  public int getNumBatchThreads() {
+    return this.numBatchThreads;
+  }
+
+  /**
+   * Sets the number of PDF files to process in parallel in batch mode.
+   *
+   * @param numThreads The number of PDF files to process in parallel in batch mode.
+   */
+  public void setNumBatchThreads(int numThreads) {
+    this.numBatchThreads = numThreads;
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Returns the boolean flag indicating whether or not a PDF file is processed page by page (in
+   * streaming mode).
+   *
+   * @return True, if a PDF file is processed page by page; false otherwise.
+   */
+  public boolean isStreaming() {
+    return this.isStreaming;
+  }
+
+  /**
+   * Sets the boolean flag indicating whether or not a PDF file should be processed page by page (in
+   * streaming mode), such that only the per-character data of a single page are kept in memory at
+   * a time. In streaming mode, only paragraphs, words and characters can be extracted, the pdf.js
+   * mode is not supported, no visualization can be created and the pages are parsed by a single
+   * thread (regardless of {@link #setNumParseThreads(int)}). If a serialization target is
+   * given, the paragraphs of each page are written to a temporary file once the page was
+   * processed and are serialized from this file, so the returned document contains no paragraphs.
+   *
+   * @param isStreaming True, if a PDF file should be processed page by page.
+   */
+  public void setIsStreaming(boolean isStreaming) {
+    this.isStreaming = isStreaming;
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Returns the boolean flag indicating whether or not only the text of a PDF file is parsed.
+   *
+   * @return True, if only the text of a PDF file is parsed; false otherwise.
+   */
+  public boolean isTextOnly() {
+    return this.isTextOnly;
+  }
+
+  /**
+   * Sets the boolean flag indicating whether or not only the text of a PDF file should be parsed.
+   * If set to true, no shapes and figures are extracted: painted paths are discarded and images
+   * are not decoded, which speeds up the parsing of PDF files with many vector graphics or
+   * images. The extracted text is the same as without this flag, only the identifiers of the
+   * colors may differ.
+   *
+   * @param isTextOnly True, if only the text of a PDF file should be parsed.
+   */
+  public void setIsTextOnly(boolean isTextOnly) {
+    this.isTextOnly = isTextOnly;
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Returns the strategy to load a PDF file.
+   *
+   * @return The strategy to load a PDF file.
+   */
+  public LoadStrategy getLoadStrategy() {
+    return this.loadStrategy;
+  }
+
+  /**
+   * Sets the strategy to load a PDF file, that is: where the data of the streams of a PDF file
+   * (for example, the content streams, fonts and images) are buffered while the PDF file is
+   * processed. With {@link LoadStrategy#MAIN_MEMORY} (the default), all data are buffered in main
+   * memory, which is the fastest strategy. With {@link LoadStrategy#TEMP_FILE}, all data are
+   * buffered in a temporary file, such that PDF files larger than the heap can be processed. With
+   * {@link LoadStrategy#MIXED}, the data are buffered in main memory up to
+   * {@link #getMaxMainMemoryBytes()} bytes and in a temporary file beyond. The strategy doesn't
+   * affect the output.
+   *
+   * @param strategy The strategy to load a PDF file.
+   */
+  public void setLoadStrategy(LoadStrategy strategy) {
+    this.loadStrategy = strategy;
+  }
+
+  /**
+   * Returns the maximum number of bytes to buffer in main memory on loading a PDF file with the
+   * strategy {@link LoadStrategy#MIXED}.
+   *
+   * @return The maximum number of bytes to buffer in main memory.
+   */
+  public long getMaxMainMemoryBytes() {
+    return this.maxMainMemoryBytes;
+  }
+
+  /**
+   * Sets the maximum number of bytes to buffer in main memory on loading a PDF file with the
+   * strategy {@link LoadStrategy#MIXED}. The limit applies per processed PDF file; if the pages of
+   * a PDF file are parsed in parallel, it is shared by the parsing threads.
+   *
+   * @param maxMainMemoryBytes The maximum number of bytes to buffer in main memory.
+   */
+  public void setMaxMainMemoryBytes(long maxMainMemoryBytes) {
+    this.maxMainMemoryBytes = maxMainMemoryBytes;
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Returns the pages of a PDF file to process.
+   *
+   * @return The pages to process; null if all pages are processed.
+   */
+  public PageSelection getPageSelection() {
+    return this.pageSelection;
+  }
+
+  /**
+   * Sets the pages of a PDF file to process. The content streams of all other pages aren't
+   * parsed at all, the statistics about the PDF file are computed from the selected pages only,
+   * and the serialization and the visualization contain the selected pages only.
+   *
+   * @param pageSelection The pages to process; null if all pages should be processed.
+   */
+  public void setPageSelection(PageSelection pageSelection) {
+    this.pageSelection = pageSelection;
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Returns the boolean flag indicating whether or not the JSON serialization is written
+   * compactly, that is: without any indentation and line breaks.
+   *
+   * @return True, if the JSON serialization is written compactly; false otherwise.
+   */
+  public boolean isCompact() {
+    return this.isCompact;
+  }
+
+  /**
+   * Sets the boolean flag indicating whether or not the JSON serialization should be written
+   * compactly, that is: without any indentation and line breaks.
+   *
+   * @param isCompact True, if the JSON serialization should be written compactly.
+   */
+  public void setIsCompact(boolean isCompact) {
+    this.isCompact = isCompact;
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Returns the boolean flag indicating whether or not only the first pages of a PDF file needed
+   * to find the semantic roles to extract are processed.
+   *
+   * @return True, if only the first pages needed to find the semantic roles are processed.
+   */
+  public boolean isEarlyTermination() {
+    return this.isEarlyTermination;
+  }
+
+  /**
+   * Sets the boolean flag indicating whether or not only the first pages of a PDF file needed to
+   * find the semantic roles to extract should be processed. If not all of the roles are found in
+   * these pages, or if a section of these roles (like the abstract) may continue in the next
+   * pages, all pages are processed.
+   *
+   * @param isEarlyTermination True, if only the first pages needed to find the semantic roles
+   *                           should be processed.
+   */
+  public void setIsEarlyTermination(boolean isEarlyTermination) {
+    this.isEarlyTermination = isEarlyTermination;
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Returns the collector into which the metrics of the executed pipes are recorded.
+   *
+   * @return The collector, or null if no metrics are recorded.
+   */
+  public PipelineMetrics getMetrics() {
+    return this.metrics;
+  }
+
+  /**
+   * Sets the collector into which the metrics of the executed pipes should be recorded: for each
+   * pipe and each processed PDF file, the wall time, the CPU time, the number of allocated bytes
+   * and the number of processed elements. The collector is shared by all PDF files processed in a
+   * batch.
+   *
+   * @param metrics The collector, or null if no metrics should be recorded.
+   */
+  public void setMetrics(PipelineMetrics metrics) {
+    this.metrics = metrics;
+  }
+}
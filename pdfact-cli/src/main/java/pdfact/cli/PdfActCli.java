@@ -1,8 +1,18 @@
 package pdfact.cli;
 
+import static pdfact.cli.PdfActCliSettings.DEFAULT_NUM_BATCH_THREADS;
+import static pdfact.core.PdfActCoreSettings.DEFAULT_ENCODING;
+import static pdfact.core.PdfActCoreSettings.DEFAULT_LOAD_STRATEGY;
+import static pdfact.core.PdfActCoreSettings.DEFAULT_MAX_MAIN_MEMORY_BYTES;
+import static pdfact.core.PdfActCoreSettings.DEFAULT_NUM_PARSE_THREADS;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -18,9 +28,14 @@ import net.sourceforge.argparse4j.inf.ArgumentParser;
 import net.sourceforge.argparse4j.inf.ArgumentParserException;
 import pdfact.cli.model.ExtractionUnit;
 import pdfact.cli.model.SerializationFormat;
+import pdfact.cli.util.PipelineMetricsWriter;
+import pdfact.cli.util.exception.PdfActBatchException;
 import pdfact.cli.util.exception.PdfActParseCommandLineException;
+import pdfact.core.model.LoadStrategy;
+import pdfact.core.model.PageSelection;
 import pdfact.core.model.SemanticRole;
 import pdfact.core.util.exception.PdfActException;
+import pdfact.core.util.pipeline.PipelineMetrics;
 
 /**
  * The command line interface of PdfAct.
@@ -101,11 +116,53 @@ public class PdfActCli {
       // Set the "with control characters"-flag.
       pdfAct.setInsertControlCharacters(parser.withControlCharacters);
 
+      // Set the "compact" flag.
+      pdfAct.setIsCompact(parser.isCompact);
+
       // Set the "pdf.js mode" flag.
       pdfAct.setIsPdfJsMode(parser.isPdfJsMode);
 
+      // Pass the number of threads to use on parsing the pages of the PDF file.
+      pdfAct.setNumParseThreads(parser.numParseThreads);
+
+      // Pass the number of PDF files to process in parallel in batch mode.
+      pdfAct.setNumBatchThreads(parser.numBatchThreads);
+
+      // Set the "streaming" flag.
+      pdfAct.setIsStreaming(parser.isStreaming);
+
+      // Set the "text only" flag.
+      pdfAct.setIsTextOnly(parser.isTextOnly);
+
+      // Pass the strategy to load the PDF files.
+      pdfAct.setLoadStrategy(LoadStrategy.fromString(parser.loadStrategy));
+      pdfAct.setMaxMainMemoryBytes(parser.maxMainMemoryMegabytes * 1024 * 1024);
+
+      // Pass the pages to process.
+      if (parser.pages != null) {
+        pdfAct.setPageSelection(PageSelection.fromString(parser.pages));
+      }
+
+      // Set the "early termination" flag.
+      pdfAct.setIsEarlyTermination(parser.isEarlyTermination);
+
+      // Record the metrics of the executed pipes, if there is a target file for the metrics.
+      PipelineMetrics metrics = parser.metricsPath != null ? new PipelineMetrics() : null;
+      pdfAct.setMetrics(metrics);
+
       // Run PdfAct.
-      pdfAct.parse(parser.pdfPath);
+      try {
+        if (parser.batch != null) {
+          runBatch(pdfAct, parser.batch, parser.batchOutputPath);
+        } else {
+          pdfAct.parse(parser.pdfPath);
+        }
+      } finally {
+        // Write the metrics, also when the processing of a PDF file failed.
+        if (metrics != null) {
+          new PipelineMetricsWriter().write(metrics, Paths.get(parser.metricsPath));
+        }
+      }
     } catch (PdfActException e) {
       statusCode = e.getExitCode();
       errorMessage = e.getMessage();
@@ -124,6 +181,76 @@ public class PdfActCli {
     System.exit(statusCode);
   }
 
+  /**
+   * Runs PdfAct in batch mode, that is: processes all PDF files of the given batch in parallel.
+   *
+   * @param pdfAct     The instance of PdfAct to run.
+   * @param batch      The path to a directory (in which case all PDF files in the directory are
+   *                   processed) or to a file that lists the paths to the PDF files to process,
+   *                   one path per line.
+   * @param outputPath The path to the directory to which the serializations should be written.
+   *
+   * @throws PdfActException If the batch couldn't be read or if the processing of at least one
+   *                         of the PDF files failed.
+   */
+  protected void runBatch(PdfAct pdfAct, String batch, String outputPath) throws PdfActException {
+    List<Path> pdfPaths = readBatch(Paths.get(batch));
+    Path outputDir = outputPath != null ? Paths.get(outputPath) : null;
+
+    Map<Path, PdfActException> errors = pdfAct.parse(pdfPaths, outputDir);
+
+    // Print the errors per PDF file (regardless of the log level).
+    for (Map.Entry<Path, PdfActException> error : errors.entrySet()) {
+      System.err.println(error.getKey() + ": " + error.getValue().getMessage());
+    }
+
+    if (!errors.isEmpty()) {
+      throw new PdfActBatchException(errors.size() + " of " + pdfPaths.size()
+          + " PDF files couldn't be processed.");
+    }
+  }
+
+  /**
+   * Reads the paths to the PDF files of the given batch.
+   *
+   * @param batch The path to a directory (in which case the paths to all PDF files in the
+   *              directory are returned, in alphabetical order) or to a file that lists the paths
+   *              to PDF files, one path per line (empty lines and lines starting with "#" are
+   *              ignored).
+   *
+   * @return The paths to the PDF files of the batch.
+   *
+   * @throws PdfActException If the batch couldn't be read.
+   */
+  protected List<Path> readBatch(Path batch) throws PdfActException {
+    List<Path> pdfPaths = new ArrayList<>();
+
+    try {
+      if (Files.isDirectory(batch)) {
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(batch, "*.{pdf,PDF}")) {
+          for (Path path : stream) {
+            if (Files.isRegularFile(path)) {
+              pdfPaths.add(path);
+            }
+          }
+        }
+        Collections.sort(pdfPaths);
+      } else {
+        for (String line : Files.readAllLines(batch, DEFAULT_ENCODING)) {
+          line = line.trim();
+          if (line.isEmpty() || line.startsWith("#")) {
+            continue;
+          }
+          pdfPaths.add(Paths.get(line));
+        }
+      }
+    } catch (IOException e) {
+      throw new PdfActBatchException("Couldn't read the batch '" + batch + "'.", e);
+    }
+
+    return pdfPaths;
+  }
+
   // ==============================================================================================
 
   /**
@@ -391,6 +518,18 @@ public class PdfActCli {
     @Arg(dest = WITH_CONTROL_CHARACTERS)
     public boolean withControlCharacters = false;
 
+    // ============================================================================================
+
+    /**
+     * The name of the option to define the "compact" flag.
+     */
+    public static final String COMPACT = "compact";
+
+    /**
+     * The flag indicating whether or not to write the JSON serialization output compactly.
+     */
+    @Arg(dest = COMPACT)
+    public boolean isCompact = false;
 
     // ============================================================================================
 
@@ -407,6 +546,149 @@ public class PdfActCli {
 
     // ============================================================================================
 
+    /**
+     * The name of the option to define the number of threads to use on parsing the PDF pages.
+     */
+    public static final String PARSE_THREADS = "parse-threads";
+
+    /**
+     * The number of threads to use on parsing the pages of the PDF file.
+     */
+    @Arg(dest = PARSE_THREADS)
+    public int numParseThreads = DEFAULT_NUM_PARSE_THREADS;
+
+    // ============================================================================================
+
+    /**
+     * The name of the option to enable the streaming mode.
+     */
+    public static final String STREAMING = "streaming";
+
+    /**
+     * The boolean flag indicating whether or not the PDF file is processed page by page.
+     */
+    @Arg(dest = STREAMING)
+    public boolean isStreaming = false;
+
+    // ============================================================================================
+
+    /**
+     * The name of the option to parse only the text of the PDF file.
+     */
+    public static final String TEXT_ONLY = "text-only";
+
+    /**
+     * The boolean flag indicating whether or not only the text of the PDF file is parsed.
+     */
+    @Arg(dest = TEXT_ONLY)
+    public boolean isTextOnly = false;
+
+    // ============================================================================================
+
+    /**
+     * The name of the option to define the strategy to load the PDF file.
+     */
+    public static final String LOAD_STRATEGY = "load-strategy";
+
+    /**
+     * The name of the strategy to load the PDF file.
+     */
+    @Arg(dest = LOAD_STRATEGY)
+    public String loadStrategy = DEFAULT_LOAD_STRATEGY.getName();
+
+    /**
+     * The name of the option to define the maximum main memory to use on loading the PDF file.
+     */
+    public static final String MAX_MAIN_MEMORY = "max-main-memory";
+
+    /**
+     * The maximum number of megabytes to buffer in main memory on loading the PDF file with the
+     * strategy "mixed".
+     */
+    @Arg(dest = MAX_MAIN_MEMORY)
+    public long maxMainMemoryMegabytes = DEFAULT_MAX_MAIN_MEMORY_BYTES / (1024 * 1024);
+
+    // ============================================================================================
+
+    /**
+     * The name of the option to define the pages to process.
+     */
+    public static final String PAGES = "pages";
+
+    /**
+     * The pages to process, for example "1-3,10".
+     */
+    @Arg(dest = PAGES)
+    public String pages = null;
+
+    // ============================================================================================
+
+    /**
+     * The name of the option to process only the first pages needed to find the included roles.
+     */
+    public static final String EARLY_TERMINATION = "early-termination";
+
+    /**
+     * The boolean flag indicating whether or not only the first pages needed to find the included
+     * roles are processed.
+     */
+    @Arg(dest = EARLY_TERMINATION)
+    public boolean isEarlyTermination = false;
+
+    // ============================================================================================
+
+    /**
+     * The name of the option to define a batch of PDF files to process.
+     */
+    public static final String BATCH = "batch";
+
+    /**
+     * The path to a directory with PDF files or to a file listing the paths to PDF files.
+     */
+    @Arg(dest = BATCH)
+    public String batch;
+
+    // ============================================================================================
+
+    /**
+     * The name of the option to define the output directory in batch mode.
+     */
+    public static final String BATCH_OUTPUT_PATH = "batch-output";
+
+    /**
+     * The path to the directory to which the serializations should be written in batch mode.
+     */
+    @Arg(dest = BATCH_OUTPUT_PATH)
+    public String batchOutputPath;
+
+    // ============================================================================================
+
+    /**
+     * The name of the option to define the number of PDF files to process in parallel.
+     */
+    public static final String BATCH_THREADS = "batch-threads";
+
+    /**
+     * The number of PDF files to process in parallel in batch mode.
+     */
+    @Arg(dest = BATCH_THREADS)
+    public int numBatchThreads = DEFAULT_NUM_BATCH_THREADS;
+
+    // ============================================================================================
+
+    /**
+     * The name of the option to define the target path for the metrics.
+     */
+    public static final String METRICS_PATH = "metrics";
+
+    /**
+     * The path to the file to which the metrics of the executed pipes should be written.
+     */
+    @Arg(dest = METRICS_PATH)
+    public String metricsPath;
+
+    // ============================================================================================
+
     /**
      * Creates a new command line argument parser.
      */
@@ -418,9 +700,10 @@ public class PdfActCli {
 
       // Add an option to define the path to the PDF file to be processed.
       this.parser.addArgument(PDF_PATH).dest(PDF_PATH)
-        .required(true)
+        .required(false).nargs("?")
         .metavar("<pdf-file>")
-        .help("The path to the PDF file to be processed.");
+        .help("The path to the PDF file to be processed.\n"
+            + "Required, unless the option \"--" + BATCH + "\" is given.");
 
       // Add an argument to define the target path to the output file.
       this.parser.addArgument(SERIALIZE_PATH).dest(SERIALIZE_PATH)
@@ -444,7 +727,9 @@ public class PdfActCli {
             + "In case of txt, the text elements will be extracted as plain text, in the "
             + "format: one text element per line. In case of xml or json, the text elements "
             + "will be extracted together with their layout information, e.g., their positions "
-            + "in the PDF file, their fonts and their colors.");
+            + "in the PDF file, their fonts and their colors. In case of binary, the same "
+            + "information is written in a compact, versioned binary format, which can be read "
+            + "back by pdfact.core.util.binary.PdfBinaryReader.");
 
       // Add an option to define the text units.
       choicesStr = String.join(", ", ExtractionUnit.getPluralNames());
@@ -523,6 +808,15 @@ public class PdfActCli {
             + "two elements in the PDF.\n"
             + "- \"^A\" (\"start of heading\") in front of headings.");
 
+      // Add an option to define whether or not the JSON serialization output should be written
+      // without indentation and line breaks.
+      this.parser.addArgument("--" + COMPACT).dest(COMPACT)
+        .required(false)
+        .action(Arguments.storeTrue())
+        .setDefault(this.isCompact)
+        .help("Write the JSON serialization output compactly, that is: without any indentation "
+            + "and line breaks.");
+
       // Add an option to enable the printing of debug info about the PDF parsing step.
       this.parser.addArgument("--" + DEBUG_PDF_PARSING).dest(DEBUG_PDF_PARSING)
         .required(false)
@@ -600,6 +894,146 @@ public class PdfActCli {
         .setDefault(this.isPdfJsMode)
         .help("Enables the pdf.js mode, that is: a mode that outputs the text in a format as "
               + "required by the tool from Robin that improves the search functionality of pdf.js");
+
+      // Add an option to define the number of threads to use on parsing the PDF pages.
+      this.parser.addArgument("--" + PARSE_THREADS).dest(PARSE_THREADS)
+        .required(false)
+        .type(Integer.class)
+        .metavar("<num>")
+        .setDefault(this.numParseThreads)
+        .help("The number of threads to use on parsing the pages of the PDF file.\n"
+            + "- Default: " + this.numParseThreads + ".\n"
+            + "If set to a value larger than 1, the pages are parsed in parallel.");
+
+      // Add an option to enable the streaming mode.
+      this.parser.addArgument("--" + STREAMING).dest(STREAMING)
+        .required(false)
+        .action(Arguments.storeTrue())
+        .setDefault(this.isStreaming)
+        .help("Processes the PDF file page by page, such that only the characters, figures and "
+            + "shapes of a single page are kept in memory at a time. The output is the same as "
+            + "without this option, but the pages are processed multiple times (to compute the "
+            + "statistics about the whole PDF file first). Only the units \""
+            + ExtractionUnit.PARAGRAPH.getPluralName() + "\", \""
+            + ExtractionUnit.WORD.getPluralName() + "\" and \""
+            + ExtractionUnit.CHARACTER.getPluralName() + "\" can be extracted in this "
+            + "mode, the pages are parsed by a single thread and the options \"--"
+            + VISUALIZATION_PATH + "\", \"--" + PDFJS_MODE + "\" and \"--" + PARSE_THREADS
+            + "\" are not supported.");
+
+      // Add an option to parse only the text of the PDF file.
+      this.parser.addArgument("--" + TEXT_ONLY).dest(TEXT_ONLY)
+        .required(false)
+        .action(Arguments.storeTrue())
+        .setDefault(this.isTextOnly)
+        .help("Parses only the text of the PDF file: painted paths are discarded and images are "
+            + "not decoded, which speeds up the parsing of PDF files with many vector graphics "
+            + "or images. The extracted text is the same as without this option, only the "
+            + "identifiers of the colors may differ. The units \""
+            + ExtractionUnit.SHAPE.getPluralName() + "\" and \""
+            + ExtractionUnit.FIGURE.getPluralName() + "\" can't be extracted in this mode.");
+
+      // Add an option to define the strategy to load the PDF file.
+      choices = LoadStrategy.getNames();
+      this.parser.addArgument("--" + LOAD_STRATEGY).dest(LOAD_STRATEGY)
+        .required(false)
+        .metavar("<strategy>")
+        .choices(choices)
+        .setDefault(this.loadStrategy)
+        .help("The strategy to load the PDF file, that is: where the data of the streams of the "
+            + "PDF file (for example, the content streams, fonts and images) are buffered.\n"
+            + "- Available options: " + String.join(", ", choices) + ".\n"
+            + "- Default: \"" + this.loadStrategy + "\".\n"
+            + "In case of " + LoadStrategy.MAIN_MEMORY.getName() + ", all data are buffered in "
+            + "main memory, which is the fastest option. In case of "
+            + LoadStrategy.TEMP_FILE.getName() + ", all data are buffered in a temporary file, "
+            + "such that PDF files larger than the heap can be processed. In case of "
+            + LoadStrategy.MIXED.getName() + ", the data are buffered in main memory up to the "
+            + "limit given by \"--" + MAX_MAIN_MEMORY + "\" and in a temporary file beyond. The "
+            + "output is the same for all options.");
+
+      // Add an option to define the maximum main memory to use on loading the PDF file.
+      this.parser.addArgument("--" + MAX_MAIN_MEMORY).dest(MAX_MAIN_MEMORY)
+        .required(false)
+        .type(Long.class)
+        .metavar("<mb>")
+        .setDefault(this.maxMainMemoryMegabytes)
+        .help("The maximum number of megabytes to buffer in main memory on loading the PDF "
+            + "file with the load strategy \"" + LoadStrategy.MIXED.getName() + "\".\n"
+            + "- Default: " + this.maxMainMemoryMegabytes + ".");
+
+      // Add an option to define the pages to process.
+      this.parser.addArgument("--" + PAGES).dest(PAGES)
+        .required(false)
+        .metavar("<pages>")
+        .help("The pages to process, given by a comma-separated list of page numbers and page "
+            + "ranges, for example \"1-3,10\" or \"5-\" (all pages from page 5 on). The other "
+            + "pages aren't parsed and aren't contained in the output and in the visualization. "
+            + "The statistics about the PDF file (for example, the most common font size) are "
+            + "computed from the selected pages only. Processing fails if none of the selected "
+            + "pages exists in the PDF file.\n"
+            + "- Default: all pages.");
+
+      // Add an option to process only the first pages needed to find the included roles.
+      this.parser.addArgument("--" + EARLY_TERMINATION).dest(EARLY_TERMINATION)
+        .required(false)
+        .action(Arguments.storeTrue())
+        .setDefault(this.isEarlyTermination)
+        .help("Processes only the first pages of the PDF file needed to find the roles given by "
+            + "\"--" + INCLUDE_SEMANTIC_ROLES + "\", if all of these roles are found at the "
+            + "beginning of a PDF file (like the title, the abstract and the keywords). Speeds up "
+            + "the extraction of such roles from long PDF files. The statistics about the PDF "
+            + "file are computed from the processed pages only. If not all of the roles are found "
+            + "in these pages (or a section like the abstract continues beyond these pages), all "
+            + "pages are processed (and the first pages are processed twice). "
+            + "Not supported in combination with \"--" + PAGES + "\" and \"--" + STREAMING
+            + "\".");
+
+      // Add an option to define a batch of PDF files to process.
+      this.parser.addArgument("--" + BATCH).dest(BATCH)
+        .required(false)
+        .type(String.class)
+        .metavar("<dir|list>")
+        .help("Processes a batch of PDF files in a single run, instead of a single PDF file. "
+            + "The batch is given either by a directory (in which case all PDF files in the "
+            + "directory are processed) or by a file that lists the paths to the PDF files to "
+            + "process, one path per line. The output of each PDF file is written to a file with "
+            + "the name of the PDF file and the extension of the output format (for example, "
+            + "\"paper.pdf\" is serialized to \"paper.txt\"). If the option \"--"
+            + VISUALIZATION_PATH + "\" is given, it is interpreted as a directory, to which the "
+            + "visualizations are written. A batch with two PDF files that would be written to "
+            + "the same output file (PDF files with the same name in different directories) is "
+            + "rejected. In batch mode, no <pdf-file> and no <output-file> must be given.");
+
+      // Add an option to define the output directory in batch mode.
+      this.parser.addArgument("--" + BATCH_OUTPUT_PATH).dest(BATCH_OUTPUT_PATH)
+        .required(false)
+        .type(String.class)
+        .metavar("<dir>")
+        .help("The path to the directory to which the output files should be written in batch "
+            + "mode. The directory doesn't have to be existent before. If not specified, the "
+            + "output of each PDF file is written to the directory of the PDF file.");
+
+      // Add an option to define the number of PDF files to process in parallel.
+      this.parser.addArgument("--" + BATCH_THREADS).dest(BATCH_THREADS)
+        .required(false)
+        .type(Integer.class)
+        .metavar("<num>")
+        .setDefault(this.numBatchThreads)
+        .help("The number of PDF files to process in parallel in batch mode.\n"
+            + "- Default: the number of available processors (" + this.numBatchThreads + ").");
+
+      // Add an option to define the target path for the metrics.
+      this.parser.addArgument("--" + METRICS_PATH).dest(METRICS_PATH)
+        .required(false)
+        .type(String.class)
+        .metavar("<file>")
+        .help("The path to a JSON file to which metrics about the processing should be written: "
+            + "for each processed PDF file and each executed pipe, the wall time, the CPU time "
+            + "and the number of bytes allocated by the executing thread (threads started by a "
+            + "pipe, for example to parse pages in parallel, are not included), and the number "
+            + "of elements processed by the pipe. If JFR is available, a JFR event of type "
+            + "\"pdfact.Pipe\" is recorded for each executed pipe in addition.");
     }
 
     /**
@@ -619,6 +1053,96 @@ public class PdfActCli {
         String message = e.getMessage() + "\n\n" + getUsage();
         throw new PdfActParseCommandLineException(message, e);
       }
+
+      // Make sure that either a PDF file or a batch of PDF files is given.
+      if (this.batch == null && this.pdfPath == null) {
+        String message = "No PDF file given.\n\n" + getUsage();
+        throw new PdfActParseCommandLineException(message);
+      }
+      if (this.batch != null && (this.pdfPath != null || this.serializationPath != null)) {
+        String message = "No <pdf-file> and no <output-file> must be given in batch mode.\n\n"
+            + getUsage();
+        throw new PdfActParseCommandLineException(message);
+      }
+
+      // Make sure that only the units derived from the paragraphs are used in streaming mode.
+      if (this.isStreaming) {
+        if (this.visualizationPath != null) {
+          String message = "No visualization can be created in streaming mode.\n\n" + getUsage();
+          throw new PdfActParseCommandLineException(message);
+        }
+        if (this.isPdfJsMode) {
+          String message = "The pdf.js mode is not supported in streaming mode.\n\n" + getUsage();
+          throw new PdfActParseCommandLineException(message);
+        }
+        if (this.numParseThreads > 1) {
+          String message = "The pages can't be parsed in parallel in streaming mode (\"--"
+              + PARSE_THREADS + "\" must be 1).\n\n" + getUsage();
+          throw new PdfActParseCommandLineException(message);
+        }
+        Set<ExtractionUnit> units = ExtractionUnit.fromStrings(this.extractionUnits);
+        if (units != null) {
+          for (ExtractionUnit unit : units) {
+            if (unit != ExtractionUnit.PARAGRAPH && unit != ExtractionUnit.WORD
+                && unit != ExtractionUnit.CHARACTER) {
+              String message = "The unit \"" + unit.getPluralName() + "\" can't be extracted in "
+                  + "streaming mode.\n\n" + getUsage();
+              throw new PdfActParseCommandLineException(message);
+            }
+          }
+        }
+      }
+
+      // Make sure that the main memory limit is positive.
+      if (this.maxMainMemoryMegabytes < 1) {
+        String message = "The value of \"--" + MAX_MAIN_MEMORY + "\" must be at least 1.\n\n"
+            + getUsage();
+        throw new PdfActParseCommandLineException(message);
+      }
+
+      // Make sure that the numbers of threads are positive.
+      if (this.numParseThreads < 1) {
+        String message = "The value of \"--" + PARSE_THREADS + "\" must be at least 1.\n\n"
+            + getUsage();
+        throw new PdfActParseCommandLineException(message);
+      }
+      if (this.numBatchThreads < 1) {
+        String message = "The value of \"--" + BATCH_THREADS + "\" must be at least 1.\n\n"
+            + getUsage();
+        throw new PdfActParseCommandLineException(message);
+      }
+
+      // Make sure that the pages to process are valid.
+      if (this.pages != null) {
+        try {
+          PageSelection.fromString(this.pages);
+        } catch (IllegalArgumentException e) {
+          String message = "The value of \"--" + PAGES + "\" is invalid: " + e.getMessage()
+              + "\n\n" + getUsage();
+          throw new PdfActParseCommandLineException(message, e);
+        }
+      }
+
+      // Make sure that the first pages to process aren't defined in two ways.
+      if (this.isEarlyTermination && (this.pages != null || this.isStreaming)) {
+        String message = "The option \"--" + EARLY_TERMINATION + "\" can't be combined with \"--"
+            + PAGES + "\" and \"--" + STREAMING + "\".\n\n" + getUsage();
+        throw new PdfActParseCommandLineException(message);
+      }
+
+      // Make sure that no shapes and figures are extracted when only the text is parsed.
+      if (this.isTextOnly) {
+        Set<ExtractionUnit> units = ExtractionUnit.fromStrings(this.extractionUnits);
+        if (units != null) {
+          for (ExtractionUnit unit : units) {
+            if (unit == ExtractionUnit.SHAPE || unit == ExtractionUnit.FIGURE) {
+              String message = "The unit \"" + unit.getPluralName() + "\" can't be extracted "
+                  + "if only the text is parsed.\n\n" + getUsage();
+              throw new PdfActParseCommandLineException(message);
+            }
+          }
+        }
+      }
     }
 
     /**
@@ -45,4 +45,9 @@ public class PdfActCliSettings {
    * occurs in the PDF and "^A" in front of headings.
    */
   public static final boolean DEFAULT_WITH_CONTROL_CHARACTERS = false;
+
+  /**
+   * The default number of PDF files to process in parallel in batch mode.
+   */
+  public static final int DEFAULT_NUM_BATCH_THREADS = Runtime.getRuntime().availableProcessors();
 }
@@ -24,7 +24,12 @@ public enum SerializationFormat {
   /**
    * The serialization format "JSON".
    */
-  JSON("json");
+  JSON("json"),
+
+  /**
+   * The binary serialization format, see {@link pdfact.core.util.binary.PdfBinaryFormat}.
+   */
+  BINARY("binary");
 
   // ==============================================================================================
 
@@ -63,7 +68,7 @@ public enum SerializationFormat {
    * 
    * @return The name of this serialization format.
    */
-  protected String getName() {
+  public String getName() {
     return this.name;
   }
 
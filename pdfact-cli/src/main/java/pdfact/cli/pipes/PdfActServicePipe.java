@@ -5,8 +5,10 @@ import java.nio.file.Path;
 import java.util.Set;
 import pdfact.cli.model.ExtractionUnit;
 import pdfact.cli.model.SerializationFormat;
+import pdfact.core.model.LoadStrategy;
 import pdfact.core.model.SemanticRole;
 import pdfact.core.util.pipeline.Pipe;
+import pdfact.core.util.pipeline.PipelineMetrics;
 
 /**
  * A pipe that wires up all necessary steps to identify the document structure of PDF documents,
@@ -152,4 +154,154 @@ public interface PdfActServicePipe extends Pipe {
    * Sets the boolean flag indicating whether or not the pdf.js mode is enabled.
    */
   public void setIsPdfJsMode(boolean isPdfJsMode);
+
+  // ==============================================================================================
+
+  /**
+   * Returns the number of threads to use on parsing the pages of a PDF document.
+   *
+   * @return The number of threads to use on parsing the pages of a PDF document.
+   */
+  int getNumParseThreads();
+
+  /**
+   * Sets the number of threads to use on parsing the pages of a PDF document.
+   *
+   * @param numThreads The number of threads to use on parsing the pages of a PDF document.
+   */
+  void setNumParseThreads(int numThreads);
+
+  // ==============================================================================================
+
+  /**
+   * Returns the boolean flag indicating whether or not the PDF document is processed page by page
+   * (in streaming mode).
+   *
+   * @return True, if the PDF document is processed page by page; false otherwise.
+   */
+  boolean isStreaming();
+
+  /**
+   * Sets the boolean flag indicating whether or not the PDF document should be processed page by
+   * page (in streaming mode). In streaming mode, the per-character data of a page (its characters,
+   * figures, shapes, text areas, text lines and text blocks) are released once the page was
+   * processed, so only the units derived from the paragraphs (paragraphs, words and characters)
+   * can be serialized, the pdf.js mode is not supported and no visualization can be created. If
+   * the PDF document is serialized, the paragraphs of each page are written to a temporary file
+   * and are not added to the PDF document.
+   *
+   * @param isStreaming True, if the PDF document should be processed page by page.
+   */
+  void setIsStreaming(boolean isStreaming);
+
+  // ==============================================================================================
+
+  /**
+   * Returns the boolean flag indicating whether or not only the text of the PDF document is
+   * parsed.
+   *
+   * @return True, if only the text of the PDF document is parsed; false otherwise.
+   */
+  boolean isTextOnly();
+
+  /**
+   * Sets the boolean flag indicating whether or not only the text of the PDF document should be
+   * parsed. If set to true, no shapes and figures are extracted from the PDF document, so the
+   * units "shapes" and "figures" are empty. The identifiers of the colors may differ from the
+   * identifiers assigned without this flag.
+   *
+   * @param isTextOnly True, if only the text of the PDF document should be parsed.
+   */
+  void setIsTextOnly(boolean isTextOnly);
+
+  // ==============================================================================================
+
+  /**
+   * Returns the strategy to load the PDF file of the PDF document.
+   *
+   * @return The strategy to load the PDF file of the PDF document.
+   */
+  LoadStrategy getLoadStrategy();
+
+  /**
+   * Sets the strategy to load the PDF file of the PDF document, that is: whether the data of the
+   * streams of the PDF file are buffered in main memory, in a temporary file, or in main memory up
+   * to {@link #getMaxMainMemoryBytes()} bytes and in a temporary file beyond. The strategy
+   * applies to the parsing as well as to the visualization.
+   *
+   * @param strategy The strategy to load the PDF file of the PDF document.
+   */
+  void setLoadStrategy(LoadStrategy strategy);
+
+  /**
+   * Returns the maximum number of bytes to buffer in main memory on loading the PDF file of the
+   * PDF document with the strategy {@link LoadStrategy#MIXED}.
+   *
+   * @return The maximum number of bytes to buffer in main memory.
+   */
+  long getMaxMainMemoryBytes();
+
+  /**
+   * Sets the maximum number of bytes to buffer in main memory on loading the PDF file of the PDF
+   * document with the strategy {@link LoadStrategy#MIXED}.
+   *
+   * @param maxMainMemoryBytes The maximum number of bytes to buffer in main memory.
+   */
+  void setMaxMainMemoryBytes(long maxMainMemoryBytes);
+
+  // ==============================================================================================
+
+  /**
+   * Returns the boolean flag indicating whether or not the serialization is written compactly,
+   * that is: without any indentation and line breaks.
+   *
+   * @return True, if the serialization is written compactly; false otherwise.
+   */
+  boolean isCompact();
+
+  /**
+   * Sets the boolean flag indicating whether or not the serialization should be written
+   * compactly, that is: without any indentation and line breaks. Only supported by the JSON
+   * format.
+   *
+   * @param isCompact True, if the serialization should be written compactly.
+   */
+  void setIsCompact(boolean isCompact);
+
+  // ==============================================================================================
+
+  /**
+   * Returns the boolean flag indicating whether or not only the first pages of the PDF document
+   * needed to find the semantic roles to include are processed.
+   *
+   * @return True, if only the first pages needed to find the semantic roles are processed.
+   */
+  boolean isEarlyTermination();
+
+  /**
+   * Sets the boolean flag indicating whether or not only the first pages of the PDF document
+   * needed to find the semantic roles to include should be processed (see
+   * {@link pdfact.core.pipes.PdfActCorePipe#setSemanticRolesToFind(Set)}).
+   *
+   * @param isEarlyTermination True, if only the first pages needed to find the semantic roles
+   *                           should be processed.
+   */
+  void setIsEarlyTermination(boolean isEarlyTermination);
+
+  // ==============================================================================================
+
+  /**
+   * Returns the collector into which the metrics of the executed pipes are recorded.
+   *
+   * @return The collector, or null if no metrics are recorded.
+   */
+  PipelineMetrics getMetrics();
+
+  /**
+   * Sets the collector into which the metrics of the executed pipes (of the service pipeline and
+   * of the core pipeline) should be recorded.
+   *
+   * @param metrics The collector, or null if no metrics should be recorded.
+   */
+  void setMetrics(PipelineMetrics metrics);
 }
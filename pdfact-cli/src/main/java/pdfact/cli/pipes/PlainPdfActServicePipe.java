@@ -3,6 +3,10 @@ package pdfact.cli.pipes;
 import static pdfact.cli.PdfActCliSettings.DEFAULT_EXTRACTION_UNITS;
 import static pdfact.cli.PdfActCliSettings.DEFAULT_SEMANTIC_ROLES;
 import static pdfact.cli.PdfActCliSettings.DEFAULT_SERIALIZE_FORMAT;
+import static pdfact.core.PdfActCoreSettings.DEFAULT_LOAD_STRATEGY;
+import static pdfact.core.PdfActCoreSettings.DEFAULT_MAX_MAIN_MEMORY_BYTES;
+import static pdfact.core.PdfActCoreSettings.DEFAULT_NUM_PARSE_THREADS;
+import java.io.IOException;
 import java.io.OutputStream;
 import java.nio.file.Path;
 import java.util.Set;
@@ -16,11 +20,22 @@ import pdfact.cli.pipes.validate.PlainValidatePathToWritePipe;
 import pdfact.cli.pipes.validate.ValidatePathToWritePipe;
 import pdfact.cli.pipes.visualize.PlainVisualizePdfPipe;
 import pdfact.cli.pipes.visualize.VisualizePdfPipe;
+import pdfact.cli.util.exception.PdfActSerializeException;
 import pdfact.core.model.Document;
+import pdfact.core.model.DocumentSession;
+import pdfact.core.model.LoadStrategy;
+import pdfact.core.model.Page;
+import pdfact.core.model.Paragraph;
+import pdfact.core.model.ProcessingStage;
 import pdfact.core.model.SemanticRole;
+import pdfact.core.pipes.PdfActCorePipe;
 import pdfact.core.pipes.PlainPdfActCorePipe;
+import pdfact.core.pipes.streaming.PageHandler;
+import pdfact.core.pipes.streaming.ParagraphsFile;
 import pdfact.core.util.exception.PdfActException;
+import pdfact.core.util.list.ElementList;
 import pdfact.core.util.pipeline.Pipeline;
+import pdfact.core.util.pipeline.PipelineMetrics;
 import pdfact.core.util.pipeline.PlainPipeline;
 
 /**
@@ -87,6 +102,49 @@ public class PlainPdfActServicePipe implements PdfActServicePipe {
    */
   protected boolean isPdfJsMode;
 
+  /**
+   * The number of threads to use on parsing the pages of a PDF document.
+   */
+  protected int numParseThreads;
+
+  /**
+   * The boolean flag indicating whether or not the PDF document is processed page by page.
+   */
+  protected boolean isStreaming;
+
+  /**
+   * The boolean flag indicating whether or not only the text of the PDF document is parsed.
+   */
+  protected boolean isTextOnly;
+
+  /**
+   * The strategy to load the PDF file of the PDF document.
+   */
+  protected LoadStrategy loadStrategy = DEFAULT_LOAD_STRATEGY;
+
+  /**
+   * The maximum number of bytes to buffer in main memory on loading the PDF file of the PDF
+   * document with the strategy {@link LoadStrategy#MIXED}.
+   */
+  protected long maxMainMemoryBytes = DEFAULT_MAX_MAIN_MEMORY_BYTES;
+
+  /**
+   * The boolean flag indicating whether or not the serialization should be written compactly.
+   */
+  protected boolean isCompact;
+
+  /**
+   * The boolean flag indicating whether or not only the first pages needed to find the roles to
+   * include should be processed.
+   */
+  protected boolean isEarlyTermination;
+
+  /**
+   * The collector into which the metrics of the executed pipes are recorded; null if no metrics
+   * should be recorded.
+   */
+  protected PipelineMetrics metrics;
+
   // ==============================================================================================
 
   /**
@@ -96,6 +154,7 @@ public class PlainPdfActServicePipe implements PdfActServicePipe {
     this.serializationFormat = DEFAULT_SERIALIZE_FORMAT;
     this.extractionUnits = DEFAULT_EXTRACTION_UNITS;
     this.roles = DEFAULT_SEMANTIC_ROLES;
+    this.numParseThreads = DEFAULT_NUM_PARSE_THREADS;
   }
 
   // ==============================================================================================
@@ -117,9 +176,48 @@ public class PlainPdfActServicePipe implements PdfActServicePipe {
     log.debug("Process: Processing the service pipeline.");
 
     Pipeline pipeline = new PlainPipeline();
+    pipeline.setMetrics(this.metrics);
 
     // Parse the PDF document.
-    pipeline.addPipe(new PlainPdfActCorePipe());
+    PdfActCorePipe corePipe = new PlainPdfActCorePipe();
+    corePipe.setNumParseThreads(this.numParseThreads);
+    corePipe.setIsTextOnly(this.isTextOnly);
+    corePipe.setLoadStrategy(this.loadStrategy);
+    corePipe.setMaxMainMemoryBytes(this.maxMainMemoryBytes);
+    corePipe.setLastStage(getLastRequiredStage());
+    if (this.isEarlyTermination) {
+      corePipe.setSemanticRolesToFind(this.roles);
+    }
+    corePipe.setMetrics(this.metrics);
+    boolean isSerializing = this.serializationStream != null || this.serializationPath != null;
+    // The file to which the paragraphs of the processed pages are written on streaming.
+    final ParagraphsFile paragraphsFile = this.isStreaming && isSerializing
+        ? createParagraphsFile(pdf) : null;
+    if (paragraphsFile != null) {
+      // Write the paragraphs of each processed page to the file and drop them afterwards, to
+      // serialize them from the file without keeping the paragraphs of all pages in memory.
+      corePipe.setPageHandler(new PageHandler() {
+        @Override
+        public void handlePage(Document pdf, Page page, ElementList<Paragraph> paragraphs)
+            throws PdfActException {
+          try {
+            paragraphsFile.writeParagraphs(paragraphs);
+          } catch (IOException e) {
+            throw new PdfActSerializeException("Couldn't buffer the paragraphs.", e);
+          }
+        }
+      });
+    } else if (this.isStreaming) {
+      // Keep the paragraphs of the processed pages in the document, since there is no target to
+      // serialize them to.
+      corePipe.setPageHandler(new PageHandler() {
+        @Override
+        public void handlePage(Document pdf, Page page, ElementList<Paragraph> paragraphs) {
+          pdf.addParagraphs(paragraphs);
+        }
+      });
+    }
+    pipeline.addPipe(corePipe);
 
     // Validate the target path for the serialization if there is any given.
     if (this.serializationPath != null) {
@@ -129,7 +227,7 @@ public class PlainPdfActServicePipe implements PdfActServicePipe {
     }
 
     // Serialize if there is a target given for the serialization.
-    if (this.serializationStream != null || this.serializationPath != null) {
+    if (isSerializing) {
       SerializePdfPipe serializePipe = new PlainSerializePdfPipe();
       serializePipe.setSerializationFormat(this.serializationFormat);
       serializePipe.setExtractionUnits(this.extractionUnits);
@@ -138,6 +236,8 @@ public class PlainPdfActServicePipe implements PdfActServicePipe {
       serializePipe.setTargetStream(this.serializationStream);
       serializePipe.setWithControlCharacters(this.withControlCharacters);
       serializePipe.setIsPdfJsMode(this.isPdfJsMode);
+      serializePipe.setIsCompact(this.isCompact);
+      serializePipe.setParagraphs(paragraphsFile);
       pipeline.addPipe(serializePipe);
     }
 
@@ -160,8 +260,36 @@ public class PlainPdfActServicePipe implements PdfActServicePipe {
 
     log.debug("# pipes in the pipeline: " + pipeline.size());
 
+    // If the PDF document is visualized, load the underlying file only once and share the loaded
+    // file between the parsing and the visualization (instead of loading the file twice).
+    DocumentSession session = null;
+    if (pdf.getSession() == null && (this.visualizationStream != null
+        || this.visualizationPath != null)) {
+      session = new DocumentSession(pdf.getFile(),
+          this.loadStrategy.toMemoryUsageSetting(this.maxMainMemoryBytes));
+      pdf.setSession(session);
+    }
+
     long start = System.currentTimeMillis();
-    pipeline.process(pdf);
+    try {
+      pipeline.process(pdf);
+    } finally {
+      if (session != null) {
+        pdf.setSession(null);
+        try {
+          session.close();
+        } catch (IOException e) {
+          log.error("Couldn't close the PDF file '" + pdf.getFile() + "'.", e);
+        }
+      }
+      if (paragraphsFile != null) {
+        try {
+          paragraphsFile.close();
+        } catch (IOException e) {
+          log.error("Couldn't delete the buffered paragraphs of '" + pdf.getFile() + "'.", e);
+        }
+      }
+    }
     long length = System.currentTimeMillis() - start;
 
     log.debug("Processing the service pipeline done.");
@@ -172,6 +300,111 @@ public class PlainPdfActServicePipe implements PdfActServicePipe {
     return pdf;
   }
 
+  /**
+   * Creates the file to which the paragraphs of the given PDF document are written on streaming.
+   *
+   * @param pdf
+   *        The PDF document to process.
+   *
+   * @return The created file.
+   *
+   * @throws PdfActException
+   *         If the file couldn't be created.
+   */
+  protected ParagraphsFile createParagraphsFile(Document pdf) throws PdfActException {
+    try {
+      return new ParagraphsFile(pdf);
+    } catch (IOException e) {
+      throw new PdfActSerializeException("Couldn't create the file to buffer the paragraphs.", e);
+    }
+  }
+
+  /**
+   * Returns the last stage of the core pipeline which is required to serialize and to visualize
+   * the units to extract. The units are serialized and visualized in the same way as without
+   * skipping any stage. For example: the characters and words are serialized by iterating the
+   * (dehyphenated) words of the paragraphs, so they require all stages; the figures and shapes
+   * don't require any text to be tokenized, unless they are serialized in TXT format or are
+   * visualized (both fall back to the paragraphs). If there is neither a serialization nor a
+   * visualization target, the processed document is returned to the caller, so no stage is
+   * skipped.
+   *
+   * @return The last required stage of the core pipeline.
+   */
+  protected ProcessingStage getLastRequiredStage() {
+    ProcessingStage stage = ProcessingStage.CHARACTERS;
+
+    boolean isSerializing = this.serializationStream != null || this.serializationPath != null;
+    boolean isVisualizing = this.visualizationStream != null || this.visualizationPath != null;
+    if (!isSerializing && !isVisualizing) {
+      return ProcessingStage.PARAGRAPHS;
+    }
+    if (this.extractionUnits == null || this.isPdfJsMode
+        || (isSerializing && this.serializationFormat == SerializationFormat.TXT)) {
+      return ProcessingStage.PARAGRAPHS;
+    }
+
+    for (ExtractionUnit unit : this.extractionUnits) {
+      if (isSerializing) {
+        stage = ProcessingStage.max(stage, getRequiredStageForSerialization(unit));
+      }
+      if (isVisualizing) {
+        stage = ProcessingStage.max(stage, getRequiredStageForVisualization(unit));
+      }
+    }
+    log.debug("Last required stage of the core pipeline: " + stage.getName() + ".");
+    return stage;
+  }
+
+  /**
+   * Returns the last stage of the core pipeline which is required to serialize the given unit.
+   *
+   * @param unit The unit to serialize.
+   *
+   * @return The last required stage of the core pipeline.
+   */
+  protected ProcessingStage getRequiredStageForSerialization(ExtractionUnit unit) {
+    switch (unit) {
+      case TEXT_AREA:
+        return ProcessingStage.TEXT_AREAS;
+      case TEXT_LINE:
+        return ProcessingStage.TEXT_LINES;
+      case TEXT_BLOCK:
+        // The text blocks are serialized together with their semantic roles.
+        return ProcessingStage.SEMANTIC_ROLES;
+      case FIGURE:
+      case SHAPE:
+      case PAGE:
+        return ProcessingStage.CHARACTERS;
+      case PARAGRAPH:
+      case WORD:
+      case CHARACTER:
+      default:
+        return ProcessingStage.PARAGRAPHS;
+    }
+  }
+
+  /**
+   * Returns the last stage of the core pipeline which is required to visualize the given unit.
+   *
+   * @param unit The unit to visualize.
+   *
+   * @return The last required stage of the core pipeline.
+   */
+  protected ProcessingStage getRequiredStageForVisualization(ExtractionUnit unit) {
+    switch (unit) {
+      case TEXT_AREA:
+        return ProcessingStage.TEXT_AREAS;
+      case TEXT_LINE:
+        return ProcessingStage.TEXT_LINES;
+      case TEXT_BLOCK:
+        return ProcessingStage.SEMANTIC_ROLES;
+      default:
+        // All other units are visualized by means of the paragraphs.
+        return ProcessingStage.PARAGRAPHS;
+    }
+  }
+
   // ==============================================================================================
 
   @Override
@@ -291,4 +524,98 @@ public class PlainPdfActServicePipe implements PdfActServicePipe {
   public void setIsPdfJsMode(boolean isPdfJsMode) {
     this.isPdfJsMode = isPdfJsMode;
   }
-}
\ No newline at end of file
+
+  // ==============================================================================================
+
+  @Override
+  public int getNumParseThreads() {
+    return this.numParseThreads;
+  }
+
+  @Override
+  public void setNumParseThreads(int numThreads) {
+    this.numParseThreads = numThreads;
+  }
+
+  // ==============================================================================================
+
+  @Override
+  public boolean isStreaming() {
+    return this.isStreaming;
+  }
+
+  @Override
+  public void setIsStreaming(boolean isStreaming) {
+    this.isStreaming = isStreaming;
+  }
+
+  // ==============================================================================================
+
+  @Override
+  public boolean isTextOnly() {
+    return this.isTextOnly;
+  }
+
+  @Override
+  public void setIsTextOnly(boolean isTextOnly) {
+    this.isTextOnly = isTextOnly;
+  }
+
+  // ==============================================================================================
+
+  @Override
+  public LoadStrategy getLoadStrategy() {
+    return this.loadStrategy;
+  }
+
+  @Override
+  public void setLoadStrategy(LoadStrategy strategy) {
+    this.loadStrategy = strategy;
+  }
+
+  @Override
+  public long getMaxMainMemoryBytes() {
+    return this.maxMainMemoryBytes;
+  }
+
+  @Override
+  public void setMaxMainMemoryBytes(long maxMainMemoryBytes) {
+    this.maxMainMemoryBytes = maxMainMemoryBytes;
+  }
+
+  // ==============================================================================================
+
+  @Override
+  public boolean isCompact() {
+    return this.isCompact;
+  }
+
+  @Override
+  public void setIsCompact(boolean isCompact) {
+    this.isCompact = isCompact;
+  }
+
+  // ==============================================================================================
+
+  @Override
+  public boolean isEarlyTermination() {
+    return this.isEarlyTermination;
+  }
+
+  @Override
+  public void setIsEarlyTermination(boolean isEarlyTermination) {
+    this.isEarlyTermination = isEarlyTermination;
+  }
+
+  // ==============================================================================================
+
+  @Override
+  public PipelineMetrics getMetrics() {
+    return this.metrics;
+  }
+
+  @Override
+  public void setMetrics(PipelineMetrics metrics) {
+    this.metrics = metrics;
+  }
+}
@@ -0,0 +1,323 @@
+package pdfact.cli.pipes.serialize;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+/**
+ * A writer that writes JSON directly to a {@link Writer}, without building a tree of JSON objects
+ * in memory first.
+ *
+ * <p>
+ * The output is formatted exactly like the output of {@link JSONObject#toString(int)}: the
+ * members of an object (and the elements of an array) are written on separate lines, except for
+ * objects with a single member and arrays with a single element, which are written inline. For
+ * this reason, the number of members of an object (or elements of an array) must be known on
+ * opening the object (or array). If the indentation length is zero, the output is written
+ * compactly, without any line breaks and whitespaces.
+ *
+ * @author Claudius Korzen
+ */
+public class JsonStreamWriter {
+  /**
+   * The writer to which the JSON is written.
+   */
+  protected Writer writer;
+
+  /**
+   * The number of whitespaces to indent each level with.
+   */
+  protected int indentLength;
+
+  /**
+   * The stack of the objects and arrays that are currently open. The innermost object (or array)
+   * is on top of the stack.
+   */
+  protected Deque<Level> levels;
+
+  // ==============================================================================================
+  // Constructors.
+
+  /**
+   * Creates a new JSON writer.
+   *
+   * @param writer       The writer to which the JSON should be written.
+   * @param indentLength The number of whitespaces to indent each level with. If zero, the output
+   *                     is written compactly.
+   */
+  public JsonStreamWriter(Writer writer, int indentLength) {
+    this.writer = writer;
+    this.indentLength = indentLength;
+    this.levels = new ArrayDeque<>();
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Opens a new object, as a member or element of the current level.
+   *
+   * @param numMembers The number of members the object will have.
+   *
+   * @throws IOException If writing to the underlying writer failed.
+   */
+  public void beginObject(int numMembers) throws IOException {
+    begin('{', numMembers);
+  }
+
+  /**
+   * Closes the current object.
+   *
+   * @throws IOException If writing to the underlying writer failed.
+   */
+  public void endObject() throws IOException {
+    end('}');
+  }
+
+  /**
+   * Opens a new array, as a member or element of the current level.
+   *
+   * @param numElements The number of elements the array will have.
+   *
+   * @throws IOException If writing to the underlying writer failed.
+   */
+  public void beginArray(int numElements) throws IOException {
+    begin('[', numElements);
+  }
+
+  /**
+   * Closes the current array.
+   *
+   * @throws IOException If writing to the underlying writer failed.
+   */
+  public void endArray() throws IOException {
+    end(']');
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Writes the name of the next member of the current object. The name must be followed by a
+   * value or by a new object or array.
+   *
+   * @param name The name of the member.
+   *
+   * @throws IOException If writing to the underlying writer failed.
+   */
+  public void name(String name) throws IOException {
+    separate();
+    JSONObject.quote(name, this.writer);
+    this.writer.write(':');
+    if (this.indentLength > 0) {
+      this.writer.write(' ');
+    }
+    this.levels.peek().hasPendingName = true;
+  }
+
+  /**
+   * Writes the given string value.
+   *
+   * @param value The value to write.
+   *
+   * @throws IOException If writing to the underlying writer failed.
+   */
+  public void value(String value) throws IOException {
+    separate();
+    JSONObject.quote(value, this.writer);
+  }
+
+  /**
+   * Writes the given number value.
+   *
+   * @param value The value to write.
+   *
+   * @throws IOException   If writing to the underlying writer failed.
+   * @throws JSONException If the value is not a finite number.
+   */
+  public void value(Number value) throws IOException {
+    separate();
+    this.writer.write(JSONObject.numberToString(value));
+  }
+
+  /**
+   * Writes the given boolean value.
+   *
+   * @param value The value to write.
+   *
+   * @throws IOException If writing to the underlying writer failed.
+   */
+  public void value(boolean value) throws IOException {
+    separate();
+    this.writer.write(value ? "true" : "false");
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Writes the given name and string value as a member of the current object.
+   *
+   * @param name  The name of the member.
+   * @param value The value of the member.
+   *
+   * @throws IOException If writing to the underlying writer failed.
+   */
+  public void member(String name, String value) throws IOException {
+    name(name);
+    value(value);
+  }
+
+  /**
+   * Writes the given name and number value as a member of the current object.
+   *
+   * @param name  The name of the member.
+   * @param value The value of the member.
+   *
+   * @throws IOException If writing to the underlying writer failed.
+   */
+  public void member(String name, Number value) throws IOException {
+    name(name);
+    value(value);
+  }
+
+  /**
+   * Writes the given name and boolean value as a member of the current object.
+   *
+   * @param name  The name of the member.
+   * @param value The value of the member.
+   *
+   * @throws IOException If writing to the underlying writer failed.
+   */
+  public void member(String name, boolean value) throws IOException {
+    name(name);
+    value(value);
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Flushes the underlying writer.
+   *
+   * @throws IOException If flushing the underlying writer failed.
+   */
+  public void flush() throws IOException {
+    this.writer.flush();
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Opens a new object or array.
+   *
+   * @param bracket The opening bracket of the object or array.
+   * @param size    The number of members (or elements) of the object (or array).
+   *
+   * @throws IOException If writing to the underlying writer failed.
+   */
+  protected void begin(char bracket, int size) throws IOException {
+    separate();
+    this.writer.write(bracket);
+
+    // Objects with a single member and arrays with a single element are written inline, without
+    // increasing the indentation.
+    Level parent = this.levels.peek();
+    int indent = parent != null ? parent.indent : 0;
+    this.levels.push(new Level(size, size > 1 ? indent + this.indentLength : indent));
+  }
+
+  /**
+   * Closes the current object or array.
+   *
+   * @param bracket The closing bracket of the object or array.
+   *
+   * @throws IOException If writing to the underlying writer failed.
+   */
+  protected void end(char bracket) throws IOException {
+    Level level = this.levels.pop();
+    if (level.size > 1) {
+      newLine(this.levels.isEmpty() ? 0 : this.levels.peek().indent);
+    }
+    this.writer.write(bracket);
+  }
+
+  /**
+   * Writes the separation needed in front of the next value (or member) of the current level.
+   * Does nothing if the next value follows a member name.
+   *
+   * @throws IOException If writing to the underlying writer failed.
+   */
+  protected void separate() throws IOException {
+    Level level = this.levels.peek();
+    if (level == null) {
+      return;
+    }
+
+    if (level.hasPendingName) {
+      level.hasPendingName = false;
+      return;
+    }
+
+    if (level.numWritten > 0) {
+      this.writer.write(',');
+    }
+    if (level.size > 1) {
+      newLine(level.indent);
+    }
+    level.numWritten++;
+  }
+
+  /**
+   * Starts a new line with the given indentation, if the output is not written compactly.
+   *
+   * @param indent The number of whitespaces to indent the new line with.
+   *
+   * @throws IOException If writing to the underlying writer failed.
+   */
+  protected void newLine(int indent) throws IOException {
+    if (this.indentLength > 0) {
+      this.writer.write('\n');
+      for (int i = 0; i < indent; i++) {
+        this.writer.write(' ');
+      }
+    }
+  }
+
+  // ==============================================================================================
+
+  /**
+   * An object or array that is currently open.
+   */
+  protected static class Level {
+    /**
+     * The number of members (or elements) of the object (or array).
+     */
+    protected int size;
+
+    /**
+     * The indentation of the members (or elements).
+     */
+    protected int indent;
+
+    /**
+     * The number of members (or elements) written so far.
+     */
+    protected int numWritten;
+
+    /**
+     * The boolean flag indicating whether the name of a member was written, but not its value.
+     */
+    protected boolean hasPendingName;
+
+    /**
+     * Creates a new level.
+     *
+     * @param size   The number of members (or elements) of the object (or array).
+     * @param indent The indentation of the members (or elements).
+     */
+    protected Level(int size, int indent) {
+      this.size = size;
+      this.indent = indent;
+    }
+  }
+}
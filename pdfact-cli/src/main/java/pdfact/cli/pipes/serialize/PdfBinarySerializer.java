@@ -0,0 +1,620 @@
+package pdfact.cli.pipes.serialize;
+
+import static pdfact.core.PdfActCoreSettings.DEFAULT_ENCODING;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import pdfact.cli.model.ExtractionUnit;
+import pdfact.cli.util.exception.PdfActSerializeException;
+import pdfact.core.model.Character;
+import pdfact.core.model.Color;
+import pdfact.core.model.Document;
+import pdfact.core.model.Figure;
+import pdfact.core.model.Font;
+import pdfact.core.model.FontFace;
+import pdfact.core.model.HasSemanticRole;
+import pdfact.core.model.Page;
+import pdfact.core.model.Paragraph;
+import pdfact.core.model.Position;
+import pdfact.core.model.Rectangle;
+import pdfact.core.model.SemanticRole;
+import pdfact.core.model.Shape;
+import pdfact.core.model.Word;
+import pdfact.core.util.binary.PdfBinaryFormat;
+import pdfact.core.util.binary.PdfBinaryReader;
+import pdfact.core.util.exception.PdfActException;
+
+/**
+ * A serializer to serialize a document in the binary format described in {@link PdfBinaryFormat},
+ * which can be read back by {@link PdfBinaryReader}.
+ *
+ * <p>
+ * The pages are always serialized, since the positions of the elements refer to them. Fonts and
+ * colors are serialized once and referenced by their index. Paragraphs are serialized if
+ * paragraphs, words or characters are to be extracted; their words are included if words or
+ * characters are to be extracted, and the characters of the words if characters are to be
+ * extracted. Text blocks are not part of the format.
+ *
+ * @author Claudius Korzen
+ */
+public class PdfBinarySerializer implements PdfStreamSerializer {
+  /**
+   * The units to serialize.
+   */
+  protected Set<ExtractionUnit> extractionUnits;
+
+  /**
+   * The semantic roles to consider on serializing.
+   */
+  protected Set<SemanticRole> semanticRolesToInclude;
+
+  /**
+   * The fonts of the PDF elements which are serialized, per their indices.
+   */
+  protected Map<Font, Integer> usedFonts;
+
+  /**
+   * The colors of the PDF elements which are serialized, per their indices.
+   */
+  protected Map<Color, Integer> usedColors;
+
+  /**
+   * The stream to which the current serialization is written.
+   */
+  protected DataOutputStream out;
+
+  /**
+   * The paragraphs of the current serialization.
+   */
+  protected Iterable<Paragraph> paragraphs;
+
+  /**
+   * The buffer to which each paragraph is encoded first, to determine its length.
+   */
+  protected ByteArrayOutputStream paragraphBuffer;
+
+  /**
+   * The stream that writes to the paragraph buffer.
+   */
+  protected DataOutputStream paragraphOut;
+
+  // ==============================================================================================
+  // Constructors.
+
+  /**
+   * Creates a new serializer that serializes a PDF document in binary format.
+   */
+  public PdfBinarySerializer() {
+    this.usedFonts = new LinkedHashMap<>();
+    this.usedColors = new LinkedHashMap<>();
+    this.paragraphBuffer = new ByteArrayOutputStream();
+    this.paragraphOut = new DataOutputStream(this.paragraphBuffer);
+  }
+
+  /**
+   * Creates a new serializer that serializes a PDF document in binary format.
+   *
+   * @param extractionUnits The units to serialize.
+   * @param roles           The semantic roles to include.
+   */
+  public PdfBinarySerializer(Set<ExtractionUnit> extractionUnits, Set<SemanticRole> roles) {
+    this();
+    this.extractionUnits = extractionUnits;
+    this.semanticRolesToInclude = roles;
+  }
+
+  // ==============================================================================================
+
+  @Override
+  public byte[] serialize(Document pdf) throws PdfActException {
+    ByteArrayOutputStream stream = new ByteArrayOutputStream();
+    serialize(pdf, stream);
+    return stream.toByteArray();
+  }
+
+  @Override
+  public void serialize(Document pdf, OutputStream stream) throws PdfActException {
+    serialize(pdf, pdf != null ? pdf.getParagraphs() : null, stream);
+  }
+
+  @Override
+  public void serialize(Document pdf, Iterable<Paragraph> paragraphs, OutputStream stream)
+      throws PdfActException {
+    if (pdf == null) {
+      return;
+    }
+    this.paragraphs = paragraphs;
+
+    this.out = new DataOutputStream(new BufferedOutputStream(stream));
+
+    try {
+      // Collect the used fonts and colors first, since they are written in front of the elements
+      // that refer to them.
+      collectFontsAndColors(pdf);
+
+      serializePdf(pdf);
+
+      this.out.flush();
+    } catch (IOException | UncheckedIOException e) {
+      throw new PdfActSerializeException("Couldn't write the binary serialization.", e);
+    } finally {
+      this.out = null;
+      this.paragraphs = null;
+    }
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Serializes the given PDF document.
+   *
+   * @param pdf The PDF document to serialize.
+   *
+   * @throws IOException If writing the serialization failed.
+   */
+  protected void serializePdf(Document pdf) throws IOException {
+    this.out.writeInt(PdfBinaryFormat.MAGIC);
+    this.out.writeInt(PdfBinaryFormat.VERSION);
+    writeString(this.out, pdf.getPath() != null ? pdf.getPath().toString() : null);
+
+    serializePages(pdf.getPages());
+    serializeFonts();
+    serializeColors();
+
+    boolean hasCharacters = this.extractionUnits.contains(ExtractionUnit.CHARACTER);
+    boolean hasWords = hasCharacters || this.extractionUnits.contains(ExtractionUnit.WORD);
+    if (hasWords || this.extractionUnits.contains(ExtractionUnit.PARAGRAPH)) {
+      serializeParagraphs(pdf, hasWords, hasCharacters);
+    }
+    if (this.extractionUnits.contains(ExtractionUnit.FIGURE)) {
+      serializeFigures(pdf);
+    }
+    if (this.extractionUnits.contains(ExtractionUnit.SHAPE)) {
+      serializeShapes(pdf);
+    }
+
+    this.out.writeByte(PdfBinaryFormat.END);
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Collects the fonts and colors of the characters and shapes to serialize and assigns an index
+   * to each of them, in the order in which they are seen first.
+   *
+   * @param pdf The PDF document to process.
+   */
+  protected void collectFontsAndColors(Document pdf) {
+    this.usedFonts.clear();
+    this.usedColors.clear();
+
+    if (this.extractionUnits.contains(ExtractionUnit.CHARACTER)) {
+      for (Paragraph paragraph : this.paragraphs) {
+        // Ignore the paragraph if its role should not be extracted.
+        if (!hasRelevantRole(paragraph)) {
+          continue;
+        }
+
+        for (Word word : paragraph.getWords()) {
+          for (Character character : word.getCharacters()) {
+            FontFace fontFace = character.getFontFace();
+            if (fontFace != null && fontFace.getFont() != null
+                && !this.usedFonts.containsKey(fontFace.getFont())) {
+              this.usedFonts.put(fontFace.getFont(), this.usedFonts.size());
+            }
+            collectColor(character.getColor());
+          }
+        }
+      }
+    }
+
+    if (this.extractionUnits.contains(ExtractionUnit.SHAPE)) {
+      for (Page page : pdf.getPages()) {
+        for (Shape shape : page.getShapes()) {
+          collectColor(shape.getColor());
+        }
+      }
+    }
+  }
+
+  /**
+   * Assigns an index to the given color, if it doesn't have one yet.
+   *
+   * @param color The color to process.
+   */
+  protected void collectColor(Color color) {
+    if (color != null && color.getRGB() != null && !this.usedColors.containsKey(color)) {
+      this.usedColors.put(color, this.usedColors.size());
+    }
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Serializes the given pages.
+   *
+   * @param pages The pages to serialize.
+   *
+   * @throws IOException If writing the serialization failed.
+   */
+  protected void serializePages(List<Page> pages) throws IOException {
+    this.out.writeByte(PdfBinaryFormat.PAGES);
+    this.out.writeInt(pages.size());
+    for (Page page : pages) {
+      this.out.writeInt(page.getPageNumber());
+      this.out.writeFloat(page.getWidth());
+      this.out.writeFloat(page.getHeight());
+    }
+  }
+
+  /**
+   * Serializes the used fonts.
+   *
+   * @throws IOException If writing the serialization failed.
+   */
+  protected void serializeFonts() throws IOException {
+    this.out.writeByte(PdfBinaryFormat.FONTS);
+    this.out.writeInt(this.usedFonts.size());
+    for (Font font : this.usedFonts.keySet()) {
+      writeString(this.out, font.getId());
+      writeString(this.out, font.getNormalizedName());
+      writeString(this.out, font.getBaseName());
+      writeString(this.out, font.getFontFamilyName());
+
+      int flags = 0;
+      flags |= font.isBold() ? PdfBinaryFormat.FONT_IS_BOLD : 0;
+      flags |= font.isItalic() ? PdfBinaryFormat.FONT_IS_ITALIC : 0;
+      flags |= font.isType3Font() ? PdfBinaryFormat.FONT_IS_TYPE3 : 0;
+      this.out.writeByte(flags);
+    }
+  }
+
+  /**
+   * Serializes the used colors.
+   *
+   * @throws IOException If writing the serialization failed.
+   */
+  protected void serializeColors() throws IOException {
+    this.out.writeByte(PdfBinaryFormat.COLORS);
+    this.out.writeInt(this.usedColors.size());
+    for (Color color : this.usedColors.keySet()) {
+      int[] rgb = color.getRGB();
+      writeString(this.out, color.getId());
+      writeString(this.out, color.getName());
+      this.out.writeInt(rgb.length);
+      for (int component : rgb) {
+        this.out.writeInt(component);
+      }
+    }
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Serializes the paragraphs of the given PDF document.
+   *
+   * @param pdf           The PDF document to process.
+   * @param hasWords      The boolean flag indicating whether or not to include the words.
+   * @param hasCharacters The boolean flag indicating whether or not to include the characters.
+   *
+   * @throws IOException If writing the serialization failed.
+   */
+  protected void serializeParagraphs(Document pdf, boolean hasWords, boolean hasCharacters)
+      throws IOException {
+    int numParagraphs = 0;
+    for (Paragraph paragraph : this.paragraphs) {
+      if (hasRelevantRole(paragraph)) {
+        numParagraphs++;
+      }
+    }
+
+    this.out.writeByte(PdfBinaryFormat.PARAGRAPHS);
+    this.out.writeInt(numParagraphs);
+    for (Paragraph paragraph : this.paragraphs) {
+      // Ignore the paragraph if its role should not be extracted.
+      if (!hasRelevantRole(paragraph)) {
+        continue;
+      }
+
+      // Encode the paragraph first, to prefix it with its length.
+      this.paragraphBuffer.reset();
+      serializeParagraph(this.paragraphOut, paragraph, hasWords, hasCharacters);
+      this.out.writeInt(this.paragraphBuffer.size());
+      this.paragraphBuffer.writeTo(this.out);
+    }
+  }
+
+  /**
+   * Serializes the given paragraph.
+   *
+   * @param out           The stream to write to.
+   * @param paragraph     The paragraph to serialize.
+   * @param hasWords      The boolean flag indicating whether or not to include the words.
+   * @param hasCharacters The boolean flag indicating whether or not to include the characters.
+   *
+   * @throws IOException If writing the serialization failed.
+   */
+  protected void serializeParagraph(DataOutputStream out, Paragraph paragraph, boolean hasWords,
+      boolean hasCharacters) throws IOException {
+    SemanticRole role = paragraph.getSemanticRole();
+    writeString(out, role != null ? role.getName() : null);
+    writeString(out, paragraph.getText());
+    writePositions(out, paragraph.getPositions());
+
+    if (!hasWords) {
+      out.writeInt(PdfBinaryFormat.NONE);
+      return;
+    }
+    out.writeInt(paragraph.getWords().size());
+    for (Word word : paragraph.getWords()) {
+      serializeWord(out, word, hasCharacters);
+    }
+  }
+
+  /**
+   * Serializes the given word.
+   *
+   * @param out           The stream to write to.
+   * @param word          The word to serialize.
+   * @param hasCharacters The boolean flag indicating whether or not to include the characters.
+   *
+   * @throws IOException If writing the serialization failed.
+   */
+  protected void serializeWord(DataOutputStream out, Word word, boolean hasCharacters)
+      throws IOException {
+    writeString(out, word.getText());
+    writePositions(out, word.getPositions());
+
+    int flags = 0;
+    flags |= word.isHyphenated() ? PdfBinaryFormat.WORD_IS_HYPHENATED : 0;
+    flags |= word.isDehyphenated() ? PdfBinaryFormat.WORD_IS_DEHYPHENATED : 0;
+    flags |= word.isHyphenMandatory() ? PdfBinaryFormat.WORD_IS_HYPHEN_MANDATORY : 0;
+    out.writeByte(flags);
+
+    if (!hasCharacters) {
+      out.writeInt(PdfBinaryFormat.NONE);
+      return;
+    }
+    out.writeInt(word.getCharacters().size());
+    for (Character character : word.getCharacters()) {
+      serializeCharacter(out, character);
+    }
+  }
+
+  /**
+   * Serializes the given character.
+   *
+   * @param out       The stream to write to.
+   * @param character The character to serialize.
+   *
+   * @throws IOException If writing the serialization failed.
+   */
+  protected void serializeCharacter(DataOutputStream out, Character character)
+      throws IOException {
+    writeString(out, character.getText());
+    writePosition(out, character.getPosition());
+
+    FontFace fontFace = character.getFontFace();
+    Font font = fontFace != null ? fontFace.getFont() : null;
+    out.writeInt(getIndex(this.usedFonts, font));
+    out.writeFloat(fontFace != null ? fontFace.getFontSize() : 0);
+    out.writeInt(getIndex(this.usedColors, character.getColor()));
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Serializes the figures of the given PDF document.
+   *
+   * @param pdf The PDF document to process.
+   *
+   * @throws IOException If writing the serialization failed.
+   */
+  protected void serializeFigures(Document pdf) throws IOException {
+    int numFigures = 0;
+    for (Page page : pdf.getPages()) {
+      numFigures += page.getFigures().size();
+    }
+
+    this.out.writeByte(PdfBinaryFormat.FIGURES);
+    this.out.writeInt(numFigures);
+    for (Page page : pdf.getPages()) {
+      for (Figure figure : page.getFigures()) {
+        writePosition(this.out, figure.getPosition());
+      }
+    }
+  }
+
+  /**
+   * Serializes the shapes of the given PDF document.
+   *
+   * @param pdf The PDF document to process.
+   *
+   * @throws IOException If writing the serialization failed.
+   */
+  protected void serializeShapes(Document pdf) throws IOException {
+    int numShapes = 0;
+    for (Page page : pdf.getPages()) {
+      numShapes += page.getShapes().size();
+    }
+
+    this.out.writeByte(PdfBinaryFormat.SHAPES);
+    this.out.writeInt(numShapes);
+    for (Page page : pdf.getPages()) {
+      for (Shape shape : page.getShapes()) {
+        writePosition(this.out, shape.getPosition());
+        this.out.writeInt(getIndex(this.usedColors, shape.getColor()));
+      }
+    }
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Writes the given positions. Positions that don't refer to a page or a rectangle are skipped.
+   *
+   * @param out       The stream to write to.
+   * @param positions The positions to write.
+   *
+   * @throws IOException If writing the serialization failed.
+   */
+  protected void writePositions(DataOutputStream out, List<Position> positions)
+      throws IOException {
+    if (positions == null) {
+      out.writeInt(0);
+      return;
+    }
+
+    List<Position> serializable = new ArrayList<>(positions.size());
+    for (Position position : positions) {
+      if (isSerializable(position)) {
+        serializable.add(position);
+      }
+    }
+
+    out.writeInt(serializable.size());
+    for (Position position : serializable) {
+      writePositionEntry(out, position);
+    }
+  }
+
+  /**
+   * Writes the given position as a list of at most one position.
+   *
+   * @param out      The stream to write to.
+   * @param position The position to write.
+   *
+   * @throws IOException If writing the serialization failed.
+   */
+  protected void writePosition(DataOutputStream out, Position position) throws IOException {
+    if (!isSerializable(position)) {
+      out.writeInt(0);
+      return;
+    }
+    out.writeInt(1);
+    writePositionEntry(out, position);
+  }
+
+  /**
+   * Writes the page number and the rectangle of the given position.
+   *
+   * @param out      The stream to write to.
+   * @param position The position to write.
+   *
+   * @throws IOException If writing the serialization failed.
+   */
+  protected void writePositionEntry(DataOutputStream out, Position position) throws IOException {
+    Rectangle rect = position.getRectangle();
+    out.writeInt(position.getPage().getPageNumber());
+    out.writeFloat(rect.getMinX());
+    out.writeFloat(rect.getMinY());
+    out.writeFloat(rect.getMaxX());
+    out.writeFloat(rect.getMaxY());
+  }
+
+  /**
+   * Checks if the given position can be serialized, that is: if it refers to a page and to a
+   * rectangle.
+   *
+   * @param position The position to check.
+   *
+   * @return True, if the given position can be serialized.
+   */
+  protected boolean isSerializable(Position position) {
+    return position != null && position.getPage() != null
+        && position.getPage().getPageNumber() > 0 && position.getRectangle() != null;
+  }
+
+  /**
+   * Writes the given string, prefixed by its length in bytes.
+   *
+   * @param out    The stream to write to.
+   * @param string The string to write, may be null.
+   *
+   * @throws IOException If writing the serialization failed.
+   */
+  protected void writeString(DataOutputStream out, String string) throws IOException {
+    if (string == null) {
+      out.writeInt(PdfBinaryFormat.NONE);
+      return;
+    }
+    byte[] bytes = string.getBytes(DEFAULT_ENCODING);
+    out.writeInt(bytes.length);
+    out.write(bytes);
+  }
+
+  /**
+   * Returns the index of the given resource.
+   *
+   * @param indices The indices of the resources.
+   * @param key     The resource.
+   *
+   * @return The index of the given resource, or {@link PdfBinaryFormat#NONE} if there is none.
+   */
+  protected <T> int getIndex(Map<T, Integer> indices, T key) {
+    Integer index = key != null ? indices.get(key) : null;
+    return index != null ? index : PdfBinaryFormat.NONE;
+  }
+
+  // ==============================================================================================
+
+  @Override
+  public Set<ExtractionUnit> getExtractionUnits() {
+    return this.extractionUnits;
+  }
+
+  @Override
+  public void setExtractionUnits(Set<ExtractionUnit> units) {
+    this.extractionUnits = units;
+  }
+
+  // ==============================================================================================
+
+  @Override
+  public Set<SemanticRole> getSemanticRolesToInclude() {
+    return this.semanticRolesToInclude;
+  }
+
+  @Override
+  public void setSemanticRolesToInclude(Set<SemanticRole> roles) {
+    this.semanticRolesToInclude = roles;
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Checks if the semantic role of the given element is relevant, that is: if it is included in
+   * this.semanticRolesToInclude.
+   *
+   * @param element The element to check.
+   *
+   * @return True, if the role of the given element is relevant.
+   */
+  protected boolean hasRelevantRole(HasSemanticRole element) {
+    if (element == null) {
+      return false;
+    }
+
+    if (this.semanticRolesToInclude == null || this.semanticRolesToInclude.isEmpty()) {
+      // No semantic roles to include given -> The element is not relevant.
+      return false;
+    }
+
+    SemanticRole role = element.getSemanticRole();
+    if (role == null) {
+      return false;
+    }
+
+    return this.semanticRolesToInclude.contains(role);
+  }
+}
@@ -33,21 +33,27 @@ import static pdfact.cli.pipes.serialize.PdfSerializerConstants.SHAPES;
 import static pdfact.cli.pipes.serialize.PdfSerializerConstants.TEXT;
 import static pdfact.cli.pipes.serialize.PdfSerializerConstants.TEXT_BLOCK;
 import static pdfact.cli.pipes.serialize.PdfSerializerConstants.TEXT_BLOCKS;
-import static pdfact.cli.pipes.serialize.PdfSerializerConstants.TEXT_LINE;
 import static pdfact.cli.pipes.serialize.PdfSerializerConstants.WIDTH;
 import static pdfact.cli.pipes.serialize.PdfSerializerConstants.WORD;
 import static pdfact.cli.pipes.serialize.PdfSerializerConstants.WORDS;
 import static pdfact.core.PdfActCoreSettings.DEFAULT_ENCODING;
 
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
-import org.json.JSONArray;
-import org.json.JSONObject;
+import org.json.JSONException;
 
 import pdfact.cli.model.ExtractionUnit;
+import pdfact.cli.util.exception.PdfActSerializeException;
 import pdfact.core.model.Character;
 import pdfact.core.model.Color;
 import pdfact.core.model.Document;
@@ -68,20 +74,33 @@ import pdfact.core.model.Rectangle;
 import pdfact.core.model.SemanticRole;
 import pdfact.core.model.Shape;
 import pdfact.core.model.TextBlock;
-import pdfact.core.model.TextLine;
 import pdfact.core.model.Word;
+import pdfact.core.util.exception.PdfActException;
 
 /**
  * A serializer to serialize a document in JSON format.
  *
+ * <p>
+ * The serialization is written directly to the target stream while walking through the document,
+ * so no JSON representation of the whole document is kept in memory. The sections of the
+ * document and the members of the JSON objects are written in a fixed order, which is the order
+ * in which they were written by earlier versions of this serializer (that composed the
+ * serialization with JSONObject), such that the output is unchanged.
+ *
  * @author Claudius Korzen
  */
-public class PdfJsonSerializer implements PdfSerializer {
+public class PdfJsonSerializer implements PdfStreamSerializer {
   /**
    * The indentation length.
    */
   protected static final int INDENT_LENGTH = 2;
 
+  /**
+   * The sections of a serialized document, in the order in which they are written.
+   */
+  protected static final List<String> SECTIONS = Arrays.asList(CHARACTERS, PAGES, FIGURES,
+      FONTS, SHAPES, TEXT_BLOCKS, WORDS, PARAGRAPHS, COLORS);
+
   // ==============================================================================================
 
   /**
@@ -94,6 +113,12 @@ public class PdfJsonSerializer implements PdfSerializer {
    */
   protected Set<SemanticRole> semanticRolesToInclude;
 
+  /**
+   * The boolean flag indicating whether or not the serialization should be written compactly,
+   * that is: without any indentation and line breaks.
+   */
+  protected boolean isCompact;
+
   /**
    * The fonts of the PDF elements which were in fact serialized.
    */
@@ -104,6 +129,16 @@ public class PdfJsonSerializer implements PdfSerializer {
    */
   protected Set<Color> usedColors;
 
+  /**
+   * The writer of the current serialization.
+   */
+  protected JsonStreamWriter json;
+
+  /**
+   * The paragraphs of the current serialization.
+   */
+  protected Iterable<Paragraph> paragraphs;
+
   // ==============================================================================================
   // Constructors.
 
@@ -122,79 +157,190 @@ public class PdfJsonSerializer implements PdfSerializer {
    * @param roles           The semantic roles to include.
    */
   public PdfJsonSerializer(Set<ExtractionUnit> extractionUnits, Set<SemanticRole> roles) {
+    this(extractionUnits, roles, false);
+  }
+
+  /**
+   * Creates a new serializer that serializes a PDF document in JSON format.
+   *
+   * @param extractionUnits The units to serialize.
+   * @param roles           The semantic roles to include.
+   * @param isCompact       The boolean flag indicating whether or not the serialization should be
+   *                        written without any indentation and line breaks.
+   */
+  public PdfJsonSerializer(Set<ExtractionUnit> extractionUnits, Set<SemanticRole> roles,
+      boolean isCompact) {
     this();
     this.extractionUnits = extractionUnits;
     this.semanticRolesToInclude = roles;
+    this.isCompact = isCompact;
   }
 
   // ==============================================================================================
 
   @Override
-  public byte[] serialize(Document pdf) {
-    // The serialization to return.
-    String result = "";
+  public byte[] serialize(Document pdf) throws PdfActException {
+    ByteArrayOutputStream stream = new ByteArrayOutputStream();
+    serialize(pdf, stream);
+    return stream.toByteArray();
+  }
+
+  @Override
+  public void serialize(Document pdf, OutputStream stream) throws PdfActException {
+    serialize(pdf, pdf != null ? pdf.getParagraphs() : null, stream);
+  }
+
+  @Override
+  public void serialize(Document pdf, Iterable<Paragraph> paragraphs, OutputStream stream)
+      throws PdfActException {
+    if (pdf == null) {
+      return;
+    }
+    this.paragraphs = paragraphs;
 
-    if (pdf != null) {
-      // The JSON object to fill.
-      JSONObject json = new JSONObject();
+    BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(stream, DEFAULT_ENCODING));
+    this.json = new JsonStreamWriter(writer, this.isCompact ? 0 : INDENT_LENGTH);
 
-      // Create the section that contains all serialized PDF elements.
-      serializePdfElements(pdf, json);
+    try {
+      // Collect the used fonts and colors first, since the section that contains the used fonts
+      // is written in front of some sections that contain the elements.
+      collectFontsAndColors(pdf);
 
-      // Create the section that contains the used fonts.
-      JSONArray fontsJson = serializeFonts(this.usedFonts);
-      if (fontsJson != null && fontsJson.length() > 0) {
-        json.put(FONTS, fontsJson);
-      }
+      serializePdf(pdf);
+
+      this.json.flush();
+    } catch (IOException | JSONException | UncheckedIOException e) {
+      throw new PdfActSerializeException("Couldn't write the JSON serialization.", e);
+    } finally {
+      this.json = null;
+      this.paragraphs = null;
+    }
+  }
+
+  // ==============================================================================================
 
-      // Create the section that contains the used colors.
-      JSONArray colorsJson = serializeColors(this.usedColors);
-      if (colorsJson != null && colorsJson.length() > 0) {
-        json.put(COLORS, colorsJson);
+  /**
+   * Serializes the given PDF document.
+   *
+   * @param pdf The PDF document to serialize.
+   *
+   * @throws IOException If writing the serialization failed.
+   */
+  protected void serializePdf(Document pdf) throws IOException {
+    // Determine the sections to write, since their number must be known in advance.
+    List<String> sections = new ArrayList<>();
+    for (String section : SECTIONS) {
+      if (hasSection(pdf, section)) {
+        sections.add(section);
       }
+    }
 
-      // Create the section that contains the metadata about the used pages.
-      if (this.extractionUnits.contains(ExtractionUnit.PAGE)) {
-        JSONArray pagesJson = serializePages(pdf.getPages());
-        if (pagesJson != null && pagesJson.length() > 0) {
-          json.put(PAGES, pagesJson);
-        }
+    this.json.beginObject(sections.size());
+    for (String section : sections) {
+      this.json.name(section);
+      switch (section) {
+        case CHARACTERS:
+          serializeCharacters(pdf);
+          break;
+        case WORDS:
+          serializeWords(pdf);
+          break;
+        case TEXT_BLOCKS:
+          serializeTextBlocks(pdf);
+          break;
+        case PARAGRAPHS:
+          serializeParagraphs(pdf);
+          break;
+        case FIGURES:
+          serializeFigures(pdf);
+          break;
+        case SHAPES:
+          serializeShapes(pdf);
+          break;
+        case FONTS:
+          serializeFonts(this.usedFonts);
+          break;
+        case COLORS:
+          serializeColors(this.usedColors);
+          break;
+        case PAGES:
+          serializePages(pdf.getPages());
+          break;
+        default:
+          break;
       }
+    }
+    this.json.endObject();
+  }
 
-      // Serialize the JSON object.
-      result = json.toString(INDENT_LENGTH);
+  /**
+   * Checks if the serialization of the given PDF document contains the given section.
+   *
+   * @param pdf     The PDF document to process.
+   * @param section The name of the section.
+   *
+   * @return True, if the serialization of the given PDF document contains the given section.
+   */
+  protected boolean hasSection(Document pdf, String section) {
+    switch (section) {
+      case CHARACTERS:
+        return this.extractionUnits.contains(ExtractionUnit.CHARACTER);
+      case WORDS:
+        return this.extractionUnits.contains(ExtractionUnit.WORD);
+      case TEXT_BLOCKS:
+        return this.extractionUnits.contains(ExtractionUnit.TEXT_BLOCK);
+      case PARAGRAPHS:
+        return this.extractionUnits.contains(ExtractionUnit.PARAGRAPH);
+      case FIGURES:
+        return this.extractionUnits.contains(ExtractionUnit.FIGURE);
+      case SHAPES:
+        return this.extractionUnits.contains(ExtractionUnit.SHAPE);
+      case FONTS:
+        return !this.usedFonts.isEmpty();
+      case COLORS:
+        return countColors(this.usedColors) > 0;
+      case PAGES:
+        return this.extractionUnits.contains(ExtractionUnit.PAGE)
+            && countPages(pdf.getPages()) > 0;
+      default:
+        return false;
     }
-    return result.getBytes(DEFAULT_ENCODING);
   }
 
   // ==============================================================================================
 
   /**
-   * Serializes the elements of the given PDF document.
+   * Collects the fonts and colors of the elements to serialize, in the order of the units to
+   * serialize. Only characters and shapes have a font and/or color.
    *
-   * @param pdf  The PDF document to process.
-   * @param json The JSON object to which the serialization should be appended.
+   * @param pdf The PDF document to process.
    */
-  public void serializePdfElements(Document pdf, JSONObject json) {
+  protected void collectFontsAndColors(Document pdf) {
+    this.usedFonts.clear();
+    this.usedColors.clear();
+
     for (ExtractionUnit unit : this.extractionUnits) {
       switch (unit) {
         case CHARACTER:
-          serializeCharacters(pdf, json);
-          break;
-        case WORD:
-          serializeWords(pdf, json);
-          break;
-        case TEXT_BLOCK:
-          serializeTextBlocks(pdf, json);
-          break;
-        case PARAGRAPH:
-          serializeParagraphs(pdf, json);
-          break;
-        case FIGURE:
-          serializeFigures(pdf, json);
+          for (Paragraph paragraph : this.paragraphs) {
+            // Ignore the paragraph if its role should not be extracted.
+            if (!hasRelevantRole(paragraph)) {
+              continue;
+            }
+
+            for (Word word : paragraph.getWords()) {
+              for (Character character : word.getCharacters()) {
+                collectFontAndColor(character);
+              }
+            }
+          }
           break;
         case SHAPE:
-          serializeShapes(pdf, json);
+          for (Page page : pdf.getPages()) {
+            for (Shape shape : page.getShapes()) {
+              collectFontAndColor(shape);
+            }
+          }
           break;
         default:
           break;
@@ -202,32 +348,50 @@ public class PdfJsonSerializer implements PdfSerializer {
     }
   }
 
+  /**
+   * Adds the font and the color of the given element to the used fonts and colors, if they are
+   * serialized.
+   *
+   * @param element The element to process.
+   */
+  protected void collectFontAndColor(Element element) {
+    FontFace fontFace = getFontFace(element);
+    if (fontFace != null) {
+      this.usedFonts.add(fontFace.getFont());
+    }
+
+    Color color = getColor(element);
+    if (color != null) {
+      this.usedColors.add(color);
+    }
+  }
+
   // ==============================================================================================
 
   /**
    * Serializes the paragraphs of the given PDF document.
    *
-   * @param pdf  The PDF document to process.
-   * @param json The JSON object to which the serialization should be appended.
+   * @param pdf The PDF document to process.
+   *
+   * @throws IOException If writing the serialization failed.
    */
-  protected void serializeParagraphs(Document pdf, JSONObject json) {
-    JSONArray result = new JSONArray();
-
-    if (pdf != null) {
-      for (Paragraph paragraph : pdf.getParagraphs()) {
-        // Ignore the paragraph if its role should not be extracted.
-        if (!hasRelevantRole(paragraph)) {
-          continue;
-        }
-
-        JSONObject paragraphJson = serializeParagraph(paragraph);
-        if (paragraphJson != null) {
-          result.put(paragraphJson);
-        }
+  protected void serializeParagraphs(Document pdf) throws IOException {
+    int numParagraphs = 0;
+    for (Paragraph paragraph : this.paragraphs) {
+      if (hasRelevantRole(paragraph)) {
+        numParagraphs++;
       }
     }
 
-    json.put(PARAGRAPHS, result);
+    this.json.beginArray(numParagraphs);
+    for (Paragraph paragraph : this.paragraphs) {
+      // Ignore the paragraph if its role should not be extracted.
+      if (!hasRelevantRole(paragraph)) {
+        continue;
+      }
+      serializeParagraph(paragraph);
+    }
+    this.json.endArray();
   }
 
   /**
@@ -235,16 +399,10 @@ public class PdfJsonSerializer implements PdfSerializer {
    *
    * @param paragraph The paragraph to serialize.
    *
-   * @return A JSON object that represents the serialization.
+   * @throws IOException If writing the serialization failed.
    */
-  protected JSONObject serializeParagraph(Paragraph paragraph) {
-    JSONObject result = new JSONObject();
-    JSONObject paragraphJson = serializePdfElement(paragraph);
-    // Wrap the JSON object with a JSON object that describes a paragraph.
-    if (paragraphJson != null && paragraphJson.length() > 0) {
-      result.put(PARAGRAPH, paragraphJson);
-    }
-    return result;
+  protected void serializeParagraph(Paragraph paragraph) throws IOException {
+    serializePdfElement(PARAGRAPH, paragraph);
   }
 
   // ==============================================================================================
@@ -252,28 +410,31 @@ public class PdfJsonSerializer implements PdfSerializer {
   /**
    * Serializes the text blocks of the given PDF document.
    *
-   * @param pdf  The PDF document to process.
-   * @param json The JSON object to which the serialization should be appended.
+   * @param pdf The PDF document to process.
+   *
+   * @throws IOException If writing the serialization failed.
    */
-  protected void serializeTextBlocks(Document pdf, JSONObject json) {
-    JSONArray result = new JSONArray();
-
-    if (pdf != null) {
-      for (Page page : pdf.getPages()) {
-        for (TextBlock block : page.getTextBlocks()) {
-          // Ignore the paragraph if its role should not be extracted.
-          if (!hasRelevantRole(block)) {
-            continue;
-          }
-          JSONObject blockJson = serializeTextBlock(block);
-          if (blockJson != null) {
-            result.put(blockJson);
-          }
+  protected void serializeTextBlocks(Document pdf) throws IOException {
+    int numBlocks = 0;
+    for (Page page : pdf.getPages()) {
+      for (TextBlock block : page.getTextBlocks()) {
+        if (hasRelevantRole(block)) {
+          numBlocks++;
         }
       }
     }
 
-    json.put(TEXT_BLOCKS, result);
+    this.json.beginArray(numBlocks);
+    for (Page page : pdf.getPages()) {
+      for (TextBlock block : page.getTextBlocks()) {
+        // Ignore the block if its role should not be extracted.
+        if (!hasRelevantRole(block)) {
+          continue;
+        }
+        serializeTextBlock(block);
+      }
+    }
+    this.json.endArray();
   }
 
   /**
@@ -281,16 +442,10 @@ public class PdfJsonSerializer implements PdfSerializer {
    *
    * @param block The text block to serialize.
    *
-   * @return A JSON object that represents the serialization.
+   * @throws IOException If writing the serialization failed.
    */
-  protected JSONObject serializeTextBlock(TextBlock block) {
-    JSONObject result = new JSONObject();
-    JSONObject blockJson = serializePdfElement(block);
-    // Wrap the JSON object with a JSON object that describes a text block.
-    if (blockJson != null && blockJson.length() > 0) {
-      result.put(TEXT_BLOCK, blockJson);
-    }
-    return result;
+  protected void serializeTextBlock(TextBlock block) throws IOException {
+    serializePdfElement(TEXT_BLOCK, block);
   }
 
   // ==============================================================================================
@@ -298,29 +453,30 @@ public class PdfJsonSerializer implements PdfSerializer {
   /**
    * Serializes the words of the given PDF document.
    *
-   * @param pdf  The PDF document to process.
-   * @param json The JSON object to which the serialization should be appended.
+   * @param pdf The PDF document to process.
+   *
+   * @throws IOException If writing the serialization failed.
    */
-  protected void serializeWords(Document pdf, JSONObject json) {
-    JSONArray result = new JSONArray();
+  protected void serializeWords(Document pdf) throws IOException {
+    int numWords = 0;
+    for (Paragraph paragraph : this.paragraphs) {
+      if (hasRelevantRole(paragraph)) {
+        numWords += paragraph.getWords().size();
+      }
+    }
 
-    if (pdf != null) {
-      for (Paragraph paragraph : pdf.getParagraphs()) {
-        // Ignore the paragraph if its role should not be extracted.
-        if (!hasRelevantRole(paragraph)) {
-          continue;
-        }
+    this.json.beginArray(numWords);
+    for (Paragraph paragraph : this.paragraphs) {
+      // Ignore the paragraph if its role should not be extracted.
+      if (!hasRelevantRole(paragraph)) {
+        continue;
+      }
 
-        for (Word word : paragraph.getWords()) {
-          JSONObject wordJson = serializeWord(word);
-          if (wordJson != null) {
-            result.put(wordJson);
-          }
-        }
+      for (Word word : paragraph.getWords()) {
+        serializeWord(word);
       }
     }
-
-    json.put(WORDS, result);
+    this.json.endArray();
   }
 
   /**
@@ -328,16 +484,10 @@ public class PdfJsonSerializer implements PdfSerializer {
    *
    * @param word The word to serialize.
    *
-   * @return A JSON object that represents the serialization.
+   * @throws IOException If writing the serialization failed.
    */
-  protected JSONObject serializeWord(Word word) {
-    JSONObject result = new JSONObject();
-    JSONObject wordJson = serializePdfElement(word);
-    // Wrap the JSON object with a JSON object that describes a word.
-    if (wordJson != null && wordJson.length() > 0) {
-      result.put(WORD, wordJson);
-    }
-    return result;
+  protected void serializeWord(Word word) throws IOException {
+    serializePdfElement(WORD, word);
   }
 
   // ==============================================================================================
@@ -345,31 +495,34 @@ public class PdfJsonSerializer implements PdfSerializer {
   /**
    * Serializes the characters of the given PDF document.
    *
-   * @param pdf  The PDF document to process.
-   * @param json The JSON object to which the serialization should be appended.
+   * @param pdf The PDF document to process.
+   *
+   * @throws IOException If writing the serialization failed.
    */
-  protected void serializeCharacters(Document pdf, JSONObject json) {
-    JSONArray result = new JSONArray();
-
-    if (pdf != null) {
-      for (Paragraph paragraph : pdf.getParagraphs()) {
-        // Ignore the paragraph if its role should not be extracted.
-        if (!hasRelevantRole(paragraph)) {
-          continue;
-        }
-
+  protected void serializeCharacters(Document pdf) throws IOException {
+    int numCharacters = 0;
+    for (Paragraph paragraph : this.paragraphs) {
+      if (hasRelevantRole(paragraph)) {
         for (Word word : paragraph.getWords()) {
-          for (Character character : word.getCharacters()) {
-            JSONObject characterJson = serializeCharacter(character);
-            if (characterJson != null) {
-              result.put(characterJson);
-            }
-          }
+          numCharacters += word.getCharacters().size();
         }
       }
     }
 
-    json.put(CHARACTERS, result);
+    this.json.beginArray(numCharacters);
+    for (Paragraph paragraph : this.paragraphs) {
+      // Ignore the paragraph if its role should not be extracted.
+      if (!hasRelevantRole(paragraph)) {
+        continue;
+      }
+
+      for (Word word : paragraph.getWords()) {
+        for (Character character : word.getCharacters()) {
+          serializeCharacter(character);
+        }
+      }
+    }
+    this.json.endArray();
   }
 
   /**
@@ -377,16 +530,10 @@ public class PdfJsonSerializer implements PdfSerializer {
    *
    * @param character The character to serialize.
    *
-   * @return A JSON object that represents the serialization.
+   * @throws IOException If writing the serialization failed.
    */
-  protected JSONObject serializeCharacter(Character character) {
-    JSONObject result = new JSONObject();
-    JSONObject characterJson = serializePdfElement(character);
-    // Wrap the JSON object with a JSON object that describes a character.
-    if (characterJson != null && characterJson.length() > 0) {
-      result.put(CHARACTER, characterJson);
-    }
-    return result;
+  protected void serializeCharacter(Character character) throws IOException {
+    serializePdfElement(CHARACTER, character);
   }
 
   // ==============================================================================================
@@ -394,41 +541,34 @@ public class PdfJsonSerializer implements PdfSerializer {
   /**
    * Serializes the figures of the given PDF document.
    *
-   * @param pdf  The PDF document to process.
-   * @param json The JSON object to which the serialization should be appended.
+   * @param pdf The PDF document to process.
+   *
+   * @throws IOException If writing the serialization failed.
    */
-  protected void serializeFigures(Document pdf, JSONObject json) {
-    JSONArray result = new JSONArray();
+  protected void serializeFigures(Document pdf) throws IOException {
+    int numFigures = 0;
+    for (Page page : pdf.getPages()) {
+      numFigures += page.getFigures().size();
+    }
 
-    if (pdf != null) {
-      for (Page page : pdf.getPages()) {
-        for (Figure figure : page.getFigures()) {
-          JSONObject figureJson = serializeFigure(figure);
-          if (figureJson != null) {
-            result.put(figureJson);
-          }
-        }
+    this.json.beginArray(numFigures);
+    for (Page page : pdf.getPages()) {
+      for (Figure figure : page.getFigures()) {
+        serializeFigure(figure);
       }
     }
-
-    json.put(FIGURES, result);
+    this.json.endArray();
   }
 
   /**
    * Serializes the given figure.
    *
-   * @param character The figure to serialize.
+   * @param figure The figure to serialize.
    *
-   * @return A JSON object that represents the serialization.
+   * @throws IOException If writing the serialization failed.
    */
-  protected JSONObject serializeFigure(Figure figure) {
-    JSONObject result = new JSONObject();
-    JSONObject figureJson = serializePdfElement(figure);
-    // Wrap the JSON object with a JSON object that describes a character.
-    if (figureJson != null && figureJson.length() > 0) {
-      result.put(FIGURE, figureJson);
-    }
-    return result;
+  protected void serializeFigure(Figure figure) throws IOException {
+    serializePdfElement(FIGURE, figure);
   }
 
   // ==============================================================================================
@@ -436,24 +576,23 @@ public class PdfJsonSerializer implements PdfSerializer {
   /**
    * Serializes the shapes of the given PDF document.
    *
-   * @param pdf  The PDF document to process.
-   * @param json The JSON object to which the serialization should be appended.
+   * @param pdf The PDF document to process.
+   *
+   * @throws IOException If writing the serialization failed.
    */
-  protected void serializeShapes(Document pdf, JSONObject json) {
-    JSONArray result = new JSONArray();
+  protected void serializeShapes(Document pdf) throws IOException {
+    int numShapes = 0;
+    for (Page page : pdf.getPages()) {
+      numShapes += page.getShapes().size();
+    }
 
-    if (pdf != null) {
-      for (Page page : pdf.getPages()) {
-        for (Shape shape : page.getShapes()) {
-          JSONObject shapeJson = serializeShape(shape);
-          if (shapeJson != null) {
-            result.put(shapeJson);
-          }
-        }
+    this.json.beginArray(numShapes);
+    for (Page page : pdf.getPages()) {
+      for (Shape shape : page.getShapes()) {
+        serializeShape(shape);
       }
     }
-
-    json.put(SHAPES, result);
+    this.json.endArray();
   }
 
   /**
@@ -461,145 +600,190 @@ public class PdfJsonSerializer implements PdfSerializer {
    *
    * @param shape The shape to serialize.
    *
-   * @return A JSON object that represents the serialization.
+   * @throws IOException If writing the serialization failed.
    */
-  protected JSONObject serializeShape(Shape shape) {
-    JSONObject result = new JSONObject();
-    JSONObject shapeJson = serializePdfElement(shape);
-    // Wrap the JSON object with a JSON object that describes a character.
-    if (shapeJson != null && shapeJson.length() > 0) {
-      result.put(SHAPE, shapeJson);
-    }
-    return result;
+  protected void serializeShape(Shape shape) throws IOException {
+    serializePdfElement(SHAPE, shape);
   }
 
   // ==============================================================================================
 
   /**
-   * Serializes the given PDF element.
+   * Serializes the given PDF element, wrapped with an object that describes the type of the
+   * element.
    *
+   * @param type    The type of the element, for example: "paragraph".
    * @param element The element to serialize.
    *
-   * @return A JSON object that represents the serialization.
+   * @throws IOException If writing the serialization failed.
    */
-  protected JSONObject serializePdfElement(Element element) {
-    JSONObject result = new JSONObject();
-
-    if (element != null) {
-      // Serialize the list of positions of the element, if there is any.
-      if (element instanceof HasPositions) {
-        HasPositions hasPositions = (HasPositions) element;
-        List<Position> positions = hasPositions.getPositions();
+  protected void serializePdfElement(String type, Element element) throws IOException {
+    // Determine the members of the element first, since their number must be known in advance.
+    SemanticRole role = getSemanticRole(element);
+    Color color = getColor(element);
+    List<Position> positions = getPositions(element);
+    String text = getText(element);
+    FontFace fontFace = getFontFace(element);
+
+    int numMembers = 0;
+    numMembers += role != null ? 1 : 0;
+    numMembers += color != null ? 1 : 0;
+    numMembers += !positions.isEmpty() ? 1 : 0;
+    numMembers += text != null ? 1 : 0;
+    numMembers += fontFace != null ? 1 : 0;
+
+    // Wrap the element with an object that describes the type of the element.
+    this.json.beginObject(numMembers > 0 ? 1 : 0);
+    if (numMembers > 0) {
+      this.json.name(type);
+      this.json.beginObject(numMembers);
 
-        JSONArray serialized = serializePositions(positions);
-        if (serialized != null && serialized.length() > 0) {
-          result.put(POSITIONS, serialized);
-        }
+      // Serialize the role of the element, if there is any.
+      if (role != null) {
+        this.json.member(ROLE, role.getName());
       }
 
-      // Serialize the single position of the element, if there is any.
-      if (element instanceof HasPosition) {
-        HasPosition hasPosition = (HasPosition) element;
-        Position position = hasPosition.getPosition();
-
-        JSONArray serialized = serializePositions(position);
-        if (serialized != null && serialized.length() > 0) {
-          result.put(POSITIONS, serialized);
-        }
+      // Serialize the color of the element, if there is any.
+      if (color != null) {
+        this.json.name(COLOR);
+        this.json.beginObject(1);
+        this.json.member(ID, color.getId());
+        this.json.endObject();
       }
 
-      // Serialize the role of the element, if there is any.
-      if (element instanceof HasSemanticRole) {
-        HasSemanticRole hasRole = (HasSemanticRole) element;
-        SemanticRole role = hasRole.getSemanticRole();
+      // Serialize the positions of the element, if there are any.
+      if (!positions.isEmpty()) {
+        this.json.name(POSITIONS);
+        serializePositions(positions);
+      }
 
-        if (role != null) {
-          result.put(ROLE, role.getName());
-        }
+      // Serialize the text of the element, if there is any.
+      if (text != null) {
+        this.json.member(TEXT, text);
       }
 
       // Serialize the font face of the element, if there is any.
-      if (element instanceof HasFontFace) {
-        HasFontFace hasFontFace = (HasFontFace) element;
-        FontFace fontFace = hasFontFace.getFontFace();
-
-        if (fontFace != null) {
-          Font font = fontFace.getFont();
-          if (font != null) {
-            String fontId = font.getId();
-            float size = fontFace.getFontSize();
-            if (fontId != null && size > 0) {
-              JSONObject fontJson = new JSONObject();
-              fontJson.put(ID, fontId);
-              fontJson.put(FONTSIZE, size);
-              result.put(FONT, fontJson);
-              this.usedFonts.add(font);
-            }
-          }
-        }
+      if (fontFace != null) {
+        this.json.name(FONT);
+        this.json.beginObject(2);
+        // The font size is serialized as a double value (as done by earlier versions).
+        this.json.member(FONTSIZE, Double.valueOf(fontFace.getFontSize()));
+        this.json.member(ID, fontFace.getFont().getId());
+        this.json.endObject();
       }
 
-      // Serialize the color of the element, if there is any.
-      if (element instanceof HasColor) {
-        HasColor hasColor = (HasColor) element;
-        Color color = hasColor.getColor();
-
-        if (color != null) {
-          String colorId = color.getId();
-          if (colorId != null) {
-            JSONObject colorJson = new JSONObject();
-            colorJson.put(ID, colorId);
-            result.put(COLOR, colorJson);
-            this.usedColors.add(color);
-          }
-        }
-      }
+      this.json.endObject();
+    }
+    this.json.endObject();
+  }
 
-      // Serialize the text of the element, if there is any.
-      if (element instanceof HasText) {
-        HasText hasText = (HasText) element;
-        String text = hasText.getText();
+  /**
+   * Returns the semantic role of the given element.
+   *
+   * @param element The element to process.
+   *
+   * @return The semantic role of the given element, or null if the element has no role.
+   */
+  protected SemanticRole getSemanticRole(Element element) {
+    if (element instanceof HasSemanticRole) {
+      return ((HasSemanticRole) element).getSemanticRole();
+    }
+    return null;
+  }
 
-        if (text != null) {
-          result.put(TEXT, text);
-        }
+  /**
+   * Returns the color of the given element, if it can be serialized.
+   *
+   * @param element The element to process.
+   *
+   * @return The color of the given element, or null if the element has no color or the color has
+   *         no id.
+   */
+  protected Color getColor(Element element) {
+    if (element instanceof HasColor) {
+      Color color = ((HasColor) element).getColor();
+      if (color != null && color.getId() != null) {
+        return color;
       }
     }
+    return null;
+  }
 
-    return result;
+  /**
+   * Returns the positions of the given element which can be serialized.
+   *
+   * @param element The element to process.
+   *
+   * @return The positions of the given element, which refer to a page and a rectangle.
+   */
+  protected List<Position> getPositions(Element element) {
+    List<Position> positions = new ArrayList<>(1);
+    if (element instanceof HasPositions) {
+      for (Position position : ((HasPositions) element).getPositions()) {
+        if (isSerializable(position)) {
+          positions.add(position);
+        }
+      }
+    }
+    if (element instanceof HasPosition) {
+      Position position = ((HasPosition) element).getPosition();
+      if (isSerializable(position)) {
+        positions.add(position);
+      }
+    }
+    return positions;
   }
 
-  // ==============================================================================================
+  /**
+   * Returns the text of the given element.
+   *
+   * @param element The element to process.
+   *
+   * @return The text of the given element, or null if the element has no text.
+   */
+  protected String getText(Element element) {
+    if (element instanceof HasText) {
+      return ((HasText) element).getText();
+    }
+    return null;
+  }
 
   /**
-   * Serializes the given PDF positions.
+   * Returns the font face of the given element, if it can be serialized.
    *
-   * @param positions The positions to serialize.
+   * @param element The element to process.
    *
-   * @return A JSON array that represents the serialization.
+   * @return The font face of the given element, or null if the element has no font face, the
+   *         font has no id or the font size is not positive.
    */
-  protected JSONArray serializePositions(Position... positions) {
-    return serializePositions(Arrays.asList(positions));
+  protected FontFace getFontFace(Element element) {
+    if (element instanceof HasFontFace) {
+      FontFace fontFace = ((HasFontFace) element).getFontFace();
+      if (fontFace != null) {
+        Font font = fontFace.getFont();
+        if (font != null && font.getId() != null && fontFace.getFontSize() > 0) {
+          return fontFace;
+        }
+      }
+    }
+    return null;
   }
 
+  // ==============================================================================================
+
   /**
    * Serializes the given list of PDF positions.
    *
    * @param positions The list of positions to serialize.
    *
-   * @return A JSON array that represents the serialization.
+   * @throws IOException If writing the serialization failed.
    */
-  protected JSONArray serializePositions(List<Position> positions) {
-    JSONArray result = new JSONArray();
-    if (positions != null) {
-      for (Position position : positions) {
-        JSONObject positionJson = serializePosition(position);
-        if (positionJson != null && positionJson.length() > 0) {
-          result.put(positionJson);
-        }
-      }
+  protected void serializePositions(List<Position> positions) throws IOException {
+    this.json.beginArray(positions.size());
+    for (Position position : positions) {
+      serializePosition(position);
     }
-    return result;
+    this.json.endArray();
   }
 
   /**
@@ -607,62 +791,50 @@ public class PdfJsonSerializer implements PdfSerializer {
    *
    * @param position The position to serialize.
    *
-   * @return A JSON object that represents the serialization.
+   * @throws IOException If writing the serialization failed.
    */
-  protected JSONObject serializePosition(Position position) {
-    JSONObject positionJson = new JSONObject();
-
-    if (position != null) {
-      Page page = position.getPage();
-      int pageNumber = page.getPageNumber();
-      Rectangle rect = position.getRectangle();
-
-      if (pageNumber > 0 && rect != null) {
-        positionJson.put(PAGE, pageNumber);
-
-        // If we pass primitive floats here, the values would be casted to
-        // double values (yielding in inaccurate numbers). So transform the
-        // values to Float objects.
-        positionJson.put(MIN_X, Float.valueOf(rect.getMinX()));
-        positionJson.put(MIN_Y, Float.valueOf(rect.getMinY()));
-        positionJson.put(MAX_X, Float.valueOf(rect.getMaxX()));
-        positionJson.put(MAX_Y, Float.valueOf(rect.getMaxY()));
-      }
-    }
-    return positionJson;
+  protected void serializePosition(Position position) throws IOException {
+    Rectangle rect = position.getRectangle();
+
+    this.json.beginObject(5);
+    // If we pass primitive floats here, the values would be casted to double values (yielding in
+    // inaccurate numbers). So transform the values to Float objects.
+    this.json.member(MIN_Y, Float.valueOf(rect.getMinY()));
+    this.json.member(MIN_X, Float.valueOf(rect.getMinX()));
+    this.json.member(MAX_Y, Float.valueOf(rect.getMaxY()));
+    this.json.member(MAX_X, Float.valueOf(rect.getMaxX()));
+    this.json.member(PAGE, position.getPage().getPageNumber());
+    this.json.endObject();
   }
 
-  // ==============================================================================================
-
   /**
-   * Serializes the given fonts.
+   * Checks if the given position can be serialized, that is: if it refers to a page and to a
+   * rectangle.
    *
-   * @param fonts The fonts to serialize.
+   * @param position The position to check.
    *
-   * @return A JSON array that represents the serialization.
+   * @return True, if the given position can be serialized.
    */
-  protected JSONArray serializeFonts(Font... fonts) {
-    return serializeFonts(new HashSet<>(Arrays.asList(fonts)));
+  protected boolean isSerializable(Position position) {
+    return position != null && position.getPage().getPageNumber() > 0
+        && position.getRectangle() != null;
   }
 
+  // ==============================================================================================
+
   /**
    * Serializes the given fonts.
    *
    * @param fonts The fonts to serialize.
    *
-   * @return A JSON array that represents the serialization.
+   * @throws IOException If writing the serialization failed.
    */
-  protected JSONArray serializeFonts(Set<Font> fonts) {
-    JSONArray result = new JSONArray();
-    if (fonts != null) {
-      for (Font font : fonts) {
-        JSONObject fontJson = serializeFont(font);
-        if (fontJson != null && fontJson.length() > 0) {
-          result.put(fontJson);
-        }
-      }
+  protected void serializeFonts(Set<Font> fonts) throws IOException {
+    this.json.beginArray(fonts.size());
+    for (Font font : fonts) {
+      serializeFont(font);
     }
-    return result;
+    this.json.endArray();
   }
 
   /**
@@ -670,26 +842,23 @@ public class PdfJsonSerializer implements PdfSerializer {
    *
    * @param font The font to serialize.
    *
-   * @return A JSON object that represents the serialization.
+   * @throws IOException If writing the serialization failed.
    */
-  protected JSONObject serializeFont(Font font) {
-    JSONObject fontJson = new JSONObject();
-    if (font != null) {
-      String fontId = font.getId();
-      if (fontId != null) {
-        fontJson.put(ID, fontId);
-      }
+  protected void serializeFont(Font font) throws IOException {
+    String fontId = font.getId();
+    String fontName = font.getNormalizedName();
 
-      String fontName = font.getNormalizedName();
-      if (fontName != null) {
-        fontJson.put(NAME, fontName);
-      }
-
-      fontJson.put(IS_BOLD, font.isBold());
-      fontJson.put(IS_ITALIC, font.isItalic());
-      fontJson.put(IS_TYPE3, font.isType3Font());
+    this.json.beginObject(3 + (fontId != null ? 1 : 0) + (fontName != null ? 1 : 0));
+    if (fontName != null) {
+      this.json.member(NAME, fontName);
+    }
+    if (fontId != null) {
+      this.json.member(ID, fontId);
     }
-    return fontJson;
+    this.json.member(IS_BOLD, font.isBold());
+    this.json.member(IS_TYPE3, font.isType3Font());
+    this.json.member(IS_ITALIC, font.isItalic());
+    this.json.endObject();
   }
 
   // ==============================================================================================
@@ -698,58 +867,68 @@ public class PdfJsonSerializer implements PdfSerializer {
   /**
    * Serializes the given colors.
    *
-   * @param colors The color to serialize.
+   * @param colors The colors to serialize.
    *
-   * @return A JSON array that represents the serialization.
+   * @throws IOException If writing the serialization failed.
    */
-  protected JSONArray serializeColors(Color... colors) {
-    return serializeColors(new HashSet<>(Arrays.asList(colors)));
+  protected void serializeColors(Set<Color> colors) throws IOException {
+    this.json.beginArray(countColors(colors));
+    for (Color color : colors) {
+      if (isSerializable(color)) {
+        serializeColor(color);
+      }
+    }
+    this.json.endArray();
   }
 
   /**
-   * Serializes the given colors.
+   * Serializes the given color.
    *
-   * @param colors The colors to serialize.
+   * @param color The color to serialize.
    *
-   * @return A JSON array that represents the serialization.
+   * @throws IOException If writing the serialization failed.
    */
-  protected JSONArray serializeColors(Set<Color> colors) {
-    JSONArray result = new JSONArray();
+  protected void serializeColor(Color color) throws IOException {
+    int[] rgb = color.getRGB();
+
+    this.json.beginObject(4);
+    this.json.member(R, rgb[0]);
+    this.json.member(B, rgb[2]);
+    this.json.member(G, rgb[1]);
+    this.json.member(ID, color.getId());
+    this.json.endObject();
+  }
 
-    if (colors != null) {
-      for (Color color : colors) {
-        if (color != null) {
-          JSONObject colorJson = serializeColor(color);
-          if (colorJson != null && colorJson.length() > 0) {
-            result.put(colorJson);
-          }
-        }
+  /**
+   * Counts the colors which can be serialized.
+   *
+   * @param colors The colors to process.
+   *
+   * @return The number of colors which have an id and a RGB value.
+   */
+  protected int countColors(Set<Color> colors) {
+    int numColors = 0;
+    for (Color color : colors) {
+      if (isSerializable(color)) {
+        numColors++;
       }
     }
-    return result;
+    return numColors;
   }
 
   /**
-   * Serializes the given color.
+   * Checks if the given color can be serialized, that is: if it has an id and a RGB value.
    *
-   * @param color The color to serialize.
+   * @param color The color to check.
    *
-   * @return A JSON object that represents the serialization.
+   * @return True, if the given color can be serialized.
    */
-  protected JSONObject serializeColor(Color color) {
-    JSONObject colorJson = new JSONObject();
-    if (color != null) {
-      String colorId = color.getId();
-      int[] rgb = color.getRGB();
-
-      if (colorId != null && rgb != null && rgb.length == 3) {
-        colorJson.put(ID, colorId);
-        colorJson.put(R, rgb[0]);
-        colorJson.put(G, rgb[1]);
-        colorJson.put(B, rgb[2]);
-      }
+  protected boolean isSerializable(Color color) {
+    if (color == null || color.getId() == null) {
+      return false;
     }
-    return colorJson;
+    int[] rgb = color.getRGB();
+    return rgb != null && rgb.length == 3;
   }
 
   // ==============================================================================================
@@ -760,51 +939,51 @@ public class PdfJsonSerializer implements PdfSerializer {
    *
    * @param pages The pages to serialize.
    *
-   * @return A JSON array that represents the serialization.
+   * @throws IOException If writing the serialization failed.
    */
-  protected JSONArray serializePages(Page... pages) {
-    return serializePages(Arrays.asList(pages));
+  protected void serializePages(List<Page> pages) throws IOException {
+    this.json.beginArray(countPages(pages));
+    for (Page page : pages) {
+      if (page != null) {
+        serializePage(page);
+      }
+    }
+    this.json.endArray();
   }
 
   /**
-   * Serializes the given pages.
+   * Serializes the given page.
    *
-   * @param pages The pages to serialize.
+   * @param page The page to serialize.
    *
-   * @return A JSON array that represents the serialization.
+   * @throws IOException If writing the serialization failed.
    */
-  protected JSONArray serializePages(List<Page> pages) {
-    JSONArray result = new JSONArray();
-
-    if (pages != null) {
-      for (Page page : pages) {
-        if (page != null) {
-          JSONObject pageJson = serializePage(page);
-          if (pageJson != null && pageJson.length() > 0) {
-            result.put(pageJson);
-          }
-        }
-      }
-    }
-
-    return result;
+  protected void serializePage(Page page) throws IOException {
+    this.json.beginObject(3);
+    // The width and height are serialized as double values (as done by earlier versions).
+    this.json.member(WIDTH, Double.valueOf(page.getWidth()));
+    this.json.member(ID, page.getPageNumber());
+    this.json.member(HEIGHT, Double.valueOf(page.getHeight()));
+    this.json.endObject();
   }
 
   /**
-   * Serializes the given page.
+   * Counts the given pages.
    *
-   * @param page The page to serialize.
+   * @param pages The pages to count.
    *
-   * @return A JSON object that represents the serialization.
+   * @return The number of pages which are not null.
    */
-  protected JSONObject serializePage(Page page) {
-    JSONObject pageJson = new JSONObject();
-    if (page != null) {
-      pageJson.put(ID, page.getPageNumber());
-      pageJson.put(WIDTH, page.getWidth());
-      pageJson.put(HEIGHT, page.getHeight());
+  protected int countPages(List<Page> pages) {
+    int numPages = 0;
+    if (pages != null) {
+      for (Page page : pages) {
+        if (page != null) {
+          numPages++;
+        }
+      }
     }
-    return pageJson;
+    return numPages;
   }
 
   // ==============================================================================================
@@ -833,6 +1012,28 @@ public class PdfJsonSerializer implements PdfSerializer {
 
   // ==============================================================================================
 
+  /**
+   * Returns the boolean flag indicating whether or not the serialization is written compactly,
+   * that is: without any indentation and line breaks.
+   *
+   * @return True, if the serialization is written compactly.
+   */
+  public boolean isCompact() {
+    return this.isCompact;
+  }
+
+  /**
+   * Sets the boolean flag indicating whether or not the serialization should be written
+   * compactly, that is: without any indentation and line breaks.
+   *
+   * @param isCompact True, if the serialization should be written compactly.
+   */
+  public void setIsCompact(boolean isCompact) {
+    this.isCompact = isCompact;
+  }
+
+  // ==============================================================================================
+
   /**
    * Checks if the semantic role of the given element is relevant, that is: if it is included in
    * this.semanticRolesToInclude.
@@ -858,24 +1059,4 @@ public class PdfJsonSerializer implements PdfSerializer {
 
     return this.semanticRolesToInclude.contains(role);
   }
-
-  // ==============================================================================================
-  // Remaining methods.
-
-  /**
-   * Serializes the given text line.
-   *
-   * @param line The text line to serialize.
-   *
-   * @return A JSON object that represents the serialization.
-   */
-  protected JSONObject serializeTextLine(TextLine line) {
-    JSONObject result = new JSONObject();
-    JSONObject lineJson = serializePdfElement(line);
-    // Wrap the JSON object with a JSON object that describes a text line.
-    if (lineJson != null && lineJson.length() > 0) {
-      result.put(TEXT_LINE, lineJson);
-    }
-    return result;
-  }
 }
@@ -0,0 +1,44 @@
+package pdfact.cli.pipes.serialize;
+
+import java.io.OutputStream;
+import pdfact.core.model.Document;
+import pdfact.core.model.Paragraph;
+import pdfact.core.util.exception.PdfActException;
+
+/**
+ * A serializer that writes the serialization of a PDF document directly to an output stream,
+ * while walking through the document, instead of composing the whole serialization in memory.
+ *
+ * @author Claudius Korzen
+ */
+public interface PdfStreamSerializer extends PdfSerializer {
+  /**
+   * Serializes the given PDF document to the given stream. The stream is flushed, but not closed.
+   *
+   * @param pdf
+   *        The PDF document to serialize.
+   * @param stream
+   *        The stream to write the serialization to.
+   * @throws PdfActException
+   *         If the serialization failed.
+   */
+  void serialize(Document pdf, OutputStream stream) throws PdfActException;
+
+  /**
+   * Serializes the given PDF document to the given stream, with the given paragraphs instead of
+   * the paragraphs of the document. This allows to serialize the paragraphs of a document
+   * processed page by page without keeping all of them in main memory at the same time. The
+   * paragraphs may be iterated several times. The stream is flushed, but not closed.
+   *
+   * @param pdf
+   *        The PDF document to serialize.
+   * @param paragraphs
+   *        The paragraphs of the PDF document.
+   * @param stream
+   *        The stream to write the serialization to.
+   * @throws PdfActException
+   *         If the serialization failed.
+   */
+  void serialize(Document pdf, Iterable<Paragraph> paragraphs, OutputStream stream)
+      throws PdfActException;
+}
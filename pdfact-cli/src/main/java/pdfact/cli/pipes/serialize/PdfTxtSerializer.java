@@ -1,11 +1,17 @@
 package pdfact.cli.pipes.serialize;
 
 import static pdfact.core.PdfActCoreSettings.DEFAULT_ENCODING;
-import java.util.ArrayList;
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.util.Arrays;
-import java.util.List;
 import java.util.Set;
 import pdfact.cli.model.ExtractionUnit;
+import pdfact.cli.util.exception.PdfActSerializeException;
 import pdfact.core.model.Character;
 import pdfact.core.model.Color;
 import pdfact.core.model.Document;
@@ -21,14 +27,14 @@ import pdfact.core.model.SemanticRole;
 import pdfact.core.model.TextBlock;
 import pdfact.core.model.TextLine;
 import pdfact.core.model.Word;
-import pdfact.core.util.PdfActUtils;
+import pdfact.core.util.exception.PdfActException;
 
 /**
- * An implementation of {@link PdfSerializer} that serializes a PDF document in TXT format.
+ * An implementation of {@link PdfStreamSerializer} that serializes a PDF document in TXT format.
  *
  * @author Claudius Korzen
  */
-public class PdfTxtSerializer implements PdfSerializer {
+public class PdfTxtSerializer implements PdfStreamSerializer {
   /**
    * The control character to optionally insert when a page break occurs in the PDF.
    */
@@ -68,6 +74,11 @@ public class PdfTxtSerializer implements PdfSerializer {
    */
   protected static final String TYPES_DELIMITER = System.lineSeparator() + System.lineSeparator();
 
+  /**
+   * The writer of the current serialization.
+   */
+  protected Writer writer;
+
   // ==============================================================================================
 
   /**
@@ -96,98 +107,115 @@ public class PdfTxtSerializer implements PdfSerializer {
   // ==============================================================================================
 
   @Override
-  public byte[] serialize(Document pdf) {
+  public byte[] serialize(Document pdf) throws PdfActException {
+    ByteArrayOutputStream stream = new ByteArrayOutputStream();
+    serialize(pdf, stream);
+    return stream.toByteArray();
+  }
+
+  @Override
+  public void serialize(Document pdf, OutputStream stream) throws PdfActException {
+    serialize(pdf, pdf != null ? pdf.getParagraphs() : null, stream);
+  }
+
+  @Override
+  public void serialize(Document pdf, Iterable<Paragraph> paragraphs, OutputStream stream)
+      throws PdfActException {
     this.prevPosition = null;
 
-    // The serialization to return.
-    String result = "";
+    if (pdf == null) {
+      return;
+    }
 
-    if (pdf != null) {
-      List<String> lines = new ArrayList<>();
+    this.writer = new BufferedWriter(new OutputStreamWriter(stream, DEFAULT_ENCODING));
 
-      // Create the section that contains all serialized PDF elements.
-      List<String> elementsLines = serializePdfElements(pdf);
-      if (elementsLines != null) {
-        lines.addAll(elementsLines);
-      }
-      lines.add("");
+    try {
+      // Write the section that contains all serialized PDF elements.
+      serializePdfElements(paragraphs);
 
-      result = PdfActUtils.join(lines, TYPES_DELIMITER);
+      this.writer.flush();
+    } catch (IOException | UncheckedIOException e) {
+      throw new PdfActSerializeException("Couldn't write the TXT serialization.", e);
+    } finally {
+      this.writer = null;
     }
-
-    return result.getBytes(DEFAULT_ENCODING);
   }
 
   /**
-   * Serializes the elements of the given PDF document.
+   * Serializes the elements of the given paragraphs.
    * 
-   * @param pdf The PDF document to process.
+   * @param paragraphs The paragraphs to process.
    *
-   * @return A list of strings that represent the lines of the serialization.
+   * @throws IOException If writing the serialization failed.
    */
-  protected List<String> serializePdfElements(Document pdf) {
-    List<String> lines = new ArrayList<>();
+  protected void serializePdfElements(Iterable<Paragraph> paragraphs) throws IOException {
     for (ExtractionUnit unit : this.extractionUnits) {
       switch (unit) {
         case CHARACTER:
-          lines.addAll(serializeCharacters(pdf));
+          serializeCharacters(paragraphs);
           break;
         case WORD:
-          lines.addAll(serializeWords(pdf));
+          serializeWords(paragraphs);
           break;
         case PARAGRAPH:
         default:
-          lines.addAll(serializeParagraphs(pdf));
+          serializeParagraphs(paragraphs);
       }
     }
-    return lines;
+  }
+
+  /**
+   * Writes the given line of the serialization, followed by the delimiter.
+   * 
+   * @param line The line to write.
+   *
+   * @throws IOException If writing the line failed.
+   */
+  protected void writeLine(String line) throws IOException {
+    this.writer.write(line);
+    this.writer.write(TYPES_DELIMITER);
   }
 
   // ==============================================================================================
 
   /**
-   * Serializes the paragraphs of the given PDF document.
+   * Serializes the given paragraphs.
    * 
-   * @param pdf The PDF document to process.
+   * @param paragraphs The paragraphs to process.
    * 
-   * @return A list of strings that represent the lines of the serialization.
+   * @throws IOException If writing the serialization failed.
    */
-  protected List<String> serializeParagraphs(Document pdf) {
-    List<String> result = new ArrayList<>();
-
-    if (pdf != null) {
-      for (Paragraph paragraph : pdf.getParagraphs()) {
-        // Ignore the paragraph if its role should not be extracted.
-        if (!hasRelevantRole(paragraph)) {
-          continue;
-        }
+  protected void serializeParagraphs(Iterable<Paragraph> paragraphs) throws IOException {
+    for (Paragraph paragraph : paragraphs) {
+      // Ignore the paragraph if its role should not be extracted.
+      if (!hasRelevantRole(paragraph)) {
+        continue;
+      }
 
-        Position position = paragraph.getFirstPosition();
-        String paragraphStr = serializeParagraph(paragraph);
-                
-        if (paragraphStr != null) {
-          // Check if we have to insert control characters.
-          if (withControlCharacters) {
-            // Check if we have to insert the control character that identifies a heading.
-            if (!paragraphStr.isEmpty() && paragraph.getSemanticRole() == SemanticRole.HEADING) {
-              paragraphStr = HEADING_CONTROL_CHARACTER + paragraphStr;
-            }
+      Position position = paragraph.getFirstPosition();
+      String paragraphStr = serializeParagraph(paragraph);
 
-            // Check if we have to insert the control character that identifies a page break.
-            if (prevPosition != null && position != null) {
-              if (prevPosition.getPageNumber() != position.getPageNumber()) {
-                result.add(java.lang.Character.toString(PAGE_BREAK_CONTROL_CHARACTER));
-              }
+      if (paragraphStr != null) {
+        // Check if we have to insert control characters.
+        if (withControlCharacters) {
+          // Check if we have to insert the control character that identifies a heading.
+          if (!paragraphStr.isEmpty() && paragraph.getSemanticRole() == SemanticRole.HEADING) {
+            paragraphStr = HEADING_CONTROL_CHARACTER + paragraphStr;
+          }
+
+          // Check if we have to insert the control character that identifies a page break.
+          if (prevPosition != null && position != null) {
+            if (prevPosition.getPageNumber() != position.getPageNumber()) {
+              writeLine(java.lang.Character.toString(PAGE_BREAK_CONTROL_CHARACTER));
             }
           }
-          result.add(paragraphStr);
         }
-        // Keep track of the position of this element, for deciding if a page break occured between
-        // this paragraph and the next paragraph.
-        this.prevPosition = position;
+        writeLine(paragraphStr);
       }
+      // Keep track of the position of this element, for deciding if a page break occured between
+      // this paragraph and the next paragraph.
+      this.prevPosition = position;
     }
-    return result;
   }
 
   /**
@@ -204,32 +232,26 @@ public class PdfTxtSerializer implements PdfSerializer {
   // ==============================================================================================
 
   /**
-   * Serializes the words of the given PDF document.
+   * Serializes the words of the given paragraphs.
    * 
-   * @param pdf The PDF document to process.
+   * @param paragraphs The paragraphs to process.
    * 
-   * @return A list of strings that represent the lines of the serialization.
+   * @throws IOException If writing the serialization failed.
    */
-  protected List<String> serializeWords(Document pdf) {
-    List<String> result = new ArrayList<>();
-
-    if (pdf != null) {
-      for (Paragraph paragraph : pdf.getParagraphs()) {
-        // Ignore the paragraph if its role should not be extracted.
-        if (!hasRelevantRole(paragraph)) {
-          continue;
-        }
+  protected void serializeWords(Iterable<Paragraph> paragraphs) throws IOException {
+    for (Paragraph paragraph : paragraphs) {
+      // Ignore the paragraph if its role should not be extracted.
+      if (!hasRelevantRole(paragraph)) {
+        continue;
+      }
 
-        for (Word word : paragraph.getWords()) {
-          String wordStr = serializeWord(word);
-          if (wordStr != null) {
-            result.add(wordStr);
-          }
+      for (Word word : paragraph.getWords()) {
+        String wordStr = serializeWord(word);
+        if (wordStr != null) {
+          writeLine(wordStr);
         }
       }
     }
-
-    return result;
   }
 
   /**
@@ -246,34 +268,28 @@ public class PdfTxtSerializer implements PdfSerializer {
   // ==============================================================================================
 
   /**
-   * Serializes the characters of the given PDF document.
+   * Serializes the characters of the given paragraphs.
    * 
-   * @param pdf The PDF document to process.
+   * @param paragraphs The paragraphs to process.
    * 
-   * @return A list of strings that represent the lines of the serialization.
+   * @throws IOException If writing the serialization failed.
    */
-  protected List<String> serializeCharacters(Document pdf) {
-    List<String> result = new ArrayList<>();
-
-    if (pdf != null) {
-      for (Paragraph paragraph : pdf.getParagraphs()) {
-        // Ignore the paragraph if its role should not be extracted.
-        if (!hasRelevantRole(paragraph)) {
-          continue;
-        }
+  protected void serializeCharacters(Iterable<Paragraph> paragraphs) throws IOException {
+    for (Paragraph paragraph : paragraphs) {
+      // Ignore the paragraph if its role should not be extracted.
+      if (!hasRelevantRole(paragraph)) {
+        continue;
+      }
 
-        for (Word word : paragraph.getWords()) {
-          for (Character character : word.getCharacters()) {
-            String characterStr = serializeCharacter(character);
-            if (characterStr != null) {
-              result.add(characterStr);
-            }
+      for (Word word : paragraph.getWords()) {
+        for (Character character : word.getCharacters()) {
+          String characterStr = serializeCharacter(character);
+          if (characterStr != null) {
+            writeLine(characterStr);
           }
         }
       }
     }
-
-    return result;
   }
 
   /**
@@ -33,18 +33,20 @@ import static pdfact.cli.pipes.serialize.PdfSerializerConstants.ROLE;
 import static pdfact.cli.pipes.serialize.PdfSerializerConstants.SHAPE;
 import static pdfact.cli.pipes.serialize.PdfSerializerConstants.SHAPES;
 import static pdfact.cli.pipes.serialize.PdfSerializerConstants.TEXT;
-import static pdfact.cli.pipes.serialize.PdfSerializerConstants.TEXT_BLOCK;
-import static pdfact.cli.pipes.serialize.PdfSerializerConstants.TEXT_LINE;
 import static pdfact.cli.pipes.serialize.PdfSerializerConstants.WIDTH;
 import static pdfact.cli.pipes.serialize.PdfSerializerConstants.WORD;
 import static pdfact.cli.pipes.serialize.PdfSerializerConstants.WORDS;
 import static pdfact.core.PdfActCoreSettings.DEFAULT_ENCODING;
-import java.util.ArrayList;
-import java.util.Arrays;
+
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
-import org.apache.commons.lang3.StringEscapeUtils;
 import pdfact.cli.model.ExtractionUnit;
 import pdfact.cli.util.exception.PdfActSerializeException;
 import pdfact.core.model.Character;
@@ -66,17 +68,18 @@ import pdfact.core.model.Position;
 import pdfact.core.model.Rectangle;
 import pdfact.core.model.SemanticRole;
 import pdfact.core.model.Shape;
-import pdfact.core.model.TextBlock;
-import pdfact.core.model.TextLine;
 import pdfact.core.model.Word;
-import pdfact.core.util.PdfActUtils;
 
 /**
- * An implementation of {@link PdfXmlSerializer} that serializes a PDF document in XML format.
+ * An implementation of {@link PdfSerializer} that serializes a PDF document in XML format.
+ *
+ * <p>
+ * The serialization is written directly to the target stream, in a single pass through the
+ * document, so no lines of the serialization are kept in memory.
  *
  * @author Claudius Korzen
  */
-public class PdfXmlSerializer implements PdfSerializer {
+public class PdfXmlSerializer implements PdfStreamSerializer {
   /**
    * The indentation length.
    */
@@ -109,6 +112,16 @@ public class PdfXmlSerializer implements PdfSerializer {
    */
   protected Set<Color> usedColors;
 
+  /**
+   * The writer of the current serialization.
+   */
+  protected XmlStreamWriter xml;
+
+  /**
+   * The paragraphs of the current serialization.
+   */
+  protected Iterable<Paragraph> paragraphs;
+
   // ==============================================================================================
   // Constructors.
 
@@ -136,94 +149,113 @@ public class PdfXmlSerializer implements PdfSerializer {
 
   @Override
   public byte[] serialize(Document pdf) throws PdfActSerializeException {
-    // The current indentation level.
-    int level = 0;
-    // The serialization to return.
-    String result = "";
-
-    if (pdf != null) {
-      // The individual lines of the serialization.
-      List<String> resultLines = new ArrayList<>();
-
-      // Start the XML document.
-      resultLines.add(start(DOCUMENT, level));
-
-      // Create the section that contains all serialized PDF elements.
-      List<String> elementsLines = serializePdfElements(level + 1, pdf);
-      if (elementsLines != null && !elementsLines.isEmpty()) {
-        resultLines.addAll(elementsLines);
-      }
+    ByteArrayOutputStream stream = new ByteArrayOutputStream();
+    serialize(pdf, stream);
+    return stream.toByteArray();
+  }
 
-      // Create the section that contains the used fonts.
-      List<String> fontsLines = serializeFonts(level + 2, this.usedFonts);
-      if (fontsLines != null && !fontsLines.isEmpty()) {
-        resultLines.add(start(FONTS, level + 1));
-        resultLines.addAll(fontsLines);
-        resultLines.add(end(FONTS, level + 1));
-      }
+  @Override
+  public void serialize(Document pdf, OutputStream stream) throws PdfActSerializeException {
+    serialize(pdf, pdf != null ? pdf.getParagraphs() : null, stream);
+  }
 
-      // Create the section that contains the used colors.
-      List<String> colorsLines = serializeColors(level + 2, this.usedColors);
-      if (colorsLines != null && !colorsLines.isEmpty()) {
-        resultLines.add(start(COLORS, level + 1));
-        resultLines.addAll(colorsLines);
-        resultLines.add(end(COLORS, level + 1));
-      }
+  @Override
+  public void serialize(Document pdf, Iterable<Paragraph> paragraphs, OutputStream stream)
+      throws PdfActSerializeException {
+    if (pdf == null) {
+      return;
+    }
+    this.paragraphs = paragraphs;
+
+    BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(stream, DEFAULT_ENCODING));
+    this.xml = new XmlStreamWriter(writer, INDENT_LENGTH, LINE_DELIMITER);
+    this.usedFonts.clear();
+    this.usedColors.clear();
+
+    try {
+      serializePdf(pdf);
+      this.xml.flush();
+    } catch (IOException | UncheckedIOException e) {
+      throw new PdfActSerializeException("Couldn't write the XML serialization.", e);
+    } finally {
+      this.xml = null;
+      this.paragraphs = null;
+    }
+  }
 
-      if (this.extractionUnits.contains(ExtractionUnit.PAGE)) {
-        // Create the section that contains information about the pages.
-        List<String> pagesLines = serializePages(level + 2, pdf.getPages());
-        if (pagesLines != null && !pagesLines.isEmpty()) {
-          resultLines.add(start(PAGES, level + 1));
-          resultLines.addAll(pagesLines);
-          resultLines.add(end(PAGES, level + 1));
-        }
-      }
+  // ==============================================================================================
 
-      // End the XML document.
-      resultLines.add(end(DOCUMENT, level));
+  /**
+   * Serializes the given PDF document.
+   *
+   * @param pdf The PDF document to serialize.
+   *
+   * @throws IOException If writing the serialization failed.
+   */
+  protected void serializePdf(Document pdf) throws IOException {
+    // Start the XML document.
+    this.xml.start(DOCUMENT);
 
-      // Join the lines to a single string.
-      result = PdfActUtils.join(resultLines, LINE_DELIMITER);
+    // Create the section that contains all serialized PDF elements.
+    serializePdfElements(pdf);
+
+    // Create the section that contains the used fonts.
+    if (!this.usedFonts.isEmpty()) {
+      this.xml.start(FONTS);
+      serializeFonts(this.usedFonts);
+      this.xml.end(FONTS);
     }
 
-    return result.getBytes(DEFAULT_ENCODING);
-  }
+    // Create the section that contains the used colors.
+    if (hasSerializableColor(this.usedColors)) {
+      this.xml.start(COLORS);
+      serializeColors(this.usedColors);
+      this.xml.end(COLORS);
+    }
 
-  // ==============================================================================================
+    if (this.extractionUnits.contains(ExtractionUnit.PAGE)) {
+      // Create the section that contains information about the pages.
+      List<Page> pages = pdf.getPages();
+      if (hasPage(pages)) {
+        this.xml.start(PAGES);
+        serializePages(pages);
+        this.xml.end(PAGES);
+      }
+    }
+
+    // End the XML document.
+    this.xml.end(DOCUMENT);
+  }
 
   /**
    * Serializes the elements of the given PDF document.
    * 
-   * @param level The current indentation level.
-   * @param pdf   The PDF document to process.
+   * @param pdf The PDF document to process.
    *
-   * @return A list of strings that represent the serialized elements.
+   * @throws IOException If writing the serialization failed.
    */
-  protected List<String> serializePdfElements(int level, Document pdf) {
-    List<String> lines = new ArrayList<>();
+  protected void serializePdfElements(Document pdf) throws IOException {
     for (ExtractionUnit unit : this.extractionUnits) {
       switch (unit) {
         case CHARACTER:
-          lines.addAll(serializeCharacters(level, pdf));
+          serializeCharacters(pdf);
           break;
         case WORD:
-          lines.addAll(serializeWords(level, pdf));
+          serializeWords(pdf);
           break;
         case PARAGRAPH:
-          lines.addAll(serializeParagraphs(level, pdf));
+          serializeParagraphs(pdf);
           break;
         case FIGURE:
-          lines.addAll(serializeFigures(level, pdf));
+          serializeFigures(pdf);
           break;
         case SHAPE:
-          lines.addAll(serializeShapes(level, pdf));
+          serializeShapes(pdf);
           break;
         default:
           break;
       }
     }
-    return lines;
   }
 
   // ==============================================================================================
@@ -231,51 +263,31 @@ public class PdfXmlSerializer implements PdfSerializer {
   /**
    * Serializes the paragraphs of the given PDF document.
    * 
-   * @param level The current indentation level.
-   * @param pdf   The PDF document to process.
+   * @param pdf The PDF document to process.
    * 
-   * @return A list of strings that represent the lines of the serialization.
+   * @throws IOException If writing the serialization failed.
    */
-  protected List<String> serializeParagraphs(int level, Document pdf) {
-    List<String> result = new ArrayList<>();
-
-    if (pdf != null) {
-      result.add(start(PARAGRAPHS, level));
-      for (Paragraph paragraph : pdf.getParagraphs()) {
-        // Ignore the paragraph if its role should not be extracted.
-        if (!hasRelevantRole(paragraph)) {
-          continue;
-        }
-
-        List<String> paragraphLines = serializeParagraph(level + 1, paragraph);
-        if (paragraphLines != null) {
-          result.addAll(paragraphLines);
-        }
+  protected void serializeParagraphs(Document pdf) throws IOException {
+    this.xml.start(PARAGRAPHS);
+    for (Paragraph paragraph : this.paragraphs) {
+      // Ignore the paragraph if its role should not be extracted.
+      if (!hasRelevantRole(paragraph)) {
+        continue;
       }
-      result.add(end(PARAGRAPHS, level));
+      serializeParagraph(paragraph);
     }
-
-    return result;
+    this.xml.end(PARAGRAPHS);
   }
 
   /**
    * Serializes the given paragraph.
    * 
-   * @param level     The current indentation level.
    * @param paragraph The paragraph to serialize.
    * 
-   * @return A list of strings that represent the lines of the serialization.
+   * @throws IOException If writing the serialization failed.
    */
-  protected List<String> serializeParagraph(int level, Paragraph paragraph) {
-    List<String> result = new ArrayList<>();
-    List<String> paragraphLines = serializePdfElement(level + 1, paragraph);
-    // Wrap the serialized lines with a tag that describes a paragraph.
-    if (paragraphLines != null && !paragraphLines.isEmpty()) {
-      result.add(start(PARAGRAPH, level));
-      result.addAll(paragraphLines);
-      result.add(end(PARAGRAPH, level));
-    }
-    return result;
+  protected void serializeParagraph(Paragraph paragraph) throws IOException {
+    serializePdfElement(PARAGRAPH, paragraph);
   }
 
   // ==============================================================================================
@@ -283,53 +295,34 @@ public class PdfXmlSerializer implements PdfSerializer {
   /**
    * Serializes the words of the given PDF document.
    * 
-   * @param level The current indentation level.
-   * @param pdf   The PDF document to process.
+   * @param pdf The PDF document to process.
    * 
-   * @return A list of strings that represent the lines of the serialization.
+   * @throws IOException If writing the serialization failed.
    */
-  protected List<String> serializeWords(int level, Document pdf) {
-    List<String> result = new ArrayList<>();
-
-    if (pdf != null) {
-      result.add(start(WORDS, level));
-      for (Paragraph paragraph : pdf.getParagraphs()) {
-        // Ignore the paragraph if its role should not be extracted.
-        if (!hasRelevantRole(paragraph)) {
-          continue;
-        }
+  protected void serializeWords(Document pdf) throws IOException {
+    this.xml.start(WORDS);
+    for (Paragraph paragraph : this.paragraphs) {
+      // Ignore the paragraph if its role should not be extracted.
+      if (!hasRelevantRole(paragraph)) {
+        continue;
+      }
 
-        for (Word word : paragraph.getWords()) {
-          List<String> wordLines = serializeWord(level + 1, word);
-          if (wordLines != null) {
-            result.addAll(wordLines);
-          }
-        }
+      for (Word word : paragraph.getWords()) {
+        serializeWord(word);
       }
-      result.add(end(WORDS, level));
     }
-
-    return result;
+    this.xml.end(WORDS);
   }
 
   /**
    * Serializes the given word.
    * 
-   * @param level The current indentation level.
-   * @param word  The word to serialize.
+   * @param word The word to serialize.
    * 
-   * @return A list of strings that represent the lines of the serialization.
+   * @throws IOException If writing the serialization failed.
    */
-  protected List<String> serializeWord(int level, Word word) {
-    List<String> result = new ArrayList<>();
-    List<String> wordLines = serializePdfElement(level + 1, word);
-    // Wrap the serialized lines with a tag that describes a word.
-    if (wordLines != null && !wordLines.isEmpty()) {
-      result.add(start(WORD, level));
-      result.addAll(wordLines);
-      result.add(end(WORD, level));
-    }
-    return result;
+  protected void serializeWord(Word word) throws IOException {
+    serializePdfElement(WORD, word);
   }
 
   // ==============================================================================================
@@ -337,56 +330,36 @@ public class PdfXmlSerializer implements PdfSerializer {
   /**
    * Serializes the characters of the given PDF document.
    * 
-   * @param level The current indentation level.
-   * @param pdf   The PDF document to process.
+   * @param pdf The PDF document to process.
    * 
-   * @return A list of strings that represent the lines of the serialization.
+   * @throws IOException If writing the serialization failed.
    */
-  protected List<String> serializeCharacters(int level, Document pdf) {
-    List<String> result = new ArrayList<>();
-
-
-    if (pdf != null) {
-      result.add(start(CHARACTERS, level));
-      for (Paragraph paragraph : pdf.getParagraphs()) {
-        // Ignore the paragraph if its role should not be extracted.
-        if (!hasRelevantRole(paragraph)) {
-          continue;
-        }
+  protected void serializeCharacters(Document pdf) throws IOException {
+    this.xml.start(CHARACTERS);
+    for (Paragraph paragraph : this.paragraphs) {
+      // Ignore the paragraph if its role should not be extracted.
+      if (!hasRelevantRole(paragraph)) {
+        continue;
+      }
 
-        for (Word word : paragraph.getWords()) {
-          for (Character character : word.getCharacters()) {
-            List<String> characterLines = serializeCharacter(level + 1, character);
-            if (characterLines != null) {
-              result.addAll(characterLines);
-            }
-          }
+      for (Word word : paragraph.getWords()) {
+        for (Character character : word.getCharacters()) {
+          serializeCharacter(character);
         }
       }
-      result.add(end(CHARACTERS, level));
     }
-
-    return result;
+    this.xml.end(CHARACTERS);
   }
 
   /**
    * Serializes the given character.
    * 
-   * @param level     The current indentation level.
    * @param character The character to serialize.
    *
-   * @return A list of strings that represent the lines of the serialization.
+   * @throws IOException If writing the serialization failed.
    */
-  protected List<String> serializeCharacter(int level, Character character) {
-    List<String> result = new ArrayList<>();
-    List<String> characterLines = serializePdfElement(level + 1, character);
-    // Wrap the serialized lines with a tag that describes a character.
-    if (characterLines != null && !characterLines.isEmpty()) {
-      result.add(start(CHARACTER, level));
-      result.addAll(characterLines);
-      result.add(end(CHARACTER, level));
-    }
-    return result;
+  protected void serializeCharacter(Character character) throws IOException {
+    serializePdfElement(CHARACTER, character);
   }
 
   // ==============================================================================================
@@ -394,48 +367,29 @@ public class PdfXmlSerializer implements PdfSerializer {
   /**
    * Serializes the figures of the given PDF document.
    * 
-   * @param level The current indentation level.
-   * @param pdf   The PDF document to process.
+   * @param pdf The PDF document to process.
    * 
-   * @return A list of strings that represent the lines of the serialization.
+   * @throws IOException If writing the serialization failed.
    */
-  protected List<String> serializeFigures(int level, Document pdf) {
-    List<String> result = new ArrayList<>();
-
-    if (pdf != null) {
-      result.add(start(FIGURES, level));
-      for (Page page : pdf.getPages()) {
-        for (Figure figure : page.getFigures()) {
-          List<String> figureLines = serializeFigure(level + 1, figure);
-          if (figureLines != null) {
-            result.addAll(figureLines);
-          }
-        }
+  protected void serializeFigures(Document pdf) throws IOException {
+    this.xml.start(FIGURES);
+    for (Page page : pdf.getPages()) {
+      for (Figure figure : page.getFigures()) {
+        serializeFigure(figure);
       }
-      result.add(end(FIGURES, level));
     }
-
-    return result;
+    this.xml.end(FIGURES);
   }
 
   /**
    * Serializes the given figure.
    * 
-   * @param level  The current indentation level.
    * @param figure The figure to serialize.
    *
-   * @return A list of strings that represent the lines of the serialization.
+   * @throws IOException If writing the serialization failed.
    */
-  protected List<String> serializeFigure(int level, Figure figure) {
-    List<String> result = new ArrayList<>();
-    List<String> figureLines = serializePdfElement(level + 1, figure);
-    // Wrap the serialized lines with a tag that describes a figure.
-    if (figureLines != null && !figureLines.isEmpty()) {
-      result.add(start(FIGURE, level));
-      result.addAll(figureLines);
-      result.add(end(FIGURE, level));
-    }
-    return result;
+  protected void serializeFigure(Figure figure) throws IOException {
+    serializePdfElement(FIGURE, figure);
   }
 
   // ==============================================================================================
@@ -443,283 +397,284 @@ public class PdfXmlSerializer implements PdfSerializer {
   /**
    * Serializes the shapes of the given PDF document.
    * 
-   * @param level The current indentation level.
-   * @param pdf   The PDF document to process.
+   * @param pdf The PDF document to process.
    * 
-   * @return A list of strings that represent the lines of the serialization.
+   * @throws IOException If writing the serialization failed.
    */
-  protected List<String> serializeShapes(int level, Document pdf) {
-    List<String> result = new ArrayList<>();
-
-    if (pdf != null) {
-      result.add(start(SHAPES, level));
-      for (Page page : pdf.getPages()) {
-        for (Shape shape : page.getShapes()) {
-          List<String> shapeLines = serializeShape(level + 1, shape);
-          if (shapeLines != null) {
-            result.addAll(shapeLines);
-          }
-        }
+  protected void serializeShapes(Document pdf) throws IOException {
+    this.xml.start(SHAPES);
+    for (Page page : pdf.getPages()) {
+      for (Shape shape : page.getShapes()) {
+        serializeShape(shape);
       }
-      result.add(end(SHAPES, level));
     }
-
-    return result;
+    this.xml.end(SHAPES);
   }
 
   /**
    * Serializes the given shape.
    * 
-   * @param level  The current indentation level.
    * @param shape The shape to serialize.
    *
-   * @return A list of strings that represent the lines of the serialization.
+   * @throws IOException If writing the serialization failed.
    */
-  protected List<String> serializeShape(int level, Shape shape) {
-    List<String> result = new ArrayList<>();
-    List<String> shapeLines = serializePdfElement(level + 1, shape);
-    // Wrap the serialized lines with a tag that describes a shape.
-    if (shapeLines != null && !shapeLines.isEmpty()) {
-      result.add(start(SHAPE, level));
-      result.addAll(shapeLines);
-      result.add(end(SHAPE, level));
-    }
-    return result;
+  protected void serializeShape(Shape shape) throws IOException {
+    serializePdfElement(SHAPE, shape);
   }
 
   // ==============================================================================================
 
   /**
-   * Serializes the given PDF element.
+   * Serializes the given PDF element, wrapped with a tag that describes the type of the element.
+   * Nothing is written if there is nothing to serialize about the element.
    * 
-   * @param level   The current indentation level.
+   * @param type    The type of the element, for example: "paragraph".
    * @param element The PDF element to serialize.
    * 
-   * @return A list of strings that represent the lines of the serialization.
+   * @throws IOException If writing the serialization failed.
    */
-  protected List<String> serializePdfElement(int level, Element element) {
-    List<String> result = new ArrayList<>();
-
-    if (element != null) {
-      // Serialize the list of positions of the element, if there is any.
-      if (element instanceof HasPositions) {
-        HasPositions hasPositions = (HasPositions) element;
-        List<Position> positions = hasPositions.getPositions();
-
-        List<String> serialized = serializePositions(level + 1, positions);
-        if (serialized != null && !serialized.isEmpty()) {
-          result.add(start(POSITIONS, level));
-          result.addAll(serialized);
-          result.add(end(POSITIONS, level));
-        }
-      }
+  protected void serializePdfElement(String type, Element element) throws IOException {
+    // Determine the parts of the element first, to know whether the wrapping tag is needed.
+    SemanticRole role = getSemanticRole(element);
+    FontFace fontFace = getFontFace(element);
+    Color color = getColor(element);
+    String text = getText(element);
+    boolean hasPositions = hasPositions(element);
 
-      // Serialize the single position of the element, if there is any.
-      if (element instanceof HasPosition) {
-        HasPosition hasPosition = (HasPosition) element;
-        Position position = hasPosition.getPosition();
+    if (!hasPositions && role == null && fontFace == null && color == null && text == null) {
+      return;
+    }
 
-        List<String> serialized = serializePosition(level + 1, position);
-        if (serialized != null) {
-          result.add(start(POSITIONS, level));
-          result.addAll(serialized);
-          result.add(end(POSITIONS, level));
-        }
-      }
+    this.xml.start(type);
 
-      // Serialize the role of the element, if there is any.
-      if (element instanceof HasSemanticRole) {
-        HasSemanticRole hasRole = (HasSemanticRole) element;
-        SemanticRole role = hasRole.getSemanticRole();
+    // Serialize the list of positions of the element, if there is any.
+    if (element instanceof HasPositions && hasPositions) {
+      this.xml.start(POSITIONS);
+      serializePositions(((HasPositions) element).getPositions());
+      this.xml.end(POSITIONS);
+    }
 
-        if (role != null) {
-          result.add(start(ROLE, level) + text(role.getName()) + end(ROLE));
-        }
-      }
+    // Serialize the single position of the element, if there is any.
+    if (element instanceof HasPosition) {
+      this.xml.start(POSITIONS);
+      serializePosition(((HasPosition) element).getPosition());
+      this.xml.end(POSITIONS);
+    }
 
-      // Serialize the font face of the element, if there is any.
-      if (element instanceof HasFontFace) {
-        HasFontFace hasFontFace = (HasFontFace) element;
-        FontFace fontFace = hasFontFace.getFontFace();
-
-        if (fontFace != null) {
-          Font font = fontFace.getFont();
-          if (font != null) {
-            String fontId = font.getId();
-            float size = fontFace.getFontSize();
-            if (fontId != null && size > 0) {
-              result.add(start(FONT, level++));
-              result.add(start(ID, level) + text(fontId) + end(ID));
-              result.add(start(FONTSIZE, level) + text(size) + end(FONTSIZE));
-              result.add(end(FONT, --level));
-              this.usedFonts.add(font);
-            }
-          }
-        }
-      }
+    // Serialize the role of the element, if there is any.
+    if (role != null) {
+      this.xml.element(ROLE, role.getName());
+    }
+
+    // Serialize the font face of the element, if there is any.
+    if (fontFace != null) {
+      this.xml.start(FONT);
+      this.xml.element(ID, fontFace.getFont().getId());
+      this.xml.element(FONTSIZE, fontFace.getFontSize());
+      this.xml.end(FONT);
+      this.usedFonts.add(fontFace.getFont());
+    }
 
-      // Serialize the color of the element, if there is any.
-      if (element instanceof HasColor) {
-        HasColor hasColor = (HasColor) element;
-        Color color = hasColor.getColor();
-
-        if (color != null) {
-          String colorId = color.getId();
-          if (colorId != null) {
-            result.add(start(COLOR, level++));
-            result.add(start(ID, level) + text(colorId) + end(ID));
-            result.add(end(COLOR, --level));
-            this.usedColors.add(color);
+    // Serialize the color of the element, if there is any.
+    if (color != null) {
+      this.xml.start(COLOR);
+      this.xml.element(ID, color.getId());
+      this.xml.end(COLOR);
+      this.usedColors.add(color);
+    }
+
+    // Serialize the text of the element, if there is any.
+    if (text != null) {
+      this.xml.element(TEXT, text);
+    }
+
+    this.xml.end(type);
+  }
+
+  /**
+   * Checks if positions are serialized for the given element. This is the case if the element
+   * has a single position (even if the position can't be serialized) or if it has a list of
+   * positions, of which at least one can be serialized.
+   *
+   * @param element The element to check.
+   *
+   * @return True, if positions are serialized for the given element.
+   */
+  protected boolean hasPositions(Element element) {
+    if (element instanceof HasPosition) {
+      return true;
+    }
+    if (element instanceof HasPositions) {
+      List<Position> positions = ((HasPositions) element).getPositions();
+      if (positions != null) {
+        for (Position position : positions) {
+          if (isSerializable(position)) {
+            return true;
           }
         }
       }
+    }
+    return false;
+  }
 
-      // Serialize the text of the element, if there is any.
-      if (element instanceof HasText) {
-        HasText hasText = (HasText) element;
-        String text = hasText.getText();
+  /**
+   * Returns the semantic role of the given element.
+   *
+   * @param element The element to process.
+   *
+   * @return The semantic role of the given element, or null if the element has no role.
+   */
+  protected SemanticRole getSemanticRole(Element element) {
+    if (element instanceof HasSemanticRole) {
+      return ((HasSemanticRole) element).getSemanticRole();
+    }
+    return null;
+  }
 
-        if (text != null) {
-          result.add(start(TEXT, level) + text(text) + end(TEXT));
+  /**
+   * Returns the font face of the given element, if it can be serialized.
+   *
+   * @param element The element to process.
+   *
+   * @return The font face of the given element, or null if the element has no font face, the
+   *         font has no id or the font size is not positive.
+   */
+  protected FontFace getFontFace(Element element) {
+    if (element instanceof HasFontFace) {
+      FontFace fontFace = ((HasFontFace) element).getFontFace();
+      if (fontFace != null) {
+        Font font = fontFace.getFont();
+        if (font != null && font.getId() != null && fontFace.getFontSize() > 0) {
+          return fontFace;
         }
       }
-      
     }
-
-    return result;
+    return null;
   }
 
-  // ==============================================================================================
+  /**
+   * Returns the color of the given element, if it can be serialized.
+   *
+   * @param element The element to process.
+   *
+   * @return The color of the given element, or null if the element has no color or the color has
+   *         no id.
+   */
+  protected Color getColor(Element element) {
+    if (element instanceof HasColor) {
+      Color color = ((HasColor) element).getColor();
+      if (color != null && color.getId() != null) {
+        return color;
+      }
+    }
+    return null;
+  }
 
   /**
-   * Serializes the given list of PDF positions.
-   * 
-   * @param level The current indentation level.
-   * @param pos   The positions to serialize.
-   * 
-   * @return A list of strings that represent the lines of the serialization.
+   * Returns the text of the given element.
+   *
+   * @param element The element to process.
+   *
+   * @return The text of the given element, or null if the element has no text.
    */
-  protected List<String> serializePositions(int level, Position... pos) {
-    return serializePositions(level, Arrays.asList(pos));
+  protected String getText(Element element) {
+    if (element instanceof HasText) {
+      return ((HasText) element).getText();
+    }
+    return null;
   }
 
+  // ==============================================================================================
+
   /**
    * Serializes the given list of PDF positions.
    * 
-   * @param level The current indentation level.
-   * @param pos   The list of positions to serialize.
+   * @param positions The list of positions to serialize.
    * 
-   * @return A list of strings that represent the lines of the serialization.
+   * @throws IOException If writing the serialization failed.
    */
-  protected List<String> serializePositions(int level, List<Position> pos) {
-    List<String> result = new ArrayList<>();
-    if (pos != null) {
-      for (Position position : pos) {
-        List<String> positionLines = serializePosition(level, position);
-        if (positionLines != null) {
-          result.addAll(positionLines);
-        }
+  protected void serializePositions(List<Position> positions) throws IOException {
+    if (positions != null) {
+      for (Position position : positions) {
+        serializePosition(position);
       }
     }
-    return result;
   }
 
   /**
-   * Serializes the given PDF position.
+   * Serializes the given PDF position. Nothing is written if the position doesn't refer to a
+   * page and to a rectangle.
    * 
-   * @param level    The current indentation level.
    * @param position The position to serialize.
    * 
-   * @return A list of strings that represent the lines of the serialization.
+   * @throws IOException If writing the serialization failed.
    */
-  protected List<String> serializePosition(int level, Position position) {
-    List<String> result = new ArrayList<>();
-
-    if (position != null) {
-      Page page = position.getPage();
-      int pageNumber = page.getPageNumber();
-      Rectangle rect = position.getRectangle();
-
-      if (pageNumber > 0 && rect != null) {
-        result.add(start(POSITION, level++));
-
-        result.add(start(PAGE, level) + text(pageNumber) + end(PAGE));
-        result.add(start(MIN_X, level) + text(rect.getMinX()) + end(MIN_X));
-        result.add(start(MIN_Y, level) + text(rect.getMinY()) + end(MIN_Y));
-        result.add(start(MAX_X, level) + text(rect.getMaxX()) + end(MAX_X));
-        result.add(start(MAX_Y, level) + text(rect.getMaxY()) + end(MAX_Y));
-
-        result.add(end(POSITION, --level));
-      }
+  protected void serializePosition(Position position) throws IOException {
+    if (!isSerializable(position)) {
+      return;
     }
+    Rectangle rect = position.getRectangle();
 
-    return result;
+    this.xml.start(POSITION);
+    this.xml.element(PAGE, position.getPage().getPageNumber());
+    this.xml.element(MIN_X, rect.getMinX());
+    this.xml.element(MIN_Y, rect.getMinY());
+    this.xml.element(MAX_X, rect.getMaxX());
+    this.xml.element(MAX_Y, rect.getMaxY());
+    this.xml.end(POSITION);
   }
 
-  // ==============================================================================================
-
   /**
-   * Serializes the given fonts.
-   * 
-   * @param level The current indentation level.
-   * @param fonts The fonts to serialize.
-   * 
-   * @return A list of strings that represent the lines of the serialization.
+   * Checks if the given position can be serialized, that is: if it refers to a page and to a
+   * rectangle.
+   *
+   * @param position The position to check.
+   *
+   * @return True, if the given position can be serialized.
    */
-  protected List<String> serializeFonts(int level, Font... fonts) {
-    return serializeFonts(level, new HashSet<>(Arrays.asList(fonts)));
+  protected boolean isSerializable(Position position) {
+    return position != null && position.getPage().getPageNumber() > 0
+        && position.getRectangle() != null;
   }
 
+  // ==============================================================================================
+
   /**
    * Serializes the given fonts.
    *
-   * @param level The current indentation level.
    * @param fonts The fonts to serialize.
    * 
-   * @return A list of strings that represent the lines of the serialization.
+   * @throws IOException If writing the serialization failed.
    */
-  protected List<String> serializeFonts(int level, Set<Font> fonts) {
-    List<String> result = new ArrayList<>();
-    if (fonts != null) {
-      for (Font font : fonts) {
-        List<String> fontLines = serializeFont(level, font);
-        if (fontLines != null) {
-          result.addAll(fontLines);
-        }
-      }
+  protected void serializeFonts(Set<Font> fonts) throws IOException {
+    for (Font font : fonts) {
+      serializeFont(font);
     }
-    return result;
   }
 
   /**
    * Serializes the given font.
    * 
-   * @param level The current indentation level.
-   * @param font  The font to serialize.
+   * @param font The font to serialize.
    * 
-   * @return A list of strings that represent the lines of the serialization.
+   * @throws IOException If writing the serialization failed.
    */
-  protected List<String> serializeFont(int level, Font font) {
-    List<String> result = new ArrayList<>();
-    if (font != null) {
-      String fontId = font.getId();
-      result.add(start(FONT, level++));
-      if (fontId != null) {
-        result.add(start(ID, level) + text(fontId) + end(ID));
-      }
-
-      String fontName = font.getNormalizedName();
-      if (fontName != null) {
-        result.add(start(NAME, level) + text(fontName) + end(NAME));
-      }
-
-      result.add(start(IS_BOLD, level) + text(font.isBold()) + end(IS_BOLD));
-      result.add(start(IS_ITALIC, level) + text(font.isItalic()) + end(IS_ITALIC));
-      result.add(start(IS_TYPE3, level) + text(font.isType3Font()) + end(IS_TYPE3));
+  protected void serializeFont(Font font) throws IOException {
+    this.xml.start(FONT);
+    String fontId = font.getId();
+    if (fontId != null) {
+      this.xml.element(ID, fontId);
+    }
 
-      result.add(end(FONT, --level));
+    String fontName = font.getNormalizedName();
+    if (fontName != null) {
+      this.xml.element(NAME, fontName);
     }
-    return result;
+
+    this.xml.element(IS_BOLD, font.isBold());
+    this.xml.element(IS_ITALIC, font.isItalic());
+    this.xml.element(IS_TYPE3, font.isType3Font());
+    this.xml.end(FONT);
   }
 
   // ==============================================================================================
@@ -728,197 +683,116 @@ public class PdfXmlSerializer implements PdfSerializer {
   /**
    * Serializes the given colors.
    * 
-   * @param level  The current indentation level.
    * @param colors The colors to serialize.
    * 
-   * @return A list of strings that represent the lines of the serialization.
+   * @throws IOException If writing the serialization failed.
    */
-  protected List<String> serializeColors(int level, Color... colors) {
-    return serializeColors(level, new HashSet<>(Arrays.asList(colors)));
-  }
-
-  /**
-   * Serializes the given colors.
-   * 
-   * @param level  The current indentation level.
-   * @param colors The colors to serialize.
-   * 
-   * @return A list of strings that represent the lines of the serialization.
-   */
-  protected List<String> serializeColors(int level, Set<Color> colors) {
-    List<String> result = new ArrayList<>();
-
-    if (colors != null) {
-      for (Color color : colors) {
-        if (color != null) {
-          List<String> colorLines = serializeColor(level, color);
-          if (colorLines != null) {
-            result.addAll(colorLines);
-          }
-        }
+  protected void serializeColors(Set<Color> colors) throws IOException {
+    for (Color color : colors) {
+      if (isSerializable(color)) {
+        serializeColor(color);
       }
     }
-    return result;
   }
 
   /**
    * Serializes the given color.
    * 
-   * @param level The current indentation level.
    * @param color The color to serialize.
    * 
-   * @return A list of strings that represent the lines of the serialization.
+   * @throws IOException If writing the serialization failed.
    */
-  protected List<String> serializeColor(int level, Color color) {
-    List<String> result = new ArrayList<>();
-    if (color != null) {
-      int[] rgb = color.getRGB();
-
-      if (rgb != null && rgb.length == 3) {
-        result.add(start(COLOR, level++));
-        result.add(start(ID, level) + text(color.getId()) + end(ID));
-        result.add(start(R, level) + text(rgb[0]) + end(R));
-        result.add(start(G, level) + text(rgb[1]) + end(G));
-        result.add(start(B, level) + text(rgb[2]) + end(B));
-        result.add(end(COLOR, --level));
-      }
-    }
-    return result;
-  }
+  protected void serializeColor(Color color) throws IOException {
+    int[] rgb = color.getRGB();
 
-  // ==============================================================================================
-  // Methods to serialize the page information.
-
-  /**
-   * Serializes the metadata of the given pages.
-   * 
-   * @param level The current indentation level.
-   * @param pages The pages to serialize.
-   * 
-   * @return A list of strings that represent the lines of the serialization.
-   */
-  protected List<String> serializePages(int level, Page... pages) {
-    return serializePages(level, Arrays.asList(pages));
+    this.xml.start(COLOR);
+    this.xml.element(ID, color.getId());
+    this.xml.element(R, rgb[0]);
+    this.xml.element(G, rgb[1]);
+    this.xml.element(B, rgb[2]);
+    this.xml.end(COLOR);
   }
 
   /**
-   * Serializes the metadata of the given pages.
-   * 
-   * @param level The current indentation level.
-   * @param pages The pages to serialize.
-   * 
-   * @return A list of strings that represent the lines of the serialization.
+   * Checks if at least one of the given colors can be serialized.
+   *
+   * @param colors The colors to check.
+   *
+   * @return True, if at least one of the given colors has a RGB value.
    */
-  protected List<String> serializePages(int level, List<Page> pages) {
-    List<String> result = new ArrayList<>();
-
-    if (pages != null) {
-      for (Page page : pages) {
-        if (page != null) {
-          List<String> pageLines = serializePage(level, page);
-          if (pageLines != null) {
-            result.addAll(pageLines);
-          }
-        }
+  protected boolean hasSerializableColor(Set<Color> colors) {
+    for (Color color : colors) {
+      if (isSerializable(color)) {
+        return true;
       }
     }
-    return result;
+    return false;
   }
 
   /**
-   * Serializes the metadata of the given page.
-   * 
-   * @param level The current indentation level.
-   * @param page  The page to serialize.
-   * 
-   * @return A list of strings that represent the lines of the serialization.
+   * Checks if the given color can be serialized, that is: if it has a RGB value.
+   *
+   * @param color The color to check.
+   *
+   * @return True, if the given color can be serialized.
    */
-  protected List<String> serializePage(int level, Page page) {
-    List<String> result = new ArrayList<>();
-    if (page != null) {
-      result.add(start(PAGE, level++));
-      result.add(start(ID, level) + text(page.getPageNumber()) + end(ID));
-      result.add(start(WIDTH, level) + text(page.getWidth()) + end(WIDTH));
-      result.add(start(HEIGHT, level) + text(page.getHeight()) + end(HEIGHT));
-      result.add(end(PAGE, --level));
+  protected boolean isSerializable(Color color) {
+    if (color == null) {
+      return false;
     }
-    return result;
+    int[] rgb = color.getRGB();
+    return rgb != null && rgb.length == 3;
   }
 
   // ==============================================================================================
+  // Methods to serialize the page information.
 
   /**
-   * Wraps the given text in an XML start tag.
-   * 
-   * @param text The text to wrap.
-   * 
-   * @return The given text wrapped in an XML start tag.
-   */
-  protected String startTag(String text) {
-    return start(text, 0);
-  }
-
-  /**
-   * Wraps the given text in an XML start tag and indents it by the given indentation level.
-   * 
-   * @param text  The text to wrap.
-   * @param level The indentation level.
-   * 
-   * @return The given text wrapped in an XML start tag, indented by the given indentation level.
-   */
-  protected String start(String text, int level) {
-    String indent = repeat(" ", level * INDENT_LENGTH);
-    return indent + "<" + text + ">";
-  }
-
-  /**
-   * Wraps the given text in an XML end tag.
-   * 
-   * @param text The text to wrap.
-   * 
-   * @return The given text wrapped in an XML end tag.
-   */
-  protected String end(String text) {
-    return end(text, 0);
-  }
-
-  /**
-   * Wraps the given text in an XML end tag and indents it by the given indentation level.
+   * Serializes the metadata of the given pages.
    * 
-   * @param text  The text to wrap.
-   * @param level The indentation level.
+   * @param pages The pages to serialize.
    * 
-   * @return The given text wrapped in an XML end tag, indented by the given indentation level.
+   * @throws IOException If writing the serialization failed.
    */
-  protected String end(String text, int level) {
-    String indent = repeat(" ", level * INDENT_LENGTH);
-    return indent + "</" + text + ">";
+  protected void serializePages(List<Page> pages) throws IOException {
+    for (Page page : pages) {
+      if (page != null) {
+        serializePage(page);
+      }
+    }
   }
 
   /**
-   * Transform the given object to an XML escaped string.
+   * Serializes the metadata of the given page.
    * 
-   * @param obj The object to process.
+   * @param page The page to serialize.
    * 
-   * @return The XML escaped string.
+   * @throws IOException If writing the serialization failed.
    */
-  protected String text(Object obj) {
-    return text(obj, 0);
+  protected void serializePage(Page page) throws IOException {
+    this.xml.start(PAGE);
+    this.xml.element(ID, page.getPageNumber());
+    this.xml.element(WIDTH, page.getWidth());
+    this.xml.element(HEIGHT, page.getHeight());
+    this.xml.end(PAGE);
   }
 
   /**
-   * Transform the given object to an XML escaped string and indents it by the given indentation
-   * level.
-   * 
-   * @param obj   The object to process.
-   * @param level The indentation level.
+   * Checks if the given list contains at least one page.
+   *
+   * @param pages The list of pages to check.
    *
-   * @return The XML escaped string, indented by the given indentation level.
+   * @return True, if the given list contains at least one page which is not null.
    */
-  protected String text(Object obj, int level) {
-    String indent = repeat(" ", level * INDENT_LENGTH);
-    String text = StringEscapeUtils.escapeXml11(obj.toString());
-    return indent + text;
+  protected boolean hasPage(List<Page> pages) {
+    if (pages != null) {
+      for (Page page : pages) {
+        if (page != null) {
+          return true;
+        }
+      }
+    }
+    return false;
   }
 
   // ==============================================================================================
@@ -972,63 +846,4 @@ public class PdfXmlSerializer implements PdfSerializer {
 
     return this.semanticRolesToInclude.contains(role);
   }
-
-  // ==============================================================================================
-
-  /**
-   * Repeats the given string $repeats-times.
-   * 
-   * @param string  The string to repeat.
-   * @param repeats The number of repeats.
-   * @return The string containing the given string $repeats-times.
-   */
-  public static String repeat(String string, int repeats) {
-    StringBuilder sb = new StringBuilder();
-    for (int i = 0; i < repeats; i++) {
-      sb.append(string);
-    }
-    return sb.toString();
-  }
-
-  // ==============================================================================================
-
-  /**
-   * Serializes the given text block.
-   * 
-   * @param level The current indentation level.
-   * @param block The text block to serialize.
-   * 
-   * @return A list of strings that represent the lines of the serialization.
-   */
-  protected List<String> serializeTextBlock(int level, TextBlock block) {
-    List<String> result = new ArrayList<>();
-    List<String> blockLines = serializePdfElement(level + 1, block);
-    // Wrap the serialized lines with a tag that describe a text block.
-    if (blockLines != null && !blockLines.isEmpty()) {
-      result.add(start(TEXT_BLOCK, level));
-      result.addAll(blockLines);
-      result.add(end(TEXT_BLOCK, level));
-    }
-    return result;
-  }
-
-  /**
-   * Serializes the given text line.
-   * 
-   * @param level The current indentation level.
-   * @param line  The text line to serialize.
-   * 
-   * @return A list of strings that represent the lines of the serialization.
-   */
-  protected List<String> serializeTextLine(int level, TextLine line) {
-    List<String> result = new ArrayList<>();
-    List<String> lineLines = serializePdfElement(level + 1, line);
-    // Wrap the serialized lines with a tag that describes a text line.
-    if (lineLines != null && !lineLines.isEmpty()) {
-      result.add(start(TEXT_LINE, level));
-      result.addAll(lineLines);
-      result.add(end(TEXT_LINE, level));
-    }
-    return result;
-  }
 }
@@ -15,6 +15,7 @@ import pdfact.cli.model.ExtractionUnit;
 import pdfact.cli.model.SerializationFormat;
 import pdfact.cli.util.exception.PdfActSerializeException;
 import pdfact.core.model.Document;
+import pdfact.core.model.Paragraph;
 import pdfact.core.model.SemanticRole;
 import pdfact.core.util.exception.PdfActException;
 
@@ -44,6 +45,12 @@ public class PlainSerializePdfPipe implements SerializePdfPipe {
    */
   protected OutputStream targetStream;
 
+  /**
+   * The paragraphs to serialize instead of the paragraphs of the PDF document (null if the
+   * paragraphs of the PDF document should be serialized).
+   */
+  protected Iterable<Paragraph> paragraphs;
+
   /**
    * The units to extract.
    */
@@ -66,6 +73,12 @@ public class PlainSerializePdfPipe implements SerializePdfPipe {
    */
   protected boolean isPdfJsMode;
 
+  /**
+   * The boolean flag indicating whether or not the serialization should be written compactly,
+   * that is: without any indentation and line breaks.
+   */
+  protected boolean isCompact;
+
   // ==============================================================================================
 
   /**
@@ -112,7 +125,11 @@ public class PlainSerializePdfPipe implements SerializePdfPipe {
         serializer = new PdfXmlSerializer(this.extractionUnits, this.semanticRolesToInclude);
         break;
       case JSON:
-        serializer = new PdfJsonSerializer(this.extractionUnits, this.semanticRolesToInclude);
+        serializer = new PdfJsonSerializer(this.extractionUnits, this.semanticRolesToInclude,
+                this.isCompact);
+        break;
+      case BINARY:
+        serializer = new PdfBinarySerializer(this.extractionUnits, this.semanticRolesToInclude);
         break;
       case TXT:
         serializer = new PdfTxtSerializer(this.withControlCharacters, this.extractionUnits,
@@ -128,6 +145,18 @@ public class PlainSerializePdfPipe implements SerializePdfPipe {
       serializer = new PdfJsSerializer();
     }
 
+    // Write the serialization directly to the targets, if the serializer supports it.
+    if (serializer instanceof PdfStreamSerializer) {
+      serializeToTargets(pdf, (PdfStreamSerializer) serializer);
+      return;
+    }
+
+    // Only stream serializers can serialize paragraphs given separately from the document.
+    if (this.paragraphs != null) {
+      throw new PdfActSerializeException(
+              "Couldn't serialize the given paragraphs with the format '" + this.format + "'.");
+    }
+
     // Serialize the PDF document.
     byte[] serialization = serializer.serialize(pdf);
 
@@ -142,6 +171,37 @@ public class PlainSerializePdfPipe implements SerializePdfPipe {
     }
   }
 
+  /**
+   * Serializes the given PDF document with the given serializer directly to the target stream
+   * and/or the target file.
+   *
+   * @param pdf        The PDF document to serialize.
+   * @param serializer The serializer to use.
+   * @throws PdfActException If something went wrong while serializing the PDF document.
+   */
+  protected void serializeToTargets(Document pdf, PdfStreamSerializer serializer)
+          throws PdfActException {
+    // The paragraphs to serialize.
+    Iterable<Paragraph> paragraphs = this.paragraphs;
+    if (paragraphs == null && pdf != null) {
+      paragraphs = pdf.getParagraphs();
+    }
+
+    // If the target is given as a stream, write the serialization to it.
+    if (this.targetStream != null) {
+      serializer.serialize(pdf, paragraphs, this.targetStream);
+    }
+
+    // If the target is given as a file, open it and write the serialization.
+    if (this.targetPath != null) {
+      try (OutputStream os = Files.newOutputStream(this.targetPath)) {
+        serializer.serialize(pdf, paragraphs, os);
+      } catch (IOException e) {
+        throw new PdfActSerializeException("Couldn't write to file.", e);
+      }
+    }
+  }
+
   /**
    * Writes the given bytes to the given output stream.
    *
@@ -234,6 +294,18 @@ public class PlainSerializePdfPipe implements SerializePdfPipe {
 
   // ==============================================================================================
 
+  @Override
+  public Iterable<Paragraph> getParagraphs() {
+    return this.paragraphs;
+  }
+
+  @Override
+  public void setParagraphs(Iterable<Paragraph> paragraphs) {
+    this.paragraphs = paragraphs;
+  }
+
+  // ==============================================================================================
+
   @Override
   public boolean isWithControlCharacters() {
     return this.withControlCharacters;
@@ -255,4 +327,16 @@ public class PlainSerializePdfPipe implements SerializePdfPipe {
   public void setIsPdfJsMode(boolean isPdfJsMode) {
     this.isPdfJsMode = isPdfJsMode;
   }
+
+  // ==============================================================================================
+
+  @Override
+  public boolean isCompact() {
+    return this.isCompact;
+  }
+
+  @Override
+  public void setIsCompact(boolean isCompact) {
+    this.isCompact = isCompact;
+  }
 }
@@ -5,6 +5,7 @@ import java.nio.file.Path;
 import java.util.Set;
 import pdfact.cli.model.ExtractionUnit;
 import pdfact.cli.model.SerializationFormat;
+import pdfact.core.model.Paragraph;
 import pdfact.core.model.SemanticRole;
 import pdfact.core.util.pipeline.Pipe;
 
@@ -62,6 +63,26 @@ public interface SerializePdfPipe extends Pipe {
 
   // ==============================================================================================
 
+  /**
+   * Returns the paragraphs to serialize instead of the paragraphs of the PDF document.
+   *
+   * @return The paragraphs to serialize; null if the paragraphs of the PDF document should be
+   *         serialized.
+   */
+  Iterable<Paragraph> getParagraphs();
+
+  /**
+   * Sets the paragraphs to serialize instead of the paragraphs of the PDF document, for example
+   * the paragraphs of a PDF document processed page by page, which are not kept in main memory.
+   * The paragraphs may be iterated several times. They can't be serialized in pdf.js mode.
+   *
+   * @param paragraphs The paragraphs to serialize; null if the paragraphs of the PDF document
+   *                   should be serialized.
+   */
+  void setParagraphs(Iterable<Paragraph> paragraphs);
+
+  // ==============================================================================================
+
   /**
    * Returns the units to extract.
    *
@@ -119,4 +140,19 @@ public interface SerializePdfPipe extends Pipe {
    * Sets the boolean flag indicating whether or not the pdf.js mode is enabled.
    */
   public void setIsPdfJsMode(boolean isPdfJsMode);
+
+  // ==============================================================================================
+
+  /**
+   * Returns the boolean flag indicating whether or not the serialization is written compactly,
+   * that is: without any indentation and line breaks. Only supported by the JSON format.
+   */
+  public boolean isCompact();
+
+  /**
+   * Sets the boolean flag indicating whether or not the serialization should be written
+   * compactly, that is: without any indentation and line breaks. Only supported by the JSON
+   * format.
+   */
+  public void setIsCompact(boolean isCompact);
 }
@@ -0,0 +1,201 @@
+package pdfact.cli.pipes.serialize;
+
+import java.io.IOException;
+import java.io.Writer;
+import org.apache.commons.lang3.StringEscapeUtils;
+
+/**
+ * A writer that writes XML directly to a {@link Writer}, event by event, without composing the
+ * lines of the XML in memory first.
+ *
+ * <p>
+ * Each start tag, end tag and element with text content is written on its own line, indented by
+ * the current nesting level. The lines are separated by a line delimiter; there is no line
+ * delimiter after the last line. Texts are escaped as by {@link StringEscapeUtils#escapeXml11}.
+ *
+ * @author Claudius Korzen
+ */
+public class XmlStreamWriter {
+  /**
+   * The writer to which the XML is written.
+   */
+  protected Writer writer;
+
+  /**
+   * The number of whitespaces to indent each nesting level with.
+   */
+  protected int indentLength;
+
+  /**
+   * The delimiter to write between two lines.
+   */
+  protected String lineDelimiter;
+
+  /**
+   * The current nesting level.
+   */
+  protected int level;
+
+  /**
+   * The boolean flag indicating whether or not at least one line was written.
+   */
+  protected boolean hasLines;
+
+  // ==============================================================================================
+  // Constructors.
+
+  /**
+   * Creates a new XML writer.
+   *
+   * @param writer        The writer to which the XML should be written.
+   * @param indentLength  The number of whitespaces to indent each nesting level with.
+   * @param lineDelimiter The delimiter to write between two lines.
+   */
+  public XmlStreamWriter(Writer writer, int indentLength, String lineDelimiter) {
+    this.writer = writer;
+    this.indentLength = indentLength;
+    this.lineDelimiter = lineDelimiter;
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Writes a start tag with the given name on a new line and increases the nesting level.
+   *
+   * @param name The name of the tag.
+   *
+   * @throws IOException If writing to the underlying writer failed.
+   */
+  public void start(String name) throws IOException {
+    newLine();
+    this.writer.write('<');
+    this.writer.write(name);
+    this.writer.write('>');
+    this.level++;
+  }
+
+  /**
+   * Decreases the nesting level and writes an end tag with the given name on a new line.
+   *
+   * @param name The name of the tag.
+   *
+   * @throws IOException If writing to the underlying writer failed.
+   */
+  public void end(String name) throws IOException {
+    this.level--;
+    newLine();
+    this.writer.write("</");
+    this.writer.write(name);
+    this.writer.write('>');
+  }
+
+  /**
+   * Writes an element with the given name and the given text content on a new line.
+   *
+   * @param name The name of the element.
+   * @param text The text content of the element, which is escaped before writing.
+   *
+   * @throws IOException If writing to the underlying writer failed.
+   */
+  public void element(String name, String text) throws IOException {
+    newLine();
+    this.writer.write('<');
+    this.writer.write(name);
+    this.writer.write('>');
+    if (needsEscaping(text)) {
+      StringEscapeUtils.ESCAPE_XML11.translate(text, this.writer);
+    } else {
+      this.writer.write(text);
+    }
+    this.writer.write("</");
+    this.writer.write(name);
+    this.writer.write('>');
+  }
+
+  /**
+   * Writes an element with the given name and the given numeric content on a new line.
+   *
+   * @param name  The name of the element.
+   * @param value The content of the element.
+   *
+   * @throws IOException If writing to the underlying writer failed.
+   */
+  public void element(String name, float value) throws IOException {
+    element(name, Float.toString(value));
+  }
+
+  /**
+   * Writes an element with the given name and the given numeric content on a new line.
+   *
+   * @param name  The name of the element.
+   * @param value The content of the element.
+   *
+   * @throws IOException If writing to the underlying writer failed.
+   */
+  public void element(String name, int value) throws IOException {
+    element(name, Integer.toString(value));
+  }
+
+  /**
+   * Writes an element with the given name and the given boolean content on a new line.
+   *
+   * @param name  The name of the element.
+   * @param value The content of the element.
+   *
+   * @throws IOException If writing to the underlying writer failed.
+   */
+  public void element(String name, boolean value) throws IOException {
+    element(name, Boolean.toString(value));
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Flushes the underlying writer.
+   *
+   * @throws IOException If flushing the underlying writer failed.
+   */
+  public void flush() throws IOException {
+    this.writer.flush();
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Starts a new line, indented by the current nesting level.
+   *
+   * @throws IOException If writing to the underlying writer failed.
+   */
+  protected void newLine() throws IOException {
+    if (this.hasLines) {
+      this.writer.write(this.lineDelimiter);
+    }
+    this.hasLines = true;
+
+    for (int i = 0; i < this.level * this.indentLength; i++) {
+      this.writer.write(' ');
+    }
+  }
+
+  /**
+   * Checks if the given text contains a character that is escaped, replaced or removed by
+   * {@link StringEscapeUtils#ESCAPE_XML11}.
+   *
+   * @param text The text to check.
+   *
+   * @return False, if the given text can be written as it is; true otherwise.
+   */
+  protected static boolean needsEscaping(String text) {
+    for (int i = 0; i < text.length(); i++) {
+      char c = text.charAt(i);
+      if (c < 0x20 || (c >= 0x7f && c <= 0x9f) || Character.isSurrogate(c)
+          || c >= 0xfffe) {
+        return true;
+      }
+      if (c == '&' || c == '<' || c == '>' || c == '"' || c == '\'') {
+        return true;
+      }
+    }
+    return false;
+  }
+}
@@ -2,9 +2,11 @@ package pdfact.cli.pipes.visualize;
 
 import java.awt.Color;
 import java.io.IOException;
+import java.io.OutputStream;
 
 import pdfact.core.model.HasRectangle;
 import pdfact.core.model.Line;
+import pdfact.core.model.PageSelection;
 import pdfact.core.model.Point;
 import pdfact.core.model.Position;
 import pdfact.core.model.Rectangle;
@@ -638,6 +640,17 @@ public interface PdfDrawer {
 
   // ==============================================================================================
 
+  /**
+   * Removes all pages which aren't contained in the given selection from the drawn PDF file.
+   * Nothing can be drawn on the removed pages afterwards.
+   * 
+   * @param selection
+   *        The pages to retain.
+   * @throws IOException
+   *         If removing the pages has failed.
+   */
+  void retainPages(PageSelection selection) throws IOException;
+
   /**
    * Returns the drawn PDF file as byte array.
    * 
@@ -646,4 +659,14 @@ public interface PdfDrawer {
    *         If getting the bytes has failed.
    */
   byte[] toByteArray() throws IOException;
+
+  /**
+   * Writes the drawn PDF file to the given stream, without buffering it in memory.
+   * 
+   * @param stream
+   *        The stream to write to.
+   * @throws IOException
+   *         If writing the PDF file has failed.
+   */
+  void writeTo(OutputStream stream) throws IOException;
 }
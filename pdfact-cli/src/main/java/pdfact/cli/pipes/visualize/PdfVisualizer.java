@@ -1,5 +1,6 @@
 package pdfact.cli.pipes.visualize;
 
+import java.io.OutputStream;
 import java.util.Set;
 import pdfact.cli.model.ExtractionUnit;
 import pdfact.cli.util.exception.PdfActVisualizeException;
@@ -24,6 +25,19 @@ public interface PdfVisualizer {
    */
   byte[] visualize(Document pdf) throws PdfActVisualizeException;
 
+  /**
+   * Visualizes all features of the given document and writes the visualization directly to the
+   * given stream, without buffering it in memory.
+   * 
+   * @param pdf
+   *        The PDF document to process.
+   * @param stream
+   *        The stream to which the visualization should be written.
+   * @throws PdfActVisualizeException
+   *         If something went wrong while visualizing.
+   */
+  void visualize(Document pdf, OutputStream stream) throws PdfActVisualizeException;
+
   // ==============================================================================================
 
   /**
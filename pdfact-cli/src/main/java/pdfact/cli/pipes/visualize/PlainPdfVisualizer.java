@@ -2,6 +2,7 @@ package pdfact.cli.pipes.visualize;
 
 import java.awt.Color;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Set;
@@ -11,12 +12,14 @@ import pdfact.cli.pipes.visualize.pdfbox.PdfBoxDrawer;
 import pdfact.cli.util.exception.PdfActVisualizeException;
 import pdfact.core.model.Character;
 import pdfact.core.model.Document;
+import pdfact.core.model.DocumentSession;
 import pdfact.core.model.Element;
 import pdfact.core.model.Figure;
 import pdfact.core.model.HasPosition;
 import pdfact.core.model.HasPositions;
 import pdfact.core.model.HasSemanticRole;
 import pdfact.core.model.Page;
+import pdfact.core.model.PageSelection;
 import pdfact.core.model.Paragraph;
 import pdfact.core.model.Point;
 import pdfact.core.model.Position;
@@ -64,32 +67,9 @@ public class PlainPdfVisualizer implements PdfVisualizer {
   public byte[] visualize(Document pdf) throws PdfActVisualizeException {
     if (pdf != null) {
       try {
-        PdfDrawer drawer = new PdfBoxDrawer(pdf.getFile());
-
-        for (ExtractionUnit unit : this.extractionUnits) {
-          switch (unit) {
-            case CHARACTER:
-              visualizeCharacters(pdf, drawer);
-              break;
-            case TEXT_AREA:
-              visualizeTextAreas(pdf, drawer);
-              break;
-            case TEXT_LINE:
-              visualizeTextLines(pdf, drawer);
-              break;
-            case WORD:
-              visualizeWords(pdf, drawer);
-              break;
-            case TEXT_BLOCK:
-              visualizeTextBlocks(pdf, drawer);
-              break;
-            case PARAGRAPH:
-            default:
-              visualizeParagraphs(pdf, drawer);
-              break;
-          }
-        }
-
+        PdfDrawer drawer = createDrawer(pdf);
+        visualize(pdf, drawer);
+        retainSelectedPages(pdf, drawer);
         return drawer.toByteArray();
       } catch (IOException e) {
         throw new PdfActVisualizeException("Error on visualization.", e);
@@ -98,6 +78,89 @@ public class PlainPdfVisualizer implements PdfVisualizer {
     return null;
   }
 
+  @Override
+  public void visualize(Document pdf, OutputStream stream) throws PdfActVisualizeException {
+    if (pdf != null) {
+      try {
+        PdfDrawer drawer = createDrawer(pdf);
+        visualize(pdf, drawer);
+        retainSelectedPages(pdf, drawer);
+        drawer.writeTo(stream);
+      } catch (IOException e) {
+        throw new PdfActVisualizeException("Error on visualization.", e);
+      }
+    }
+  }
+
+  /**
+   * Creates the drawer to use for visualizing the given PDF document. If the PDF document has a
+   * session, the drawer draws into the PDDocument already loaded in the session; otherwise, the
+   * underlying file is loaded anew.
+   *
+   * @param pdf The PDF document to process.
+   *
+   * @return The created drawer.
+   *
+   * @throws IOException If the underlying file couldn't be loaded.
+   */
+  protected PdfDrawer createDrawer(Document pdf) throws IOException {
+    DocumentSession session = pdf.getSession();
+    if (session != null) {
+      return new PdfBoxDrawer(session.getPdDocument());
+    }
+    return new PdfBoxDrawer(pdf.getFile());
+  }
+
+  /**
+   * Removes the pages which weren't selected for processing from the drawn PDF file, such that the
+   * visualization contains the processed pages only.
+   *
+   * @param pdf    The PDF document to process.
+   * @param drawer The drawer to use.
+   *
+   * @throws IOException If removing the pages failed.
+   */
+  protected void retainSelectedPages(Document pdf, PdfDrawer drawer) throws IOException {
+    PageSelection selection = pdf.getPageSelection();
+    if (selection != null) {
+      drawer.retainPages(selection);
+    }
+  }
+
+  /**
+   * Visualizes the units to visualize of the given PDF document using the given drawer.
+   *
+   * @param pdf    The PDF document to process.
+   * @param drawer The drawer to use.
+   *
+   * @throws PdfActVisualizeException If the drawing failed.
+   */
+  protected void visualize(Document pdf, PdfDrawer drawer) throws PdfActVisualizeException {
+    for (ExtractionUnit unit : this.extractionUnits) {
+      switch (unit) {
+        case CHARACTER:
+          visualizeCharacters(pdf, drawer);
+          break;
+        case TEXT_AREA:
+          visualizeTextAreas(pdf, drawer);
+          break;
+        case TEXT_LINE:
+          visualizeTextLines(pdf, drawer);
+          break;
+        case WORD:
+          visualizeWords(pdf, drawer);
+          break;
+        case TEXT_BLOCK:
+          visualizeTextBlocks(pdf, drawer);
+          break;
+        case PARAGRAPH:
+        default:
+          visualizeParagraphs(pdf, drawer);
+          break;
+      }
+    }
+  }
+
   // ==============================================================================================
 
   /**
@@ -77,18 +77,31 @@ public class PlainVisualizePdfPipe implements VisualizePdfPipe {
     // Create the visualizer.
     PdfVisualizer visualizer = new PlainPdfVisualizer(this.extractionUnits, this.roles);
 
+    // If there is only a single target, write the visualization directly to it, without
+    // buffering it in memory.
+    if (this.targetPath == null) {
+      if (this.targetStream != null) {
+        visualizer.visualize(pdf, this.targetStream);
+      }
+      return;
+    }
+    if (this.targetStream == null) {
+      try (OutputStream os = Files.newOutputStream(this.targetPath)) {
+        visualizer.visualize(pdf, os);
+      } catch (IOException e) {
+        throw new PdfActSerializeException("Couldn't write to file.", e);
+      }
+      return;
+    }
+
     // Serialize the PDF document.
     byte[] visualization = visualizer.visualize(pdf);
 
     // If the target is given as a stream, write the serialization it.
-    if (this.targetStream != null) {
-      writeToStream(visualization, this.targetStream);
-    }
+    writeToStream(visualization, this.targetStream);
 
     // If the target is given as a file, open it and write the serialization.
-    if (this.targetPath != null) {
-      writeToFile(visualization, this.targetPath);
-    }
+    writeToFile(visualization, this.targetPath);
   }
 
   // ==============================================================================================
@@ -4,6 +4,7 @@ import java.awt.Color;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
@@ -22,6 +23,7 @@ import pdfact.cli.pipes.visualize.PdfDrawer;
 import pdfact.core.model.HasRectangle;
 import pdfact.core.model.Line;
 import pdfact.core.model.Page;
+import pdfact.core.model.PageSelection;
 import pdfact.core.model.Point;
 import pdfact.core.model.Position;
 import pdfact.core.model.Rectangle;
@@ -72,6 +74,12 @@ public class PdfBoxDrawer implements PdfDrawer {
    */
   protected List<Rectangle> pageBoundingBoxes = new ArrayList<>();
 
+  /**
+   * A boolean flag indicating whether or not the PDDocument was loaded by this visualizer (and
+   * thus, must be closed by this visualizer).
+   */
+  protected boolean isOwningPdDocument;
+
   /**
    * Creates a new visualizer from the given file.
    * 
@@ -93,7 +101,21 @@ public class PdfBoxDrawer implements PdfDrawer {
    *         If reading the PDF file failed.
    */
   public PdfBoxDrawer(File pdfFile) throws IOException {
-    this.pdDocument = PDDocument.load(pdfFile);
+    this(PDDocument.load(pdfFile));
+    this.isOwningPdDocument = true;
+  }
+
+  /**
+   * Creates a new visualizer from the given PDDocument. The PDDocument is not closed by this
+   * visualizer, so it can be shared with others (for example, with the parser via a session).
+   * 
+   * @param pdDocument
+   *        The PDDocument.
+   * @throws IOException
+   *         If parsing the PDDocument failed.
+   */
+  public PdfBoxDrawer(PDDocument pdDocument) throws IOException {
+    this.pdDocument = pdDocument;
 
     if (this.pdDocument == null) {
       throw new IllegalArgumentException("No PD document given");
@@ -135,18 +157,6 @@ public class PdfBoxDrawer implements PdfDrawer {
     }
   }
 
-  /**
-   * Creates a new visualizer from the given PDDocument.
-   * 
-   * @param pdDocument
-   *        The PDDocument.
-   * @throws IOException
-   *         If parsing the PDDocument failed.
-   */
-  public PdfBoxDrawer(PDDocument pdDocument) throws IOException {
-    
-  }
-
   // ==============================================================================================
 
   @Override
@@ -456,30 +466,55 @@ public class PdfBoxDrawer implements PdfDrawer {
   @Override
   public byte[] toByteArray() throws IOException {
     ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    writeTo(baos);
+    return baos.toByteArray();
+  }
+
+  @Override
+  public void retainPages(PageSelection selection) throws IOException {
+    // Iterate the pages backwards, such that the indexes of the pages still to check don't
+    // change on removing a page.
+    for (int i = this.pageStreams.size() - 1; i > 0; i--) {
+      PDPageContentStream pageStream = this.pageStreams.get(i);
+      if (pageStream == null || selection.contains(i)) {
+        continue;
+      }
+      pageStream.close();
+      this.pageStreams.set(i, null);
+      this.pdDocument.removePage(i - 1);
+    }
+  }
+
+  @Override
+  public void writeTo(OutputStream stream) throws IOException {
     try {
-      // Close all the open PDPageContentStream objects. Start at 1 because of
-      // the dummy at the start.
+      // Close all the open PDPageContentStream objects (of the pages which weren't removed).
+      // Start at 1 because of the dummy at the start.
       for (int i = 1; i < this.pageStreams.size(); i++) {
+        if (this.pageStreams.get(i) == null) {
+          continue;
+        }
         try {
           this.pageStreams.get(i).close();
         } catch (IOException e) {
           continue;
         }
       }
-      // Try to save the pdf document to the given file.
-      this.pdDocument.save(baos);
+      // Try to save the pdf document to the given stream.
+      this.pdDocument.save(stream);
     } catch (Exception e) {
       e.printStackTrace();
       throw new IOException("Error on visualization: " + e.getMessage());
     } finally {
-      try {
-        // Try to close the pdf document.
-        this.pdDocument.close();
-      } catch (IOException e) {
-        throw new IOException("Error on closing the pdf: " + e.getMessage());
+      if (this.isOwningPdDocument) {
+        try {
+          // Try to close the pdf document.
+          this.pdDocument.close();
+        } catch (IOException e) {
+          throw new IOException("Error on closing the pdf: " + e.getMessage());
+        }
       }
     }
-    return baos.toByteArray();
   }
 
   /**
@@ -490,7 +525,8 @@ public class PdfBoxDrawer implements PdfDrawer {
    * @return The content stream of the given page.
    */
   protected PDPageContentStream getPdPageContentStream(int pageNum) {
-    if (pageNum < 1 || pageNum >= this.pageStreams.size()) {
+    if (pageNum < 1 || pageNum >= this.pageStreams.size()
+        || this.pageStreams.get(pageNum) == null) {
       throw new IllegalArgumentException("The given page number is invalid.");
     }
     return this.pageStreams.get(pageNum);
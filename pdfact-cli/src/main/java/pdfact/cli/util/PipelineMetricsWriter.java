@@ -0,0 +1,96 @@
+package pdfact.cli.util;
+
+import static pdfact.core.PdfActCoreSettings.DEFAULT_ENCODING;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import pdfact.cli.util.exception.PdfActSerializeException;
+import pdfact.core.util.exception.PdfActException;
+import pdfact.core.util.pipeline.PipeMetric;
+import pdfact.core.util.pipeline.PipelineMetrics;
+
+/**
+ * A writer that writes the metrics recorded by a {@link PipelineMetrics} to a JSON file, in the
+ * format:
+ * 
+ * <pre>
+ * {"metrics": [
+ *   {"document": ..., "pipe": ..., "depth": ..., "wall-time-ns": ..., "cpu-time-ns": ...,
+ *    "allocated-bytes": ..., "counters": {"processed-characters": ..., ...}},
+ *   {"document": ..., "pipe": ..., "depth": ..., "skipped": true, ...},
+ *   {"document": ..., "pipe": ..., "depth": ..., "discarded": true, ...},
+ *   ...
+ * ]}
+ * </pre>
+ * 
+ * @author Claudius Korzen
+ */
+public class PipelineMetricsWriter {
+  /**
+   * The number of spaces to use on indenting the JSON.
+   */
+  protected static final int INDENT_LENGTH = 2;
+
+  /**
+   * Writes the metrics recorded by the given collector to the given file.
+   * 
+   * @param metrics
+   *        The collector of the metrics to write.
+   * @param path
+   *        The path to the file to which the metrics should be written.
+   * 
+   * @throws PdfActException
+   *         If the metrics couldn't be written.
+   */
+  public void write(PipelineMetrics metrics, Path path) throws PdfActException {
+    JSONArray metricsJson = new JSONArray();
+    for (PipeMetric metric : metrics.getPipeMetrics()) {
+      metricsJson.put(toJson(metric));
+    }
+    JSONObject json = new JSONObject();
+    json.put("metrics", metricsJson);
+
+    try (Writer writer = Files.newBufferedWriter(path, DEFAULT_ENCODING)) {
+      writer.write(json.toString(INDENT_LENGTH));
+    } catch (IOException e) {
+      throw new PdfActSerializeException("Couldn't write the metrics to '" + path + "'.", e);
+    }
+  }
+
+  /**
+   * Translates the given metric to a JSON object.
+   * 
+   * @param metric
+   *        The metric to translate.
+   * 
+   * @return The JSON object.
+   */
+  protected JSONObject toJson(PipeMetric metric) {
+    JSONObject json = new JSONObject();
+    if (metric.getDocument() != null) {
+      json.put("document", metric.getDocument().toString());
+    }
+    json.put("pipe", metric.getPipe());
+    json.put("depth", metric.getDepth());
+    if (metric.isSkipped()) {
+      json.put("skipped", true);
+    }
+    if (metric.isDiscarded()) {
+      json.put("discarded", true);
+    }
+    json.put("wall-time-ns", metric.getWallTime());
+    json.put("cpu-time-ns", metric.getCpuTime());
+    json.put("allocated-bytes", metric.getAllocatedBytes());
+
+    JSONObject countersJson = new JSONObject();
+    for (Map.Entry<String, Integer> counter : metric.getCounters().entrySet()) {
+      countersJson.put(counter.getKey(), counter.getValue());
+    }
+    json.put("counters", countersJson);
+    return json;
+  }
+}
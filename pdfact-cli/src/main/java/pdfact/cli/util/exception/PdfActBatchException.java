@@ -0,0 +1,42 @@
+package pdfact.cli.util.exception;
+
+import pdfact.core.util.exception.PdfActException;
+
+/**
+ * The standard exception to throw on any error on processing a batch of PDF files.
+ * 
+ * @author Claudius Korzen
+ */
+public class PdfActBatchException extends PdfActException {
+  /**
+   * The serial id.
+   */
+  protected static final long serialVersionUID = 4729153384521720186L;
+
+  /**
+   * The default exit code of this exception.
+   */
+  protected static final int EXIT_CODE = 60;
+
+  /**
+   * Creates a new exception.
+   * 
+   * @param message
+   *        The message of this exception.
+   */
+  public PdfActBatchException(String message) {
+    super(EXIT_CODE, message);
+  }
+
+  /**
+   * Creates a new exception.
+   * 
+   * @param message
+   *        The message of this exception.
+   * @param cause
+   *        The cause of this exception.
+   */
+  public PdfActBatchException(String message, Throwable cause) {
+    super(EXIT_CODE, message, cause);
+  }
+}
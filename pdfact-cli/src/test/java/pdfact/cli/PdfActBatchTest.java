@@ -0,0 +1,88 @@
+package pdfact.cli;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import pdfact.cli.model.SerializationFormat;
+import pdfact.cli.util.exception.PdfActBatchException;
+import pdfact.core.util.exception.PdfActException;
+
+public class PdfActBatchTest {
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  @Test
+  public void testBatch() throws IOException, PdfActException {
+    Path pdfPath = Paths.get("src/test/resources/ACL_2004.pdf");
+
+    // Serialize the PDF document in single mode.
+    ByteArrayOutputStream stream = new ByteArrayOutputStream();
+    PdfAct pdfAct = new PdfAct();
+    pdfAct.setSerializationFormat(SerializationFormat.JSON);
+    pdfAct.setSerializationStream(stream);
+    pdfAct.parse(pdfPath);
+
+    // Create a batch of copies of the PDF document and a broken PDF file.
+    Path inputDir = this.folder.newFolder("input").toPath();
+    List<Path> pdfPaths = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      pdfPaths.add(Files.copy(pdfPath, inputDir.resolve("paper-" + i + ".pdf")));
+    }
+    Path brokenPath = Files.write(inputDir.resolve("broken.pdf"), "broken".getBytes());
+    pdfPaths.add(brokenPath);
+
+    // Serialize the batch.
+    Path outputDir = this.folder.getRoot().toPath().resolve("output");
+    PdfAct batchPdfAct = new PdfAct();
+    batchPdfAct.setSerializationFormat(SerializationFormat.JSON);
+    batchPdfAct.setNumBatchThreads(2);
+    Map<Path, PdfActException> errors = batchPdfAct.parse(pdfPaths, outputDir);
+
+    // Only the broken PDF file should fail.
+    Assert.assertEquals(1, errors.size());
+    Assert.assertTrue(errors.containsKey(brokenPath));
+
+    // The serializations in batch mode should be equal to the serialization in single mode.
+    for (int i = 0; i < 3; i++) {
+      byte[] serialization = Files.readAllBytes(outputDir.resolve("paper-" + i + ".json"));
+      Assert.assertArrayEquals(stream.toByteArray(), serialization);
+    }
+  }
+
+  @Test
+  public void testSameFileNames() throws IOException, PdfActException {
+    Path pdfPath = Paths.get("src/test/resources/ACL_2004.pdf");
+
+    // Create two PDF files with the same name in different directories.
+    List<Path> pdfPaths = new ArrayList<>();
+    pdfPaths.add(Files.copy(pdfPath, this.folder.newFolder("a").toPath().resolve("paper.pdf")));
+    pdfPaths.add(Files.copy(pdfPath, this.folder.newFolder("b").toPath().resolve("paper.pdf")));
+
+    // The batch should be rejected, since both files would be written to the same output file.
+    Path outputDir = this.folder.getRoot().toPath().resolve("output");
+    PdfAct batchPdfAct = new PdfAct();
+    batchPdfAct.setSerializationFormat(SerializationFormat.JSON);
+    try {
+      batchPdfAct.parse(pdfPaths, outputDir);
+      Assert.fail("No exception for two PDF files with the same name.");
+    } catch (PdfActBatchException e) {
+      // Expected.
+    }
+    Assert.assertFalse(Files.exists(outputDir.resolve("paper.json")));
+
+    // Without an output directory, the serializations are written next to the PDF files.
+    Map<Path, PdfActException> errors = batchPdfAct.parse(pdfPaths, null);
+    Assert.assertTrue(errors.isEmpty());
+    Assert.assertTrue(Files.exists(pdfPaths.get(0).resolveSibling("paper.json")));
+    Assert.assertTrue(Files.exists(pdfPaths.get(1).resolveSibling("paper.json")));
+  }
+}
@@ -0,0 +1,159 @@
+package pdfact.cli;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Set;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import pdfact.cli.model.ExtractionUnit;
+import pdfact.core.model.SemanticRole;
+import pdfact.core.util.exception.PdfActException;
+import pdfact.core.util.pipeline.PipeMetric;
+import pdfact.core.util.pipeline.PipelineMetrics;
+
+public class PdfActEarlyTerminationTest {
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  @Test
+  public void testEarlyTermination() throws PdfActException {
+    Path pdfPath = Paths.get("src/test/resources/ACL_2004.pdf");
+
+    String[][] roles = { { "title", "abstract" }, { "keywords" }, { "title", "heading" } };
+    for (String[] rolesToInclude : roles) {
+      Set<SemanticRole> semanticRoles = SemanticRole.fromStrings(rolesToInclude);
+
+      // Process all pages of the PDF document.
+      ByteArrayOutputStream stream = new ByteArrayOutputStream();
+      PdfAct pdfAct = new PdfAct();
+      pdfAct.setExtractionUnits(ExtractionUnit.fromStrings("paragraphs"));
+      pdfAct.setSemanticRoles(semanticRoles);
+      pdfAct.setSerializationStream(stream);
+      pdfAct.parse(pdfPath);
+
+      // Process only the first pages needed to find the roles.
+      ByteArrayOutputStream earlyStream = new ByteArrayOutputStream();
+      PdfAct earlyPdfAct = new PdfAct();
+      earlyPdfAct.setExtractionUnits(ExtractionUnit.fromStrings("paragraphs"));
+      earlyPdfAct.setSemanticRoles(semanticRoles);
+      earlyPdfAct.setSerializationStream(earlyStream);
+      earlyPdfAct.setIsEarlyTermination(true);
+      earlyPdfAct.parse(pdfPath);
+
+      // The serializations should be equal.
+      Assert.assertArrayEquals(stream.toByteArray(), earlyStream.toByteArray());
+    }
+  }
+
+  @Test
+  public void testFallback() throws PdfActException {
+    Path pdfPath = Paths.get("src/test/resources/ACL_2004.pdf");
+
+    // The PDF document doesn't contain any categories, so all pages should be processed again.
+    PipelineMetrics metrics = new PipelineMetrics();
+    PdfAct pdfAct = new PdfAct();
+    pdfAct.setExtractionUnits(ExtractionUnit.fromStrings("paragraphs"));
+    pdfAct.setSemanticRoles(SemanticRole.fromStrings("categories"));
+    pdfAct.setSerializationStream(new ByteArrayOutputStream());
+    pdfAct.setIsEarlyTermination(true);
+    pdfAct.setMetrics(metrics);
+    pdfAct.parse(pdfPath);
+
+    // The metrics of processing the first pages should be marked as discarded.
+    int numDiscardedParses = 0;
+    int numParses = 0;
+    for (PipeMetric metric : metrics.getPipeMetrics()) {
+      if (!metric.getPipe().equals("PlainParseDocumentPipe")) {
+        continue;
+      }
+      if (metric.isDiscarded()) {
+        Assert.assertEquals(2, (int) metric.getCounters().get("parsed-pages"));
+        numDiscardedParses++;
+      } else {
+        Assert.assertEquals(8, (int) metric.getCounters().get("parsed-pages"));
+        numParses++;
+      }
+    }
+    Assert.assertEquals(1, numDiscardedParses);
+    Assert.assertEquals(1, numParses);
+  }
+
+  @Test
+  public void testFallbackOnMissingRole() throws PdfActException {
+    Path pdfPath = Paths.get("src/test/resources/ACL_2004.pdf");
+    Set<SemanticRole> roles = SemanticRole.fromStrings("title", "categories");
+
+    // Process all pages of the PDF document.
+    ByteArrayOutputStream stream = new ByteArrayOutputStream();
+    PdfAct pdfAct = new PdfAct();
+    pdfAct.setExtractionUnits(ExtractionUnit.fromStrings("paragraphs"));
+    pdfAct.setSemanticRoles(roles);
+    pdfAct.setSerializationStream(stream);
+    pdfAct.parse(pdfPath);
+
+    // The title is found in the first pages, but the categories are not, so all pages should be
+    // processed again.
+    ByteArrayOutputStream earlyStream = new ByteArrayOutputStream();
+    PipelineMetrics metrics = new PipelineMetrics();
+    PdfAct earlyPdfAct = new PdfAct();
+    earlyPdfAct.setExtractionUnits(ExtractionUnit.fromStrings("paragraphs"));
+    earlyPdfAct.setSemanticRoles(roles);
+    earlyPdfAct.setSerializationStream(earlyStream);
+    earlyPdfAct.setIsEarlyTermination(true);
+    earlyPdfAct.setMetrics(metrics);
+    earlyPdfAct.parse(pdfPath);
+
+    int numDiscardedParses = 0;
+    int numParses = 0;
+    for (PipeMetric metric : metrics.getPipeMetrics()) {
+      if (metric.getPipe().equals("PlainParseDocumentPipe")) {
+        if (metric.isDiscarded()) {
+          numDiscardedParses++;
+        } else {
+          numParses++;
+        }
+      }
+    }
+    Assert.assertEquals(1, numDiscardedParses);
+    Assert.assertEquals(1, numParses);
+    Assert.assertArrayEquals(stream.toByteArray(), earlyStream.toByteArray());
+  }
+
+  @Test
+  public void testNoFallbackWithoutSkippedPages() throws PdfActException, IOException {
+    // Create a PDF document with only the first two pages of the test PDF document.
+    File pdfFile = this.folder.newFile("first-pages.pdf");
+    try (PDDocument doc = PDDocument.load(new File("src/test/resources/ACL_2004.pdf"))) {
+      while (doc.getNumberOfPages() > 2) {
+        doc.removePage(doc.getNumberOfPages() - 1);
+      }
+      doc.save(pdfFile);
+    }
+
+    // The PDF document doesn't contain any categories, but no page was skipped, so the PDF
+    // document shouldn't be processed again.
+    PipelineMetrics metrics = new PipelineMetrics();
+    PdfAct pdfAct = new PdfAct();
+    pdfAct.setExtractionUnits(ExtractionUnit.fromStrings("paragraphs"));
+    pdfAct.setSemanticRoles(SemanticRole.fromStrings("categories"));
+    pdfAct.setSerializationStream(new ByteArrayOutputStream());
+    pdfAct.setIsEarlyTermination(true);
+    pdfAct.setMetrics(metrics);
+    pdfAct.parse(pdfFile.toPath());
+
+    int numParses = 0;
+    for (PipeMetric metric : metrics.getPipeMetrics()) {
+      Assert.assertFalse(metric.isDiscarded());
+      if (metric.getPipe().equals("PlainParseDocumentPipe")) {
+        numParses++;
+      }
+    }
+    Assert.assertEquals(1, numParses);
+  }
+}
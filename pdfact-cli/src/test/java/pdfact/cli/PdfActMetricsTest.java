@@ -0,0 +1,55 @@
+package pdfact.cli;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.Assert;
+import org.junit.Test;
+import pdfact.cli.model.SerializationFormat;
+import pdfact.core.util.exception.PdfActException;
+import pdfact.core.util.pipeline.PipeMetric;
+import pdfact.core.util.pipeline.PipelineMetrics;
+
+public class PdfActMetricsTest {
+  @Test
+  public void testMetrics() throws PdfActException {
+    Path pdfPath = Paths.get("src/test/resources/ACL_2004.pdf");
+
+    PipelineMetrics metrics = new PipelineMetrics();
+    PdfAct pdfAct = new PdfAct();
+    pdfAct.setSerializationFormat(SerializationFormat.TXT);
+    pdfAct.setSerializationStream(new ByteArrayOutputStream());
+    pdfAct.setMetrics(metrics);
+    pdfAct.parse(pdfPath);
+
+    Map<String, PipeMetric> metricsByPipe = new HashMap<>();
+    List<PipeMetric> pipeMetrics = metrics.getPipeMetrics();
+    for (PipeMetric metric : pipeMetrics) {
+      Assert.assertEquals(pdfPath, metric.getDocument());
+      Assert.assertTrue(metric.getWallTime() >= 0);
+      metricsByPipe.put(metric.getPipe(), metric);
+    }
+
+    // The core pipe and the pipes of the core pipeline should be measured.
+    PipeMetric core = metricsByPipe.get("PlainPdfActCorePipe");
+    Assert.assertNotNull(core);
+    Assert.assertEquals(0, core.getDepth());
+
+    PipeMetric parse = metricsByPipe.get("PlainParseDocumentPipe");
+    Assert.assertNotNull(parse);
+    Assert.assertEquals(1, parse.getDepth());
+    Assert.assertEquals(8, (int) parse.getCounters().get("parsed-pages"));
+    Assert.assertTrue(parse.getWallTime() <= core.getWallTime());
+
+    // The counters of consecutive pipes should match.
+    int numCharacters = parse.getCounters().get("parsed-characters");
+    PipeMetric merge = metricsByPipe.get("PlainMergeDiacriticsPipe");
+    Assert.assertEquals(numCharacters, (int) merge.getCounters().get("processed-characters"));
+
+    // The core pipe is finished after its pipes.
+    Assert.assertTrue(pipeMetrics.indexOf(core) > pipeMetrics.indexOf(parse));
+  }
+}
@@ -0,0 +1,46 @@
+package pdfact.cli;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import org.junit.Assert;
+import org.junit.Test;
+import pdfact.core.model.Document;
+import pdfact.core.model.PageSelection;
+import pdfact.core.util.exception.PdfActException;
+import pdfact.core.util.exception.PdfActParseException;
+
+public class PdfActPagesTest {
+  @Test
+  public void testSelectedPages() throws PdfActException {
+    Path pdfPath = Paths.get("src/test/resources/ACL_2004.pdf");
+
+    // A selection that exceeds the pages of the PDF file contains only the existing pages.
+    PdfAct pdfAct = new PdfAct();
+    pdfAct.setPageSelection(PageSelection.fromString("8-100"));
+    Document pdf = pdfAct.parse(pdfPath);
+    Assert.assertEquals(8, pdf.getNumPdfPages());
+    Assert.assertEquals(1, pdf.getPages().size());
+    Assert.assertEquals(8, pdf.getFirstPage().getPageNumber());
+  }
+
+  @Test
+  public void testNoSelectedPage() throws PdfActException {
+    Path pdfPath = Paths.get("src/test/resources/ACL_2004.pdf");
+
+    // A selection that matches none of the 8 pages should fail, in each mode.
+    for (int mode = 0; mode < 3; mode++) {
+      PdfAct pdfAct = new PdfAct();
+      pdfAct.setPageSelection(PageSelection.fromString("100,200-"));
+      pdfAct.setSerializationStream(new ByteArrayOutputStream());
+      pdfAct.setNumParseThreads(mode == 1 ? 4 : 1);
+      pdfAct.setIsStreaming(mode == 2);
+      try {
+        pdfAct.parse(pdfPath);
+        Assert.fail("No exception in mode " + mode + ".");
+      } catch (PdfActParseException e) {
+        Assert.assertTrue(e.getMessage().contains("8 page(s)"));
+      }
+    }
+  }
+}
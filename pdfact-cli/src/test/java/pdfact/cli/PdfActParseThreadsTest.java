@@ -0,0 +1,61 @@
+package pdfact.cli;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import org.junit.Assert;
+import org.junit.Test;
+import pdfact.cli.model.ExtractionUnit;
+import pdfact.cli.model.SerializationFormat;
+import pdfact.cli.util.exception.PdfActParseCommandLineException;
+import pdfact.core.util.exception.PdfActException;
+
+public class PdfActParseThreadsTest {
+  @Test
+  public void testDeterminism() throws PdfActException {
+    Path pdfPath = Paths.get("src/test/resources/ACL_2004.pdf");
+
+    byte[] sequential = serializeCharacters(pdfPath, 1);
+    byte[] parallel = serializeCharacters(pdfPath, 4);
+
+    // The characters (with their positions, fonts and colors) should be the same.
+    Assert.assertTrue(sequential.length > 0);
+    Assert.assertArrayEquals(sequential, parallel);
+  }
+
+  @Test
+  public void testInvalidNumThreads() throws PdfActException {
+    String[][] args = {
+        { "--parse-threads", "0", "src/test/resources/ACL_2004.pdf" },
+        { "--parse-threads", "-2", "src/test/resources/ACL_2004.pdf" },
+        { "--batch-threads", "0", "--batch", "src/test/resources" },
+        { "--batch-threads", "-1", "--batch", "src/test/resources" } };
+
+    for (String[] arg : args) {
+      try {
+        new PdfActCli().new PdfActCommandLineParser().parseArgs(arg);
+        Assert.fail("No exception for " + String.join(" ", arg) + ".");
+      } catch (PdfActParseCommandLineException e) {
+        Assert.assertTrue(e.getMessage().contains("must be at least 1"));
+      }
+    }
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Serializes the characters of the given PDF file to JSON, using the given number of threads to
+   * parse the pages.
+   */
+  protected static byte[] serializeCharacters(Path pdfPath, int numParseThreads)
+      throws PdfActException {
+    ByteArrayOutputStream stream = new ByteArrayOutputStream();
+    PdfAct pdfAct = new PdfAct();
+    pdfAct.setSerializationFormat(SerializationFormat.JSON);
+    pdfAct.setExtractionUnits(ExtractionUnit.fromStrings("characters"));
+    pdfAct.setSerializationStream(stream);
+    pdfAct.setNumParseThreads(numParseThreads);
+    pdfAct.parse(pdfPath);
+    return stream.toByteArray();
+  }
+}
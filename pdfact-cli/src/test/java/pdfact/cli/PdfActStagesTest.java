@@ -0,0 +1,50 @@
+package pdfact.cli;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import org.junit.Assert;
+import org.junit.Test;
+import pdfact.cli.model.ExtractionUnit;
+import pdfact.cli.model.SerializationFormat;
+import pdfact.core.model.Document;
+import pdfact.core.model.Page;
+import pdfact.core.util.exception.PdfActException;
+
+public class PdfActStagesTest {
+  @Test
+  public void testWithoutTarget() throws PdfActException {
+    Path pdfPath = Paths.get("src/test/resources/ACL_2004.pdf");
+
+    // Without any serialization or visualization target, no stage should be skipped, since the
+    // processed document is returned to the caller.
+    PdfAct pdfAct = new PdfAct();
+    pdfAct.setExtractionUnits(ExtractionUnit.fromStrings("figures"));
+    Document pdf = pdfAct.parse(pdfPath);
+
+    Assert.assertFalse(pdf.getParagraphs().isEmpty());
+    for (Page page : pdf.getPages()) {
+      Assert.assertFalse(page.getTextAreas().isEmpty());
+      Assert.assertFalse(page.getTextLines().isEmpty());
+      Assert.assertFalse(page.getTextBlocks().isEmpty());
+    }
+  }
+
+  @Test
+  public void testWithTarget() throws PdfActException {
+    Path pdfPath = Paths.get("src/test/resources/ACL_2004.pdf");
+
+    // With a serialization target, the stages not needed for the units to serialize should be
+    // skipped.
+    PdfAct pdfAct = new PdfAct();
+    pdfAct.setExtractionUnits(ExtractionUnit.fromStrings("figures"));
+    pdfAct.setSerializationFormat(SerializationFormat.JSON);
+    pdfAct.setSerializationStream(new ByteArrayOutputStream());
+    Document pdf = pdfAct.parse(pdfPath);
+
+    Assert.assertTrue(pdf.getParagraphs().isEmpty());
+    for (Page page : pdf.getPages()) {
+      Assert.assertTrue(page.getTextBlocks().isEmpty());
+    }
+  }
+}
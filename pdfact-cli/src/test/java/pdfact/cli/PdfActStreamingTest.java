@@ -0,0 +1,156 @@
+package pdfact.cli;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.Assert;
+import org.junit.Test;
+import pdfact.cli.model.ExtractionUnit;
+import pdfact.cli.model.SerializationFormat;
+import pdfact.cli.util.exception.PdfActParseCommandLineException;
+import pdfact.core.model.Document;
+import pdfact.core.model.Page;
+import pdfact.core.model.Paragraph;
+import pdfact.core.pipes.streaming.PageHandler;
+import pdfact.core.pipes.streaming.ParagraphsFile;
+import pdfact.core.pipes.streaming.PlainStreamDocumentPipe;
+import pdfact.core.util.exception.PdfActException;
+import pdfact.core.util.exception.PdfActParseException;
+import pdfact.core.util.list.ElementList;
+import pdfact.core.util.pipeline.PipeMetric;
+import pdfact.core.util.pipeline.PipelineMetrics;
+
+public class PdfActStreamingTest {
+  @Test
+  public void testStreaming() throws PdfActException {
+    Path pdfPath = Paths.get("src/test/resources/ACL_2004.pdf");
+
+    for (SerializationFormat format : SerializationFormat.values()) {
+      // Serialize the PDF document as a whole.
+      ByteArrayOutputStream stream = new ByteArrayOutputStream();
+      PdfAct pdfAct = new PdfAct();
+      pdfAct.setSerializationFormat(format);
+      pdfAct.setExtractionUnits(ExtractionUnit.fromStrings("paragraphs", "words", "characters"));
+      pdfAct.setSerializationStream(stream);
+      pdfAct.parse(pdfPath);
+
+      // Serialize the PDF document page by page.
+      ByteArrayOutputStream streamingStream = new ByteArrayOutputStream();
+      PdfAct streamingPdfAct = new PdfAct();
+      streamingPdfAct.setSerializationFormat(format);
+      streamingPdfAct.setExtractionUnits(
+          ExtractionUnit.fromStrings("paragraphs", "words", "characters"));
+      streamingPdfAct.setSerializationStream(streamingStream);
+      streamingPdfAct.setIsStreaming(true);
+      streamingPdfAct.parse(pdfPath);
+
+      // The serializations should be equal.
+      Assert.assertArrayEquals(stream.toByteArray(), streamingStream.toByteArray());
+    }
+  }
+
+  @Test
+  public void testBoundedMemory() throws PdfActException, IOException {
+    Path pdfPath = Paths.get("src/test/resources/ACL_2004.pdf");
+
+    // Process the PDF document as a whole.
+    List<String> texts = new ArrayList<>();
+    for (Paragraph paragraph : new PdfAct().parse(pdfPath).getParagraphs()) {
+      texts.add(paragraph.getText());
+    }
+
+    // Process the PDF document page by page, writing the paragraphs of each page to a file.
+    Document pdf = new Document(pdfPath);
+    final ParagraphsFile paragraphsFile = new ParagraphsFile(pdf);
+    final List<List<WeakReference<Paragraph>>> refs = new ArrayList<>();
+    try {
+      new PlainStreamDocumentPipe(new PageHandler() {
+        @Override
+        public void handlePage(Document pdf, Page page, ElementList<Paragraph> paragraphs)
+            throws PdfActException {
+          // The paragraphs of the previous pages should not be referenced anymore.
+          System.gc();
+          for (List<WeakReference<Paragraph>> pageRefs : refs) {
+            for (WeakReference<Paragraph> ref : pageRefs) {
+              Assert.assertNull(ref.get());
+            }
+          }
+
+          List<WeakReference<Paragraph>> pageRefs = new ArrayList<>();
+          for (Paragraph paragraph : paragraphs) {
+            pageRefs.add(new WeakReference<>(paragraph));
+          }
+          refs.add(pageRefs);
+
+          try {
+            paragraphsFile.writeParagraphs(paragraphs);
+          } catch (IOException e) {
+            throw new PdfActParseException("Couldn't write the paragraphs.", e);
+          }
+        }
+      }).execute(pdf);
+
+      Assert.assertFalse(refs.isEmpty());
+      Assert.assertTrue(pdf.getParagraphs().isEmpty());
+
+      // The paragraphs read from the file should be the paragraphs of the whole document.
+      List<String> streamingTexts = new ArrayList<>();
+      for (Paragraph paragraph : paragraphsFile) {
+        streamingTexts.add(paragraph.getText());
+      }
+      Assert.assertEquals(texts, streamingTexts);
+      Assert.assertEquals(texts.size(), paragraphsFile.size());
+    } finally {
+      paragraphsFile.close();
+    }
+
+    // On serializing page by page, the paragraphs should not be added to the document.
+    PdfAct streamingPdfAct = new PdfAct();
+    streamingPdfAct.setSerializationStream(new ByteArrayOutputStream());
+    streamingPdfAct.setIsStreaming(true);
+    Assert.assertTrue(streamingPdfAct.parse(pdfPath).getParagraphs().isEmpty());
+  }
+
+  @Test
+  public void testStreamingMetrics() throws PdfActException {
+    Path pdfPath = Paths.get("src/test/resources/ACL_2004.pdf");
+
+    PipelineMetrics metrics = new PipelineMetrics();
+    PdfAct pdfAct = new PdfAct();
+    pdfAct.setSerializationStream(new ByteArrayOutputStream());
+    pdfAct.setIsStreaming(true);
+    pdfAct.setMetrics(metrics);
+    pdfAct.parse(pdfPath);
+
+    Map<String, Integer> numMetricsByPipe = new HashMap<>();
+    for (PipeMetric metric : metrics.getPipeMetrics()) {
+      Assert.assertEquals(pdfPath, metric.getDocument());
+      Integer num = numMetricsByPipe.get(metric.getPipe());
+      numMetricsByPipe.put(metric.getPipe(), num == null ? 1 : num + 1);
+      if (metric.getPipe().equals("PlainMergeDiacriticsPipe")) {
+        // The per-page pipes are executed by the stream pipe, inside of the core pipe.
+        Assert.assertEquals(2, metric.getDepth());
+      }
+    }
+
+    // Each of the 8 pages is tokenized into text lines three times, and into text blocks twice.
+    Assert.assertEquals(1, (int) numMetricsByPipe.get("PlainStreamDocumentPipe"));
+    Assert.assertEquals(24, (int) numMetricsByPipe.get("PlainMergeDiacriticsPipe"));
+    Assert.assertEquals(24, (int) numMetricsByPipe.get("PlainTokenizeToTextLinesPipe"));
+    Assert.assertEquals(16, (int) numMetricsByPipe.get("XYCutTokenizeToWordsPipe"));
+    Assert.assertEquals(16, (int) numMetricsByPipe.get("PlainTokenizeToTextBlocksPipe"));
+    Assert.assertEquals(8, (int) numMetricsByPipe.get("PlainDetectSemanticsPipe"));
+  }
+
+  @Test(expected = PdfActParseCommandLineException.class)
+  public void testStreamingWithParseThreads() throws PdfActException {
+    new PdfActCli().new PdfActCommandLineParser().parseArgs(new String[] {
+        "--streaming", "--parse-threads", "4", "src/test/resources/ACL_2004.pdf" });
+  }
+}
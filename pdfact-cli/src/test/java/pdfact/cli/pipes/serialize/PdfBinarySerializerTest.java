@@ -0,0 +1,160 @@
+package pdfact.cli.pipes.serialize;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import pdfact.cli.PdfAct;
+import pdfact.cli.model.ExtractionUnit;
+import pdfact.core.model.Document;
+import pdfact.core.model.SemanticRole;
+import pdfact.core.util.binary.PdfBinaryFormat;
+import pdfact.core.util.binary.PdfBinaryReader;
+import pdfact.core.util.exception.PdfActException;
+import pdfact.core.util.exception.PdfActReadException;
+
+public class PdfBinarySerializerTest {
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  @Test
+  public void testRoundTrip() throws PdfActException {
+    // Parse a PDF document.
+    Document pdf = new PdfAct().parse("src/test/resources/ACL_2004.pdf");
+
+    Set<ExtractionUnit> units = new HashSet<>(Arrays.asList(ExtractionUnit.PARAGRAPH,
+        ExtractionUnit.WORD, ExtractionUnit.CHARACTER, ExtractionUnit.FIGURE,
+        ExtractionUnit.SHAPE, ExtractionUnit.PAGE));
+    Set<SemanticRole> roles = new HashSet<>(Arrays.asList(SemanticRole.values()));
+
+    byte[] serialization = new PdfBinarySerializer(units, roles).serialize(pdf);
+    Document read = new PdfBinaryReader().read(new ByteArrayInputStream(serialization));
+
+    // Serializing the read document again should result in the same bytes.
+    Assert.assertArrayEquals(serialization, new PdfBinarySerializer(units, roles).serialize(read));
+
+    // The read document should have the same JSON serialization as the parsed document.
+    Assert.assertArrayEquals(new PdfJsonSerializer(units, roles).serialize(pdf),
+        new PdfJsonSerializer(units, roles).serialize(read));
+  }
+
+  @Test(expected = PdfActException.class)
+  public void testReadInvalidSerialization() throws PdfActException {
+    new PdfBinaryReader().read(new ByteArrayInputStream(new byte[] { 1, 2, 3, 4, 5, 6, 7, 8 }));
+  }
+
+  @Test(expected = PdfActReadException.class)
+  public void testReadNegativeNumberOfColorComponents() throws PdfActException, IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    DataOutputStream out = createHeader(bytes);
+    out.writeByte(PdfBinaryFormat.COLORS);
+    out.writeInt(1);
+    out.writeInt(-1); // id
+    out.writeInt(-1); // name
+    out.writeInt(-5); // number of components
+    out.writeByte(PdfBinaryFormat.END);
+    new PdfBinaryReader().read(new ByteArrayInputStream(bytes.toByteArray()));
+  }
+
+  @Test(expected = PdfActReadException.class)
+  public void testReadNegativeNumberOfPages() throws PdfActException, IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    DataOutputStream out = createHeader(bytes);
+    out.writeByte(PdfBinaryFormat.PAGES);
+    out.writeInt(-1);
+    out.writeByte(PdfBinaryFormat.END);
+    new PdfBinaryReader().read(new ByteArrayInputStream(bytes.toByteArray()));
+  }
+
+  @Test(expected = PdfActReadException.class)
+  public void testReadHugeStringFromStream() throws PdfActException, IOException {
+    // The length of the path exceeds the stream; it must not be allocated up front.
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    DataOutputStream out = new DataOutputStream(bytes);
+    out.writeInt(PdfBinaryFormat.MAGIC);
+    out.writeInt(PdfBinaryFormat.VERSION);
+    out.writeInt(Integer.MAX_VALUE - 8);
+    out.write(new byte[100]);
+    new PdfBinaryReader().read(new ByteArrayInputStream(bytes.toByteArray()));
+  }
+
+  @Test
+  public void testReadHugeStringFromFile() throws PdfActException, IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    DataOutputStream out = new DataOutputStream(bytes);
+    out.writeInt(PdfBinaryFormat.MAGIC);
+    out.writeInt(PdfBinaryFormat.VERSION);
+    out.writeInt(Integer.MAX_VALUE - 8);
+    out.write(new byte[100]);
+    File file = this.folder.newFile("huge-string.bin");
+    Files.write(file.toPath(), bytes.toByteArray());
+
+    // The length of the path exceeds the remaining bytes of the file.
+    try {
+      new PdfBinaryReader().read(file.toPath());
+      Assert.fail("The malformed serialization should be rejected.");
+    } catch (PdfActReadException e) {
+      Assert.assertTrue(e.getMessage().contains("exceeds"));
+    }
+  }
+
+  @Test
+  public void testReadHugeNumberOfPositionsInParagraph() throws PdfActException, IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    DataOutputStream out = createHeader(bytes);
+    out.writeByte(PdfBinaryFormat.PARAGRAPHS);
+    out.writeInt(1);
+    out.writeInt(16); // length of the paragraph
+    out.writeInt(-1); // role
+    out.writeInt(-1); // text
+    out.writeInt(Integer.MAX_VALUE); // number of positions
+    out.writeInt(0); // number of words
+    out.writeByte(PdfBinaryFormat.END);
+
+    // The positions exceed the length of the paragraph, even though the stream length is unknown.
+    try {
+      new PdfBinaryReader().read(new ByteArrayInputStream(bytes.toByteArray()));
+      Assert.fail("The malformed serialization should be rejected.");
+    } catch (PdfActReadException e) {
+      Assert.assertTrue(e.getMessage().contains("positions"));
+    }
+  }
+
+  @Test(expected = PdfActReadException.class)
+  public void testReadWrongParagraphLength() throws PdfActException, IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    DataOutputStream out = createHeader(bytes);
+    out.writeByte(PdfBinaryFormat.PARAGRAPHS);
+    out.writeInt(1);
+    out.writeInt(20); // length of the paragraph (the content has only 16 bytes)
+    out.writeInt(-1); // role
+    out.writeInt(-1); // text
+    out.writeInt(0); // number of positions
+    out.writeInt(0); // number of words
+    out.writeInt(0);
+    out.writeByte(PdfBinaryFormat.END);
+    new PdfBinaryReader().read(new ByteArrayInputStream(bytes.toByteArray()));
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Writes the header of a serialization (without a path) to the given stream.
+   */
+  protected static DataOutputStream createHeader(ByteArrayOutputStream bytes) throws IOException {
+    DataOutputStream out = new DataOutputStream(bytes);
+    out.writeInt(PdfBinaryFormat.MAGIC);
+    out.writeInt(PdfBinaryFormat.VERSION);
+    out.writeInt(-1);
+    return out;
+  }
+}
@@ -3,6 +3,7 @@ package pdfact.cli.pipes.serialize;
 import java.nio.charset.StandardCharsets;
 import java.util.HashSet;
 import java.util.Set;
+import org.json.JSONObject;
 import org.junit.Assert;
 import org.junit.Test;
 import pdfact.cli.PdfAct;
@@ -34,4 +35,30 @@ public class PdfJsonSerializerTest {
             + "\"text\": \"Accurate Information Extraction from Research Papers using Conditional "
             + "Random Fields\" }}]}", serialization);
   }
+
+  @Test
+  public void testCompactSerialization() throws PdfActException {
+    // Parse a PDF document.
+    Document pdf = new PdfAct().parse("src/test/resources/ACL_2004.pdf");
+
+    Set<ExtractionUnit> units = new HashSet<>();
+    units.add(ExtractionUnit.PARAGRAPH);
+    units.add(ExtractionUnit.CHARACTER);
+    units.add(ExtractionUnit.PAGE);
+
+    Set<SemanticRole> roles = new HashSet<>();
+    roles.add(SemanticRole.TITLE);
+    roles.add(SemanticRole.ABSTRACT);
+
+    String serialization = new String(new PdfJsonSerializer(units, roles).serialize(pdf),
+        StandardCharsets.UTF_8);
+    String compactSerialization = new String(
+        new PdfJsonSerializer(units, roles, true).serialize(pdf), StandardCharsets.UTF_8);
+
+    // The compact serialization should not contain any line breaks.
+    Assert.assertFalse(compactSerialization.contains("\n"));
+
+    // The compact serialization should be equal to the indented serialization, when indented.
+    Assert.assertEquals(serialization, new JSONObject(compactSerialization).toString(2));
+  }
 }
@@ -2,6 +2,8 @@ package pdfact.core;
 
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import pdfact.core.model.LoadStrategy;
+import pdfact.core.model.ProcessingStage;
 
 /**
  * Some global settings to control the behavior of PdfAct.
@@ -26,6 +28,29 @@ public class PdfActCoreSettings {
 
   // ==============================================================================================
 
+  /**
+   * The default number of threads to use on parsing the pages of a PDF document.
+   */
+  public static final int DEFAULT_NUM_PARSE_THREADS = 1;
+
+  /**
+   * The default strategy to load a PDF file.
+   */
+  public static final LoadStrategy DEFAULT_LOAD_STRATEGY = LoadStrategy.MAIN_MEMORY;
+
+  /**
+   * The default maximum number of bytes to buffer in main memory on loading a PDF file with the
+   * strategy {@link LoadStrategy#MIXED}.
+   */
+  public static final long DEFAULT_MAX_MAIN_MEMORY_BYTES = 64L * 1024 * 1024;
+
+  /**
+   * The default last stage of the core pipeline to process.
+   */
+  public static final ProcessingStage DEFAULT_LAST_PROCESSING_STAGE = ProcessingStage.PARAGRAPHS;
+
+  // ==============================================================================================
+
   /**
    * The path to the AFM file.
    */
@@ -1,7 +1,6 @@
 package pdfact.core.model;
 
-import org.apache.commons.lang3.builder.EqualsBuilder;
-import org.apache.commons.lang3.builder.HashCodeBuilder;
+import java.util.Objects;
 
 /**
  * A single character in a document.
@@ -98,26 +97,24 @@ public class Character extends Element implements HasText, HasPosition, HasFontF
     if (other instanceof Character) {
       Character otherCharacter = (Character) other;
 
-      EqualsBuilder builder = new EqualsBuilder();
-      builder.append(getText(), otherCharacter.getText());
-      builder.append(getPosition(), otherCharacter.getPosition());
-      builder.append(getFontFace(), otherCharacter.getFontFace());
-      builder.append(getColor(), otherCharacter.getColor());
-      builder.append(getExtractionRank(), otherCharacter.getExtractionRank());
-
-      return builder.isEquals();
+      // Compare the extraction ranks first, since they differ for most pairs of characters.
+      return getExtractionRank() == otherCharacter.getExtractionRank()
+          && Objects.equals(getText(), otherCharacter.getText())
+          && Objects.equals(getPosition(), otherCharacter.getPosition())
+          && Objects.equals(getFontFace(), otherCharacter.getFontFace())
+          && Objects.equals(getColor(), otherCharacter.getColor());
     }
     return false;
   }
 
   @Override
   public int hashCode() {
-    HashCodeBuilder builder = new HashCodeBuilder();
-    builder.append(getText());
-    builder.append(getPosition());
-    builder.append(getFontFace());
-    builder.append(getColor());
-    builder.append(getExtractionRank());
-    return builder.hashCode();
+    int hashCode = 17;
+    hashCode = 37 * hashCode + Objects.hashCode(getText());
+    hashCode = 37 * hashCode + Objects.hashCode(getPosition());
+    hashCode = 37 * hashCode + Objects.hashCode(getFontFace());
+    hashCode = 37 * hashCode + Objects.hashCode(getColor());
+    hashCode = 37 * hashCode + getExtractionRank();
+    return hashCode;
   }
 }
@@ -1,39 +1,98 @@
 package pdfact.core.model;
 
+import java.util.ArrayList;
+import java.util.List;
 import pdfact.core.util.counter.FloatCounter;
 import pdfact.core.util.counter.ObjectCounter;
 
 /**
  * A statistic about a collection of characters.
  * 
+ * The statistic is computed lazily: the frequencies (and the modes and averages derived from
+ * them) and the extreme coordinates are not computed until they are requested for the first time.
+ * A statistic is either computed from characters (see {@link #fromCharacters(List)}), from the
+ * rows of a character table (see {@link #fromCharacterTable(CharacterTable)}) or from the
+ * statistics of some child elements (see {@link #fromStatistics(List)}). In the latter case, the
+ * frequencies of the child statistics are merged on demand, and a statistic with a single child
+ * statistic is a view that shares the frequencies of the child statistic instead of copying them.
+ * 
+ * In addition, a statistic can be updated in place by adding (or removing) characters and by
+ * merging other statistics into it. A statistic keeps the characters added to it (and the
+ * characters of merged statistics that are computed from characters), such that these characters
+ * can be removed afterwards. Other merged statistics are kept as child statistics; their
+ * characters can't be removed. Removing a character costs O(n) in the number of kept characters,
+ * because the character is searched by identity (starting with the most recently added one).
+ * The frequencies are updated by adding and subtracting counts, such that ties between equally
+ * frequent values may be broken differently than in a statistic computed from scratch after a
+ * character was removed.
+ * 
  * @author Claudius Korzen
  */
 public class CharacterStatistic {
   /**
-   * The height frequencies.
+   * The identifier of the height property.
+   */
+  protected static final int HEIGHT = 0;
+
+  /**
+   * The identifier of the width property.
+   */
+  protected static final int WIDTH = 1;
+
+  /**
+   * The identifier of the font size property.
+   */
+  protected static final int FONT_SIZE = 2;
+
+  /**
+   * The characters kept by this statistic, from which the statistic is computed (null if this
+   * statistic doesn't keep characters, because it is computed from child statistics only, from a
+   * character table or is materialized).
+   */
+  protected List<Character> characters;
+
+  /**
+   * The character table from which this statistic is computed (only set while the statistic is
+   * computed from the table, see {@link #fromCharacterTable(CharacterTable)}).
+   */
+  protected CharacterTable table;
+
+  /**
+   * The child statistics from which this statistic is computed in addition to its characters
+   * (null if there are no child statistics).
+   */
+  protected List<CharacterStatistic> statistics;
+
+  /**
+   * The height frequencies (null if not computed yet).
    */
   protected FloatCounter heightFrequencies;
 
   /**
-   * The width frequencies.
+   * The width frequencies (null if not computed yet).
    */
   protected FloatCounter widthFrequencies;
 
   /**
-   * The font face frequencies.
+   * The font face frequencies (null if not computed yet).
    */
   protected ObjectCounter<FontFace> fontFaceFrequencies;
 
   /**
-   * The font size frequencies.
+   * The font size frequencies (null if not computed yet).
    */
   protected FloatCounter fontsizeFrequencies;
 
   /**
-   * The color frequencies.
+   * The color frequencies (null if not computed yet).
    */
   protected ObjectCounter<Color> colorFrequencies;
 
+  /**
+   * A flag that indicates whether the extreme coordinates were already computed.
+   */
+  protected boolean isExtremeCoordinatesComputed;
+
   /**
    * The smallest minX value.
    */
@@ -54,6 +113,514 @@ public class CharacterStatistic {
    */
   protected float largestMaxY = -Float.MAX_VALUE;
 
+  // ==============================================================================================
+  // Constructors.
+
+  /**
+   * Creates a new, empty character statistic.
+   */
+  public CharacterStatistic() {
+    this.characters = new ArrayList<>();
+  }
+
+  /**
+   * Creates a new character statistic that is computed from the given characters. Only the
+   * references to the characters are copied, the statistic itself is computed on demand.
+   * 
+   * @param characters
+   *        The characters to process.
+   * 
+   * @return The created statistic.
+   */
+  public static CharacterStatistic fromCharacters(List<Character> characters) {
+    CharacterStatistic statistic = new CharacterStatistic();
+    statistic.characters.addAll(characters);
+    return statistic;
+  }
+
+  /**
+   * Creates a new character statistic that is computed from the rows of the given character table.
+   * Unlike the other statistics, this statistic is computed immediately, by sweeping the columns of
+   * the table once, so that the table isn't referenced by the statistic afterwards.
+   * 
+   * @param table
+   *        The character table to process.
+   * 
+   * @return The created statistic.
+   */
+  public static CharacterStatistic fromCharacterTable(CharacterTable table) {
+    CharacterStatistic statistic = new CharacterStatistic();
+    statistic.characters = null;
+    statistic.table = table;
+    statistic.materialize();
+    return statistic;
+  }
+
+  /**
+   * Creates a new character statistic that is computed from the character statistics of the given
+   * elements. The frequencies of the child statistics are merged on demand; if there is only a
+   * single child statistic, its frequencies are shared until this statistic is updated.
+   * 
+   * @param elements
+   *        The elements with the statistics to combine.
+   * 
+   * @return The created statistic.
+   */
+  public static CharacterStatistic fromStatistics(List<? extends HasCharacterStatistic> elements) {
+    CharacterStatistic statistic = new CharacterStatistic();
+    statistic.characters = null;
+    statistic.statistics = new ArrayList<>(elements.size());
+    for (HasCharacterStatistic element : elements) {
+      statistic.statistics.add(element.getCharacterStatistic());
+    }
+    return statistic;
+  }
+
+  // ==============================================================================================
+  // Methods to update the statistic.
+
+  /**
+   * Adds the given character to this statistic. The character can be removed again afterwards,
+   * unless this statistic is materialized (see {@link #materialize()}).
+   * 
+   * @param character
+   *        The character to add.
+   */
+  public void add(Character character) {
+    if (this.characters == null && this.statistics != null) {
+      // Keep the characters added to a statistic computed from child statistics.
+      detach();
+      this.characters = new ArrayList<>();
+    }
+    if (this.characters != null) {
+      this.characters.add(character);
+    }
+
+    Rectangle rectangle = character.getPosition().getRectangle();
+    FontFace fontFace = character.getFontFace();
+    if (this.heightFrequencies != null) {
+      this.heightFrequencies.add(rectangle.getHeight());
+    }
+    if (this.widthFrequencies != null) {
+      this.widthFrequencies.add(rectangle.getWidth());
+    }
+    if (this.fontFaceFrequencies != null) {
+      this.fontFaceFrequencies.add(fontFace);
+    }
+    if (this.fontsizeFrequencies != null) {
+      this.fontsizeFrequencies.add(fontFace.getFontSize());
+    }
+    if (this.colorFrequencies != null) {
+      this.colorFrequencies.add(character.getColor());
+    }
+    if (this.isExtremeCoordinatesComputed) {
+      updateExtremeCoordinates(rectangle.getMinX(), rectangle.getMinY(), rectangle.getMaxX(),
+          rectangle.getMaxY());
+    }
+  }
+
+  /**
+   * Removes the given character from this statistic. Only the characters kept by this statistic
+   * can be removed (see {@link #isRemovable()}), because only these are known to recompute the
+   * extreme coordinates when a character on the boundary is removed. The character is searched
+   * by identity, starting with the most recently added character, so the costs are O(n) in the
+   * number of kept characters (and O(1) for the most recently added character).
+   * 
+   * @param character
+   *        The character to remove.
+   * 
+   * @return True, if the character was removed; false if the statistic doesn't keep the
+   *         character.
+   */
+  public boolean remove(Character character) {
+    if (this.characters == null) {
+      throw new UnsupportedOperationException(
+          "Characters can't be removed from a statistic that doesn't keep its characters.");
+    }
+
+    // Remove the character by identity.
+    int index = -1;
+    for (int i = this.characters.size() - 1; i >= 0; i--) {
+      if (this.characters.get(i) == character) {
+        index = i;
+        break;
+      }
+    }
+    if (index < 0) {
+      return false;
+    }
+    this.characters.remove(index);
+
+    Rectangle rectangle = character.getPosition().getRectangle();
+    FontFace fontFace = character.getFontFace();
+    if (this.heightFrequencies != null) {
+      this.heightFrequencies.subtract(rectangle.getHeight());
+    }
+    if (this.widthFrequencies != null) {
+      this.widthFrequencies.subtract(rectangle.getWidth());
+    }
+    if (this.fontFaceFrequencies != null) {
+      this.fontFaceFrequencies.subtract(fontFace);
+    }
+    if (this.fontsizeFrequencies != null) {
+      this.fontsizeFrequencies.subtract(fontFace.getFontSize());
+    }
+    if (this.colorFrequencies != null) {
+      this.colorFrequencies.subtract(character.getColor());
+    }
+    if (this.isExtremeCoordinatesComputed) {
+      // Recompute the extreme coordinates on demand, if the character lies on the boundary.
+      if (rectangle.getMinX() <= this.smallestMinX || rectangle.getMinY() <= this.smallestMinY
+          || rectangle.getMaxX() >= this.largestMaxX || rectangle.getMaxY() >= this.largestMaxY) {
+        this.isExtremeCoordinatesComputed = false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Merges the given statistic into this statistic. If the given statistic is computed from
+   * characters only, its characters are added to this statistic (such that they can be removed
+   * afterwards). Otherwise, the given statistic is kept as a child statistic (unless this
+   * statistic is materialized), and the characters kept by this statistic can still be removed
+   * afterwards.
+   * 
+   * @param other
+   *        The statistic to merge.
+   */
+  public void merge(CharacterStatistic other) {
+    if (other.characters != null && other.statistics == null) {
+      for (int i = 0; i < other.characters.size(); i++) {
+        add(other.characters.get(i));
+      }
+      return;
+    }
+
+    if (this.characters != null || this.statistics != null) {
+      detach();
+      if (this.statistics == null) {
+        this.statistics = new ArrayList<>();
+      }
+      this.statistics.add(other);
+    }
+
+    // Update the frequencies computed so far (the others are computed from the child statistics).
+    if (this.heightFrequencies != null) {
+      this.heightFrequencies.add(other.getHeightFrequencies());
+    }
+    if (this.widthFrequencies != null) {
+      this.widthFrequencies.add(other.getWidthFrequencies());
+    }
+    if (this.fontFaceFrequencies != null) {
+      this.fontFaceFrequencies.add(other.getFontFaceFrequencies());
+    }
+    if (this.fontsizeFrequencies != null) {
+      this.fontsizeFrequencies.add(other.getFontSizeFrequencies());
+    }
+    if (this.colorFrequencies != null) {
+      this.colorFrequencies.add(other.getColorFrequencies());
+    }
+    if (this.isExtremeCoordinatesComputed) {
+      updateExtremeCoordinates(other.getSmallestMinX(), other.getSmallestMinY(),
+          other.getLargestMaxX(), other.getLargestMaxY());
+    }
+  }
+
+  /**
+   * Returns true, if characters can be removed from this statistic, that is: if the statistic
+   * keeps its characters (it is neither computed from a character table nor materialized, see
+   * {@link #materialize()}). Only the kept characters can be removed, not the characters of
+   * child statistics.
+   * 
+   * @return True, if characters can be removed from this statistic; false otherwise.
+   */
+  public boolean isRemovable() {
+    return this.characters != null;
+  }
+
+  /**
+   * Returns true, if this statistic is a view on a single child statistic, that is: if it shares
+   * the frequencies of the child statistic.
+   * 
+   * @return True, if this statistic is a view on a single child statistic; false otherwise.
+   */
+  protected boolean isView() {
+    return this.characters == null && this.table == null && this.statistics != null
+        && this.statistics.size() == 1;
+  }
+
+  /**
+   * Copies the frequencies shared with the single child statistic (if this statistic is a view),
+   * such that this statistic can be updated without affecting the child statistic.
+   */
+  protected void detach() {
+    if (!isView()) {
+      return;
+    }
+    if (this.heightFrequencies != null) {
+      FloatCounter heights = this.heightFrequencies;
+      this.heightFrequencies = new FloatCounter();
+      this.heightFrequencies.add(heights);
+    }
+    if (this.widthFrequencies != null) {
+      FloatCounter widths = this.widthFrequencies;
+      this.widthFrequencies = new FloatCounter();
+      this.widthFrequencies.add(widths);
+    }
+    if (this.fontFaceFrequencies != null) {
+      ObjectCounter<FontFace> fontFaces = this.fontFaceFrequencies;
+      this.fontFaceFrequencies = new ObjectCounter<>();
+      this.fontFaceFrequencies.add(fontFaces);
+    }
+    if (this.fontsizeFrequencies != null) {
+      FloatCounter fontsizes = this.fontsizeFrequencies;
+      this.fontsizeFrequencies = new FloatCounter();
+      this.fontsizeFrequencies.add(fontsizes);
+    }
+    if (this.colorFrequencies != null) {
+      ObjectCounter<Color> colors = this.colorFrequencies;
+      this.colorFrequencies = new ObjectCounter<>();
+      this.colorFrequencies.add(colors);
+    }
+  }
+
+  // ==============================================================================================
+  // Methods to compute the statistic.
+
+  /**
+   * Computes all frequencies and the extreme coordinates of this statistic (if not computed yet),
+   * copies the frequencies shared with a child statistic and detaches this statistic from the
+   * child statistics, such that the statistic can be updated without affecting other statistics.
+   * Afterwards, the statistic doesn't refer to any character anymore.
+   */
+  public void materialize() {
+    getHeightFrequencies();
+    getWidthFrequencies();
+    getFontFaceFrequencies();
+    getFontSizeFrequencies();
+    getColorFrequencies();
+    computeExtremeCoordinates();
+    detach();
+
+    this.statistics = null;
+    this.characters = null;
+    this.table = null;
+  }
+
+  /**
+   * Computes the frequencies of the given float property of the characters.
+   * 
+   * @param property
+   *        The property to count, one of {@link #HEIGHT}, {@link #WIDTH} and {@link #FONT_SIZE}.
+   * 
+   * @return The computed frequencies.
+   */
+  protected FloatCounter computeFloatFrequencies(int property) {
+    if (isView()) {
+      // Share the frequencies of the single child statistic.
+      return getFloatFrequencies(this.statistics.get(0), property);
+    }
+
+    FloatCounter frequencies = new FloatCounter();
+    if (this.characters != null) {
+      for (int i = 0; i < this.characters.size(); i++) {
+        Character character = this.characters.get(i);
+        Rectangle rectangle = character.getPosition().getRectangle();
+        switch (property) {
+          case HEIGHT:
+            frequencies.add(rectangle.getHeight());
+            break;
+          case WIDTH:
+            frequencies.add(rectangle.getWidth());
+            break;
+          default:
+            frequencies.add(character.getFontFace().getFontSize());
+            break;
+        }
+      }
+    }
+
+    if (this.table != null) {
+      for (int i = 0; i < this.table.size(); i++) {
+        switch (property) {
+          case HEIGHT:
+            frequencies.add(this.table.getHeight(i));
+            break;
+          case WIDTH:
+            frequencies.add(this.table.getWidth(i));
+            break;
+          default:
+            frequencies.add(this.table.getFontFace(i).getFontSize());
+            break;
+        }
+      }
+    }
+
+    if (this.statistics != null) {
+      for (int i = 0; i < this.statistics.size(); i++) {
+        frequencies.add(getFloatFrequencies(this.statistics.get(i), property));
+      }
+    }
+    return frequencies;
+  }
+
+  /**
+   * Returns the frequencies of the given float property from the given statistic.
+   * 
+   * @param statistic
+   *        The statistic to process.
+   * @param property
+   *        The property, one of {@link #HEIGHT}, {@link #WIDTH} and {@link #FONT_SIZE}.
+   * 
+   * @return The frequencies of the given property.
+   */
+  protected static FloatCounter getFloatFrequencies(CharacterStatistic statistic, int property) {
+    switch (property) {
+      case HEIGHT:
+        return statistic.getHeightFrequencies();
+      case WIDTH:
+        return statistic.getWidthFrequencies();
+      default:
+        return statistic.getFontSizeFrequencies();
+    }
+  }
+
+  /**
+   * Computes the font face frequencies of the characters.
+   * 
+   * @return The computed frequencies.
+   */
+  protected ObjectCounter<FontFace> computeFontFaceFrequencies() {
+    if (isView()) {
+      // Share the frequencies of the single child statistic.
+      return this.statistics.get(0).getFontFaceFrequencies();
+    }
+
+    ObjectCounter<FontFace> frequencies = new ObjectCounter<>();
+    if (this.characters != null) {
+      for (int i = 0; i < this.characters.size(); i++) {
+        frequencies.add(this.characters.get(i).getFontFace());
+      }
+    }
+
+    if (this.table != null) {
+      for (int i = 0; i < this.table.size(); i++) {
+        frequencies.add(this.table.getFontFace(i));
+      }
+    }
+
+    if (this.statistics != null) {
+      for (int i = 0; i < this.statistics.size(); i++) {
+        frequencies.add(this.statistics.get(i).getFontFaceFrequencies());
+      }
+    }
+    return frequencies;
+  }
+
+  /**
+   * Computes the color frequencies of the characters.
+   * 
+   * @return The computed frequencies.
+   */
+  protected ObjectCounter<Color> computeColorFrequencies() {
+    if (isView()) {
+      // Share the frequencies of the single child statistic.
+      return this.statistics.get(0).getColorFrequencies();
+    }
+
+    ObjectCounter<Color> frequencies = new ObjectCounter<>();
+    if (this.characters != null) {
+      for (int i = 0; i < this.characters.size(); i++) {
+        frequencies.add(this.characters.get(i).getColor());
+      }
+    }
+
+    if (this.table != null) {
+      for (int i = 0; i < this.table.size(); i++) {
+        frequencies.add(this.table.getColor(i));
+      }
+    }
+
+    if (this.statistics != null) {
+      for (int i = 0; i < this.statistics.size(); i++) {
+        frequencies.add(this.statistics.get(i).getColorFrequencies());
+      }
+    }
+    return frequencies;
+  }
+
+  /**
+   * Computes the extreme coordinates of the characters, if they were not computed yet.
+   */
+  protected void computeExtremeCoordinates() {
+    if (this.isExtremeCoordinatesComputed) {
+      return;
+    }
+    this.isExtremeCoordinatesComputed = true;
+
+    if (this.characters == null && this.table == null && this.statistics == null) {
+      return;
+    }
+
+    this.smallestMinX = Float.MAX_VALUE;
+    this.smallestMinY = Float.MAX_VALUE;
+    this.largestMaxX = -Float.MAX_VALUE;
+    this.largestMaxY = -Float.MAX_VALUE;
+
+    if (this.characters != null) {
+      for (int i = 0; i < this.characters.size(); i++) {
+        Rectangle rectangle = this.characters.get(i).getPosition().getRectangle();
+        updateExtremeCoordinates(rectangle.getMinX(), rectangle.getMinY(), rectangle.getMaxX(),
+            rectangle.getMaxY());
+      }
+    }
+
+    if (this.table != null) {
+      for (int i = 0; i < this.table.size(); i++) {
+        updateExtremeCoordinates(this.table.getMinX(i), this.table.getMinY(i),
+            this.table.getMaxX(i), this.table.getMaxY(i));
+      }
+    }
+
+    if (this.statistics != null) {
+      for (int i = 0; i < this.statistics.size(); i++) {
+        CharacterStatistic stat = this.statistics.get(i);
+        updateExtremeCoordinates(stat.getSmallestMinX(), stat.getSmallestMinY(),
+            stat.getLargestMaxX(), stat.getLargestMaxY());
+      }
+    }
+  }
+
+  /**
+   * Updates the extreme coordinates with the given coordinates.
+   * 
+   * @param minX
+   *        The minX value.
+   * @param minY
+   *        The minY value.
+   * @param maxX
+   *        The maxX value.
+   * @param maxY
+   *        The maxY value.
+   */
+  protected void updateExtremeCoordinates(float minX, float minY, float maxX, float maxY) {
+    if (minX < this.smallestMinX) {
+      this.smallestMinX = minX;
+    }
+
+    if (minY < this.smallestMinY) {
+      this.smallestMinY = minY;
+    }
+
+    if (maxX > this.largestMaxX) {
+      this.largestMaxX = maxX;
+    }
+
+    if (maxY > this.largestMaxY) {
+      this.largestMaxY = maxY;
+    }
+  }
+
   // ==============================================================================================
 
   /**
@@ -62,6 +629,9 @@ public class CharacterStatistic {
    * @return The height frequencies of the characters.
    */
   public FloatCounter getHeightFrequencies() {
+    if (this.heightFrequencies == null) {
+      this.heightFrequencies = computeFloatFrequencies(HEIGHT);
+    }
     return this.heightFrequencies;
   }
 
@@ -82,10 +652,11 @@ public class CharacterStatistic {
    * @return The most common height of the characters.
    */
   public float getMostCommonHeight() {
-    if (this.heightFrequencies == null) {
+    FloatCounter frequencies = getHeightFrequencies();
+    if (frequencies == null) {
       return Float.NaN;
     }
-    return this.heightFrequencies.getMostCommonFloat();
+    return frequencies.getMostCommonFloat();
   }
 
   /**
@@ -94,10 +665,11 @@ public class CharacterStatistic {
    * @return The average height of the characters.
    */
   public float getAverageHeight() {
-    if (this.heightFrequencies == null) {
+    FloatCounter frequencies = getHeightFrequencies();
+    if (frequencies == null) {
       return Float.NaN;
     }
-    return this.heightFrequencies.getAverageFloat();
+    return frequencies.getAverageFloat();
   }
 
   // ==============================================================================================
@@ -108,6 +680,9 @@ public class CharacterStatistic {
    * @return The width frequencies of the characters.
    */
   public FloatCounter getWidthFrequencies() {
+    if (this.widthFrequencies == null) {
+      this.widthFrequencies = computeFloatFrequencies(WIDTH);
+    }
     return this.widthFrequencies;
   }
 
@@ -128,10 +703,11 @@ public class CharacterStatistic {
    * @return The most common width of the characters.
    */
   public float getMostCommonWidth() {
-    if (this.widthFrequencies == null) {
+    FloatCounter frequencies = getWidthFrequencies();
+    if (frequencies == null) {
       return Float.NaN;
     }
-    return this.widthFrequencies.getMostCommonFloat();
+    return frequencies.getMostCommonFloat();
   }
 
   /**
@@ -140,10 +716,11 @@ public class CharacterStatistic {
    * @return The average width of the characters.
    */
   public float getAverageWidth() {
-    if (this.widthFrequencies == null) {
+    FloatCounter frequencies = getWidthFrequencies();
+    if (frequencies == null) {
       return Float.NaN;
     }
-    return this.widthFrequencies.getAverageFloat();
+    return frequencies.getAverageFloat();
   }
 
   // ==============================================================================================
@@ -154,6 +731,9 @@ public class CharacterStatistic {
    * @return The font face frequencies of the characters.
    */
   public ObjectCounter<FontFace> getFontFaceFrequencies() {
+    if (this.fontFaceFrequencies == null) {
+      this.fontFaceFrequencies = computeFontFaceFrequencies();
+    }
     return this.fontFaceFrequencies;
   }
 
@@ -174,10 +754,11 @@ public class CharacterStatistic {
    * @return The most common font face of the characters.
    */
   public FontFace getMostCommonFontFace() {
-    if (this.fontFaceFrequencies == null) {
+    ObjectCounter<FontFace> frequencies = getFontFaceFrequencies();
+    if (frequencies == null) {
       return null;
     }
-    return this.fontFaceFrequencies.getMostCommonObject();
+    return frequencies.getMostCommonObject();
   }
 
   // ==============================================================================================
@@ -188,6 +769,9 @@ public class CharacterStatistic {
    * @return The font size frequencies of the characters.
    */
   public FloatCounter getFontSizeFrequencies() {
+    if (this.fontsizeFrequencies == null) {
+      this.fontsizeFrequencies = computeFloatFrequencies(FONT_SIZE);
+    }
     return this.fontsizeFrequencies;
   }
 
@@ -208,10 +792,11 @@ public class CharacterStatistic {
    * @return The average font size of the characters.
    */
   public float getAverageFontsize() {
-    if (this.fontsizeFrequencies == null) {
+    FloatCounter frequencies = getFontSizeFrequencies();
+    if (frequencies == null) {
       return Float.NaN;
     }
-    return this.fontsizeFrequencies.getAverageFloat();
+    return frequencies.getAverageFloat();
   }
 
   // ==============================================================================================
@@ -222,6 +807,9 @@ public class CharacterStatistic {
    * @return The color frequencies of the characters.
    */
   public ObjectCounter<Color> getColorFrequencies() {
+    if (this.colorFrequencies == null) {
+      this.colorFrequencies = computeColorFrequencies();
+    }
     return this.colorFrequencies;
   }
 
@@ -241,10 +829,11 @@ public class CharacterStatistic {
    * @return The most common color of the characters.
    */
   public Color getMostCommonColor() {
-    if (this.colorFrequencies == null) {
+    ObjectCounter<Color> frequencies = getColorFrequencies();
+    if (frequencies == null) {
       return null;
     }
-    return this.colorFrequencies.getMostCommonObject();
+    return frequencies.getMostCommonObject();
   }
 
   // ==============================================================================================
@@ -255,6 +844,7 @@ public class CharacterStatistic {
    * @return The smallest minX value of the characters.
    */
   public float getSmallestMinX() {
+    computeExtremeCoordinates();
     return this.smallestMinX;
   }
 
@@ -264,6 +854,7 @@ public class CharacterStatistic {
    * @param minX The smallest minX value of the characters.
    */
   public void setSmallestMinX(float minX) {
+    computeExtremeCoordinates();
     this.smallestMinX = minX;
   }
 
@@ -275,6 +866,7 @@ public class CharacterStatistic {
    * @return The smallest minY value of the characters.
    */
   public float getSmallestMinY() {
+    computeExtremeCoordinates();
     return this.smallestMinY;
   }
 
@@ -284,6 +876,7 @@ public class CharacterStatistic {
    * @param minY The smallest minY value of the characters.
    */
   public void setSmallestMinY(float minY) {
+    computeExtremeCoordinates();
     this.smallestMinY = minY;
   }
 
@@ -295,6 +888,7 @@ public class CharacterStatistic {
    * @return The largest maxX value of the characters.
    */
   public float getLargestMaxX() {
+    computeExtremeCoordinates();
     return this.largestMaxX;
   }
 
@@ -304,6 +898,7 @@ public class CharacterStatistic {
    * @param maxX The largest maxX value of the characters.
    */
   public void setLargestMaxX(float maxX) {
+    computeExtremeCoordinates();
     this.largestMaxX = maxX;
   }
 
@@ -315,6 +910,7 @@ public class CharacterStatistic {
    * @return The largest maxY value of the characters.
    */
   public float getLargestMaxY() {
+    computeExtremeCoordinates();
     return this.largestMaxY;
   }
 
@@ -324,6 +920,7 @@ public class CharacterStatistic {
    * @param maxY The largest maxY value of the characters.
    */
   public void setLargestMaxY(float maxY) {
+    computeExtremeCoordinates();
     this.largestMaxY = maxY;
   }
 }
@@ -0,0 +1,508 @@
+package pdfact.core.model;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A columnar (structure-of-arrays) table of characters. The properties of the characters are
+ * stored in parallel primitive arrays, one row per character: the coordinates of the bounding
+ * boxes in float arrays, the font faces and colors as ids into per-table dictionaries, the
+ * extraction ranks in an int array, and the texts in a single shared text buffer.
+ *
+ * Sweeping the rows of a table touches only a few contiguous arrays, instead of dereferencing a
+ * character, its position and its rectangle per character. Each row also keeps a reference to
+ * the character it was created from, so that sweeps over a table can map their results back to
+ * the characters.
+ *
+ * @author Claudius Korzen
+ */
+public class CharacterTable {
+  /**
+   * The default initial capacity of a table.
+   */
+  protected static final int DEFAULT_INITIAL_CAPACITY = 16;
+
+  /**
+   * The number of rows in this table.
+   */
+  protected int size;
+
+  /**
+   * The characters, per row.
+   */
+  protected Character[] characters;
+
+  /**
+   * The minX values of the bounding boxes, per row.
+   */
+  protected float[] minX;
+
+  /**
+   * The minY values of the bounding boxes, per row.
+   */
+  protected float[] minY;
+
+  /**
+   * The maxX values of the bounding boxes, per row.
+   */
+  protected float[] maxX;
+
+  /**
+   * The maxY values of the bounding boxes, per row.
+   */
+  protected float[] maxY;
+
+  /**
+   * The ids of the font faces, per row (indices into {@link #fontFaces}).
+   */
+  protected int[] fontFaceIds;
+
+  /**
+   * The ids of the colors, per row (indices into {@link #colors}).
+   */
+  protected int[] colorIds;
+
+  /**
+   * The extraction ranks, per row.
+   */
+  protected int[] extractionRanks;
+
+  /**
+   * The start offsets of the texts in the text buffer, per row. The text of row i ends at the
+   * start offset of row i + 1.
+   */
+  protected int[] textOffsets;
+
+  /**
+   * The text buffer shared by all rows.
+   */
+  protected StringBuilder text;
+
+  /**
+   * The distinct font faces in this table, indexed by their ids.
+   */
+  protected List<FontFace> fontFaces;
+
+  /**
+   * The ids of the font faces. The font faces are identified by identity (and not by equality),
+   * such that a row returns the same font face object as its character.
+   */
+  protected Map<FontFace, Integer> fontFaceIdsByFontFace;
+
+  /**
+   * The distinct colors in this table, indexed by their ids.
+   */
+  protected List<Color> colors;
+
+  /**
+   * The ids of the colors, identified by identity.
+   */
+  protected Map<Color, Integer> colorIdsByColor;
+
+  // ==============================================================================================
+  // Constructors.
+
+  /**
+   * Creates a new, empty character table.
+   */
+  public CharacterTable() {
+    this(DEFAULT_INITIAL_CAPACITY);
+  }
+
+  /**
+   * Creates a new, empty character table with the given initial capacity.
+   *
+   * @param initialCapacity
+   *        The initial capacity (the number of rows).
+   */
+  public CharacterTable(int initialCapacity) {
+    int capacity = Math.max(1, initialCapacity);
+    this.characters = new Character[capacity];
+    this.minX = new float[capacity];
+    this.minY = new float[capacity];
+    this.maxX = new float[capacity];
+    this.maxY = new float[capacity];
+    this.fontFaceIds = new int[capacity];
+    this.colorIds = new int[capacity];
+    this.extractionRanks = new int[capacity];
+    this.textOffsets = new int[capacity + 1];
+    this.text = new StringBuilder(capacity);
+    this.fontFaces = new ArrayList<>();
+    this.fontFaceIdsByFontFace = new IdentityHashMap<>();
+    this.colors = new ArrayList<>();
+    this.colorIdsByColor = new IdentityHashMap<>();
+  }
+
+  /**
+   * Creates a new character table with a row for each of the given characters, in the given
+   * order.
+   *
+   * @param characters
+   *        The characters.
+   */
+  public CharacterTable(List<Character> characters) {
+    this(characters.size());
+    for (int i = 0; i < characters.size(); i++) {
+      add(characters.get(i));
+    }
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Appends a row for the given character to this table.
+   *
+   * @param character
+   *        The character to add.
+   */
+  public void add(Character character) {
+    if (this.size == this.characters.length) {
+      grow();
+    }
+
+    Rectangle rect = character.getPosition().getRectangle();
+    this.characters[this.size] = character;
+    this.minX[this.size] = rect.getMinX();
+    this.minY[this.size] = rect.getMinY();
+    this.maxX[this.size] = rect.getMaxX();
+    this.maxY[this.size] = rect.getMaxY();
+    this.fontFaceIds[this.size] = getFontFaceId(character.getFontFace());
+    this.colorIds[this.size] = getColorId(character.getColor());
+    this.extractionRanks[this.size] = character.getExtractionRank();
+    if (character.getText() != null) {
+      this.text.append(character.getText());
+    }
+    this.textOffsets[++this.size] = this.text.length();
+  }
+
+  /**
+   * Removes the given row from this table. The rows behind the removed row are moved up by one.
+   *
+   * @param row
+   *        The row to remove.
+   */
+  public void remove(int row) {
+    int numMoved = this.size - row - 1;
+    System.arraycopy(this.characters, row + 1, this.characters, row, numMoved);
+    System.arraycopy(this.minX, row + 1, this.minX, row, numMoved);
+    System.arraycopy(this.minY, row + 1, this.minY, row, numMoved);
+    System.arraycopy(this.maxX, row + 1, this.maxX, row, numMoved);
+    System.arraycopy(this.maxY, row + 1, this.maxY, row, numMoved);
+    System.arraycopy(this.fontFaceIds, row + 1, this.fontFaceIds, row, numMoved);
+    System.arraycopy(this.colorIds, row + 1, this.colorIds, row, numMoved);
+    System.arraycopy(this.extractionRanks, row + 1, this.extractionRanks, row, numMoved);
+
+    // Remove the text of the row from the text buffer and shift the offsets of the rows behind.
+    int textStart = this.textOffsets[row];
+    int textLength = this.textOffsets[row + 1] - textStart;
+    this.text.delete(textStart, textStart + textLength);
+    for (int i = row + 1; i <= this.size; i++) {
+      this.textOffsets[i - 1] = this.textOffsets[i] - textLength;
+    }
+
+    this.characters[--this.size] = null;
+  }
+
+  /**
+   * Returns the row of the given character, identified by identity.
+   *
+   * @param character
+   *        The character.
+   *
+   * @return The row of the character, or -1 if the table doesn't contain the character.
+   */
+  public int indexOf(Character character) {
+    for (int i = 0; i < this.size; i++) {
+      if (this.characters[i] == character) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Returns the number of rows in this table.
+   *
+   * @return The number of rows in this table.
+   */
+  public int size() {
+    return this.size;
+  }
+
+  /**
+   * Returns true, if this table has no rows.
+   *
+   * @return True, if this table has no rows, false otherwise.
+   */
+  public boolean isEmpty() {
+    return this.size == 0;
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Returns the character of the given row.
+   *
+   * @param row
+   *        The row.
+   *
+   * @return The character of the given row.
+   */
+  public Character getCharacter(int row) {
+    return this.characters[row];
+  }
+
+  /**
+   * Returns the minX value of the bounding box of the given row.
+   *
+   * @param row
+   *        The row.
+   *
+   * @return The minX value of the bounding box.
+   */
+  public float getMinX(int row) {
+    return this.minX[row];
+  }
+
+  /**
+   * Returns the minY value of the bounding box of the given row.
+   *
+   * @param row
+   *        The row.
+   *
+   * @return The minY value of the bounding box.
+   */
+  public float getMinY(int row) {
+    return this.minY[row];
+  }
+
+  /**
+   * Returns the maxX value of the bounding box of the given row.
+   *
+   * @param row
+   *        The row.
+   *
+   * @return The maxX value of the bounding box.
+   */
+  public float getMaxX(int row) {
+    return this.maxX[row];
+  }
+
+  /**
+   * Returns the maxY value of the bounding box of the given row.
+   *
+   * @param row
+   *        The row.
+   *
+   * @return The maxY value of the bounding box.
+   */
+  public float getMaxY(int row) {
+    return this.maxY[row];
+  }
+
+  /**
+   * Returns the width of the bounding box of the given row.
+   *
+   * @param row
+   *        The row.
+   *
+   * @return The width of the bounding box.
+   */
+  public float getWidth(int row) {
+    return this.maxX[row] - this.minX[row];
+  }
+
+  /**
+   * Returns the height of the bounding box of the given row.
+   *
+   * @param row
+   *        The row.
+   *
+   * @return The height of the bounding box.
+   */
+  public float getHeight(int row) {
+    return this.maxY[row] - this.minY[row];
+  }
+
+  /**
+   * Returns the id of the font face of the given row.
+   *
+   * @param row
+   *        The row.
+   *
+   * @return The id of the font face.
+   */
+  public int getFontFaceId(int row) {
+    return this.fontFaceIds[row];
+  }
+
+  /**
+   * Returns the font face of the given row.
+   *
+   * @param row
+   *        The row.
+   *
+   * @return The font face.
+   */
+  public FontFace getFontFace(int row) {
+    return this.fontFaces.get(this.fontFaceIds[row]);
+  }
+
+  /**
+   * Returns the id of the color of the given row.
+   *
+   * @param row
+   *        The row.
+   *
+   * @return The id of the color.
+   */
+  public int getColorId(int row) {
+    return this.colorIds[row];
+  }
+
+  /**
+   * Returns the color of the given row.
+   *
+   * @param row
+   *        The row.
+   *
+   * @return The color.
+   */
+  public Color getColor(int row) {
+    return this.colors.get(this.colorIds[row]);
+  }
+
+  /**
+   * Returns the extraction rank of the given row.
+   *
+   * @param row
+   *        The row.
+   *
+   * @return The extraction rank.
+   */
+  public int getExtractionRank(int row) {
+    return this.extractionRanks[row];
+  }
+
+  /**
+   * Returns the text of the given row (an empty string if the character has no text).
+   *
+   * @param row
+   *        The row.
+   *
+   * @return The text.
+   */
+  public String getText(int row) {
+    return this.text.substring(this.textOffsets[row], this.textOffsets[row + 1]);
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Returns the distinct font faces in this table, indexed by their ids.
+   *
+   * @return The distinct font faces.
+   */
+  public List<FontFace> getFontFaces() {
+    return this.fontFaces;
+  }
+
+  /**
+   * Returns the distinct colors in this table, indexed by their ids.
+   *
+   * @return The distinct colors.
+   */
+  public List<Color> getColors() {
+    return this.colors;
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Returns the id of the given font face, registers the font face if it is not known yet.
+   *
+   * @param fontFace
+   *        The font face.
+   *
+   * @return The id of the font face.
+   */
+  protected int getFontFaceId(FontFace fontFace) {
+    Integer id = this.fontFaceIdsByFontFace.get(fontFace);
+    if (id == null) {
+      id = this.fontFaces.size();
+      this.fontFaces.add(fontFace);
+      this.fontFaceIdsByFontFace.put(fontFace, id);
+    }
+    return id;
+  }
+
+  /**
+   * Returns the id of the given color, registers the color if it is not known yet.
+   *
+   * @param color
+   *        The color.
+   *
+   * @return The id of the color.
+   */
+  protected int getColorId(Color color) {
+    Integer id = this.colorIdsByColor.get(color);
+    if (id == null) {
+      id = this.colors.size();
+      this.colors.add(color);
+      this.colorIdsByColor.put(color, id);
+    }
+    return id;
+  }
+
+  /**
+   * Doubles the capacity of this table.
+   */
+  protected void grow() {
+    int capacity = 2 * this.characters.length;
+    Character[] characters = new Character[capacity];
+    System.arraycopy(this.characters, 0, characters, 0, this.size);
+    this.characters = characters;
+    this.minX = grow(this.minX, capacity);
+    this.minY = grow(this.minY, capacity);
+    this.maxX = grow(this.maxX, capacity);
+    this.maxY = grow(this.maxY, capacity);
+    this.fontFaceIds = grow(this.fontFaceIds, capacity);
+    this.colorIds = grow(this.colorIds, capacity);
+    this.extractionRanks = grow(this.extractionRanks, capacity);
+    this.textOffsets = grow(this.textOffsets, capacity + 1);
+  }
+
+  /**
+   * Copies the given array to a new array with the given capacity.
+   *
+   * @param array
+   *        The array to copy.
+   * @param capacity
+   *        The capacity of the new array.
+   *
+   * @return The new array.
+   */
+  protected static float[] grow(float[] array, int capacity) {
+    float[] grown = new float[capacity];
+    System.arraycopy(array, 0, grown, 0, array.length);
+    return grown;
+  }
+
+  /**
+   * Copies the given array to a new array with the given capacity.
+   *
+   * @param array
+   *        The array to copy.
+   * @param capacity
+   *        The capacity of the new array.
+   *
+   * @return The new array.
+   */
+  protected static int[] grow(int[] array, int capacity) {
+    int[] grown = new int[capacity];
+    System.arraycopy(array, 0, grown, 0, array.length);
+    return grown;
+  }
+}
@@ -4,8 +4,7 @@ package pdfact.core.model;
 // TODO: Clarify, if the rgb values are within the interval [0, 1] or [0, 255].
 
 import java.util.Arrays;
-import org.apache.commons.lang3.builder.EqualsBuilder;
-import org.apache.commons.lang3.builder.HashCodeBuilder;
+import java.util.Objects;
 
 /**
  * A color in a document.
@@ -122,20 +121,24 @@ public class Color extends Resource {
     if (other instanceof Color) {
       Color otherColor = (Color) other;
 
-      EqualsBuilder builder = new EqualsBuilder();
-      builder.append(getName(), otherColor.getName());
-      builder.append(getRGB(), otherColor.getRGB());
-
-      return builder.isEquals();
+      return Objects.equals(getName(), otherColor.getName())
+          && Arrays.equals(getRGB(), otherColor.getRGB());
     }
     return false;
   }
 
   @Override
   public int hashCode() {
-    HashCodeBuilder builder = new HashCodeBuilder();
-    builder.append(getName());
-    builder.append(getRGB());
-    return builder.hashCode();
+    int hashCode = 17;
+    hashCode = 37 * hashCode + Objects.hashCode(getName());
+    int[] rgb = getRGB();
+    if (rgb == null) {
+      hashCode = 37 * hashCode;
+    } else {
+      for (int value : rgb) {
+        hashCode = 37 * hashCode + value;
+      }
+    }
+    return hashCode;
   }
 }
@@ -40,6 +40,23 @@ public class Document implements HasParagraphs {
    */
   protected TextLineStatistic textLineStatistic;
 
+  /**
+   * The session in which the underlying file is loaded only once, or null if each pipe should
+   * load the underlying file on its own.
+   */
+  protected DocumentSession session;
+
+  /**
+   * The selection of the pages to process, or null if all pages should be processed.
+   */
+  protected PageSelection pageSelection;
+
+  /**
+   * The total number of pages in the underlying file (including the pages which are not
+   * selected), or -1 if the file wasn't parsed yet.
+   */
+  protected int numPdfPages = -1;
+
   // ==============================================================================================
 
   /**
@@ -228,6 +245,82 @@ public class Document implements HasParagraphs {
 
   // ==============================================================================================
 
+  /**
+   * Returns the session in which the underlying file is loaded only once.
+   * 
+   * @return The session, or null if each pipe should load the underlying file on its own.
+   */
+  public DocumentSession getSession() {
+    return this.session;
+  }
+
+  /**
+   * Sets the session in which the underlying file is loaded only once. The session is not closed
+   * by the pipes; closing it is the responsibility of the caller.
+   * 
+   * @param session The session, or null if each pipe should load the underlying file on its own.
+   */
+  public void setSession(DocumentSession session) {
+    this.session = session;
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Returns the selection of the pages to process.
+   * 
+   * @return The selection of the pages to process, or null if all pages should be processed.
+   */
+  public PageSelection getPageSelection() {
+    return this.pageSelection;
+  }
+
+  /**
+   * Sets the selection of the pages to process. If a selection is given, only the content
+   * streams of the selected pages are parsed, so only the selected pages are contained in this
+   * document (with their original page numbers) and the statistics of this document are computed
+   * over the selected pages.
+   * 
+   * @param pageSelection The selection of the pages to process, or null if all pages should be
+   *                      processed.
+   */
+  public void setPageSelection(PageSelection pageSelection) {
+    this.pageSelection = pageSelection;
+  }
+
+  /**
+   * Checks if the page with the given number should be processed.
+   * 
+   * @param pageNumber The number of the page to check (1-based).
+   * 
+   * @return True, if there is no selection of pages or if the page is selected; false otherwise.
+   */
+  public boolean isSelectedPage(int pageNumber) {
+    return this.pageSelection == null || this.pageSelection.contains(pageNumber);
+  }
+
+  /**
+   * Returns the total number of pages in the underlying file. In contrast to the number of pages
+   * in this document, this number includes the pages which are not selected.
+   * 
+   * @return The total number of pages in the underlying file, or -1 if the file wasn't parsed
+   *         yet.
+   */
+  public int getNumPdfPages() {
+    return this.numPdfPages;
+  }
+
+  /**
+   * Sets the total number of pages in the underlying file.
+   * 
+   * @param numPdfPages The total number of pages in the underlying file.
+   */
+  public void setNumPdfPages(int numPdfPages) {
+    this.numPdfPages = numPdfPages;
+  }
+
+  // ==============================================================================================
+
   @Override
   public String toString() {
     return "PdfDocument(" + this.path + ")";
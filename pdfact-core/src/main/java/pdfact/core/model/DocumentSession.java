@@ -0,0 +1,118 @@
+package pdfact.core.model;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import org.apache.pdfbox.io.MemoryUsageSetting;
+import org.apache.pdfbox.pdmodel.PDDocument;
+
+/**
+ * A session in which the underlying file of a document is loaded only once, so that the loaded
+ * PDDocument can be shared by all pipes which process the document (for example, the parsing
+ * pipe and the visualization pipe). The PDDocument is loaded on the first request and is kept
+ * alive until the session is closed.
+ *
+ * A session is not thread-safe; PDFBox documents must not be shared between threads.
+ *
+ * @author Claudius Korzen
+ */
+public class DocumentSession implements Closeable {
+  /**
+   * The underlying file of the document.
+   */
+  protected File file;
+
+  /**
+   * The memory settings to pass to PDFBox on loading the file.
+   */
+  protected MemoryUsageSetting memoryUsageSetting;
+
+  /**
+   * The loaded PDDocument, or null if it wasn't loaded yet.
+   */
+  protected PDDocument pdDocument;
+
+  /**
+   * A boolean flag indicating whether or not this session was closed.
+   */
+  protected boolean isClosed;
+
+  // ==============================================================================================
+
+  /**
+   * Creates a new session for the given file.
+   *
+   * @param file The underlying file of the document.
+   */
+  public DocumentSession(File file) {
+    this(file, MemoryUsageSetting.setupMainMemoryOnly());
+  }
+
+  /**
+   * Creates a new session for the given file, which is loaded with the given memory settings.
+   *
+   * @param file               The underlying file of the document.
+   * @param memoryUsageSetting The memory settings to pass to PDFBox on loading the file.
+   */
+  public DocumentSession(File file, MemoryUsageSetting memoryUsageSetting) {
+    this.file = file;
+    this.memoryUsageSetting = memoryUsageSetting;
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Returns the underlying file of the document.
+   *
+   * @return The underlying file of the document.
+   */
+  public File getFile() {
+    return this.file;
+  }
+
+  /**
+   * Returns the loaded PDDocument. Loads the underlying file on the first call of this method.
+   * The returned PDDocument is owned by this session and must not be closed by the caller.
+   *
+   * @return The loaded PDDocument.
+   *
+   * @throws IOException If the file couldn't be loaded or if this session was already closed.
+   */
+  public PDDocument getPdDocument() throws IOException {
+    if (this.isClosed) {
+      throw new IOException("The session of '" + this.file + "' was already closed.");
+    }
+    if (this.pdDocument == null) {
+      this.pdDocument = PDDocument.load(this.file, this.memoryUsageSetting);
+    }
+    return this.pdDocument;
+  }
+
+  /**
+   * Returns true if the PDDocument was already loaded, false otherwise.
+   *
+   * @return True if the PDDocument was already loaded, false otherwise.
+   */
+  public boolean isLoaded() {
+    return this.pdDocument != null;
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Closes the loaded PDDocument, if there is any. Further requests for the PDDocument fail.
+   *
+   * @throws IOException If the PDDocument couldn't be closed.
+   */
+  @Override
+  public void close() throws IOException {
+    this.isClosed = true;
+    if (this.pdDocument != null) {
+      try {
+        this.pdDocument.close();
+      } finally {
+        this.pdDocument = null;
+      }
+    }
+  }
+}
@@ -1,7 +1,6 @@
 package pdfact.core.model;
 
-import org.apache.commons.lang3.builder.EqualsBuilder;
-import org.apache.commons.lang3.builder.HashCodeBuilder;
+import java.util.Objects;
 
 /**
  * A font of text in a document.
@@ -186,24 +185,21 @@ public class Font extends Resource {
     if (other instanceof Font) {
       Font otherFont = (Font) other;
 
-      EqualsBuilder builder = new EqualsBuilder();
-      builder.append(getNormalizedName(), otherFont.getNormalizedName());
-      builder.append(isType3Font(), otherFont.isType3Font());
-      builder.append(isBold(), otherFont.isBold());
-      builder.append(isItalic(), otherFont.isItalic());
-
-      return builder.isEquals();
+      return isType3Font() == otherFont.isType3Font()
+          && isBold() == otherFont.isBold()
+          && isItalic() == otherFont.isItalic()
+          && Objects.equals(getNormalizedName(), otherFont.getNormalizedName());
     }
     return false;
   }
 
   @Override
   public int hashCode() {
-    HashCodeBuilder builder = new HashCodeBuilder();
-    builder.append(getNormalizedName());
-    builder.append(isType3Font());
-    builder.append(isBold());
-    builder.append(isItalic());
-    return builder.hashCode();
+    int hashCode = 17;
+    hashCode = 37 * hashCode + Objects.hashCode(getNormalizedName());
+    hashCode = 37 * hashCode + (isType3Font() ? 0 : 1);
+    hashCode = 37 * hashCode + (isBold() ? 0 : 1);
+    hashCode = 37 * hashCode + (isItalic() ? 0 : 1);
+    return hashCode;
   }
 }
@@ -1,7 +1,6 @@
 package pdfact.core.model;
 
-import org.apache.commons.lang3.builder.EqualsBuilder;
-import org.apache.commons.lang3.builder.HashCodeBuilder;
+import java.util.Objects;
 
 /**
  * A font face of text in a document, that is: a pair consisting of a font and a
@@ -85,22 +84,20 @@ public class FontFace {
   @Override
   public boolean equals(Object other) {
     if (other instanceof FontFace) {
-      FontFace otherCharacter = (FontFace) other;
+      FontFace otherFontFace = (FontFace) other;
 
-      EqualsBuilder builder = new EqualsBuilder();
-      builder.append(getFont(), otherCharacter.getFont());
-      builder.append(getFontSize(), otherCharacter.getFontSize());
-
-      return builder.isEquals();
+      float otherFontSize = otherFontFace.getFontSize();
+      return Float.floatToIntBits(getFontSize()) == Float.floatToIntBits(otherFontSize)
+          && Objects.equals(getFont(), otherFontFace.getFont());
     }
     return false;
   }
 
   @Override
   public int hashCode() {
-    HashCodeBuilder builder = new HashCodeBuilder();
-    builder.append(getFont());
-    builder.append(getFontSize());
-    return builder.hashCode();
+    int hashCode = 17;
+    hashCode = 37 * hashCode + Objects.hashCode(getFont());
+    hashCode = 37 * hashCode + Float.floatToIntBits(getFontSize());
+    return hashCode;
   }
 }
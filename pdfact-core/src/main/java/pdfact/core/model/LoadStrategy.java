@@ -0,0 +1,130 @@
+package pdfact.core.model;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import org.apache.pdfbox.io.MemoryUsageSetting;
+
+/**
+ * An enumeration of the available strategies to load a PDF file, that is: where the data of the
+ * streams of the PDF file (for example, the content streams, fonts and images) are buffered while
+ * the PDF file is processed.
+ *
+ * @author Claudius Korzen
+ */
+public enum LoadStrategy {
+  /**
+   * The strategy to buffer all data in main memory. This is the fastest strategy, but the heap
+   * must be large enough to hold the streams of the whole PDF file.
+   */
+  MAIN_MEMORY("main-memory"),
+
+  /**
+   * The strategy to buffer the data in main memory up to a given number of bytes and to buffer
+   * all further data in a temporary file.
+   */
+  MIXED("mixed"),
+
+  /**
+   * The strategy to buffer all data in a temporary file, such that the heap needed to process a
+   * PDF file doesn't depend on the size of its streams.
+   */
+  TEMP_FILE("temp-file");
+
+  // ==============================================================================================
+
+  /**
+   * The name of this strategy.
+   */
+  protected String name;
+
+  /**
+   * The strategies per names.
+   */
+  protected static final Map<String, LoadStrategy> STRATEGIES;
+
+  static {
+    STRATEGIES = new LinkedHashMap<>();
+
+    // Fill the map of strategies per name.
+    for (LoadStrategy strategy : values()) {
+      STRATEGIES.put(strategy.getName(), strategy);
+    }
+  }
+
+  /**
+   * Creates a new load strategy.
+   *
+   * @param name The name of the strategy.
+   */
+  private LoadStrategy(String name) {
+    this.name = name;
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Returns the name of this strategy.
+   *
+   * @return The name of this strategy.
+   */
+  public String getName() {
+    return this.name;
+  }
+
+  /**
+   * Returns the memory settings to pass to PDFBox on loading a PDF file with this strategy.
+   *
+   * @param maxMainMemoryBytes The maximum number of bytes to buffer in main memory. Only
+   *                           considered by the strategy {@link #MIXED}.
+   *
+   * @return The memory settings to pass to PDFBox.
+   */
+  public MemoryUsageSetting toMemoryUsageSetting(long maxMainMemoryBytes) {
+    switch (this) {
+      case MIXED:
+        return MemoryUsageSetting.setupMixed(maxMainMemoryBytes);
+      case TEMP_FILE:
+        return MemoryUsageSetting.setupTempFileOnly();
+      case MAIN_MEMORY:
+      default:
+        return MemoryUsageSetting.setupMainMemoryOnly();
+    }
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Returns the names of all available strategies.
+   *
+   * @return The names of all available strategies as a set.
+   */
+  public static Set<String> getNames() {
+    return STRATEGIES.keySet();
+  }
+
+  /**
+   * Checks if the given name is a valid name of an existing strategy.
+   *
+   * @param name The name to check.
+   *
+   * @return True, if the given name is a valid name of an existing strategy.
+   */
+  public static boolean isValidLoadStrategy(String name) {
+    return STRATEGIES.containsKey(name.toLowerCase());
+  }
+
+  /**
+   * Returns the strategy that is associated with the given name.
+   *
+   * @param name The name of the strategy to fetch.
+   *
+   * @return The strategy that is associated with the given name.
+   */
+  public static LoadStrategy fromString(String name) {
+    if (!isValidLoadStrategy(name)) {
+      throw new IllegalArgumentException(name + " isn't a valid load strategy.");
+    }
+    return STRATEGIES.get(name.toLowerCase());
+  }
+}
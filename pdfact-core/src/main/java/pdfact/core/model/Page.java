@@ -18,16 +18,31 @@ public class Page implements HasCharacters, HasFigures, HasShapes, HasTextAreas,
    */
   protected ElementList<Character> characters;
 
+  /**
+   * The spatial index over the characters of this page (created on demand).
+   */
+  protected SpatialIndex<Character> characterIndex;
+
   /**
    * The figures of this page.
    */
   protected ElementList<Figure> figures;
 
+  /**
+   * The spatial index over the figures of this page (created on demand).
+   */
+  protected SpatialIndex<Figure> figureIndex;
+
   /**
    * The shapes of this page.
    */
   protected ElementList<Shape> shapes;
 
+  /**
+   * The spatial index over the shapes of this page (created on demand).
+   */
+  protected SpatialIndex<Shape> shapeIndex;
+
   /**
    * The text areas of this page.
    */
@@ -38,11 +53,21 @@ public class Page implements HasCharacters, HasFigures, HasShapes, HasTextAreas,
    */
   protected ElementList<TextLine> textLines;
 
+  /**
+   * The spatial index over the text lines of this page (created on demand).
+   */
+  protected SpatialIndex<TextLine> textLineIndex;
+
   /**
    * The text blocks of this page.
    */
   protected ElementList<TextBlock> textBlocks;
 
+  /**
+   * The spatial index over the text blocks of this page (created on demand).
+   */
+  protected SpatialIndex<TextBlock> textBlockIndex;
+
   /**
    * The number of this page in the document.
    */
@@ -112,16 +137,43 @@ public class Page implements HasCharacters, HasFigures, HasShapes, HasTextAreas,
   @Override
   public void setCharacters(ElementList<Character> characters) {
     this.characters = characters;
+    this.characterIndex = null;
   }
 
   @Override
   public void addCharacters(ElementList<Character> characters) {
     this.characters.addAll(characters);
+    this.characterIndex = null;
   }
 
   @Override
   public void addCharacter(Character character) {
     this.characters.add(character);
+    this.characterIndex = null;
+  }
+
+  /**
+   * Returns the spatial index over the characters of this page. The index is created on the
+   * first call and reused until the characters are set or added via this page. Code that modifies
+   * the characters in place must reset the index via {@link #setCharacterIndex(SpatialIndex)}.
+   * 
+   * @return The spatial index over the characters of this page.
+   */
+  public SpatialIndex<Character> getCharacterIndex() {
+    if (this.characterIndex == null) {
+      this.characterIndex = new SpatialIndex<>(this.characters);
+    }
+    return this.characterIndex;
+  }
+
+  /**
+   * Sets the spatial index over the characters of this page.
+   * 
+   * @param index
+   *        The spatial index over the characters, or null to recreate the index on demand.
+   */
+  public void setCharacterIndex(SpatialIndex<Character> index) {
+    this.characterIndex = index;
   }
 
   // ==============================================================================================
@@ -144,16 +196,42 @@ public class Page implements HasCharacters, HasFigures, HasShapes, HasTextAreas,
   @Override
   public void setFigures(ElementList<Figure> figures) {
     this.figures = figures;
+    this.figureIndex = null;
   }
 
   @Override
   public void addFigures(ElementList<Figure> figures) {
     this.figures.addAll(figures);
+    this.figureIndex = null;
   }
 
   @Override
   public void addFigure(Figure figure) {
     this.figures.add(figure);
+    this.figureIndex = null;
+  }
+
+  /**
+   * Returns the spatial index over the figures of this page, created on the first call and reused
+   * until the figures are set or added via this page.
+   * 
+   * @return The spatial index over the figures of this page.
+   */
+  public SpatialIndex<Figure> getFigureIndex() {
+    if (this.figureIndex == null) {
+      this.figureIndex = new SpatialIndex<>(this.figures);
+    }
+    return this.figureIndex;
+  }
+
+  /**
+   * Sets the spatial index over the figures of this page.
+   * 
+   * @param index
+   *        The spatial index over the figures, or null to recreate the index on demand.
+   */
+  public void setFigureIndex(SpatialIndex<Figure> index) {
+    this.figureIndex = index;
   }
 
   // ==============================================================================================
@@ -176,16 +254,42 @@ public class Page implements HasCharacters, HasFigures, HasShapes, HasTextAreas,
   @Override
   public void setShapes(ElementList<Shape> shapes) {
     this.shapes = shapes;
+    this.shapeIndex = null;
   }
 
   @Override
   public void addShapes(ElementList<Shape> shapes) {
     this.shapes.addAll(shapes);
+    this.shapeIndex = null;
   }
 
   @Override
   public void addShape(Shape shape) {
     this.shapes.add(shape);
+    this.shapeIndex = null;
+  }
+
+  /**
+   * Returns the spatial index over the shapes of this page, created on the first call and reused
+   * until the shapes are set or added via this page.
+   * 
+   * @return The spatial index over the shapes of this page.
+   */
+  public SpatialIndex<Shape> getShapeIndex() {
+    if (this.shapeIndex == null) {
+      this.shapeIndex = new SpatialIndex<>(this.shapes);
+    }
+    return this.shapeIndex;
+  }
+
+  /**
+   * Sets the spatial index over the shapes of this page.
+   * 
+   * @param index
+   *        The spatial index over the shapes, or null to recreate the index on demand.
+   */
+  public void setShapeIndex(SpatialIndex<Shape> index) {
+    this.shapeIndex = index;
   }
 
   // ==============================================================================================
@@ -240,16 +344,42 @@ public class Page implements HasCharacters, HasFigures, HasShapes, HasTextAreas,
   @Override
   public void setTextLines(ElementList<TextLine> textLines) {
     this.textLines = textLines;
+    this.textLineIndex = null;
   }
 
   @Override
   public void addTextLines(ElementList<TextLine> textLines) {
     this.textLines.addAll(textLines);
+    this.textLineIndex = null;
   }
 
   @Override
   public void addTextLine(TextLine textLine) {
     this.textLines.add(textLine);
+    this.textLineIndex = null;
+  }
+
+  /**
+   * Returns the spatial index over the text lines of this page, created on the first call and
+   * reused until the text lines are set or added via this page.
+   * 
+   * @return The spatial index over the text lines of this page.
+   */
+  public SpatialIndex<TextLine> getTextLineIndex() {
+    if (this.textLineIndex == null) {
+      this.textLineIndex = new SpatialIndex<>(this.textLines);
+    }
+    return this.textLineIndex;
+  }
+
+  /**
+   * Sets the spatial index over the text lines of this page.
+   * 
+   * @param index
+   *        The spatial index over the text lines, or null to recreate the index on demand.
+   */
+  public void setTextLineIndex(SpatialIndex<TextLine> index) {
+    this.textLineIndex = index;
   }
 
   // ==============================================================================================
@@ -272,16 +402,42 @@ public class Page implements HasCharacters, HasFigures, HasShapes, HasTextAreas,
   @Override
   public void setTextBlocks(ElementList<TextBlock> blocks) {
     this.textBlocks = blocks;
+    this.textBlockIndex = null;
   }
 
   @Override
   public void addTextBlocks(ElementList<TextBlock> blocks) {
     this.textBlocks.addAll(blocks);
+    this.textBlockIndex = null;
   }
 
   @Override
   public void addTextBlock(TextBlock block) {
     this.textBlocks.add(block);
+    this.textBlockIndex = null;
+  }
+
+  /**
+   * Returns the spatial index over the text blocks of this page, created on the first call and
+   * reused until the text blocks are set or added via this page.
+   * 
+   * @return The spatial index over the text blocks of this page.
+   */
+  public SpatialIndex<TextBlock> getTextBlockIndex() {
+    if (this.textBlockIndex == null) {
+      this.textBlockIndex = new SpatialIndex<>(this.textBlocks);
+    }
+    return this.textBlockIndex;
+  }
+
+  /**
+   * Sets the spatial index over the text blocks of this page.
+   * 
+   * @param index
+   *        The spatial index over the text blocks, or null to recreate the index on demand.
+   */
+  public void setTextBlockIndex(SpatialIndex<TextBlock> index) {
+    this.textBlockIndex = index;
   }
 
   // ==============================================================================================
@@ -0,0 +1,165 @@
+package pdfact.core.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A selection of pages of a document, given by a list of page ranges, for example "1-3,10" (the
+ * pages 1, 2, 3 and 10) or "5-" (all pages from page 5 on). The page numbers are 1-based.
+ *
+ * @author Claudius Korzen
+ */
+public class PageSelection {
+  /**
+   * The delimiter between the ranges in the string representation of a selection.
+   */
+  protected static final String RANGE_DELIMITER = ",";
+
+  /**
+   * The delimiter between the first and the last page number of a range.
+   */
+  protected static final String PAGE_NUMBER_DELIMITER = "-";
+
+  /**
+   * The first page numbers of the ranges.
+   */
+  protected int[] firstPageNumbers;
+
+  /**
+   * The last page numbers of the ranges (Integer.MAX_VALUE for ranges open to the end).
+   */
+  protected int[] lastPageNumbers;
+
+  // ==============================================================================================
+
+  /**
+   * Creates a new selection of the pages in the range from the given first page number to the
+   * given last page number (both inclusive).
+   *
+   * @param firstPageNumber The first page number of the range.
+   * @param lastPageNumber  The last page number of the range.
+   */
+  public PageSelection(int firstPageNumber, int lastPageNumber) {
+    this(new int[] { firstPageNumber }, new int[] { lastPageNumber });
+  }
+
+  /**
+   * Creates a new selection of the pages in the given ranges.
+   *
+   * @param firstPageNumbers The first page numbers of the ranges.
+   * @param lastPageNumbers  The last page numbers of the ranges (both inclusive).
+   */
+  protected PageSelection(int[] firstPageNumbers, int[] lastPageNumbers) {
+    for (int i = 0; i < firstPageNumbers.length; i++) {
+      if (firstPageNumbers[i] < 1 || lastPageNumbers[i] < firstPageNumbers[i]) {
+        throw new IllegalArgumentException("Invalid page range: " + firstPageNumbers[i]
+            + PAGE_NUMBER_DELIMITER + lastPageNumbers[i] + ".");
+      }
+    }
+    this.firstPageNumbers = firstPageNumbers;
+    this.lastPageNumbers = lastPageNumbers;
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Checks if the page with the given number is selected.
+   *
+   * @param pageNumber The number of the page to check (1-based).
+   *
+   * @return True, if the page with the given number is selected; false otherwise.
+   */
+  public boolean contains(int pageNumber) {
+    for (int i = 0; i < this.firstPageNumbers.length; i++) {
+      if (pageNumber >= this.firstPageNumbers[i] && pageNumber <= this.lastPageNumbers[i]) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Checks if any of the pages of a document with the given number of pages is selected.
+   *
+   * @param numPages The number of pages of the document.
+   *
+   * @return True, if at least one of the pages 1 to numPages is selected; false otherwise.
+   */
+  public boolean containsAny(int numPages) {
+    for (int i = 0; i < this.firstPageNumbers.length; i++) {
+      if (this.firstPageNumbers[i] <= numPages) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Returns the selection given by the given string, for example "1-3,10" or "5-".
+   *
+   * @param str The string to parse.
+   *
+   * @return The selection given by the given string.
+   *
+   * @throws IllegalArgumentException If the given string isn't a valid selection.
+   */
+  public static PageSelection fromString(String str) {
+    if (str == null || str.trim().isEmpty()) {
+      throw new IllegalArgumentException("No page range given.");
+    }
+
+    List<int[]> ranges = new ArrayList<>();
+    for (String range : str.split(RANGE_DELIMITER)) {
+      range = range.trim();
+      try {
+        int index = range.indexOf(PAGE_NUMBER_DELIMITER);
+        if (index < 0) {
+          // A single page, e.g. "10".
+          int pageNumber = Integer.parseInt(range);
+          ranges.add(new int[] { pageNumber, pageNumber });
+        } else if (index == range.length() - 1) {
+          // A range open to the end, e.g. "5-".
+          int firstPageNumber = Integer.parseInt(range.substring(0, index).trim());
+          ranges.add(new int[] { firstPageNumber, Integer.MAX_VALUE });
+        } else {
+          // A range, e.g. "1-3".
+          int firstPageNumber = Integer.parseInt(range.substring(0, index).trim());
+          int lastPageNumber = Integer.parseInt(range.substring(index + 1).trim());
+          ranges.add(new int[] { firstPageNumber, lastPageNumber });
+        }
+      } catch (NumberFormatException e) {
+        throw new IllegalArgumentException("Invalid page range: \"" + range + "\".", e);
+      }
+    }
+
+    int[] firstPageNumbers = new int[ranges.size()];
+    int[] lastPageNumbers = new int[ranges.size()];
+    for (int i = 0; i < ranges.size(); i++) {
+      firstPageNumbers[i] = ranges.get(i)[0];
+      lastPageNumbers[i] = ranges.get(i)[1];
+    }
+    return new PageSelection(firstPageNumbers, lastPageNumbers);
+  }
+
+  // ==============================================================================================
+
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < this.firstPageNumbers.length; i++) {
+      if (i > 0) {
+        sb.append(RANGE_DELIMITER);
+      }
+      sb.append(this.firstPageNumbers[i]);
+      if (this.lastPageNumbers[i] != this.firstPageNumbers[i]) {
+        sb.append(PAGE_NUMBER_DELIMITER);
+        if (this.lastPageNumbers[i] != Integer.MAX_VALUE) {
+          sb.append(this.lastPageNumbers[i]);
+        }
+      }
+    }
+    return sb.toString();
+  }
+}
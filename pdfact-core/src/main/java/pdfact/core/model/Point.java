@@ -1,8 +1,5 @@
 package pdfact.core.model;
 
-import org.apache.commons.lang3.builder.EqualsBuilder;
-import org.apache.commons.lang3.builder.HashCodeBuilder;
-
 /**
  * A single, two-dimensional point.
  * 
@@ -101,20 +98,17 @@ public class Point {
     if (other instanceof Point) {
       Point otherPoint = (Point) other;
 
-      EqualsBuilder builder = new EqualsBuilder();
-      builder.append(getX(), otherPoint.getX());
-      builder.append(getY(), otherPoint.getY());
-
-      return builder.isEquals();
+      return Float.floatToIntBits(getX()) == Float.floatToIntBits(otherPoint.getX())
+          && Float.floatToIntBits(getY()) == Float.floatToIntBits(otherPoint.getY());
     }
     return false;
   }
 
   @Override
   public int hashCode() {
-    HashCodeBuilder builder = new HashCodeBuilder();
-    builder.append(getX());
-    builder.append(getY());
-    return builder.hashCode();
+    int hashCode = 17;
+    hashCode = 37 * hashCode + Float.floatToIntBits(getX());
+    hashCode = 37 * hashCode + Float.floatToIntBits(getY());
+    return hashCode;
   }
 }
@@ -1,7 +1,6 @@
 package pdfact.core.model;
 
-import org.apache.commons.lang3.builder.EqualsBuilder;
-import org.apache.commons.lang3.builder.HashCodeBuilder;
+import java.util.Objects;
 
 /**
  * A position in a document (a pair of a page and a bounding box, represented by
@@ -122,22 +121,19 @@ public class Position {
     if (other instanceof Position) {
       Position otherPosition = (Position) other;
 
-      EqualsBuilder build = new EqualsBuilder();
-      build.append(getRectangle(), otherPosition.getRectangle());
       // Using getPage() here results in an infinite loop.
-      build.append(getPageNumber(), otherPosition.getPageNumber());
-
-      return build.isEquals();
+      return getPageNumber() == otherPosition.getPageNumber()
+          && Objects.equals(getRectangle(), otherPosition.getRectangle());
     }
     return false;
   }
 
   @Override
   public int hashCode() {
-    HashCodeBuilder builder = new HashCodeBuilder();
-    builder.append(getRectangle());
+    int hashCode = 17;
+    hashCode = 37 * hashCode + Objects.hashCode(getRectangle());
     // Using getPage() here results in an infinite loop.
-    builder.append(getPageNumber());
-    return builder.hashCode();
+    hashCode = 37 * hashCode + getPageNumber();
+    return hashCode;
   }
 }
@@ -0,0 +1,98 @@
+package pdfact.core.model;
+
+/**
+ * An enumeration of the stages of the core pipeline, in the order in which they are processed.
+ * Each stage requires all stages before it, so that processing a PDF document up to a given stage
+ * produces the same elements as processing the complete pipeline, except for the elements of the
+ * later stages.
+ *
+ * @author Claudius Korzen
+ */
+public enum ProcessingStage {
+  /**
+   * The stage that extracts the characters, shapes and figures from a PDF document, translates
+   * the characters (diacritics, ligatures, standardization) and filters all of them.
+   */
+  CHARACTERS("characters"),
+
+  /**
+   * The stage that tokenizes the pages into text areas.
+   */
+  TEXT_AREAS("text-areas"),
+
+  /**
+   * The stage that tokenizes the text areas into text lines.
+   */
+  TEXT_LINES("text-lines"),
+
+  /**
+   * The stage that tokenizes the text lines into words.
+   */
+  WORDS("words"),
+
+  /**
+   * The stage that tokenizes the text lines into text blocks.
+   */
+  TEXT_BLOCKS("text-blocks"),
+
+  /**
+   * The stage that identifies the semantic roles of the text blocks.
+   */
+  SEMANTIC_ROLES("semantic-roles"),
+
+  /**
+   * The stage that tokenizes the text blocks into paragraphs and dehyphenates the words of the
+   * paragraphs. This is the last stage of the core pipeline.
+   */
+  PARAGRAPHS("paragraphs");
+
+  // ==============================================================================================
+
+  /**
+   * The name of this stage.
+   */
+  protected String name;
+
+  /**
+   * Creates a new processing stage.
+   *
+   * @param name The name of the stage.
+   */
+  private ProcessingStage(String name) {
+    this.name = name;
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Returns the name of this stage.
+   *
+   * @return The name of this stage.
+   */
+  public String getName() {
+    return this.name;
+  }
+
+  /**
+   * Checks if this stage is processed when a PDF document is processed up to the given stage.
+   *
+   * @param lastStage The last stage to process.
+   *
+   * @return True, if this stage is the given stage or is processed before it; false otherwise.
+   */
+  public boolean isProcessedUpTo(ProcessingStage lastStage) {
+    return compareTo(lastStage) <= 0;
+  }
+
+  /**
+   * Returns the later one of the two given stages.
+   *
+   * @param stage1 The first stage.
+   * @param stage2 The second stage.
+   *
+   * @return The stage which is processed later.
+   */
+  public static ProcessingStage max(ProcessingStage stage1, ProcessingStage stage2) {
+    return stage1.compareTo(stage2) >= 0 ? stage1 : stage2;
+  }
+}
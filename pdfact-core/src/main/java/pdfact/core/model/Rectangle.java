@@ -1,8 +1,5 @@
 package pdfact.core.model;
 
-import org.apache.commons.lang3.builder.EqualsBuilder;
-import org.apache.commons.lang3.builder.HashCodeBuilder;
-
 /**
  * A simple (geometric) rectangle.
  * 
@@ -594,24 +591,24 @@ public class Rectangle {
     if (other instanceof Rectangle) {
       Rectangle otherRectangle = (Rectangle) other;
 
-      EqualsBuilder builder = new EqualsBuilder();
-      builder.append(getMinX(), otherRectangle.getMinX());
-      builder.append(getMinY(), otherRectangle.getMinY());
-      builder.append(getMaxX(), otherRectangle.getMaxX());
-      builder.append(getMaxY(), otherRectangle.getMaxY());
-
-      return builder.isEquals();
+      // Compare the coordinates by their bit patterns, as Float.equals() does.
+      return Float.floatToIntBits(getMinX()) == Float.floatToIntBits(otherRectangle.getMinX())
+          && Float.floatToIntBits(getMinY()) == Float.floatToIntBits(otherRectangle.getMinY())
+          && Float.floatToIntBits(getMaxX()) == Float.floatToIntBits(otherRectangle.getMaxX())
+          && Float.floatToIntBits(getMaxY()) == Float.floatToIntBits(otherRectangle.getMaxY());
     }
     return false;
   }
 
   @Override
   public int hashCode() {
-    HashCodeBuilder builder = new HashCodeBuilder();
-    builder.append(getMinX());
-    builder.append(getMinY());
-    builder.append(getMaxX());
-    builder.append(getMaxY());
-    return builder.hashCode();
+    // Combine the values with the initial value 17 and the multiplier 37 (the scheme of
+    // HashCodeBuilder), without boxing the values.
+    int hashCode = 17;
+    hashCode = 37 * hashCode + Float.floatToIntBits(getMinX());
+    hashCode = 37 * hashCode + Float.floatToIntBits(getMinY());
+    hashCode = 37 * hashCode + Float.floatToIntBits(getMaxX());
+    hashCode = 37 * hashCode + Float.floatToIntBits(getMaxY());
+    return hashCode;
   }
 }
\ No newline at end of file
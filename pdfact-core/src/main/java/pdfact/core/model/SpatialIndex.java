@@ -0,0 +1,487 @@
+package pdfact.core.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import pdfact.core.util.list.ElementList;
+
+/**
+ * A spatial index over the bounding boxes of elements in a page, for answering geometric queries
+ * (which elements overlap a rectangle, which elements lie within a rectangle, which element is
+ * nearest to a point or to another element) without scanning all elements.
+ *
+ * The index is a uniform grid over the union of the bounding boxes, with a few elements per cell
+ * on average. Each element is registered in all cells its bounding box overlaps; the cells are
+ * stored in a compressed layout (the element indices of all cells in a single int array). The
+ * coordinates of the bounding boxes are copied on creating the index, so the index doesn't
+ * reflect bounding boxes modified afterwards. Elements without a bounding box are not indexed.
+ *
+ * The results of the queries are given in the order of the elements passed to the index. An
+ * index is not thread-safe, since the queries share some internal buffers.
+ *
+ * @param <T> The type of the indexed elements.
+ *
+ * @author Claudius Korzen
+ */
+public class SpatialIndex<T extends Element & HasPosition> {
+  /**
+   * The average number of elements per cell the grid is sized for.
+   */
+  protected static final int NUM_ELEMENTS_PER_CELL = 4;
+
+  /**
+   * The maximum number of columns and rows of the grid.
+   */
+  protected static final int MAX_NUM_CELLS_PER_DIMENSION = 256;
+
+  /**
+   * The indexed elements.
+   */
+  protected List<T> elements;
+
+  /**
+   * The minX values of the bounding boxes, per element.
+   */
+  protected float[] minX;
+
+  /**
+   * The minY values of the bounding boxes, per element.
+   */
+  protected float[] minY;
+
+  /**
+   * The maxX values of the bounding boxes, per element.
+   */
+  protected float[] maxX;
+
+  /**
+   * The maxY values of the bounding boxes, per element.
+   */
+  protected float[] maxY;
+
+  /**
+   * The minX value of the area covered by the grid.
+   */
+  protected float gridMinX;
+
+  /**
+   * The minY value of the area covered by the grid.
+   */
+  protected float gridMinY;
+
+  /**
+   * The width of a cell.
+   */
+  protected float cellWidth;
+
+  /**
+   * The height of a cell.
+   */
+  protected float cellHeight;
+
+  /**
+   * The number of columns of the grid.
+   */
+  protected int numColumns;
+
+  /**
+   * The number of rows of the grid.
+   */
+  protected int numRows;
+
+  /**
+   * The start offsets of the cells in {@link #cellElements}, per cell (in row-major order), plus
+   * the end offset of the last cell.
+   */
+  protected int[] cellOffsets;
+
+  /**
+   * The indices of the elements registered in the cells, cell by cell.
+   */
+  protected int[] cellElements;
+
+  /**
+   * The number of the query in which an element was last visited, per element. Used to visit an
+   * element registered in multiple cells only once per query.
+   */
+  protected int[] visits;
+
+  /**
+   * The number of the current query.
+   */
+  protected int query;
+
+  /**
+   * A buffer for the indices of the elements found by a query.
+   */
+  protected int[] found;
+
+  // ==============================================================================================
+
+  /**
+   * Creates a new spatial index over the given elements.
+   *
+   * @param elements The elements to index.
+   */
+  public SpatialIndex(List<T> elements) {
+    this.elements = new ArrayList<>();
+    if (elements != null) {
+      for (T element : elements) {
+        if (element != null && element.getPosition() != null
+            && element.getPosition().getRectangle() != null) {
+          this.elements.add(element);
+        }
+      }
+    }
+
+    int size = this.elements.size();
+    this.minX = new float[size];
+    this.minY = new float[size];
+    this.maxX = new float[size];
+    this.maxY = new float[size];
+    this.visits = new int[size];
+    this.found = new int[size];
+
+    float unionMinX = Float.MAX_VALUE;
+    float unionMinY = Float.MAX_VALUE;
+    float unionMaxX = -Float.MAX_VALUE;
+    float unionMaxY = -Float.MAX_VALUE;
+    for (int i = 0; i < size; i++) {
+      Rectangle rect = this.elements.get(i).getPosition().getRectangle();
+      this.minX[i] = rect.getMinX();
+      this.minY[i] = rect.getMinY();
+      this.maxX[i] = rect.getMaxX();
+      this.maxY[i] = rect.getMaxY();
+      unionMinX = Math.min(unionMinX, this.minX[i]);
+      unionMinY = Math.min(unionMinY, this.minY[i]);
+      unionMaxX = Math.max(unionMaxX, this.maxX[i]);
+      unionMaxY = Math.max(unionMaxY, this.maxY[i]);
+    }
+
+    createGrid(unionMinX, unionMinY, unionMaxX, unionMaxY);
+  }
+
+  /**
+   * Creates the grid over the given area and registers the elements in the cells.
+   *
+   * @param areaMinX The minX value of the area to cover.
+   * @param areaMinY The minY value of the area to cover.
+   * @param areaMaxX The maxX value of the area to cover.
+   * @param areaMaxY The maxY value of the area to cover.
+   */
+  protected void createGrid(float areaMinX, float areaMinY, float areaMaxX, float areaMaxY) {
+    int size = this.elements.size();
+    float width = size > 0 ? areaMaxX - areaMinX : 0;
+    float height = size > 0 ? areaMaxY - areaMinY : 0;
+
+    // Choose the number of columns and rows such that the cells are roughly square.
+    int numCells = Math.max(1, size / NUM_ELEMENTS_PER_CELL);
+    int numColumns = 1;
+    int numRows = 1;
+    if (width > 0 && height > 0) {
+      double cellSize = Math.sqrt((double) width * height / numCells);
+      numColumns = (int) Math.ceil(width / cellSize);
+      numRows = (int) Math.ceil(height / cellSize);
+    } else if (width > 0) {
+      numColumns = numCells;
+    } else if (height > 0) {
+      numRows = numCells;
+    }
+    this.numColumns = Math.max(1, Math.min(numColumns, MAX_NUM_CELLS_PER_DIMENSION));
+    this.numRows = Math.max(1, Math.min(numRows, MAX_NUM_CELLS_PER_DIMENSION));
+    this.gridMinX = size > 0 ? areaMinX : 0;
+    this.gridMinY = size > 0 ? areaMinY : 0;
+    this.cellWidth = width > 0 ? width / this.numColumns : 0;
+    this.cellHeight = height > 0 ? height / this.numRows : 0;
+
+    // Count the elements per cell, then compute the offsets of the cells and register the
+    // elements.
+    this.cellOffsets = new int[this.numColumns * this.numRows + 1];
+    for (int i = 0; i < size; i++) {
+      int minColumn = getColumn(this.minX[i]);
+      int maxColumn = getColumn(this.maxX[i]);
+      int minRow = getRow(this.minY[i]);
+      int maxRow = getRow(this.maxY[i]);
+      for (int row = minRow; row <= maxRow; row++) {
+        for (int column = minColumn; column <= maxColumn; column++) {
+          this.cellOffsets[row * this.numColumns + column + 1]++;
+        }
+      }
+    }
+    for (int cell = 1; cell < this.cellOffsets.length; cell++) {
+      this.cellOffsets[cell] += this.cellOffsets[cell - 1];
+    }
+    this.cellElements = new int[this.cellOffsets[this.cellOffsets.length - 1]];
+    int[] next = Arrays.copyOf(this.cellOffsets, this.cellOffsets.length - 1);
+    for (int i = 0; i < size; i++) {
+      int minColumn = getColumn(this.minX[i]);
+      int maxColumn = getColumn(this.maxX[i]);
+      int minRow = getRow(this.minY[i]);
+      int maxRow = getRow(this.maxY[i]);
+      for (int row = minRow; row <= maxRow; row++) {
+        for (int column = minColumn; column <= maxColumn; column++) {
+          this.cellElements[next[row * this.numColumns + column]++] = i;
+        }
+      }
+    }
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Returns the number of indexed elements.
+   *
+   * @return The number of indexed elements.
+   */
+  public int size() {
+    return this.elements.size();
+  }
+
+  /**
+   * Returns the elements whose bounding boxes overlap the given rectangle, in the same sense as
+   * {@link Rectangle#overlaps(Rectangle)} (touching bounding boxes overlap).
+   *
+   * @param rect The rectangle.
+   *
+   * @return The elements whose bounding boxes overlap the given rectangle.
+   */
+  public ElementList<T> getOverlapping(Rectangle rect) {
+    return query(rect, false);
+  }
+
+  /**
+   * Returns the elements whose bounding boxes are contained in the given rectangle, in the same
+   * sense as {@link Rectangle#contains(Rectangle)}.
+   *
+   * @param rect The rectangle.
+   *
+   * @return The elements whose bounding boxes are contained in the given rectangle.
+   */
+  public ElementList<T> getContained(Rectangle rect) {
+    return query(rect, true);
+  }
+
+  /**
+   * Returns the element whose bounding box is nearest to the given point (with distance 0 if the
+   * point lies in the bounding box). On ties, the element given first to the index is returned.
+   *
+   * @param point The point.
+   *
+   * @return The nearest element, or null if the index is empty.
+   */
+  public T getNearest(Point point) {
+    if (point == null) {
+      return null;
+    }
+    return getNearest(point.getX(), point.getY(), point.getX(), point.getY(), null);
+  }
+
+  /**
+   * Returns the element, other than the given element, whose bounding box is nearest to the
+   * bounding box of the given element (with distance 0 if the bounding boxes overlap). On ties,
+   * the element given first to the index is returned.
+   *
+   * @param element The element.
+   *
+   * @return The nearest other element, or null if there is no other element.
+   */
+  public T getNearest(T element) {
+    if (element == null || element.getPosition() == null) {
+      return null;
+    }
+    Rectangle rect = element.getPosition().getRectangle();
+    if (rect == null) {
+      return null;
+    }
+    return getNearest(rect.getMinX(), rect.getMinY(), rect.getMaxX(), rect.getMaxY(), element);
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Returns the elements whose bounding boxes overlap (or are contained in) the given rectangle.
+   *
+   * @param rect        The rectangle.
+   * @param isContained True, if the bounding boxes must be contained in the rectangle; false, if
+   *                    they must overlap the rectangle.
+   *
+   * @return The elements found, in the order of the elements given to the index.
+   */
+  protected ElementList<T> query(Rectangle rect, boolean isContained) {
+    ElementList<T> result = new ElementList<>();
+    if (rect == null || this.elements.isEmpty()) {
+      return result;
+    }
+    float rMinX = rect.getMinX();
+    float rMinY = rect.getMinY();
+    float rMaxX = rect.getMaxX();
+    float rMaxY = rect.getMaxY();
+
+    int query = nextQuery();
+    int numFound = 0;
+    int minColumn = getColumn(rMinX);
+    int maxColumn = getColumn(rMaxX);
+    int minRow = getRow(rMinY);
+    int maxRow = getRow(rMaxY);
+    for (int row = minRow; row <= maxRow; row++) {
+      for (int column = minColumn; column <= maxColumn; column++) {
+        int cell = row * this.numColumns + column;
+        for (int j = this.cellOffsets[cell]; j < this.cellOffsets[cell + 1]; j++) {
+          int i = this.cellElements[j];
+          if (this.visits[i] == query) {
+            continue;
+          }
+          this.visits[i] = query;
+
+          boolean matches;
+          if (isContained) {
+            matches = this.minX[i] >= rMinX && this.maxX[i] <= rMaxX
+                && this.minY[i] >= rMinY && this.maxY[i] <= rMaxY;
+          } else {
+            matches = this.maxX[i] >= rMinX && this.minX[i] <= rMaxX
+                && this.minY[i] <= rMaxY && this.maxY[i] >= rMinY;
+          }
+          if (matches) {
+            this.found[numFound++] = i;
+          }
+        }
+      }
+    }
+
+    Arrays.sort(this.found, 0, numFound);
+    for (int k = 0; k < numFound; k++) {
+      result.add(this.elements.get(this.found[k]));
+    }
+    return result;
+  }
+
+  /**
+   * Returns the element whose bounding box is nearest to the given rectangle. Visits the cells
+   * in rings around the cells overlapped by the rectangle, until no element in a further ring can
+   * be nearer than the nearest element found so far.
+   *
+   * @param rMinX   The minX value of the rectangle.
+   * @param rMinY   The minY value of the rectangle.
+   * @param rMaxX   The maxX value of the rectangle.
+   * @param rMaxY   The maxY value of the rectangle.
+   * @param exclude The element to exclude from the search, or null.
+   *
+   * @return The nearest element, or null if there is no such element.
+   */
+  protected T getNearest(float rMinX, float rMinY, float rMaxX, float rMaxY, T exclude) {
+    if (this.elements.isEmpty()) {
+      return null;
+    }
+
+    int query = nextQuery();
+    int minColumn = getColumn(rMinX);
+    int maxColumn = getColumn(rMaxX);
+    int minRow = getRow(rMinY);
+    int maxRow = getRow(rMaxY);
+
+    // The distance between the rectangle and any element not registered in the rings 0 to k - 1
+    // is at least (k - 1) times the size of a cell (a margin of one cell is left to account for
+    // rounding errors). Dimensions with a single cell have no further rings.
+    double minCellSize = Double.POSITIVE_INFINITY;
+    if (this.numColumns > 1) {
+      minCellSize = Math.min(minCellSize, this.cellWidth);
+    }
+    if (this.numRows > 1) {
+      minCellSize = Math.min(minCellSize, this.cellHeight);
+    }
+    int maxRing = Math.max(this.numColumns, this.numRows);
+
+    int nearest = -1;
+    double nearestDistance = Double.POSITIVE_INFINITY;
+    for (int ring = 0; ring <= maxRing; ring++) {
+      if (nearest >= 0 && nearestDistance < (ring - 2) * minCellSize) {
+        break;
+      }
+      for (int row = minRow - ring; row <= maxRow + ring; row++) {
+        if (row < 0 || row >= this.numRows) {
+          continue;
+        }
+        boolean isBorderRow = row == minRow - ring || row == maxRow + ring;
+        for (int column = minColumn - ring; column <= maxColumn + ring; column++) {
+          if (column < 0 || column >= this.numColumns) {
+            continue;
+          }
+          // Visit only the cells on the border of the ring (the inner cells were visited before).
+          if (ring > 0 && !isBorderRow && column != minColumn - ring
+              && column != maxColumn + ring) {
+            column = maxColumn + ring - 1;
+            continue;
+          }
+          int cell = row * this.numColumns + column;
+          for (int j = this.cellOffsets[cell]; j < this.cellOffsets[cell + 1]; j++) {
+            int i = this.cellElements[j];
+            if (this.visits[i] == query) {
+              continue;
+            }
+            this.visits[i] = query;
+            if (this.elements.get(i) == exclude) {
+              continue;
+            }
+
+            double dx = Math.max(0, Math.max(this.minX[i] - rMaxX, rMinX - this.maxX[i]));
+            double dy = Math.max(0, Math.max(this.minY[i] - rMaxY, rMinY - this.maxY[i]));
+            double distance = Math.sqrt(dx * dx + dy * dy);
+            if (distance < nearestDistance || (distance == nearestDistance && i < nearest)) {
+              nearest = i;
+              nearestDistance = distance;
+            }
+          }
+        }
+      }
+    }
+    return nearest >= 0 ? this.elements.get(nearest) : null;
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Returns the column of the grid that contains the given x value (the first or last column, if
+   * the value lies outside the grid).
+   *
+   * @param x The x value.
+   *
+   * @return The column.
+   */
+  protected int getColumn(float x) {
+    if (this.cellWidth <= 0) {
+      return 0;
+    }
+    int column = (int) ((x - this.gridMinX) / this.cellWidth);
+    return Math.max(0, Math.min(column, this.numColumns - 1));
+  }
+
+  /**
+   * Returns the row of the grid that contains the given y value (the first or last row, if the
+   * value lies outside the grid).
+   *
+   * @param y The y value.
+   *
+   * @return The row.
+   */
+  protected int getRow(float y) {
+    if (this.cellHeight <= 0) {
+      return 0;
+    }
+    int row = (int) ((y - this.gridMinY) / this.cellHeight);
+    return Math.max(0, Math.min(row, this.numRows - 1));
+  }
+
+  /**
+   * Starts a new query.
+   *
+   * @return The number of the new query.
+   */
+  protected int nextQuery() {
+    if (++this.query == Integer.MAX_VALUE) {
+      Arrays.fill(this.visits, 0);
+      this.query = 1;
+    }
+    return this.query;
+  }
+}
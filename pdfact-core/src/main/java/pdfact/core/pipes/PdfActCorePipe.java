@@ -1,6 +1,13 @@
 package pdfact.core.pipes;
 
+import java.util.Set;
+import pdfact.core.model.Document;
+import pdfact.core.model.LoadStrategy;
+import pdfact.core.model.ProcessingStage;
+import pdfact.core.model.SemanticRole;
+import pdfact.core.pipes.streaming.PageHandler;
 import pdfact.core.util.pipeline.Pipe;
+import pdfact.core.util.pipeline.PipelineMetrics;
 
 /**
  * A pipe that wires up all necessary steps to identify the document structure
@@ -9,5 +16,149 @@ import pdfact.core.util.pipeline.Pipe;
  * @author Claudius Korzen
  */
 public interface PdfActCorePipe extends Pipe {
-  
+  /**
+   * Returns the number of threads to use on parsing the pages of a PDF document.
+   * 
+   * @return The number of threads to use on parsing the pages of a PDF document.
+   */
+  int getNumParseThreads();
+
+  /**
+   * Sets the number of threads to use on parsing the pages of a PDF document.
+   * 
+   * @param numThreads
+   *        The number of threads to use on parsing the pages of a PDF document.
+   */
+  void setNumParseThreads(int numThreads);
+
+  /**
+   * Returns the boolean flag indicating whether or not only the text of a PDF document is parsed.
+   * 
+   * @return True, if only the text of a PDF document is parsed; false otherwise.
+   */
+  boolean isTextOnly();
+
+  /**
+   * Sets the boolean flag indicating whether or not only the text of a PDF document should be
+   * parsed. If set to true, no shapes and figures are extracted from the PDF document, which
+   * speeds up the parsing of documents with many vector graphics or images. The extracted text is
+   * the same as without this flag, only the identifiers of the colors may differ.
+   * 
+   * @param isTextOnly
+   *        True, if only the text of a PDF document should be parsed.
+   */
+  void setIsTextOnly(boolean isTextOnly);
+
+  /**
+   * Returns the strategy to load the PDF file of a PDF document.
+   * 
+   * @return The strategy to load the PDF file of a PDF document.
+   */
+  LoadStrategy getLoadStrategy();
+
+  /**
+   * Sets the strategy to load the PDF file of a PDF document, that is: whether the data of the
+   * streams of the PDF file are buffered in main memory (the fastest strategy), in a temporary
+   * file (such that PDF files larger than the heap can be processed), or in main memory up to
+   * {@link #getMaxMainMemoryBytes()} bytes and in a temporary file beyond.
+   * 
+   * @param strategy
+   *        The strategy to load the PDF file of a PDF document.
+   */
+  void setLoadStrategy(LoadStrategy strategy);
+
+  /**
+   * Returns the maximum number of bytes to buffer in main memory on loading the PDF file of a PDF
+   * document with the strategy {@link LoadStrategy#MIXED}.
+   * 
+   * @return The maximum number of bytes to buffer in main memory.
+   */
+  long getMaxMainMemoryBytes();
+
+  /**
+   * Sets the maximum number of bytes to buffer in main memory on loading the PDF file of a PDF
+   * document with the strategy {@link LoadStrategy#MIXED}.
+   * 
+   * @param maxMainMemoryBytes
+   *        The maximum number of bytes to buffer in main memory.
+   */
+  void setMaxMainMemoryBytes(long maxMainMemoryBytes);
+
+  /**
+   * Returns the last stage of the core pipeline to process.
+   * 
+   * @return The last stage of the core pipeline to process.
+   */
+  ProcessingStage getLastStage();
+
+  /**
+   * Sets the last stage of the core pipeline to process. The pipes of all later stages are
+   * skipped, for example: if only the figures of a PDF document are needed, the text areas, text
+   * lines, words, text blocks and paragraphs don't need to be identified. The skipped pipes are
+   * logged and recorded in the metrics (if any). The stage is ignored when the document is
+   * processed page by page, see {@link #setPageHandler(PageHandler)}.
+   * 
+   * @param stage
+   *        The last stage of the core pipeline to process.
+   */
+  void setLastStage(ProcessingStage stage);
+
+  /**
+   * Returns the semantic roles to find in the first pages of a PDF document.
+   * 
+   * @return The semantic roles to find, or null if all pages of a PDF document are processed.
+   */
+  Set<SemanticRole> getSemanticRolesToFind();
+
+  /**
+   * Sets the semantic roles to find in the first pages of a PDF document (early termination). If
+   * all given roles are identified within the first pages of a PDF document (for example: the
+   * title, the abstract and the keywords), only the pages needed to identify the roles are parsed
+   * and processed, and the statistics about the document are computed from these pages. If not
+   * all of the roles are found in these pages, or if a section of these roles (like the abstract)
+   * may continue in the next pages, all pages are processed instead (as without early
+   * termination). If any of the given roles may occur on any page, all pages are processed. The
+   * roles are ignored if the pages to process are given (see
+   * {@link Document#setPageSelection(pdfact.core.model.PageSelection)}) or if the document is
+   * processed page by page.
+   * 
+   * @param roles
+   *        The semantic roles to find, or null if all pages should be processed.
+   */
+  void setSemanticRolesToFind(Set<SemanticRole> roles);
+
+  /**
+   * Returns the handler to which the pages of a PDF document are passed when the document is
+   * processed page by page.
+   * 
+   * @return The handler, or null if the document is not processed page by page.
+   */
+  PageHandler getPageHandler();
+
+  /**
+   * Sets the handler to which the pages of a PDF document should be passed. If a handler is set,
+   * the document is processed page by page (in streaming mode): each page is passed to the handler
+   * once it was processed, and its per-character data are released afterwards. The paragraphs of
+   * the document are passed to the handler as well, instead of being added to the document.
+   * 
+   * @param handler
+   *        The handler, or null if the document should not be processed page by page.
+   */
+  void setPageHandler(PageHandler handler);
+
+  /**
+   * Returns the collector into which the metrics of the pipes of the core pipeline are recorded.
+   * 
+   * @return The collector, or null if no metrics are recorded.
+   */
+  PipelineMetrics getMetrics();
+
+  /**
+   * Sets the collector into which the metrics of the pipes of the core pipeline should be
+   * recorded.
+   * 
+   * @param metrics
+   *        The collector, or null if no metrics should be recorded.
+   */
+  void setMetrics(PipelineMetrics metrics);
 }
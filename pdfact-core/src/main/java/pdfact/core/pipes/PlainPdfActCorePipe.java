@@ -1,14 +1,35 @@
 package pdfact.core.pipes;
 
+import static pdfact.core.PdfActCoreSettings.DEFAULT_LAST_PROCESSING_STAGE;
+import static pdfact.core.PdfActCoreSettings.DEFAULT_LOAD_STRATEGY;
+import static pdfact.core.PdfActCoreSettings.DEFAULT_MAX_MAIN_MEMORY_BYTES;
+import static pdfact.core.PdfActCoreSettings.DEFAULT_NUM_PARSE_THREADS;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import pdfact.core.model.Document;
+import pdfact.core.model.LoadStrategy;
+import pdfact.core.model.Page;
+import pdfact.core.model.PageSelection;
+import pdfact.core.model.Paragraph;
+import pdfact.core.model.ProcessingStage;
+import pdfact.core.model.SemanticRole;
+import pdfact.core.model.TextBlock;
 import pdfact.core.pipes.dehyphenate.PlainDehyphenateWordsPipe;
 import pdfact.core.pipes.filter.characters.PlainFilterCharactersPipe;
 import pdfact.core.pipes.filter.figures.PlainFilterFiguresPipe;
 import pdfact.core.pipes.filter.shapes.PlainFilterShapesPipe;
+import pdfact.core.pipes.parse.ParseDocumentPipe;
 import pdfact.core.pipes.parse.PlainParseDocumentPipe;
+import pdfact.core.pipes.semanticize.DetectSemanticsPipe;
 import pdfact.core.pipes.semanticize.PlainDetectSemanticsPipe;
+import pdfact.core.pipes.streaming.PageHandler;
+import pdfact.core.pipes.streaming.PlainStreamDocumentPipe;
+import pdfact.core.pipes.streaming.StreamDocumentPipe;
 import pdfact.core.pipes.tokenize.areas.XYCutTokenizeToTextAreasPipe;
 import pdfact.core.pipes.tokenize.blocks.PlainTokenizeToTextBlocksPipe;
 import pdfact.core.pipes.tokenize.lines.PlainTokenizeToTextLinesPipe;
@@ -19,7 +40,10 @@ import pdfact.core.pipes.translate.diacritics.PlainMergeDiacriticsPipe;
 import pdfact.core.pipes.translate.ligatures.PlainSplitLigaturesPipe;
 import pdfact.core.pipes.validate.PlainValidatePdfPathPipe;
 import pdfact.core.util.exception.PdfActException;
+import pdfact.core.util.list.ElementList;
+import pdfact.core.util.pipeline.Pipe;
 import pdfact.core.util.pipeline.Pipeline;
+import pdfact.core.util.pipeline.PipelineMetrics;
 import pdfact.core.util.pipeline.PlainPipeline;
 
 /**
@@ -33,6 +57,55 @@ public class PlainPdfActCorePipe implements PdfActCorePipe {
    */
   protected static Logger log = LogManager.getLogger(PlainPdfActCorePipe.class);
 
+  /**
+   * The number of threads to use on parsing the pages of a PDF document.
+   */
+  protected int numParseThreads = DEFAULT_NUM_PARSE_THREADS;
+
+  /**
+   * The boolean flag indicating whether or not only the text of a PDF document is parsed.
+   */
+  protected boolean isTextOnly;
+
+  /**
+   * The strategy to load the PDF file of a PDF document.
+   */
+  protected LoadStrategy loadStrategy = DEFAULT_LOAD_STRATEGY;
+
+  /**
+   * The maximum number of bytes to buffer in main memory on loading the PDF file of a PDF document
+   * with the strategy {@link LoadStrategy#MIXED}.
+   */
+  protected long maxMainMemoryBytes = DEFAULT_MAX_MAIN_MEMORY_BYTES;
+
+  /**
+   * The last stage of the core pipeline to process.
+   */
+  protected ProcessingStage lastStage = DEFAULT_LAST_PROCESSING_STAGE;
+
+  /**
+   * The semantic roles to find, if only the first pages needed to find the roles should be
+   * processed; null if all pages should be processed.
+   */
+  protected Set<SemanticRole> semanticRolesToFind;
+
+  /**
+   * The handler to which the pages are passed when a PDF document is processed page by page.
+   */
+  protected PageHandler pageHandler;
+
+  /**
+   * The collector into which the metrics of the pipes are recorded; null if no metrics should be
+   * recorded.
+   */
+  protected PipelineMetrics metrics;
+
+  /**
+   * The pipe that identifies the semantic roles, added to the pipeline on the last call of
+   * {@link #addPipes(Pipeline, boolean, List)}.
+   */
+  protected DetectSemanticsPipe detectSemanticsPipe;
+
   // ==============================================================================================
 
   /**
@@ -51,13 +124,237 @@ public class PlainPdfActCorePipe implements PdfActCorePipe {
 
     log.debug("Process: Processing the core pipeline.");
 
+    long start = System.currentTimeMillis();
+    int numFirstPages = getNumFirstPagesToProcess(pdf);
+    if (numFirstPages > 0) {
+      // Process only the first pages needed to identify the semantic roles to find.
+      log.debug("Processing only the first " + numFirstPages + " page(s) to find the roles "
+          + this.semanticRolesToFind + ".");
+      pdf.setPageSelection(new PageSelection(1, numFirstPages));
+      int numMetrics = this.metrics != null ? this.metrics.size() : 0;
+      process(pdf, true);
+
+      // Fall back to processing all pages if not all of the roles were found in the first pages
+      // (unless no page was skipped, because the document doesn't have more pages).
+      if (!isAllSemanticRolesFound(pdf)
+          && (pdf.getNumPdfPages() < 0 || pdf.getNumPdfPages() > numFirstPages)) {
+        log.debug("Not all of the roles " + this.semanticRolesToFind + " found in the first "
+            + numFirstPages + " page(s). Processing all pages.");
+        // Keep the metrics of the first pages, but mark them, since their result is discarded.
+        if (this.metrics != null) {
+          this.metrics.markDiscarded(pdf, numMetrics);
+        }
+        pdf.setPageSelection(null);
+        pdf.setPages(new ArrayList<Page>());
+        pdf.setParagraphs(new ElementList<Paragraph>());
+        pdf.setCharacterStatistic(null);
+        pdf.setTextLineStatistic(null);
+        process(pdf, false);
+      }
+    } else {
+      process(pdf, false);
+    }
+    long length = System.currentTimeMillis() - start;
+
+    log.debug("Processing the core pipeline done.");
+    log.debug("Time needed to process the core pipeline: " + length + "ms.");
+
+    log.debug("End of pipe: " + getClass().getSimpleName() + ".");
+    return pdf;
+  }
+
+  /**
+   * Processes the given PDF document by the pipes of the core pipeline.
+   * 
+   * @param pdf
+   *        The PDF document to process.
+   * @param isFirstPagesOnly
+   *        True, if only the first pages of the PDF document are processed.
+   * 
+   * @throws PdfActException
+   *         If something went wrong on processing the PDF document.
+   */
+  protected void process(Document pdf, boolean isFirstPagesOnly) throws PdfActException {
     // Fill the pipeline with the pipes to execute
     Pipeline pipeline = new PlainPipeline();
+    pipeline.setMetrics(this.metrics);
 
     // Validate the path to the PDF file.
     pipeline.addPipe(new PlainValidatePdfPathPipe());
+
+    // The names of the pipes which are skipped because their stage isn't required.
+    List<String> skippedPipes = new ArrayList<>();
+
+    if (this.pageHandler != null) {
+      // Process the PDF document page by page (the pages are always parsed one after another).
+      if (this.numParseThreads > 1) {
+        log.warn("Parsing the pages with a single thread, since the document is processed page "
+            + "by page (" + this.numParseThreads + " parse threads requested).");
+      }
+      StreamDocumentPipe streamPipe = new PlainStreamDocumentPipe(this.pageHandler);
+      streamPipe.setIsTextOnly(this.isTextOnly);
+      streamPipe.setLoadStrategy(this.loadStrategy);
+      streamPipe.setMaxMainMemoryBytes(this.maxMainMemoryBytes);
+      streamPipe.setMetrics(this.metrics);
+      pipeline.addPipe(streamPipe);
+    } else {
+      addPipes(pipeline, isFirstPagesOnly, skippedPipes);
+    }
+
+    log.debug("# pipes in the pipeline: " + pipeline.size());
+    log.debug("# skipped pipes: " + skippedPipes.size());
+
+    pipeline.process(pdf);
+
+    // Record the skipped pipes, so that the metrics show which pipes were pruned.
+    if (this.metrics != null) {
+      for (String pipe : skippedPipes) {
+        this.metrics.recordSkipped(pipe, pdf);
+      }
+    }
+  }
+
+  /**
+   * Returns the number of first pages of the given PDF document to process in order to find the
+   * semantic roles to find.
+   * 
+   * @param pdf
+   *        The PDF document to process.
+   * 
+   * @return The number of first pages to process, or -1 if all (selected) pages should be
+   *         processed.
+   */
+  protected int getNumFirstPagesToProcess(Document pdf) {
+    if (this.semanticRolesToFind == null || this.semanticRolesToFind.isEmpty()) {
+      return -1;
+    }
+    if (this.pageHandler != null) {
+      log.debug("Processing all pages, since the document is processed page by page.");
+      return -1;
+    }
+    if (pdf.getPageSelection() != null) {
+      log.debug("Processing all selected pages, since the pages to process were given.");
+      return -1;
+    }
+    if (!ProcessingStage.SEMANTIC_ROLES.isProcessedUpTo(this.lastStage)) {
+      log.debug("Processing all pages, since the semantic roles are not identified.");
+      return -1;
+    }
+    return new PlainDetectSemanticsPipe().getNumRequiredPages(this.semanticRolesToFind);
+  }
+
+  /**
+   * Checks if all of the semantic roles to find were completely found in the first pages of the
+   * given PDF document, that is: if the PDF document contains a text block of each role and if
+   * none of the sections of these roles may continue in the skipped pages.
+   * 
+   * @param pdf
+   *        The PDF document to check, with only its first pages processed.
+   * 
+   * @return True, if all of the semantic roles to find were completely found; false otherwise.
+   */
+  protected boolean isAllSemanticRolesFound(Document pdf) {
+    if (!containsAllSemanticRoles(pdf, this.semanticRolesToFind)) {
+      return false;
+    }
+    // A section that wasn't finished in the last processed page may continue in the next page.
+    for (SemanticRole role : this.detectSemanticsPipe.getUnfinishedSemanticRoles()) {
+      if (this.semanticRolesToFind.contains(role)) {
+        log.debug("The section of role " + role + " may continue in the skipped pages.");
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Checks if the given PDF document contains a text block of each of the given roles.
+   * 
+   * @param pdf
+   *        The PDF document to check.
+   * @param roles
+   *        The semantic roles.
+   * 
+   * @return True, if the PDF document contains a text block of each of the given roles; false
+   *         otherwise.
+   */
+  protected static boolean containsAllSemanticRoles(Document pdf, Set<SemanticRole> roles) {
+    Set<SemanticRole> missingRoles = EnumSet.copyOf(roles);
+    for (Page page : pdf.getPages()) {
+      if (page.getTextBlocks() == null) {
+        continue;
+      }
+      for (TextBlock block : page.getTextBlocks()) {
+        missingRoles.remove(block.getSemanticRole());
+      }
+    }
+    return missingRoles.isEmpty();
+  }
+
+  /**
+   * Adds the pipes that process a PDF document as a whole up to the last stage to process to the
+   * given pipeline.
+   * 
+   * @param pipeline
+   *        The pipeline to which the pipes should be added.
+   * @param skippedPipes
+   *        The list to which the names of the skipped pipes should be added.
+   */
+  protected void addPipes(Pipeline pipeline, List<String> skippedPipes) {
+    addPipes(pipeline, false, skippedPipes);
+  }
+
+  /**
+   * Adds the pipes that process a PDF document (or only its first pages) up to the last stage to
+   * process to the given pipeline.
+   * 
+   * @param pipeline
+   *        The pipeline to which the pipes should be added.
+   * @param isFirstPagesOnly
+   *        True, if only the first pages of a PDF document are processed.
+   * @param skippedPipes
+   *        The list to which the names of the skipped pipes should be added.
+   */
+  protected void addPipes(Pipeline pipeline, boolean isFirstPagesOnly,
+      List<String> skippedPipes) {
     // Extract the characters, shapes and figures.
-    pipeline.addPipe(new PlainParseDocumentPipe());
+    ParseDocumentPipe parsePipe = new PlainParseDocumentPipe(this.numParseThreads);
+    parsePipe.setIsTextOnly(this.isTextOnly);
+    parsePipe.setLoadStrategy(this.loadStrategy);
+    parsePipe.setMaxMainMemoryBytes(this.maxMainMemoryBytes);
+    pipeline.addPipe(parsePipe);
+    // Process the parsed pages.
+    addPagePipes(pipeline, skippedPipes);
+    // Identify the roles of the text blocks.
+    if (isRequired(ProcessingStage.SEMANTIC_ROLES, PlainDetectSemanticsPipe.class,
+        skippedPipes)) {
+      this.detectSemanticsPipe = new PlainDetectSemanticsPipe();
+      this.detectSemanticsPipe.setIsFirstPagesOnly(isFirstPagesOnly);
+      pipeline.addPipe(this.detectSemanticsPipe);
+    }
+    // Tokenize the text blocks into paragraphs.
+    if (isRequired(ProcessingStage.PARAGRAPHS, PlainTokenizeToParagraphsPipe.class,
+        skippedPipes)) {
+      pipeline.addPipe(new PlainTokenizeToParagraphsPipe());
+    }
+    // Dehyphenate the words.
+    if (isRequired(ProcessingStage.PARAGRAPHS, PlainDehyphenateWordsPipe.class, skippedPipes)) {
+      pipeline.addPipe(new PlainDehyphenateWordsPipe());
+    }
+  }
+
+  /**
+   * Adds the pipes that process the parsed pages of a PDF document up to the last stage to
+   * process (but at most up to the text blocks) to the given pipeline. Each of these pipes
+   * processes the pages one by one, such that the pipes are also used by the
+   * {@link PlainStreamDocumentPipe} to process a single page.
+   * 
+   * @param pipeline
+   *        The pipeline to which the pipes should be added.
+   * @param skippedPipes
+   *        The list to which the names of the skipped pipes should be added.
+   */
+  public void addPagePipes(Pipeline pipeline, List<String> skippedPipes) {
     // Merge the diacritics.
     pipeline.addPipe(new PlainMergeDiacriticsPipe());
     // Split the ligatures.
@@ -71,30 +368,139 @@ public class PlainPdfActCorePipe implements PdfActCorePipe {
     // Filter the shapes.
     pipeline.addPipe(new PlainFilterShapesPipe());
     // Tokenize the page into text areas.
-    pipeline.addPipe(new XYCutTokenizeToTextAreasPipe());
+    if (isRequired(ProcessingStage.TEXT_AREAS, XYCutTokenizeToTextAreasPipe.class, skippedPipes)) {
+      pipeline.addPipe(new XYCutTokenizeToTextAreasPipe());
+    }
     // Tokenize the text areas into text lines.
-    pipeline.addPipe(new PlainTokenizeToTextLinesPipe());
+    if (isRequired(ProcessingStage.TEXT_LINES, PlainTokenizeToTextLinesPipe.class, skippedPipes)) {
+      pipeline.addPipe(new PlainTokenizeToTextLinesPipe());
+    }
     // Tokenize the text lines into words.
-    pipeline.addPipe(new XYCutTokenizeToWordsPipe());
+    if (isRequired(ProcessingStage.WORDS, XYCutTokenizeToWordsPipe.class, skippedPipes)) {
+      pipeline.addPipe(new XYCutTokenizeToWordsPipe());
+    }
     // Tokenize the text lines into text blocks.
-    pipeline.addPipe(new PlainTokenizeToTextBlocksPipe());
-    // Identify the roles of the text blocks.
-    pipeline.addPipe(new PlainDetectSemanticsPipe());
-    // Tokenize the text blocks into paragraphs.
-    pipeline.addPipe(new PlainTokenizeToParagraphsPipe());
-    // Dehyphenate the words.
-    pipeline.addPipe(new PlainDehyphenateWordsPipe());
+    if (isRequired(ProcessingStage.TEXT_BLOCKS, PlainTokenizeToTextBlocksPipe.class,
+        skippedPipes)) {
+      pipeline.addPipe(new PlainTokenizeToTextBlocksPipe());
+    }
+  }
 
-    log.debug("# pipes in the pipeline: " + pipeline.size());
+  /**
+   * Checks if the given stage is required, that is: if it is processed up to the last stage to
+   * process. If not, the name of the given pipe is added to the given list of skipped pipes.
+   * 
+   * @param stage
+   *        The stage to check.
+   * @param pipeClass
+   *        The class of the pipe that belongs to the stage.
+   * @param skippedPipes
+   *        The list to which the name of the pipe should be added if the stage isn't required.
+   * 
+   * @return True, if the given stage is required; false otherwise.
+   */
+  protected boolean isRequired(ProcessingStage stage, Class<? extends Pipe> pipeClass,
+      List<String> skippedPipes) {
+    if (stage.isProcessedUpTo(this.lastStage)) {
+      return true;
+    }
+    log.debug("Skipping pipe " + pipeClass.getSimpleName() + ", since the stage \""
+        + stage.getName() + "\" is after the last stage \"" + this.lastStage.getName() + "\".");
+    skippedPipes.add(pipeClass.getSimpleName());
+    return false;
+  }
 
-    long start = System.currentTimeMillis();
-    pipeline.process(pdf);
-    long length = System.currentTimeMillis() - start;
+  // ==============================================================================================
 
-    log.debug("Processing the core pipeline done.");
-    log.debug("Time needed to process the core pipeline: " + length + "ms.");
+  @Override
+  public int getNumParseThreads() {
+    return this.numParseThreads;
+  }
 
-    log.debug("End of pipe: " + getClass().getSimpleName() + ".");
-    return pdf;
+  @Override
+  public void setNumParseThreads(int numThreads) {
+    this.numParseThreads = numThreads;
+  }
+
+  // ==============================================================================================
+
+  @Override
+  public boolean isTextOnly() {
+    return this.isTextOnly;
+  }
+
+  @Override
+  public void setIsTextOnly(boolean isTextOnly) {
+    this.isTextOnly = isTextOnly;
+  }
+
+  // ==============================================================================================
+
+  @Override
+  public LoadStrategy getLoadStrategy() {
+    return this.loadStrategy;
+  }
+
+  @Override
+  public void setLoadStrategy(LoadStrategy strategy) {
+    this.loadStrategy = strategy;
+  }
+
+  @Override
+  public long getMaxMainMemoryBytes() {
+    return this.maxMainMemoryBytes;
+  }
+
+  @Override
+  public void setMaxMainMemoryBytes(long maxMainMemoryBytes) {
+    this.maxMainMemoryBytes = maxMainMemoryBytes;
+  }
+
+  // ==============================================================================================
+
+  @Override
+  public ProcessingStage getLastStage() {
+    return this.lastStage;
+  }
+
+  @Override
+  public void setLastStage(ProcessingStage stage) {
+    this.lastStage = stage;
+  }
+
+  // ==============================================================================================
+
+  @Override
+  public Set<SemanticRole> getSemanticRolesToFind() {
+    return this.semanticRolesToFind;
+  }
+
+  @Override
+  public void setSemanticRolesToFind(Set<SemanticRole> roles) {
+    this.semanticRolesToFind = roles;
+  }
+
+  // ==============================================================================================
+
+  @Override
+  public PageHandler getPageHandler() {
+    return this.pageHandler;
+  }
+
+  @Override
+  public void setPageHandler(PageHandler handler) {
+    this.pageHandler = handler;
+  }
+
+  // ==============================================================================================
+
+  @Override
+  public PipelineMetrics getMetrics() {
+    return this.metrics;
+  }
+
+  @Override
+  public void setMetrics(PipelineMetrics metrics) {
+    this.metrics = metrics;
   }
 }
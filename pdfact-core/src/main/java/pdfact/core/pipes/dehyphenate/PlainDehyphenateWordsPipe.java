@@ -4,7 +4,9 @@ import static pdfact.core.util.lexicon.CharacterLexicon.HYPHENS;
 import static pdfact.core.util.lexicon.CharacterLexicon.LETTERS;
 import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import gnu.trove.iterator.TIntIterator;
@@ -21,13 +23,14 @@ import pdfact.core.util.counter.ObjectCounter;
 import pdfact.core.util.exception.PdfActException;
 import pdfact.core.util.list.ElementList;
 import pdfact.core.util.normalize.WordNormalizer;
+import pdfact.core.util.pipeline.HasCounters;
 
 /**
  * A plain implementation of {@link DehyphenateWordsPipe}.
  *
  * @author Claudius Korzen
  */
-public class PlainDehyphenateWordsPipe implements DehyphenateWordsPipe {
+public class PlainDehyphenateWordsPipe implements DehyphenateWordsPipe, HasCounters {
   /**
    * The logger.
    */
@@ -130,53 +133,85 @@ public class PlainDehyphenateWordsPipe implements DehyphenateWordsPipe {
       }
 
       for (Word word : words) {
-        if (word == null) {
-          continue;
+        countWord(word);
+      }
+    }
+  }
+
+  /**
+   * Counts the single, compound and prefixes of compound words in the given page, for
+   * dehyphenating a PDF document page by page. The words of all pages must be counted before any
+   * paragraph is dehyphenated by {@link #dehyphenateWordsInParagraphs(List)}.
+   *
+   * @param page
+   *        The page to process.
+   */
+  public void countWords(Page page) {
+    if (page == null || page.getTextBlocks() == null) {
+      return;
+    }
+
+    for (TextBlock block : page.getTextBlocks()) {
+      for (TextLine line : block.getTextLines()) {
+        for (Word word : line.getWords()) {
+          countWord(word);
         }
+      }
+    }
+  }
 
-        this.numWords++;
+  /**
+   * Counts the given word as a single word, or as a compound word (together with its prefixes).
+   *
+   * @param word
+   *        The word to count.
+   */
+  protected void countWord(Word word) {
+    if (word == null) {
+      return;
+    }
 
-        // Count normal words, compound words and prefixes of compound words.
-        // The prefixes of a compound word are the substrings before each
-        // hyphen, e.g. for the compound word "sugar-free", the prefix is
-        // "sugar".
+    this.numWords++;
 
-        // Normalize the word: Remove leading and trailing punctuation marks
-        // (but not hyphens).
-        String wordStr = this.wordNormalizer.normalize(word);
+    // Count normal words, compound words and prefixes of compound words.
+    // The prefixes of a compound word are the substrings before each
+    // hyphen, e.g. for the compound word "sugar-free", the prefix is
+    // "sugar".
 
-        if (wordStr == null || wordStr.isEmpty()) {
-          continue;
-        }
+    // Normalize the word: Remove leading and trailing punctuation marks
+    // (but not hyphens).
+    String wordStr = this.wordNormalizer.normalize(word);
 
-        // Check if the word contains hyphens.
-        TIntList idxsHyphens = PdfActUtils.indexesOf(wordStr, HYPHENS);
+    if (wordStr == null || wordStr.isEmpty()) {
+      return;
+    }
 
-        if (idxsHyphens.isEmpty()) {
-          // No hyphen was found. The word is a single word.
-          this.normalWordsIndex.add(wordStr);
-          continue;
-        }
+    // Check if the word contains hyphens.
+    TIntList idxsHyphens = PdfActUtils.indexesOf(wordStr, HYPHENS);
 
-        // We are interested only in compound words with inner hyphens.
-        if (idxsHyphens.get(0) == 0) {
-          // The word starts with an hyphen. Ignore the word.
-          continue;
-        }
+    if (idxsHyphens.isEmpty()) {
+      // No hyphen was found. The word is a single word.
+      this.normalWordsIndex.add(wordStr);
+      return;
+    }
 
-        if (idxsHyphens.get(idxsHyphens.size() - 1) == wordStr.length() - 1) {
-          // The word ends with an hyphen. Ignore it.
-          continue;
-        }
+    // We are interested only in compound words with inner hyphens.
+    if (idxsHyphens.get(0) == 0) {
+      // The word starts with an hyphen. Ignore the word.
+      return;
+    }
 
-        this.compoundWordsIndex.add(wordStr);
+    if (idxsHyphens.get(idxsHyphens.size() - 1) == wordStr.length() - 1) {
+      // The word ends with an hyphen. Ignore it.
+      return;
+    }
 
-        // Count the prefixes of compound words.
-        TIntIterator itr = idxsHyphens.iterator();
-        while (itr.hasNext()) {
-          this.prefixesIndex.add(wordStr.substring(0, itr.next()));
-        }
-      }
+    this.compoundWordsIndex.add(wordStr);
+
+    // Count the prefixes of compound words.
+    TIntIterator itr = idxsHyphens.iterator();
+    while (itr.hasNext()) {
+      this.prefixesIndex.add(wordStr.substring(0, itr.next()));
     }
   }
 
@@ -193,7 +228,16 @@ public class PlainDehyphenateWordsPipe implements DehyphenateWordsPipe {
       return;
     }
 
-    List<Paragraph> paragraphs = pdf.getParagraphs();
+    dehyphenateWordsInParagraphs(pdf.getParagraphs());
+  }
+
+  /**
+   * Dehyphenates the hyphenated words in the given paragraphs.
+   *
+   * @param paragraphs
+   *        The paragraphs to process.
+   */
+  public void dehyphenateWordsInParagraphs(List<Paragraph> paragraphs) {
     if (paragraphs == null) {
       return;
     }
@@ -408,4 +452,17 @@ public class PlainDehyphenateWordsPipe implements DehyphenateWordsPipe {
       return false;
     }
   }
+
+  // ==============================================================================================
+
+  @Override
+  public Map<String, Integer> getCounters() {
+    Map<String, Integer> counters = new LinkedHashMap<>();
+    counters.put("words", this.numWords);
+    counters.put("processed-words", this.numProcessedWords);
+    counters.put("dehyphenated-words", this.numDehyphenatedWords);
+    counters.put("normal-words", this.numNormalWords);
+    counters.put("compound-words", this.numCompoundWords);
+    return counters;
+  }
 }
@@ -1,6 +1,8 @@
 package pdfact.core.pipes.filter.characters;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import pdfact.core.model.Character;
@@ -8,13 +10,14 @@ import pdfact.core.model.Document;
 import pdfact.core.model.Page;
 import pdfact.core.util.exception.PdfActException;
 import pdfact.core.util.list.ElementList;
+import pdfact.core.util.pipeline.HasCounters;
 
 /**
  * A plain implementation of {@link FilterCharactersPipe}.
  * 
  * @author Claudius Korzen
  */
-public class PlainFilterCharactersPipe implements FilterCharactersPipe {
+public class PlainFilterCharactersPipe implements FilterCharactersPipe, HasCounters {
   /**
    * The logger.
    */
@@ -98,4 +101,14 @@ public class PlainFilterCharactersPipe implements FilterCharactersPipe {
     }
     return false;
   }
+
+  // ==============================================================================================
+
+  @Override
+  public Map<String, Integer> getCounters() {
+    Map<String, Integer> counters = new LinkedHashMap<>();
+    counters.put("processed-characters", this.numProcessedCharacters);
+    counters.put("filtered-characters", this.numFilteredCharacters);
+    return counters;
+  }
 }
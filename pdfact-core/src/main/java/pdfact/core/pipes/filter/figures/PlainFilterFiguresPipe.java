@@ -1,6 +1,8 @@
 package pdfact.core.pipes.filter.figures;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import pdfact.core.model.Document;
@@ -8,13 +10,14 @@ import pdfact.core.model.Figure;
 import pdfact.core.model.Page;
 import pdfact.core.util.exception.PdfActException;
 import pdfact.core.util.list.ElementList;
+import pdfact.core.util.pipeline.HasCounters;
 
 /**
  * A plain implementation of {@link FilterFiguresPipe}.
  * 
  * @author Claudius Korzen
  */
-public class PlainFilterFiguresPipe implements FilterFiguresPipe {
+public class PlainFilterFiguresPipe implements FilterFiguresPipe, HasCounters {
   /**
    * The logger.
    */
@@ -88,4 +91,14 @@ public class PlainFilterFiguresPipe implements FilterFiguresPipe {
   public static boolean isFilterFigure(Figure figure) {
     return false;
   }
-}
\ No newline at end of file
+
+  // ==============================================================================================
+
+  @Override
+  public Map<String, Integer> getCounters() {
+    Map<String, Integer> counters = new LinkedHashMap<>();
+    counters.put("processed-figures", this.numProcessedFigures);
+    counters.put("filtered-figures", this.numFilteredFigures);
+    return counters;
+  }
+}
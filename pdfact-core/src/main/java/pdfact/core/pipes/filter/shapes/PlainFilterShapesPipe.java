@@ -1,6 +1,8 @@
 package pdfact.core.pipes.filter.shapes;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import pdfact.core.model.Document;
@@ -8,13 +10,14 @@ import pdfact.core.model.Page;
 import pdfact.core.model.Shape;
 import pdfact.core.util.exception.PdfActException;
 import pdfact.core.util.list.ElementList;
+import pdfact.core.util.pipeline.HasCounters;
 
 /**
  * A plain implementation of {@link FilterShapesPipe}.
  * 
  * @author Claudius Korzen
  */
-public class PlainFilterShapesPipe implements FilterShapesPipe {
+public class PlainFilterShapesPipe implements FilterShapesPipe, HasCounters {
   /**
    * The logger.
    */
@@ -89,4 +92,14 @@ public class PlainFilterShapesPipe implements FilterShapesPipe {
   public static boolean isFilterShape(Shape shape) {
     return false;
   }
-}
\ No newline at end of file
+
+  // ==============================================================================================
+
+  @Override
+  public Map<String, Integer> getCounters() {
+    Map<String, Integer> counters = new LinkedHashMap<>();
+    counters.put("processed-shapes", this.numProcessedShapes);
+    counters.put("filtered-shapes", this.numFilteredShapes);
+    return counters;
+  }
+}
@@ -1,5 +1,6 @@
 package pdfact.core.pipes.parse;
 
+import pdfact.core.model.LoadStrategy;
 import pdfact.core.util.pipeline.Pipe;
 
 /**
@@ -9,5 +10,63 @@ import pdfact.core.util.pipeline.Pipe;
  * @author Claudius Korzen
  */
 public interface ParseDocumentPipe extends Pipe {
-  
+  /**
+   * Returns the number of threads to use on parsing the pages of a document.
+   * 
+   * @return The number of threads to use on parsing the pages of a document.
+   */
+  int getNumThreads();
+
+  /**
+   * Sets the number of threads to use on parsing the pages of a document. If this number is
+   * larger than 1, the pages are parsed in parallel.
+   * 
+   * @param numThreads The number of threads to use on parsing the pages of a document.
+   */
+  void setNumThreads(int numThreads);
+
+  /**
+   * Returns the boolean flag indicating whether or not only the text of a document is parsed.
+   * 
+   * @return True, if only the text of a document is parsed; false otherwise.
+   */
+  boolean isTextOnly();
+
+  /**
+   * Sets the boolean flag indicating whether or not only the text of a document should be parsed.
+   * If set to true, no shapes and figures are extracted from the document.
+   * 
+   * @param isTextOnly True, if only the text of a document should be parsed.
+   */
+  void setIsTextOnly(boolean isTextOnly);
+
+  /**
+   * Returns the strategy to load the file of a document.
+   * 
+   * @return The strategy to load the file of a document.
+   */
+  LoadStrategy getLoadStrategy();
+
+  /**
+   * Sets the strategy to load the file of a document.
+   * 
+   * @param strategy The strategy to load the file of a document.
+   */
+  void setLoadStrategy(LoadStrategy strategy);
+
+  /**
+   * Returns the maximum number of bytes to buffer in main memory on loading the file of a
+   * document with the strategy {@link LoadStrategy#MIXED}.
+   * 
+   * @return The maximum number of bytes to buffer in main memory.
+   */
+  long getMaxMainMemoryBytes();
+
+  /**
+   * Sets the maximum number of bytes to buffer in main memory on loading the file of a document
+   * with the strategy {@link LoadStrategy#MIXED}.
+   * 
+   * @param maxMainMemoryBytes The maximum number of bytes to buffer in main memory.
+   */
+  void setMaxMainMemoryBytes(long maxMainMemoryBytes);
 }
@@ -1,15 +1,84 @@
 package pdfact.core.pipes.parse;
 
+import static pdfact.core.PdfActCoreSettings.DEFAULT_LOAD_STRATEGY;
+import static pdfact.core.PdfActCoreSettings.DEFAULT_MAX_MAIN_MEMORY_BYTES;
+import static pdfact.core.PdfActCoreSettings.DEFAULT_NUM_PARSE_THREADS;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
 import pdfact.core.model.Document;
+import pdfact.core.model.LoadStrategy;
+import pdfact.core.model.Page;
 import pdfact.core.pipes.parse.stream.pdfbox.PdfBoxPdfStreamsParser;
 import pdfact.core.util.exception.PdfActException;
+import pdfact.core.util.pipeline.HasCounters;
 
 /**
  * A plain implementation of {@link ParseDocumentPipe}.
  * 
  * @author Claudius Korzen
  */
-public class PlainParseDocumentPipe implements ParseDocumentPipe {
+public class PlainParseDocumentPipe implements ParseDocumentPipe, HasCounters {
+  /**
+   * The number of threads to use on parsing the pages of a document.
+   */
+  protected int numThreads;
+
+  /**
+   * The boolean flag indicating whether or not only the text of a document is parsed.
+   */
+  protected boolean isTextOnly;
+
+  /**
+   * The strategy to load the file of a document.
+   */
+  protected LoadStrategy loadStrategy = DEFAULT_LOAD_STRATEGY;
+
+  /**
+   * The maximum number of bytes to buffer in main memory on loading the file of a document with the
+   * strategy {@link LoadStrategy#MIXED}.
+   */
+  protected long maxMainMemoryBytes = DEFAULT_MAX_MAIN_MEMORY_BYTES;
+
+  /**
+   * The number of parsed pages.
+   */
+  protected int numParsedPages;
+
+  /**
+   * The number of parsed characters.
+   */
+  protected int numParsedCharacters;
+
+  /**
+   * The number of parsed figures.
+   */
+  protected int numParsedFigures;
+
+  /**
+   * The number of parsed shapes.
+   */
+  protected int numParsedShapes;
+
+  /**
+   * Creates a new pipe that parses a document.
+   */
+  public PlainParseDocumentPipe() {
+    this(DEFAULT_NUM_PARSE_THREADS);
+  }
+
+  /**
+   * Creates a new pipe that parses the pages of a document with the given number of threads.
+   * 
+   * @param numThreads
+   *        The number of threads to use on parsing the pages of a document.
+   */
+  public PlainParseDocumentPipe(int numThreads) {
+    this.numThreads = numThreads;
+  }
+
+  // ==============================================================================================
+
   @Override
   public Document execute(Document doc) throws PdfActException {
     parseDocument(doc);
@@ -26,6 +95,77 @@ public class PlainParseDocumentPipe implements ParseDocumentPipe {
    *         If something went wrong while parsing the document.
    */
   protected void parseDocument(Document doc) throws PdfActException {
-    new PdfBoxPdfStreamsParser().parse(doc);
+    PdfBoxPdfStreamsParser parser = new PdfBoxPdfStreamsParser(this.numThreads);
+    parser.setIsTextOnly(this.isTextOnly);
+    parser.setLoadStrategy(this.loadStrategy);
+    parser.setMaxMainMemoryBytes(this.maxMainMemoryBytes);
+    parser.parse(doc);
+
+    if (doc.getPages() != null) {
+      for (Page page : doc.getPages()) {
+        this.numParsedPages++;
+        this.numParsedCharacters += page.getCharacters().size();
+        this.numParsedFigures += page.getFigures().size();
+        this.numParsedShapes += page.getShapes().size();
+      }
+    }
+  }
+
+  // ==============================================================================================
+
+  @Override
+  public int getNumThreads() {
+    return this.numThreads;
+  }
+
+  @Override
+  public void setNumThreads(int numThreads) {
+    this.numThreads = numThreads;
+  }
+
+  // ==============================================================================================
+
+  @Override
+  public boolean isTextOnly() {
+    return this.isTextOnly;
+  }
+
+  @Override
+  public void setIsTextOnly(boolean isTextOnly) {
+    this.isTextOnly = isTextOnly;
+  }
+
+  // ==============================================================================================
+
+  @Override
+  public LoadStrategy getLoadStrategy() {
+    return this.loadStrategy;
+  }
+
+  @Override
+  public void setLoadStrategy(LoadStrategy strategy) {
+    this.loadStrategy = strategy;
+  }
+
+  @Override
+  public long getMaxMainMemoryBytes() {
+    return this.maxMainMemoryBytes;
+  }
+
+  @Override
+  public void setMaxMainMemoryBytes(long maxMainMemoryBytes) {
+    this.maxMainMemoryBytes = maxMainMemoryBytes;
+  }
+
+  // ==============================================================================================
+
+  @Override
+  public Map<String, Integer> getCounters() {
+    Map<String, Integer> counters = new LinkedHashMap<>();
+    counters.put("parsed-pages", this.numParsedPages);
+    counters.put("parsed-characters", this.numParsedCharacters);
+    counters.put("parsed-figures", this.numParsedFigures);
+    counters.put("parsed-shapes", this.numParsedShapes);
+    return counters;
   }
 }
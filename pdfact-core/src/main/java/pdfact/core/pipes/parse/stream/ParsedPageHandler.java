@@ -0,0 +1,27 @@
+package pdfact.core.pipes.parse.stream;
+
+import pdfact.core.model.Document;
+import pdfact.core.model.Page;
+import pdfact.core.util.exception.PdfActException;
+
+/**
+ * A handler that is called by a {@link PdfStreamsParser} on parsing a PDF document page by page,
+ * each time a page was parsed.
+ *
+ * @author Claudius Korzen
+ */
+public interface ParsedPageHandler {
+  /**
+   * Handles the given parsed page.
+   *
+   * @param pdf
+   *        The PDF document to which the page belongs to. The document contains only the given
+   *        page.
+   * @param page
+   *        The parsed page.
+   *
+   * @throws PdfActException
+   *         If something went wrong while handling the page.
+   */
+  void handlePage(Document pdf, Page page) throws PdfActException;
+}
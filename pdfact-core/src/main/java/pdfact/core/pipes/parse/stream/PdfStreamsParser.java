@@ -1,6 +1,7 @@
 package pdfact.core.pipes.parse.stream;
 
 import pdfact.core.model.Document;
+import pdfact.core.model.LoadStrategy;
 import pdfact.core.util.exception.PdfActException;
 
 /**
@@ -21,4 +22,78 @@ public interface PdfStreamsParser {
    *         If something went wrong while parsing the PDF:
    */
   void parse(Document pdf) throws PdfActException;
+
+  /**
+   * Parses the streams of the given PDF document page by page. Each page is added to the given PDF
+   * document, passed to the given handler and removed from the document afterwards, so that the
+   * document contains only a single page at a time. The fonts and colors of the characters are
+   * shared by all calls of this method on the same parser.
+   *
+   * @param pdf
+   *        The PDF document to parse.
+   * @param handler
+   *        The handler to which each parsed page should be passed.
+   *
+   * @throws PdfActException
+   *         If something went wrong while parsing the PDF or handling a page.
+   */
+  void parse(Document pdf, ParsedPageHandler handler) throws PdfActException;
+
+  /**
+   * Returns the boolean flag indicating whether or not only the text of the PDF document is
+   * parsed.
+   * 
+   * @return True, if only the text of the PDF document is parsed; false otherwise.
+   */
+  boolean isTextOnly();
+
+  /**
+   * Sets the boolean flag indicating whether or not only the text of the PDF document should be
+   * parsed. If set to true, no shapes and figures are extracted: painted paths are discarded
+   * without computing their bounding boxes and colors, and images are not decoded. The graphics
+   * state that the positions of the characters depend on (for example, the transformation matrix
+   * and the clipping path) is still tracked and form xobjects are still parsed, so the extracted
+   * characters are the same as without this flag. Note that the identifiers of the colors may
+   * differ, because only the colors of the characters are registered.
+   * 
+   * @param isTextOnly
+   *        True, if only the text of the PDF document should be parsed.
+   */
+  void setIsTextOnly(boolean isTextOnly);
+
+  /**
+   * Returns the strategy to load the PDF file.
+   * 
+   * @return The strategy to load the PDF file.
+   */
+  LoadStrategy getLoadStrategy();
+
+  /**
+   * Sets the strategy to load the PDF file, that is: whether the data of the streams of the PDF
+   * file are buffered in main memory, in a temporary file, or in main memory up to
+   * {@link #getMaxMainMemoryBytes()} bytes and in a temporary file beyond. The strategy doesn't
+   * affect the extracted elements, only the needed heap and the parsing speed.
+   * 
+   * @param strategy
+   *        The strategy to load the PDF file.
+   */
+  void setLoadStrategy(LoadStrategy strategy);
+
+  /**
+   * Returns the maximum number of bytes to buffer in main memory on loading the PDF file with the
+   * strategy {@link LoadStrategy#MIXED}.
+   * 
+   * @return The maximum number of bytes to buffer in main memory.
+   */
+  long getMaxMainMemoryBytes();
+
+  /**
+   * Sets the maximum number of bytes to buffer in main memory on loading the PDF file with the
+   * strategy {@link LoadStrategy#MIXED}. If the pages are parsed in parallel, this number is
+   * shared by all threads.
+   * 
+   * @param maxMainMemoryBytes
+   *        The maximum number of bytes to buffer in main memory.
+   */
+  void setMaxMainMemoryBytes(long maxMainMemoryBytes);
 }
@@ -1,36 +1,61 @@
 package pdfact.core.pipes.parse.stream.pdfbox;
 
+import static pdfact.core.PdfActCoreSettings.DEFAULT_LOAD_STRATEGY;
+import static pdfact.core.PdfActCoreSettings.DEFAULT_MAX_MAIN_MEMORY_BYTES;
 import static pdfact.core.PdfActCoreSettings.FLOATING_NUMBER_PRECISION;
 import java.awt.geom.GeneralPath;
 import java.awt.geom.Point2D;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.Stack;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.pdfbox.contentstream.PDContentStream;
 import org.apache.pdfbox.contentstream.operator.Operator;
 import org.apache.pdfbox.cos.COSBase;
 import org.apache.pdfbox.cos.COSObject;
+import org.apache.pdfbox.io.MemoryUsageSetting;
 import org.apache.pdfbox.pdfparser.PDFStreamParser;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.pdmodel.PDPage;
 import org.apache.pdfbox.pdmodel.PDResources;
 import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.font.PDFont;
 import org.apache.pdfbox.pdmodel.font.PDType3CharProc;
+import org.apache.pdfbox.pdmodel.graphics.color.PDColor;
+import org.apache.pdfbox.pdmodel.graphics.color.PDColorSpace;
 import org.apache.pdfbox.pdmodel.graphics.state.PDGraphicsState;
 import org.apache.pdfbox.util.Matrix;
 import pdfact.core.model.Character;
+import pdfact.core.model.Color;
+import pdfact.core.model.CharacterTable;
 import pdfact.core.model.Document;
+import pdfact.core.model.DocumentSession;
 import pdfact.core.model.Figure;
+import pdfact.core.model.Font;
+import pdfact.core.model.FontFace;
+import pdfact.core.model.LoadStrategy;
 import pdfact.core.model.Page;
+import pdfact.core.model.PageSelection;
 import pdfact.core.model.Point;
 import pdfact.core.model.Rectangle;
 import pdfact.core.model.Shape;
+import pdfact.core.pipes.parse.stream.ParsedPageHandler;
 import pdfact.core.pipes.parse.stream.PdfStreamsParser;
+import pdfact.core.pipes.parse.stream.pdfbox.convert.PDFontConverter;
+import pdfact.core.pipes.parse.stream.pdfbox.convert.PDFontFaceConverter;
 import pdfact.core.pipes.parse.stream.pdfbox.operators.OperatorProcessor;
 import pdfact.core.pipes.parse.stream.pdfbox.operators.color.SetNonStrokingColor;
 import pdfact.core.pipes.parse.stream.pdfbox.operators.color.SetNonStrokingColorN;
@@ -84,6 +109,7 @@ import pdfact.core.pipes.parse.stream.pdfbox.operators.text.SetWordSpacing;
 import pdfact.core.pipes.parse.stream.pdfbox.operators.text.ShowText;
 import pdfact.core.pipes.parse.stream.pdfbox.operators.text.ShowTextWithIndividualGlyphPositioning;
 import pdfact.core.util.PdfActUtils;
+import pdfact.core.util.color.ColorManager;
 import pdfact.core.util.exception.PdfActException;
 import pdfact.core.util.exception.PdfActParseException;
 import pdfact.core.util.statistician.CharacterStatistician;
@@ -107,6 +133,14 @@ public class PdfBoxPdfStreamsParser implements PdfStreamsParser {
    */
   protected Map<String, OperatorProcessor> operatorProcessors;
 
+  /**
+   * The operator processors per operator instance, resolved on the first occurrence of an
+   * operator (the value is null if the operator is not handled). PDFBox shares a single instance
+   * per operator (except for the inline image operators BI and ID, which are never added to this
+   * map), so the processor of an operator can be looked up by identity instead of by name.
+   */
+  protected Map<Operator, OperatorProcessor> resolvedOperatorProcessors;
+
   /**
    * The statistician to compute statistics about characters.
    */
@@ -193,11 +227,78 @@ public class PdfBoxPdfStreamsParser implements PdfStreamsParser {
    */
   protected int numShapes;
 
+  /**
+   * The number of threads to use on parsing the pages of a PDF document. If this number is larger
+   * than 1, the pages are parsed in parallel, each page by a worker with its own engine state.
+   */
+  protected int numThreads = 1;
+
+  /**
+   * Flag to indicate whether only the text of a PDF document is parsed. If so, no shapes and
+   * figures are extracted.
+   */
+  protected boolean isTextOnly;
+
+  /**
+   * The strategy to load a PDF file.
+   */
+  protected LoadStrategy loadStrategy = DEFAULT_LOAD_STRATEGY;
+
+  /**
+   * The maximum number of bytes to buffer in main memory on loading a PDF file with the strategy
+   * {@link LoadStrategy#MIXED}.
+   */
+  protected long maxMainMemoryBytes = DEFAULT_MAX_MAIN_MEMORY_BYTES;
+
+  /**
+   * The converter to convert PDFont objects to {@link Font} objects.
+   */
+  protected PDFontConverter fontConverter;
+
+  /**
+   * The converter to create instances of {@link FontFace}.
+   */
+  protected PDFontFaceConverter fontFaceConverter;
+
+  /**
+   * The manager to convert PDF colors to {@link Color} objects.
+   */
+  protected ColorManager colorManager;
+
+  /**
+   * Flag to indicate whether this engine parses pages in a worker thread. If so, the fonts and
+   * colors used per page are recorded, so that they can be registered in page order on merging.
+   */
+  protected boolean isWorker;
+
+  /**
+   * The fonts used in the pages parsed by this engine, per page number and in the order of their
+   * first use (only used if this engine is a worker).
+   */
+  protected Map<Integer, Set<Font>> usedFonts;
+
+  /**
+   * The colors used in the pages parsed by this engine, per page number and in the order of their
+   * first use (only used if this engine is a worker).
+   */
+  protected Map<Integer, Set<Color>> usedColors;
+
+  /**
+   * The fonts used in the current page, in the order of their first use.
+   */
+  protected Set<Font> pageFonts;
+
+  /**
+   * The colors used in the current page, in the order of their first use.
+   */
+  protected Set<Color> pageColors;
+
   /**
    * Creates a new stream engine.
    */
   public PdfBoxPdfStreamsParser() {
     this.operatorProcessors = new HashMap<>();
+    this.resolvedOperatorProcessors = new IdentityHashMap<>();
 
     // Install the text operator modules.
     registerOperatorProcessor(new BeginText()); // BT
@@ -257,12 +358,33 @@ public class PdfBoxPdfStreamsParser implements PdfStreamsParser {
     registerOperatorProcessor(new SetStrokingDeviceRGBColor()); // RG
 
     this.statistician = new CharacterStatistician();
+    this.fontConverter = new PDFontConverter();
+    this.fontFaceConverter = new PDFontFaceConverter();
+    this.colorManager = new ColorManager();
     this.graphicsStack = new Stack<PDGraphicsState>();
     this.linePath = new GeneralPath();
   }
 
+  /**
+   * Creates a new stream engine that parses the pages of a PDF document with the given number of
+   * threads.
+   * 
+   * @param numThreads The number of threads to use on parsing the pages.
+   */
+  public PdfBoxPdfStreamsParser(int numThreads) {
+    this();
+    this.numThreads = numThreads;
+  }
+
+  /**
+   * Registers the given operator processor. The processor is bound to this engine.
+   * 
+   * @param processor The processor to register.
+   */
   protected void registerOperatorProcessor(OperatorProcessor processor) {
+    processor.setStreamEngine(this);
     this.operatorProcessors.put(processor.getName(), processor);
+    this.resolvedOperatorProcessors.clear();
   }
 
   // ==============================================================================================
@@ -270,16 +392,334 @@ public class PdfBoxPdfStreamsParser implements PdfStreamsParser {
 
   @Override
   public void parse(Document pdf) throws PdfActException {
-    try (PDDocument doc = PDDocument.load(pdf.getFile())) {
-      handlePdfFileStart(pdf);
-      for (int i = 0; i < doc.getPages().getCount(); i++) {
-        log.debug("==================== Page %d ====================", i + 1);
-        processPage(pdf, doc.getPages().get(i), i + 1);
+    if (this.numThreads > 1) {
+      parseInParallel(pdf);
+    } else {
+      parseSequentially(pdf);
+    }
+  }
+
+  /**
+   * Parses the pages of the given PDF document one after another, in the current thread.
+   * 
+   * @param pdf The PDF document to parse.
+   * @throws PdfActException If something went wrong while parsing the PDF document.
+   */
+  protected void parseSequentially(Document pdf) throws PdfActException {
+    try {
+      PDDocument doc = loadPdDocument(pdf);
+      try {
+        setNumPdfPages(pdf, doc.getNumberOfPages());
+        handlePdfFileStart(pdf);
+        for (int i = 0; i < doc.getPages().getCount(); i++) {
+          // Skip the page if it isn't selected, without parsing its content stream.
+          if (!pdf.isSelectedPage(i + 1)) {
+            continue;
+          }
+          log.debug("==================== Page %d ====================", i + 1);
+          processPage(pdf, doc.getPages().get(i), i + 1);
+        }
+        handlePdfFileEnd(pdf);
+      } finally {
+        releasePdDocument(pdf, doc);
+      }
+    } catch (IOException e) {
+      throw new PdfActParseException("Couldn't parse the PDF.", e);
+    }
+  }
+
+  @Override
+  public void parse(Document pdf, ParsedPageHandler handler) throws PdfActException {
+    // The extraction ranks are assigned per call of this method (and not by the operator
+    // processors, which keep on counting over all calls).
+    int extractionRank = 0;
+
+    try {
+      PDDocument doc = loadPdDocument(pdf);
+      try {
+        setNumPdfPages(pdf, doc.getNumberOfPages());
+        for (int i = 0; i < doc.getPages().getCount(); i++) {
+          // Skip the page if it isn't selected, without parsing its content stream.
+          if (!pdf.isSelectedPage(i + 1)) {
+            continue;
+          }
+          log.debug("==================== Page %d ====================", i + 1);
+          pdf.setPages(new ArrayList<Page>(1));
+          processPage(pdf, doc.getPages().get(i), i + 1);
+
+          Page page = pdf.getFirstPage();
+          for (Character character : page.getCharacters()) {
+            character.setExtractionRank(extractionRank++);
+          }
+          handler.handlePage(pdf, page);
+        }
+        pdf.setPages(new ArrayList<Page>());
+      } finally {
+        releasePdDocument(pdf, doc);
+      }
+    } catch (IOException e) {
+      throw new PdfActParseException("Couldn't parse the PDF.", e);
+    }
+  }
+
+  /**
+   * Sets the total number of pages of the given PDF document and checks that at least one of the
+   * pages is selected (see {@link Document#getPageSelection()}).
+   * 
+   * @param pdf         The PDF document to parse.
+   * @param numPdfPages The total number of pages in the PDF file.
+   * @throws PdfActParseException If none of the pages is selected.
+   */
+  protected void setNumPdfPages(Document pdf, int numPdfPages) throws PdfActParseException {
+    pdf.setNumPdfPages(numPdfPages);
+    PageSelection selection = pdf.getPageSelection();
+    if (selection != null && !selection.containsAny(numPdfPages)) {
+      throw new PdfActParseException("The selected pages \"" + selection + "\" don't match any "
+          + "of the " + numPdfPages + " page(s) of the PDF file.");
+    }
+  }
+
+  /**
+   * Returns the PDDocument to parse for the given PDF document: the PDDocument of the session of
+   * the PDF document, if there is any; or a newly loaded PDDocument otherwise. The returned
+   * PDDocument must be released via {@link #releasePdDocument(Document, PDDocument)}.
+   * 
+   * @param pdf The PDF document to parse.
+   * @return The PDDocument to parse.
+   * @throws IOException If the PDDocument couldn't be loaded.
+   */
+  protected PDDocument loadPdDocument(Document pdf) throws IOException {
+    DocumentSession session = pdf.getSession();
+    if (session != null) {
+      return session.getPdDocument();
+    }
+    return PDDocument.load(pdf.getFile(), createMemoryUsageSetting());
+  }
+
+  /**
+   * Creates the memory settings to pass to PDFBox on loading a PDF file, according to the load
+   * strategy of this engine.
+   * 
+   * @return The memory settings to pass to PDFBox.
+   */
+  protected MemoryUsageSetting createMemoryUsageSetting() {
+    return this.loadStrategy.toMemoryUsageSetting(this.maxMainMemoryBytes);
+  }
+
+  /**
+   * Releases the given PDDocument, loaded via {@link #loadPdDocument(Document)}. Closes the
+   * PDDocument, unless it is owned by the session of the given PDF document (in which case it is
+   * kept alive for the subsequent pipes, for example the visualization).
+   * 
+   * @param pdf The PDF document which was parsed.
+   * @param doc The PDDocument to release.
+   * @throws IOException If the PDDocument couldn't be closed.
+   */
+  protected void releasePdDocument(Document pdf, PDDocument doc) throws IOException {
+    if (pdf.getSession() == null) {
+      doc.close();
+    }
+  }
+
+  /**
+   * Parses the pages of the given PDF document in parallel. Each worker loads its own instance of
+   * the PDF file (since PDFBox documents must not be shared between threads) and processes the
+   * pages with its own engine state and its own operator processors. Afterwards, the parsed pages
+   * are merged back in page order. The extraction ranks of the characters and the identifiers of
+   * the fonts and colors are assigned on merging, so that they do not depend on the thread
+   * schedule.
+   * 
+   * @param pdf The PDF document to parse.
+   * @throws PdfActException If something went wrong while parsing the PDF document.
+   */
+  protected void parseInParallel(final Document pdf) throws PdfActException {
+    final int numPdfPages;
+    try {
+      PDDocument doc = loadPdDocument(pdf);
+      try {
+        numPdfPages = doc.getNumberOfPages();
+        setNumPdfPages(pdf, numPdfPages);
+      } finally {
+        releasePdDocument(pdf, doc);
       }
-      handlePdfFileEnd(pdf);
     } catch (IOException e) {
       throw new PdfActParseException("Couldn't parse the PDF.", e);
     }
+
+    // Collect the indexes of the pages to parse.
+    final int[] pageIndexes = new int[numPdfPages];
+    int numPagesToParse = 0;
+    for (int i = 0; i < numPdfPages; i++) {
+      if (pdf.isSelectedPage(i + 1)) {
+        pageIndexes[numPagesToParse++] = i;
+      }
+    }
+
+    int numWorkers = Math.min(this.numThreads, numPagesToParse);
+    if (numWorkers < 2) {
+      parseSequentially(pdf);
+      return;
+    }
+
+    log.debug("Parsing %d pages with %d threads.", numPagesToParse, numWorkers);
+
+    // The position of the next page to parse in the page indexes, shared by all workers.
+    final AtomicInteger nextPageIndex = new AtomicInteger();
+    final int numPages = numPagesToParse;
+
+    ExecutorService executor = Executors.newFixedThreadPool(numWorkers);
+    try {
+      List<PdfBoxPdfStreamsParser> workers = new ArrayList<>(numWorkers);
+      List<Future<List<Page>>> futures = new ArrayList<>(numWorkers);
+      for (int i = 0; i < numWorkers; i++) {
+        final PdfBoxPdfStreamsParser worker = createWorker();
+        // Share the main memory budget between the workers, each loading its own PDF file.
+        worker.maxMainMemoryBytes = Math.max(1, this.maxMainMemoryBytes / numWorkers);
+        workers.add(worker);
+        futures.add(executor.submit(new Callable<List<Page>>() {
+          @Override
+          public List<Page> call() throws IOException {
+            return worker.parsePages(pdf, pageIndexes, numPages, nextPageIndex);
+          }
+        }));
+      }
+
+      // Put the pages back in page order.
+      Page[] pages = new Page[numPdfPages];
+      for (Future<List<Page>> future : futures) {
+        for (Page page : future.get()) {
+          pages[page.getPageNumber() - 1] = page;
+        }
+      }
+      if (numPages < numPdfPages) {
+        // Remove the gaps of the pages which weren't selected.
+        List<Page> selectedPages = new ArrayList<>(numPages);
+        for (Page page : pages) {
+          if (page != null) {
+            selectedPages.add(page);
+          }
+        }
+        pages = selectedPages.toArray(new Page[numPages]);
+      }
+
+      handlePdfFileStart(pdf);
+      mergePages(pdf, pages, workers);
+      handlePdfFileEnd(pdf);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new PdfActParseException("Parsing the PDF was interrupted.", e);
+    } catch (ExecutionException e) {
+      throw new PdfActParseException("Couldn't parse the PDF.", e.getCause());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  /**
+   * Creates a new engine that parses the pages of a PDF document in a worker thread.
+   * 
+   * @return The created engine.
+   */
+  protected PdfBoxPdfStreamsParser createWorker() {
+    PdfBoxPdfStreamsParser worker = new PdfBoxPdfStreamsParser();
+    worker.isWorker = true;
+    worker.isTextOnly = this.isTextOnly;
+    worker.loadStrategy = this.loadStrategy;
+    worker.maxMainMemoryBytes = this.maxMainMemoryBytes;
+    worker.usedFonts = new HashMap<>();
+    worker.usedColors = new HashMap<>();
+    return worker;
+  }
+
+  /**
+   * Loads the given PDF document and parses pages from it until there is no page left. The pages
+   * to parse are requested one by one from the given position in the given page indexes, which is
+   * shared with other workers.
+   * 
+   * @param pdf           The PDF document to parse.
+   * @param pageIndexes   The (0-based) indexes of the pages to parse, in page order.
+   * @param numPages      The number of pages to parse, that is: the number of valid entries in
+   *                      the page indexes.
+   * @param nextPageIndex The position of the next page to parse in the page indexes.
+   * @return The parsed pages.
+   * @throws IOException If something went wrong while parsing the pages.
+   */
+  protected List<Page> parsePages(Document pdf, int[] pageIndexes, int numPages,
+      AtomicInteger nextPageIndex) throws IOException {
+    // Collect the pages in a document of its own, since the given document is shared with the
+    // other workers.
+    Document workerPdf = new Document(pdf.getFile());
+
+    try (PDDocument doc = PDDocument.load(pdf.getFile(), createMemoryUsageSetting())) {
+      int k;
+      while ((k = nextPageIndex.getAndIncrement()) < numPages) {
+        int i = pageIndexes[k];
+        log.debug("==================== Page %d ====================", i + 1);
+        processPage(workerPdf, doc.getPages().get(i), i + 1);
+      }
+    }
+    return workerPdf.getPages();
+  }
+
+  /**
+   * Adds the given pages, parsed by the given workers, to the given PDF document. Registers the
+   * fonts and colors used in the pages in page order (and, within a page, in the order of their
+   * first use), numbers the characters in page order and recomputes the character statistics of
+   * the pages, so that the result is the same as if the pages were parsed one after another.
+   * 
+   * @param pdf     The PDF document to which the pages should be added.
+   * @param pages   The parsed pages, in page order.
+   * @param workers The workers which parsed the pages.
+   */
+  protected void mergePages(Document pdf, Page[] pages, List<PdfBoxPdfStreamsParser> workers) {
+    int extractionRank = 0;
+
+    for (Page page : pages) {
+      int pageNum = page.getPageNumber();
+
+      // Register the fonts and colors used in the page.
+      for (PdfBoxPdfStreamsParser worker : workers) {
+        Set<Font> fonts = worker.usedFonts.get(pageNum);
+        if (fonts != null) {
+          for (Font font : fonts) {
+            this.fontConverter.register(font);
+          }
+        }
+        Set<Color> colors = worker.usedColors.get(pageNum);
+        if (colors != null) {
+          for (Color color : colors) {
+            this.colorManager.getColor(color.getRGB());
+          }
+        }
+      }
+
+      // Replace the fonts and colors of the workers by the registered fonts and colors.
+      for (Character character : page.getCharacters()) {
+        character.setExtractionRank(extractionRank++);
+
+        FontFace fontFace = character.getFontFace();
+        if (fontFace != null) {
+          Font font = this.fontConverter.register(fontFace.getFont());
+          character.setFontFace(this.fontFaceConverter.convert(font, fontFace.getFontSize()));
+        }
+        if (character.getColor() != null) {
+          character.setColor(this.colorManager.getColor(character.getColor().getRGB()));
+        }
+      }
+      for (Shape shape : page.getShapes()) {
+        if (shape.getColor() != null) {
+          shape.setColor(this.colorManager.getColor(shape.getColor().getRGB()));
+        }
+      }
+
+      handlePdfPageStart(pdf, page);
+      // The statistics computed by the worker refer to the fonts of the worker, recompute them.
+      handlePdfPageEnd(pdf, page);
+
+      this.numCharacters += page.getCharacters().size();
+      this.numFigures += page.getFigures().size();
+      this.numShapes += page.getShapes().size();
+    }
   }
 
   /**
@@ -305,6 +745,13 @@ public class PdfBoxPdfStreamsParser implements PdfStreamsParser {
     this.currentType3GlyphBoundingBox = null;
     this.isType3Stream = false;
 
+    if (this.isWorker) {
+      this.pageFonts = new LinkedHashSet<>();
+      this.pageColors = new LinkedHashSet<>();
+      this.usedFonts.put(pageNum, this.pageFonts);
+      this.usedColors.put(pageNum, this.pageColors);
+    }
+
     Page pdfPage = new Page(pageNum);
     PDRectangle rect = page.getMediaBox();
     if (rect == null) {
@@ -392,7 +839,11 @@ public class PdfBoxPdfStreamsParser implements PdfStreamsParser {
   }
 
   /**
-   * Processes the operators of the given content stream.
+   * Processes the operators of the given content stream. The tokens of the stream are pulled from
+   * the parser one by one (instead of materializing the token list of the whole stream upfront)
+   * and the list of arguments is reused for all operators, so that the memory needed to process
+   * a stream does not depend on the length of the stream. Operator processors must therefore not
+   * hold a reference to the list of arguments passed to them beyond processing the operator.
    * 
    * @param pdf    The PDF document to which the stream belongs to.
    * @param page   The PDF page to which the stream belongs to.
@@ -404,14 +855,14 @@ public class PdfBoxPdfStreamsParser implements PdfStreamsParser {
     List<COSBase> arguments = new ArrayList<COSBase>();
 
     PDFStreamParser parser = new PDFStreamParser(stream);
-    parser.parse();
 
-    for (Object token : parser.getTokens()) {
+    Object token;
+    while ((token = parser.parseNextToken()) != null) {
       if (token instanceof COSObject) {
         arguments.add(((COSObject) token).getObject());
       } else if (token instanceof Operator) {
         processOperator(pdf, page, (Operator) token, arguments);
-        arguments = new ArrayList<COSBase>();
+        arguments.clear();
       } else {
         arguments.add((COSBase) token);
       }
@@ -444,25 +895,50 @@ public class PdfBoxPdfStreamsParser implements PdfStreamsParser {
    */
   protected void processOperator(Document pdf, Page page, Operator op, List<COSBase> args)
           throws IOException {
-    OperatorProcessor processor = this.operatorProcessors.get(op.getName());
+    OperatorProcessor processor = getOperatorProcessor(op);
 
-    log.debug("-----------------------------------------------------");
-    log.debug("Operator: %s; Args: %s", op.getName(), args);
-    log.debug("... page: %d", page.getPageNumber());
+    boolean isDebugEnabled = log.isDebugEnabled();
+    if (isDebugEnabled) {
+      log.debug("-----------------------------------------------------");
+      log.debug("Operator: %s; Args: %s", op.getName(), args);
+      log.debug("... page: %d", page.getPageNumber());
+    }
 
     if (processor != null) {
-      log.debug("... handled by %s.class.", processor.getClass().getSimpleName());
+      if (isDebugEnabled) {
+        log.debug("... handled by %s.class.", processor.getClass().getSimpleName());
+      }
       try {
-        processor.setStreamEngine(this);
         processor.process(pdf, page, op, args);
       } catch (IOException e) {
         log.warn("... error on handling the operator.", e);
       }
-    } else {
+    } else if (isDebugEnabled) {
       log.debug("... not handled.");
     }
   }
 
+  /**
+   * Returns the processor that handles the given operator.
+   * 
+   * @param op The operator.
+   * @return The processor that handles the given operator, or null if the operator is not handled.
+   */
+  protected OperatorProcessor getOperatorProcessor(Operator op) {
+    OperatorProcessor processor = this.resolvedOperatorProcessors.get(op);
+    if (processor != null || this.resolvedOperatorProcessors.containsKey(op)) {
+      return processor;
+    }
+
+    processor = this.operatorProcessors.get(op.getName());
+    // Resolve the processor only once per shared operator instance. BI and ID operators are
+    // created anew on each occurrence, so caching them would let the map grow without bounds.
+    if (Operator.getOperator(op.getName()) == op) {
+      this.resolvedOperatorProcessors.put(op, processor);
+    }
+    return processor;
+  }
+
   // ==============================================================================================
   // Methods related to resources.
 
@@ -690,6 +1166,87 @@ public class PdfBoxPdfStreamsParser implements PdfStreamsParser {
     this.textMatrix = value;
   }
 
+  // ==============================================================================================
+  // Methods related to fonts and colors.
+
+  /**
+   * Converts the given font and font size to a {@link FontFace} object.
+   * 
+   * @param pdFont   The font to convert.
+   * @param fontSize The font size.
+   * @return The converted font face.
+   */
+  public FontFace getFontFace(PDFont pdFont, float fontSize) {
+    Font font = this.fontConverter.convert(pdFont);
+    if (this.isWorker && font != null) {
+      this.pageFonts.add(font);
+    }
+    return this.fontFaceConverter.convert(font, fontSize);
+  }
+
+  /**
+   * Converts the given PDF color to a {@link Color} object.
+   * 
+   * @param color      The color to convert.
+   * @param colorSpace The color space of the color.
+   * @return The converted color.
+   */
+  public Color getColor(PDColor color, PDColorSpace colorSpace) {
+    return getColor(ColorManager.toRGB(color, colorSpace));
+  }
+
+  /**
+   * Converts the given RGB array to a {@link Color} object.
+   * 
+   * @param rgb The RGB array to convert.
+   * @return The converted color.
+   */
+  public Color getColor(int[] rgb) {
+    Color color = this.colorManager.getColor(rgb);
+    // The identifiers of the colors registered by a worker depend on the thread schedule. Record
+    // the colors, so that they can be registered in page order on merging the pages.
+    if (this.isWorker && color != null) {
+      this.pageColors.add(color);
+    }
+    return color;
+  }
+
+  // ==============================================================================================
+  // Methods related to the text-only mode.
+
+  @Override
+  public boolean isTextOnly() {
+    return this.isTextOnly;
+  }
+
+  @Override
+  public void setIsTextOnly(boolean isTextOnly) {
+    this.isTextOnly = isTextOnly;
+  }
+
+  // ==============================================================================================
+  // Methods related to the loading of PDF files.
+
+  @Override
+  public LoadStrategy getLoadStrategy() {
+    return this.loadStrategy;
+  }
+
+  @Override
+  public void setLoadStrategy(LoadStrategy strategy) {
+    this.loadStrategy = strategy;
+  }
+
+  @Override
+  public long getMaxMainMemoryBytes() {
+    return this.maxMainMemoryBytes;
+  }
+
+  @Override
+  public void setMaxMainMemoryBytes(long maxMainMemoryBytes) {
+    this.maxMainMemoryBytes = maxMainMemoryBytes;
+  }
+
   // ==============================================================================================
   // Methods related to Type 3 fonts.
 
@@ -849,8 +1406,10 @@ public class PdfBoxPdfStreamsParser implements PdfStreamsParser {
    * @param page The page to process.
    */
   public void handlePdfPageEnd(Document pdf, Page page) {
-    // Compute the character statistics for the page.
-    page.setCharacterStatistic(this.statistician.compute(page));
+    // Compute the character statistics for the page, by sweeping a columnar table of its
+    // characters (the table is built for this computation only and isn't kept).
+    CharacterTable table = new CharacterTable(page.getCharacters());
+    page.setCharacterStatistic(this.statistician.compute(table));
   }
 
   /**
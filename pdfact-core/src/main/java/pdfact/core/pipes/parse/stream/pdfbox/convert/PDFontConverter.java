@@ -76,6 +76,35 @@ public class PDFontConverter {
     return newFont;
   }
 
+  /**
+   * Registers the given font, which was created by another converter (for example, by a converter
+   * used in another thread). Returns the already known font with the same normalized name, if
+   * there is any; otherwise the given font is registered under a new identifier and returned.
+   * 
+   * @param font
+   *        The font to register.
+   * 
+   * @return The registered font.
+   */
+  public Font register(Font font) {
+    if (font == null) {
+      return null;
+    }
+
+    // Check if the font is already known.
+    Font knownFont = this.knownFonts.get(font.getNormalizedName());
+    if (knownFont != null) {
+      return knownFont;
+    }
+
+    // The font is not known. Register it under a new identifier.
+    font.setId("font-" + this.knownFonts.size());
+    this.knownFonts.put(font.getNormalizedName(), font);
+    log.debug("A new font was registered: " + font);
+
+    return font;
+  }
+
   // ==============================================================================================
 
   /**
@@ -22,7 +22,6 @@ import pdfact.core.model.Shape;
 import pdfact.core.pipes.parse.stream.pdfbox.operators.OperatorProcessor;
 import pdfact.core.pipes.parse.stream.pdfbox.utils.ColorUtils;
 import pdfact.core.util.PdfActUtils;
-import pdfact.core.util.color.ColorManager;
 
 /**
  * BI: Begin inline image.
@@ -40,6 +39,11 @@ public class BeginInlineImage extends OperatorProcessor {
   @Override
   public void process(Document pdf, Page page, Operator op,
       List<COSBase> args) throws IOException {
+    // If only the text is parsed, the image is not needed.
+    if (this.engine.isTextOnly()) {
+      return;
+    }
+
     Matrix ctm = this.engine.getCurrentTransformationMatrix();
     COSDictionary params = op.getImageParameters();
 
@@ -66,7 +70,7 @@ public class BeginInlineImage extends OperatorProcessor {
 
       // If the image consists of only one color, consider it as a shape.
       // TODO: Manage the colors.
-      int[] exclusiveColor = ColorUtils.getExclusiveColor(image.getImage());
+      int[] exclusiveColor = ColorUtils.getExclusiveColor(image);
 
       Point ll = new Point(minX, minY);
       Point ur = new Point(maxX, maxY);
@@ -74,7 +78,7 @@ public class BeginInlineImage extends OperatorProcessor {
       Position position = new Position(page, ll, ur);
 
       if (exclusiveColor != null) {
-        Color color = ColorManager.getColor(exclusiveColor);
+        Color color = this.engine.getColor(exclusiveColor);
 
         log.debug("The inline image consists only of the color " + color + ". "
             + "Considering it as a shape.");
@@ -26,7 +26,6 @@ import pdfact.core.model.Position;
 import pdfact.core.model.Shape;
 import pdfact.core.pipes.parse.stream.pdfbox.operators.OperatorProcessor;
 import pdfact.core.pipes.parse.stream.pdfbox.utils.ColorUtils;
-import pdfact.core.util.color.ColorManager;
 
 /**
  * Do: Invoke a named xobject.
@@ -47,6 +46,11 @@ public class DrawObject extends OperatorProcessor {
     // Get the name of the PDXOject.
     COSName name = (COSName) args.get(0);
 
+    // If only the text is parsed, images are not needed (but forms may contain text).
+    if (this.engine.isTextOnly() && this.engine.getResources().isImageXObject(name)) {
+      return;
+    }
+
     // Get the PDXObject.
     PDXObject xobject = this.engine.getResources().getXObject(name);
 
@@ -107,10 +111,10 @@ public class DrawObject extends OperatorProcessor {
 
       // If the image consists of only one color, consider it as a shape.
       // TODO: Manage the colors.
-      int[] exclusiveColor = ColorUtils.getExclusiveColor(image.getImage());
+      int[] exclusiveColor = ColorUtils.getExclusiveColor(image);
 
       if (exclusiveColor != null) {
-        Color color = ColorManager.getColor(exclusiveColor);
+        Color color = this.engine.getColor(exclusiveColor);
         Shape shape = new Shape();
         shape.setPosition(position);
         shape.setColor(color);
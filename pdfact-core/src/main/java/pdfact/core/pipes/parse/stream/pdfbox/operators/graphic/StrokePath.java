@@ -19,7 +19,6 @@ import pdfact.core.model.Position;
 import pdfact.core.model.Shape;
 import pdfact.core.pipes.parse.stream.pdfbox.operators.OperatorProcessor;
 import pdfact.core.util.PdfActUtils;
-import pdfact.core.util.color.ColorManager;
 
 /**
  * S: Stroke the path.
@@ -30,6 +29,12 @@ public class StrokePath extends OperatorProcessor {
   @Override
   public void process(Document pdf, Page page, Operator op,
       List<COSBase> args) throws IOException {
+    // If only the text is parsed, discard the path without creating any shapes.
+    if (this.engine.isTextOnly()) {
+      this.engine.getLinePath().reset();
+      return;
+    }
+
     int windingRule = -1;
     if (args.size() > 0) {
       windingRule = ((COSNumber) args.get(0)).intValue();
@@ -52,7 +57,7 @@ public class StrokePath extends OperatorProcessor {
     }
 
     // Convert the color.
-    Color color = ColorManager.getColor(c, cs);
+    Color color = this.engine.getColor(c, cs);
     GeneralPath linePath = this.engine.getLinePath();
 
     PathIterator itr;
@@ -1,31 +1,28 @@
 package pdfact.core.pipes.parse.stream.pdfbox.operators.text;
 
 import static pdfact.core.PdfActCoreSettings.FLOATING_NUMBER_PRECISION;
-import java.awt.geom.Rectangle2D;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import org.apache.fontbox.afm.CharMetric;
-import org.apache.fontbox.cff.CFFType1Font;
-import org.apache.fontbox.cff.Type1CharString;
-import org.apache.fontbox.type1.Type1Font;
-import org.apache.fontbox.util.BoundingBox;
+import java.util.Set;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.pdfbox.contentstream.operator.Operator;
 import org.apache.pdfbox.cos.COSBase;
+import org.apache.pdfbox.cos.COSNumber;
 import org.apache.pdfbox.cos.COSString;
+import org.apache.pdfbox.pdfparser.PDFStreamParser;
 import org.apache.pdfbox.pdmodel.font.PDFont;
 import org.apache.pdfbox.pdmodel.font.PDFontFactory;
 import org.apache.pdfbox.pdmodel.font.PDSimpleFont;
-import org.apache.pdfbox.pdmodel.font.PDType1CFont;
-import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.PDType3CharProc;
 import org.apache.pdfbox.pdmodel.font.PDType3Font;
-import org.apache.pdfbox.pdmodel.font.encoding.Encoding;
 import org.apache.pdfbox.pdmodel.font.encoding.GlyphList;
 import org.apache.pdfbox.pdmodel.graphics.color.PDColor;
 import org.apache.pdfbox.pdmodel.graphics.color.PDColorSpace;
@@ -36,19 +33,17 @@ import org.apache.pdfbox.util.Vector;
 import pdfact.core.model.Character;
 import pdfact.core.model.Color;
 import pdfact.core.model.Document;
-import pdfact.core.model.Font;
 import pdfact.core.model.FontFace;
 import pdfact.core.model.Page;
 import pdfact.core.model.Point;
 import pdfact.core.model.Position;
 import pdfact.core.model.Rectangle;
-import pdfact.core.pipes.parse.stream.pdfbox.convert.PDFontConverter;
-import pdfact.core.pipes.parse.stream.pdfbox.convert.PDFontFaceConverter;
+import pdfact.core.pipes.parse.stream.pdfbox.PdfBoxPdfStreamsParser;
 import pdfact.core.pipes.parse.stream.pdfbox.operators.OperatorProcessor;
-import pdfact.core.pipes.parse.stream.pdfbox.utils.PdfBoxAFMUtils;
+import pdfact.core.pipes.parse.stream.pdfbox.utils.PdfBoxGlyphMetricsCache;
+import pdfact.core.pipes.parse.stream.pdfbox.utils.PdfBoxGlyphMetricsCache.Type3Glyph;
 import pdfact.core.pipes.parse.stream.pdfbox.utils.PdfBoxGlyphUtils;
 import pdfact.core.util.PdfActUtils;
-import pdfact.core.util.color.ColorManager;
 
 /**
  * Tj: Show a text string.
@@ -62,19 +57,14 @@ public class ShowText extends OperatorProcessor {
   protected final Logger log = LogManager.getFormatterLogger("char-extraction");
 
   /**
-   * The translator to translate PDFont objects to PdfFont objects.
-   */
-  protected PDFontConverter fontTranslator;
-
-  /**
-   * The converter to create instances of {@link FontFace}.
+   * The util to read the specifications of special glyphs.
    */
-  protected PDFontFaceConverter fontFaceConverter;
+  protected PdfBoxGlyphUtils glyphUtils;
 
   /**
-   * The util to read the specifications of special glyphs.
+   * The cache of the bounding boxes and displacements of the glyphs, per font and code.
    */
-  protected PdfBoxGlyphUtils glyphUtils;
+  protected PdfBoxGlyphMetricsCache glyphMetrics;
 
   /**
    * The number of already processed characters (needed to define the sequence number of a
@@ -82,13 +72,31 @@ public class ShowText extends OperatorProcessor {
    */
   protected int sequenceNumber;
 
+  /**
+   * The text rendering matrix of the current glyph, reused for all glyphs.
+   */
+  protected final Matrix trm = new Matrix();
+
+  /**
+   * Reusable buffers for the matrix products needed to position a glyph, with the values of a
+   * matrix in the same layout as in {@link Matrix} (a 3x3 matrix in row-major order).
+   */
+  protected final float[] matrix1 = new float[9];
+  protected final float[] matrix2 = new float[9];
+  protected final float[] matrix3 = new float[9];
+
+  /**
+   * A reusable buffer for the two corners of a bounding box to transform, in the form
+   * [x1, y1, x2, y2].
+   */
+  protected final float[] corners = new float[4];
+
   /**
    * Creates a new OperatorProcessor to process the operation "ShowText".
    */
   public ShowText() {
-    this.fontTranslator = new PDFontConverter();
-    this.fontFaceConverter = new PDFontFaceConverter();
     this.glyphUtils = new PdfBoxGlyphUtils();
+    this.glyphMetrics = new PdfBoxGlyphMetricsCache();
   }
 
   // ==============================================================================================
@@ -110,11 +118,6 @@ public class ShowText extends OperatorProcessor {
     float horizScaling = textState.getHorizontalScaling() / 100f;
     float charSpacing = textState.getCharacterSpacing();
 
-    // Put the text state parameters into matrix form.
-    Matrix params = new Matrix(fontSize * horizScaling, 0, // 0
-            0, fontSize, // 0
-            0, textState.getRise()); // 1
-
     // Get the current font from the text state.
     PDFont font = textState.getFont();
     if (font == null) {
@@ -143,9 +146,23 @@ public class ShowText extends OperatorProcessor {
           wordSpacing += textState.getWordSpacing();
         }
 
-        // Define the text rendering matrix (text space -> device space)
+        // Define the text rendering matrix (text space -> device space), that is the text state
+        // parameters in matrix form, multiplied by the text matrix and the CTM. The buffers are
+        // filled anew for each glyph, since processing a glyph in a Type3 font may process
+        // further text (and thus reuse the buffers).
         Matrix ctm = state.getCurrentTransformationMatrix();
-        Matrix trm = params.multiply(this.engine.getTextMatrix()).multiply(ctm);
+        setScaleAndTranslation(this.matrix1, fontSize * horizScaling, fontSize, 0,
+            textState.getRise());
+        getValues(this.engine.getTextMatrix(), this.matrix2);
+        multiply(this.matrix1, this.matrix2, this.matrix3);
+        getValues(ctm, this.matrix1);
+        multiply(this.matrix3, this.matrix1, this.matrix2);
+        setValues(this.matrix2, this.trm);
+
+        // The character procedure of a glyph in a Type3 font is processed with the text rendering
+        // matrix as its CTM, which modifies the matrix. Pass a copy so that the reused matrix
+        // isn't shared with the graphics state.
+        Matrix trm = font instanceof PDType3Font ? this.trm.clone() : this.trm;
 
         // get glyph's position vector if this is vertical text
         // changes to vertical text should be tested with PDFBOX-2294 and
@@ -159,13 +176,13 @@ public class ShowText extends OperatorProcessor {
           trm.translate(v);
         }
 
-        // Process the glyph.
-        this.engine.saveGraphicsState();
+        // Process the glyph. The graphics state doesn't need to be saved, since processing a
+        // glyph doesn't modify it (the character procedure of a glyph in a Type3 font is
+        // processed on its own graphics stack).
         showGlyph(pdf, page, unicode, code, font, trm);
-        this.engine.restoreGraphicsState();
 
         // Get glyph's horizontal and vertical displacements, in text space
-        Vector w = font.getDisplacement(code);
+        Vector w = this.glyphMetrics.getDisplacement(font, code);
 
         // Calculate the displacements.
         float tx, ty;
@@ -177,9 +194,12 @@ public class ShowText extends OperatorProcessor {
           ty = 0;
         }
 
-        // Update the text matrix.
-        Matrix translate = Matrix.getTranslateInstance(tx, ty);
-        this.engine.getTextMatrix().concatenate(translate);
+        // Update the text matrix, by concatenating it with the translation (tx, ty).
+        Matrix textMatrix = this.engine.getTextMatrix();
+        setScaleAndTranslation(this.matrix1, 1, 1, tx, ty);
+        getValues(textMatrix, this.matrix2);
+        multiply(this.matrix1, this.matrix2, this.matrix3);
+        setValues(this.matrix3, textMatrix);
       }
     } catch (Exception e) {
       log.warn("An error occurred on processing the character " + text, e);
@@ -204,13 +224,11 @@ public class ShowText extends OperatorProcessor {
           throws IOException {
     // Compute a bounding box that indeed surrounds the whole glyph, even in
     // case of ascenders (e.g., "l") and descenders (e.g., "g").
-    // TODO: Make it faster.
     Rectangle box = computeGlyphBoundingBox(pdf, page, code, pdFont, trm);
 
     // Compute the bounding box of the glyph by the method of PdfBox, where all
     // bounding boxes in a text line share the same baseline, even in case of
     // ascenders and descenders.
-    // TODO: Make it faster.
     Rectangle pdfBoxBoundBox = computePdfBoxGlyphBoundingBox(code, pdFont, trm);
 
     if (box != null) {
@@ -301,13 +319,11 @@ public class ShowText extends OperatorProcessor {
     PDColorSpace pdColorSpace = graphicsState.getNonStrokingColorSpace();
 
     // Convert the color.
-    Color color = ColorManager.getColor(pdColor, pdColorSpace);
+    Color color = this.engine.getColor(pdColor, pdColorSpace);
 
-    // Convert the font.
-    Font font = this.fontTranslator.convert(pdFont);
-    // Round the font size.
+    // Round the font size and convert the font.
     fontSize = PdfActUtils.round(fontSize, FLOATING_NUMBER_PRECISION);
-    FontFace fontFace = this.fontFaceConverter.convert(font, fontSize);
+    FontFace fontFace = this.engine.getFontFace(pdFont, fontSize);
 
     // Round the values of boundingbox.
     box.setMinX(PdfActUtils.round(box.getMinX(), FLOATING_NUMBER_PRECISION));
@@ -399,8 +415,141 @@ public class ShowText extends OperatorProcessor {
   protected Rectangle computeType3GlyphBoundingBox(Document pdf, Page page, int code, PDFont font,
           Matrix trm) throws IOException {
     PDType3Font type3Font = (PDType3Font) font;
-    this.engine.processType3Stream(pdf, page, type3Font.getCharProc(code), trm);
-    return this.engine.getCurrentType3GlyphBoundingBox();
+    PDType3CharProc charProc = type3Font.getCharProc(code);
+
+    // Reuse the bounding box computed on a previous occurrence of the glyph, if possible.
+    Type3Glyph glyph = charProc != null ? this.glyphMetrics.getType3Glyph(font, code) : null;
+    if (glyph != null && glyph.isReusable()) {
+      return reuseType3GlyphBoundingBox(glyph, charProc, trm);
+    }
+
+    Rectangle prevBoundingBox = this.engine.getCurrentType3GlyphBoundingBox();
+    Matrix prevTrm = trm.clone();
+
+    this.engine.processType3Stream(pdf, page, charProc, trm);
+    Rectangle boundingBox = this.engine.getCurrentType3GlyphBoundingBox();
+
+    if (charProc != null && glyph == null) {
+      glyph = createType3Glyph(charProc, prevTrm, prevBoundingBox, trm, boundingBox);
+      this.glyphMetrics.putType3Glyph(font, code, glyph);
+    }
+    return boundingBox;
+  }
+
+  /**
+   * Computes the bounding box for a glyph in a Type3 font from the cached metrics of the glyph,
+   * without executing the glyph's character procedure. Has the same effects as executing the
+   * procedure: the given text rendering matrix is transformed by the matrix of the procedure and
+   * the bounding box is set as the current Type3 glyph bounding box of the engine.
+   * 
+   * @param glyph    The cached metrics of the glyph.
+   * @param charProc The character procedure of the glyph.
+   * @param trm      The current text rendering matrix
+   * 
+   * @return The bounding box of the glyph or null, if the bounding box could not be computed.
+   */
+  protected Rectangle reuseType3GlyphBoundingBox(Type3Glyph glyph, PDType3CharProc charProc,
+          Matrix trm) {
+    // The CTM of the character procedure is the text rendering matrix, transformed by the matrix
+    // of the procedure.
+    trm.concatenate(charProc.getMatrix());
+
+    float[] bounds = glyph.getBounds();
+    if (bounds == null) {
+      // The procedure has no "d1" operator, so it doesn't change the current bounding box.
+      return this.engine.getCurrentType3GlyphBoundingBox();
+    }
+
+    Rectangle boundingBox = transformType3BoundingBox(bounds, trm);
+    this.engine.setCurrentType3GlyphBoundingBox(boundingBox);
+    return boundingBox;
+  }
+
+  /**
+   * Creates the metrics of a glyph in a Type3 font, after the glyph's character procedure was
+   * executed for the first time. The bounding box of the glyph is only reusable if the procedure
+   * consists of operators that don't emit any characters, shapes or figures and don't change the
+   * state of the engine beyond the procedure (for example, the current path), and if reusing the
+   * bounding box yields exactly the same result as executing the procedure.
+   * 
+   * @param charProc        The character procedure of the glyph.
+   * @param prevTrm         The text rendering matrix before executing the procedure.
+   * @param prevBoundingBox The current Type3 glyph bounding box before executing the procedure.
+   * @param trm             The text rendering matrix after executing the procedure.
+   * @param boundingBox     The current Type3 glyph bounding box after executing the procedure.
+   * 
+   * @return The metrics of the glyph.
+   * @throws IOException if parsing the character procedure fails.
+   */
+  protected Type3Glyph createType3Glyph(PDType3CharProc charProc, Matrix prevTrm,
+          Rectangle prevBoundingBox, Matrix trm, Rectangle boundingBox) throws IOException {
+    float[] bounds = null;
+    PDFStreamParser parser = new PDFStreamParser(charProc);
+    List<COSBase> arguments = new ArrayList<>();
+    Object token;
+    while ((token = parser.parseNextToken()) != null) {
+      if (token instanceof Operator) {
+        String name = ((Operator) token).getName();
+        if (!REUSABLE_TYPE3_OPERATORS.contains(name)) {
+          return new Type3Glyph(null, false);
+        }
+        if ("d1".equals(name)) {
+          if (bounds != null || arguments.size() < 6) {
+            return new Type3Glyph(null, false);
+          }
+          bounds = new float[4];
+          for (int i = 0; i < 4; i++) {
+            COSBase argument = arguments.get(i + 2);
+            if (!(argument instanceof COSNumber)) {
+              return new Type3Glyph(null, false);
+            }
+            bounds[i] = ((COSNumber) argument).floatValue();
+          }
+        }
+        arguments.clear();
+      } else if (token instanceof COSBase) {
+        arguments.add((COSBase) token);
+      }
+    }
+
+    // Check that reusing the bounding box yields the same result as executing the procedure.
+    Matrix expectedTrm = prevTrm.clone();
+    expectedTrm.concatenate(charProc.getMatrix());
+    if (!expectedTrm.equals(trm)) {
+      return new Type3Glyph(null, false);
+    }
+    if (bounds == null) {
+      return new Type3Glyph(null, boundingBox == prevBoundingBox);
+    }
+    Rectangle expectedBoundingBox = transformType3BoundingBox(bounds, trm);
+    boolean isReusable = boundingBox != null
+        && expectedBoundingBox.getMinX() == boundingBox.getMinX()
+        && expectedBoundingBox.getMinY() == boundingBox.getMinY()
+        && expectedBoundingBox.getMaxX() == boundingBox.getMaxX()
+        && expectedBoundingBox.getMaxY() == boundingBox.getMaxY();
+    return new Type3Glyph(bounds, isReusable);
+  }
+
+  /**
+   * Transforms the given bounding box of a glyph in a Type3 font into the device space, in the
+   * same way as the "d1" operator does.
+   * 
+   * @param bounds The bounding box in glyph space, in the form [llx, lly, urx, ury].
+   * @param ctm    The CTM of the glyph's character procedure.
+   * 
+   * @return The transformed bounding box.
+   */
+  protected Rectangle transformType3BoundingBox(float[] bounds, Matrix ctm) {
+    float[] corners = this.corners;
+    System.arraycopy(bounds, 0, corners, 0, 4);
+    transform(corners, ctm);
+
+    float minX = Math.min(corners[0], corners[2]);
+    float minY = Math.min(corners[1], corners[3]);
+    float maxX = Math.max(corners[0], corners[2]);
+    float maxY = Math.max(corners[1], corners[3]);
+
+    return new Rectangle(minX, minY, maxX, maxY);
   }
 
   /**
@@ -419,70 +568,12 @@ public class ShowText extends OperatorProcessor {
       return null;
     }
 
-    // Ensure, that the font is not a Type3 font.
-    if (!(font instanceof PDSimpleFont)) {
+    // The bounding box in glyph space is computed once per font and code.
+    float[] bounds = this.glyphMetrics.getBounds(font, code);
+    if (bounds == null) {
       return null;
     }
-
-    PDSimpleFont simpleFont = (PDSimpleFont) font;
-
-    // Obtain the associated glyph name.
-    Encoding encoding = simpleFont.getEncoding();
-    if (encoding != null) {
-      String glyphName = encoding.getName(code);
-      if (glyphName != null) {
-        // Check, if the font is a type1 font.
-        if (simpleFont instanceof PDType1Font) {
-          PDType1Font t1Font = (PDType1Font) simpleFont;
-
-          // Check, if the font contains an embedded FontFile.
-          Type1Font afmFont = t1Font.getType1Font();
-          if (afmFont != null) {
-            Type1CharString charString = afmFont.getType1CharString(glyphName);
-            if (charString != null) {
-              Rectangle2D boundingBox = charString.getBounds();
-              float minX = (float) boundingBox.getMinX();
-              float minY = (float) boundingBox.getMinY();
-              float maxX = (float) boundingBox.getMaxX();
-              float maxY = (float) boundingBox.getMaxY();
-              return transformBoundingBox(minX, minY, maxX, maxY, font, trm);
-            }
-          }
-
-          // Check, if the additional AFM map contains an entry for the font.
-          CharMetric metric = PdfBoxAFMUtils.getCharMetric(glyphName, t1Font);
-          if (metric != null) {
-            BoundingBox boundingBox = metric.getBoundingBox();
-            float minX = boundingBox.getLowerLeftX();
-            float minY = boundingBox.getLowerLeftY();
-            float maxX = boundingBox.getUpperRightX();
-            float maxY = boundingBox.getUpperRightY();
-            return transformBoundingBox(minX, minY, maxX, maxY, font, trm);
-          }
-        }
-
-        // Check, if the font contains an embedded FontFile3.
-        if (simpleFont instanceof PDType1CFont) {
-          // This font has an embedded font program represented in the Compact
-          // Font Format (CFF).
-          PDType1CFont type1CFont = (PDType1CFont) simpleFont;
-          CFFType1Font cffFont = type1CFont.getCFFType1Font();
-          if (cffFont != null) {
-            Type1CharString charString = cffFont.getType1CharString(glyphName);
-
-            if (charString != null) {
-              Rectangle2D boundingBox = charString.getBounds();
-              float minX = (float) boundingBox.getMinX();
-              float minY = (float) boundingBox.getMinY();
-              float maxX = (float) boundingBox.getMaxX();
-              float maxY = (float) boundingBox.getMaxY();
-              return transformBoundingBox(minX, minY, maxX, maxY, font, trm);
-            }
-          }
-        }
-      }
-    }
-    return null;
+    return transformBoundingBox(bounds[0], bounds[1], bounds[2], bounds[3], font, trm);
   }
 
   /**
@@ -503,20 +594,19 @@ public class ShowText extends OperatorProcessor {
       return null;
     }
 
-    Point lowerLeft = new Point(minX, minY);
-    Point upperRight = new Point(maxX, maxY);
-
-    Matrix fontMatrix = font.getFontMatrix();
+    float[] corners = this.corners;
+    corners[0] = minX;
+    corners[1] = minY;
+    corners[2] = maxX;
+    corners[3] = maxY;
 
     // glyph space -> text space
-    this.engine.transform(lowerLeft, fontMatrix);
-    this.engine.transform(upperRight, fontMatrix);
+    transform(corners, font.getFontMatrix());
 
     // text space -> device space
-    this.engine.transform(lowerLeft, trm);
-    this.engine.transform(upperRight, trm);
+    transform(corners, trm);
 
-    return new Rectangle(lowerLeft, upperRight);
+    return new Rectangle(corners[0], corners[1], corners[2], corners[3]);
   }
 
   /**
@@ -535,7 +625,7 @@ public class ShowText extends OperatorProcessor {
     Matrix ctm = state.getCurrentTransformationMatrix();
     Matrix textMatrix = this.engine.getTextMatrix();
 
-    Vector displacement = font.getDisplacement(code);
+    Vector displacement = this.glyphMetrics.getDisplacement(font, code);
     float fontSize = state.getTextState().getFontSize();
     float horizScaling = state.getTextState().getHorizontalScaling() / 100f;
 
@@ -543,25 +633,122 @@ public class ShowText extends OperatorProcessor {
     float ty = 0;
 
     // (modified) combined displacement matrix
-    Matrix td = Matrix.getTranslateInstance(tx, ty);
+    setScaleAndTranslation(this.matrix1, 1, 1, tx, ty);
 
     // (modified) text rendering matrix
-    Matrix nextTrm = td.multiply(textMatrix).multiply(ctm);
+    getValues(textMatrix, this.matrix2);
+    multiply(this.matrix1, this.matrix2, this.matrix3);
+    getValues(ctm, this.matrix1);
+    multiply(this.matrix3, this.matrix1, this.matrix2);
 
-    // 1/2 the bbox is used as the height todo: why?
-    float glyphHeight = font.getBoundingBox().getHeight() / 2;
-    // transformPoint from glyph space -> text space
-    float height = font.getFontMatrix().transformPoint(0, glyphHeight).y;
+    // 1/2 the bbox (transformed from glyph space to text space) is used as the height todo: why?
+    float height = this.glyphMetrics.getHalfHeight(font);
     float dyDisplay = height * trm.getScalingFactorY();
 
     float minX = trm.getTranslateX();
     float minY = trm.getTranslateY();
-    float maxX = nextTrm.getTranslateX();
+    float maxX = this.matrix2[6];
     float maxY = minY + dyDisplay;
 
     return new Rectangle(minX, minY, maxX, maxY);
   }
 
+  // ==============================================================================================
+  // Methods to compute with matrices without allocating new matrices.
+
+  /**
+   * Copies the values of the given matrix to the given buffer.
+   * 
+   * @param matrix The matrix.
+   * @param values The buffer of length 9 to which the values should be copied.
+   */
+  protected static void getValues(Matrix matrix, float[] values) {
+    for (int i = 0; i < 9; i++) {
+      values[i] = matrix.getValue(i / 3, i % 3);
+    }
+  }
+
+  /**
+   * Copies the values in the given buffer to the given matrix.
+   * 
+   * @param values The buffer of length 9 with the values to copy.
+   * @param matrix The matrix to which the values should be copied.
+   */
+  protected static void setValues(float[] values, Matrix matrix) {
+    for (int i = 0; i < 9; i++) {
+      matrix.setValue(i / 3, i % 3, values[i]);
+    }
+  }
+
+  /**
+   * Fills the given buffer with the values of a matrix that scales by (sx, sy) and translates by
+   * (tx, ty), like the matrix created by new Matrix(sx, 0, 0, sy, tx, ty).
+   * 
+   * @param values The buffer of length 9 to fill.
+   * @param sx     The scaling in x-direction.
+   * @param sy     The scaling in y-direction.
+   * @param tx     The translation in x-direction.
+   * @param ty     The translation in y-direction.
+   */
+  protected static void setScaleAndTranslation(float[] values, float sx, float sy, float tx,
+          float ty) {
+    values[0] = sx;
+    values[1] = 0;
+    values[2] = 0;
+    values[3] = 0;
+    values[4] = sy;
+    values[5] = 0;
+    values[6] = tx;
+    values[7] = ty;
+    values[8] = 1;
+  }
+
+  /**
+   * Multiplies the matrix a by the matrix b and writes the product to the given buffer. Computes
+   * the full 3x3 product in the same order as {@link Matrix#multiply(Matrix)}, so that the
+   * product is bit-identical to the product computed by PDFBox (the zeros in the third column
+   * contribute to the signs of zero values).
+   * 
+   * @param a       The values of the first matrix.
+   * @param b       The values of the second matrix.
+   * @param product The buffer to which the product should be written; must be different from a
+   *                and b.
+   * 
+   * @throws IllegalArgumentException if the product contains infinite or NaN values.
+   */
+  protected static void multiply(float[] a, float[] b, float[] product) {
+    for (int i = 0; i < 3; i++) {
+      for (int j = 0; j < 3; j++) {
+        product[i * 3 + j] = a[i * 3] * b[j] + a[i * 3 + 1] * b[3 + j] + a[i * 3 + 2] * b[6 + j];
+      }
+    }
+    for (int i = 0; i < 9; i++) {
+      if (!(Math.abs(product[i]) <= Float.MAX_VALUE)) {
+        throw new IllegalArgumentException("Multiplying two matrices produces illegal values");
+      }
+    }
+  }
+
+  /**
+   * Transforms the two points in the given buffer by the given matrix, in place and in the same
+   * way as {@link PdfBoxPdfStreamsParser#transform(Point, Matrix)}.
+   * 
+   * @param corners The buffer with the two points, in the form [x1, y1, x2, y2].
+   * @param m       The matrix to apply.
+   */
+  protected static void transform(float[] corners, Matrix m) {
+    if (m == null) {
+      return;
+    }
+    for (int i = 0; i < 4; i += 2) {
+      corners[i] = corners[i] * m.getScaleX() + corners[i + 1] * m.getShearX() + m.getTranslateX();
+      corners[i + 1] = corners[i] * m.getShearY() + corners[i + 1] * m.getScaleY()
+          + m.getTranslateY();
+    }
+  }
+
+  // ==============================================================================================
+
   /**
    * Returns true if the given character should be ignored on further processings; false otherwise.
    */
@@ -605,6 +792,16 @@ public class ShowText extends OperatorProcessor {
     return false;
   }
 
+  /**
+   * The operators that a character procedure of a Type3 glyph may consist of, such that the
+   * bounding box of the glyph can be reused on further occurrences of the glyph: operators that
+   * only set the glyph metrics or modify the graphics state (which is restored after executing the
+   * procedure), and inline images (which are ignored in character procedures).
+   */
+  protected static final Set<String> REUSABLE_TYPE3_OPERATORS = new HashSet<>(Arrays.asList(
+      "d0", "d1", "q", "Q", "cm", "w", "J", "j", "M", "d", "ri", "i", "gs", "BI", "ID", "EI",
+      "g", "G", "rg", "RG", "k", "K", "cs", "CS", "sc", "SC", "scn", "SCN"));
+
   /**
    * A map that maps some characters to a character with the same semantic
    * meaning.
@@ -2,6 +2,8 @@ package pdfact.core.pipes.parse.stream.pdfbox.utils;
 
 import java.awt.image.BufferedImage;
 import java.io.IOException;
+import org.apache.pdfbox.pdmodel.graphics.image.PDImage;
+import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObject;
 
 /**
  * A collection of utility methods that deal with colors.
@@ -9,6 +11,14 @@ import java.io.IOException;
  * @author Claudius Korzen
  */
 public class ColorUtils {
+  /**
+   * The number of pixels per dimension to sample from an image before decoding it in full
+   * resolution, on checking if it consists only of a single color.
+   */
+  protected static final int NUM_SAMPLES_PER_DIMENSION = 32;
+
+  // ==============================================================================================
+
   /**
    * Transforms the given packed RGB value into an array of three values in
    * range [0,255] representing the R, G and B values.
@@ -26,6 +36,46 @@ public class ColorUtils {
     return new int[] { red, green, blue, alpha };
   }
 
+  /**
+   * Checks if the given image consists only of a single color and returns the color if so.
+   * Returns null if there a at least two different colors.
+   * 
+   * Instead of decoding the image in full resolution right away, this method first decodes a
+   * subsampled version of the image (which is much cheaper, in particular for large JPEG images,
+   * because the subsampling is passed to the image decoder). The pixels of the subsampled
+   * version are a subset of the pixels of the full image, so if the subsampled version contains
+   * at least two different colors, the full image does as well. Only if all sampled pixels are of
+   * the same color, the image is decoded in full resolution to verify that all pixels are of
+   * this color. Images with a soft mask or an explicit mask are always decoded in full
+   * resolution, because PDFBox scales the mask to the size of the image on applying it, so the
+   * pixels of a subsampled version are not necessarily a subset of the pixels of the full image.
+   * 
+   * @param image
+   *        The image to process.
+   * 
+   * @return The color, if the image consists only of a single color; null otherwise.
+   * @throws IOException
+   *         If something went wrong on reading the image.
+   */
+  public static int[] getExclusiveColor(PDImage image) throws IOException {
+    if (image == null) {
+      return null;
+    }
+
+    if (!hasMask(image)) {
+      int maxDimension = Math.max(image.getWidth(), image.getHeight());
+      int subsampling = maxDimension / NUM_SAMPLES_PER_DIMENSION;
+      if (subsampling > 1) {
+        BufferedImage sample = image.getImage(null, subsampling);
+        if (sample != null && getExclusiveColor(sample) == null) {
+          return null;
+        }
+      }
+    }
+
+    return getExclusiveColor(image.getImage());
+  }
+
   /**
    * Checks if the given image consists only of a single color and returns the
    * color if so. Returns null if there a at least two different colors.
@@ -43,21 +93,46 @@ public class ColorUtils {
       return null;
     }
 
-    int lastRgb = Integer.MAX_VALUE;
-    for (int i = 0; i < im.getWidth(); i++) {
-      for (int j = 0; j < im.getHeight(); j++) {
-        int rgb = im.getRGB(i, j);
-        if (lastRgb != Integer.MAX_VALUE && lastRgb != rgb) {
+    int width = im.getWidth();
+    int height = im.getHeight();
+    if (width <= 0 || height <= 0) {
+      return null;
+    }
+
+    // Read the image row by row, to avoid a method call per pixel and to be able to stop at
+    // the first pixel that differs from the first pixel of the image.
+    int firstRgb = im.getRGB(0, 0);
+    int[] row = new int[width];
+    for (int j = 0; j < height; j++) {
+      im.getRGB(0, j, width, 1, row, 0, width);
+      for (int i = 0; i < width; i++) {
+        if (row[i] != firstRgb) {
           return null;
         }
-        lastRgb = rgb;
       }
     }
 
-    if (lastRgb == Integer.MAX_VALUE) {
-      return null;
-    }
+    return toRgbArray(firstRgb);
+  }
+
+  // ==============================================================================================
 
-    return toRgbArray(lastRgb);
+  /**
+   * Checks if the given image has a soft mask or an explicit mask which is applied by PDFBox on
+   * decoding the image.
+   * 
+   * @param image
+   *        The image to check.
+   * 
+   * @return True, if the given image has a soft mask or an explicit mask; false otherwise.
+   * @throws IOException
+   *         If something went wrong on reading the mask.
+   */
+  protected static boolean hasMask(PDImage image) throws IOException {
+    if (image instanceof PDImageXObject) {
+      PDImageXObject xobject = (PDImageXObject) image;
+      return xobject.getSoftMask() != null || xobject.getMask() != null;
+    }
+    return false;
   }
 }
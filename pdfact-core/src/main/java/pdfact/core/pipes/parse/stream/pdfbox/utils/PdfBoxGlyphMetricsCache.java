@@ -0,0 +1,323 @@
+package pdfact.core.pipes.parse.stream.pdfbox.utils;
+
+import gnu.trove.map.hash.TIntObjectHashMap;
+import java.awt.geom.Rectangle2D;
+import java.io.IOException;
+import java.util.Map;
+import java.util.WeakHashMap;
+import org.apache.fontbox.afm.CharMetric;
+import org.apache.fontbox.cff.CFFType1Font;
+import org.apache.fontbox.cff.Type1CharString;
+import org.apache.fontbox.type1.Type1Font;
+import org.apache.fontbox.util.BoundingBox;
+import org.apache.pdfbox.pdmodel.font.PDFont;
+import org.apache.pdfbox.pdmodel.font.PDSimpleFont;
+import org.apache.pdfbox.pdmodel.font.PDType1CFont;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.encoding.Encoding;
+import org.apache.pdfbox.util.Vector;
+
+/**
+ * A cache of the metrics of glyphs, per font and per character code, such that the metrics of a
+ * glyph (in particular its bounding box, which requires to decode the glyph's charstring or to
+ * execute the glyph's Type3 character procedure) are computed only once per PDF document, instead
+ * of on each occurrence of the glyph.
+ * 
+ * <p>
+ * The fonts are referenced weakly, so the cached metrics are released together with the PDF
+ * document to which the fonts belong. This cache is not thread-safe.
+ * 
+ * @author Claudius Korzen
+ */
+public class PdfBoxGlyphMetricsCache {
+  /**
+   * The marker for a glyph without a (computable) bounding box.
+   */
+  protected static final float[] NO_BOUNDS = new float[0];
+
+  /**
+   * The cached metrics, per font.
+   */
+  protected final Map<PDFont, FontMetrics> fonts = new WeakHashMap<>();
+
+  // ==============================================================================================
+
+  /**
+   * Returns the bounding box of the given glyph in glyph space, computed from the font program
+   * (or from an additional AFM file) of the given font. Type3 fonts are not supported.
+   * 
+   * @param font
+   *        The font of the glyph.
+   * @param code
+   *        The internal PDF character code of the glyph.
+   * 
+   * @return The bounding box of the glyph in the form [minX, minY, maxX, maxY], or null if the
+   *         bounding box could not be computed. The array must not be modified.
+   * 
+   * @throws IOException
+   *         If reading the font program failed.
+   */
+  public float[] getBounds(PDFont font, int code) throws IOException {
+    FontMetrics metrics = getFontMetrics(font);
+    float[] bounds = metrics.bounds.get(code);
+    if (bounds == null) {
+      bounds = computeBounds(font, code);
+      metrics.bounds.put(code, bounds != null ? bounds : NO_BOUNDS);
+    }
+    return bounds != NO_BOUNDS ? bounds : null;
+  }
+
+  /**
+   * Returns the displacement of the given glyph in text space, see
+   * {@link PDFont#getDisplacement(int)}.
+   * 
+   * @param font
+   *        The font of the glyph.
+   * @param code
+   *        The internal PDF character code of the glyph.
+   * 
+   * @return The displacement of the glyph.
+   * 
+   * @throws IOException
+   *         If reading the font program failed.
+   */
+  public Vector getDisplacement(PDFont font, int code) throws IOException {
+    FontMetrics metrics = getFontMetrics(font);
+    Vector displacement = metrics.displacements.get(code);
+    if (displacement == null) {
+      displacement = font.getDisplacement(code);
+      metrics.displacements.put(code, displacement);
+    }
+    return displacement;
+  }
+
+  /**
+   * Returns half of the height of the bounding box of the given font, transformed to text space.
+   * 
+   * @param font
+   *        The font.
+   * 
+   * @return Half of the height of the bounding box of the font, in text space.
+   * 
+   * @throws IOException
+   *         If reading the font program failed.
+   */
+  public float getHalfHeight(PDFont font) throws IOException {
+    FontMetrics metrics = getFontMetrics(font);
+    if (metrics.halfHeight == null) {
+      float glyphHeight = font.getBoundingBox().getHeight() / 2;
+      // Transform the height from glyph space to text space.
+      metrics.halfHeight = font.getFontMatrix().transformPoint(0, glyphHeight).y;
+    }
+    return metrics.halfHeight;
+  }
+
+  /**
+   * Returns the cached metrics of the given glyph of a Type3 font.
+   * 
+   * @param font
+   *        The Type3 font of the glyph.
+   * @param code
+   *        The internal PDF character code of the glyph.
+   * 
+   * @return The cached metrics of the glyph, or null if there are no metrics cached yet.
+   */
+  public Type3Glyph getType3Glyph(PDFont font, int code) {
+    return getFontMetrics(font).type3Glyphs.get(code);
+  }
+
+  /**
+   * Caches the metrics of the given glyph of a Type3 font.
+   * 
+   * @param font
+   *        The Type3 font of the glyph.
+   * @param code
+   *        The internal PDF character code of the glyph.
+   * @param glyph
+   *        The metrics of the glyph.
+   */
+  public void putType3Glyph(PDFont font, int code, Type3Glyph glyph) {
+    getFontMetrics(font).type3Glyphs.put(code, glyph);
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Returns the cached metrics of the given font, or creates them if they don't exist yet.
+   * 
+   * @param font
+   *        The font.
+   * 
+   * @return The cached metrics of the font.
+   */
+  protected FontMetrics getFontMetrics(PDFont font) {
+    FontMetrics metrics = this.fonts.get(font);
+    if (metrics == null) {
+      metrics = new FontMetrics();
+      this.fonts.put(font, metrics);
+    }
+    return metrics;
+  }
+
+  /**
+   * Computes the bounding box of the given glyph in glyph space.
+   * 
+   * @param font
+   *        The font of the glyph.
+   * @param code
+   *        The internal PDF character code of the glyph.
+   * 
+   * @return The bounding box of the glyph in the form [minX, minY, maxX, maxY], or null if the
+   *         bounding box could not be computed.
+   * 
+   * @throws IOException
+   *         If reading the font program failed.
+   */
+  protected float[] computeBounds(PDFont font, int code) throws IOException {
+    // Ensure, that the font is not a Type3 font.
+    if (!(font instanceof PDSimpleFont)) {
+      return null;
+    }
+
+    PDSimpleFont simpleFont = (PDSimpleFont) font;
+
+    // Obtain the associated glyph name.
+    Encoding encoding = simpleFont.getEncoding();
+    if (encoding == null) {
+      return null;
+    }
+    String glyphName = encoding.getName(code);
+    if (glyphName == null) {
+      return null;
+    }
+
+    // Check, if the font is a type1 font.
+    if (simpleFont instanceof PDType1Font) {
+      PDType1Font t1Font = (PDType1Font) simpleFont;
+
+      // Check, if the font contains an embedded FontFile.
+      Type1Font afmFont = t1Font.getType1Font();
+      if (afmFont != null) {
+        Type1CharString charString = afmFont.getType1CharString(glyphName);
+        if (charString != null) {
+          return toBounds(charString.getBounds());
+        }
+      }
+
+      // Check, if the additional AFM map contains an entry for the font.
+      CharMetric metric = PdfBoxAFMUtils.getCharMetric(glyphName, t1Font);
+      if (metric != null) {
+        BoundingBox boundingBox = metric.getBoundingBox();
+        return new float[] { boundingBox.getLowerLeftX(), boundingBox.getLowerLeftY(),
+            boundingBox.getUpperRightX(), boundingBox.getUpperRightY() };
+      }
+    }
+
+    // Check, if the font contains an embedded FontFile3.
+    if (simpleFont instanceof PDType1CFont) {
+      // This font has an embedded font program represented in the Compact Font Format (CFF).
+      PDType1CFont type1CFont = (PDType1CFont) simpleFont;
+      CFFType1Font cffFont = type1CFont.getCFFType1Font();
+      if (cffFont != null) {
+        Type1CharString charString = cffFont.getType1CharString(glyphName);
+        if (charString != null) {
+          return toBounds(charString.getBounds());
+        }
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Translates the given rectangle to an array of the form [minX, minY, maxX, maxY].
+   * 
+   * @param rect
+   *        The rectangle to translate.
+   * 
+   * @return The translated rectangle.
+   */
+  protected static float[] toBounds(Rectangle2D rect) {
+    return new float[] { (float) rect.getMinX(), (float) rect.getMinY(), (float) rect.getMaxX(),
+        (float) rect.getMaxY() };
+  }
+
+  // ==============================================================================================
+
+  /**
+   * The cached metrics of a single font.
+   */
+  protected static class FontMetrics {
+    /**
+     * The bounding boxes of the glyphs in glyph space, per character code.
+     */
+    protected final TIntObjectHashMap<float[]> bounds = new TIntObjectHashMap<>();
+
+    /**
+     * The displacements of the glyphs in text space, per character code.
+     */
+    protected final TIntObjectHashMap<Vector> displacements = new TIntObjectHashMap<>();
+
+    /**
+     * The metrics of the glyphs of a Type3 font, per character code.
+     */
+    protected final TIntObjectHashMap<Type3Glyph> type3Glyphs = new TIntObjectHashMap<>();
+
+    /**
+     * Half of the height of the bounding box of the font in text space; null if not computed yet.
+     */
+    protected Float halfHeight;
+  }
+
+  /**
+   * The cached metrics of a glyph of a Type3 font.
+   */
+  public static class Type3Glyph {
+    /**
+     * The bounding box of the glyph in glyph space, as given by the "d1" operator of the glyph's
+     * character procedure, in the form [llx, lly, urx, ury]; null if the procedure has no "d1"
+     * operator.
+     */
+    protected float[] bounds;
+
+    /**
+     * A flag that indicates whether the bounding box can be reused on further occurrences of the
+     * glyph, that is: whether executing the glyph's character procedure has no other effects
+     * than setting the bounding box.
+     */
+    protected boolean isReusable;
+
+    /**
+     * Creates new metrics of a glyph of a Type3 font.
+     * 
+     * @param bounds
+     *        The bounding box of the glyph in glyph space, or null if the glyph's character
+     *        procedure has no "d1" operator.
+     * @param isReusable
+     *        True, if the bounding box can be reused on further occurrences of the glyph.
+     */
+    public Type3Glyph(float[] bounds, boolean isReusable) {
+      this.bounds = bounds;
+      this.isReusable = isReusable;
+    }
+
+    /**
+     * Returns the bounding box of the glyph in glyph space.
+     * 
+     * @return The bounding box in the form [llx, lly, urx, ury], or null if the glyph's character
+     *         procedure has no "d1" operator.
+     */
+    public float[] getBounds() {
+      return this.bounds;
+    }
+
+    /**
+     * Returns true if the bounding box can be reused on further occurrences of the glyph.
+     * 
+     * @return True, if the bounding box can be reused; false if the glyph's character procedure
+     *         needs to be executed on each occurrence.
+     */
+    public boolean isReusable() {
+      return this.isReusable;
+    }
+  }
+}
@@ -1,5 +1,7 @@
 package pdfact.core.pipes.semanticize;
 
+import java.util.Set;
+import pdfact.core.model.SemanticRole;
 import pdfact.core.util.pipeline.Pipe;
 
 /**
@@ -8,5 +10,42 @@ import pdfact.core.util.pipeline.Pipe;
  * @author Claudius Korzen
  */
 public interface DetectSemanticsPipe extends Pipe {
-  
+  /**
+   * Returns the number of first pages of a PDF document that need to be processed to identify the
+   * text blocks of the given semantic roles.
+   * 
+   * @param roles
+   *        The semantic roles to identify.
+   * 
+   * @return The number of first pages to process, or -1 if all pages need to be processed.
+   */
+  int getNumRequiredPages(Set<SemanticRole> roles);
+
+  /**
+   * Returns the semantic roles of the sections that were started, but not finished in the last
+   * page processed by this pipe (for example, an abstract that is not yet followed by a heading).
+   * If only the first pages of a PDF file were processed, these sections may continue in the
+   * skipped pages.
+   * 
+   * @return The semantic roles of the unfinished sections.
+   */
+  Set<SemanticRole> getUnfinishedSemanticRoles();
+
+  /**
+   * Returns the boolean flag indicating whether or not the PDF documents to process contain only
+   * the first pages of the PDF files (see {@link #getNumRequiredPages(Set)}).
+   * 
+   * @return True, if the PDF documents to process contain only the first pages; false otherwise.
+   */
+  boolean isFirstPagesOnly();
+
+  /**
+   * Sets the boolean flag indicating whether or not the PDF documents to process contain only the
+   * first pages of the PDF files. If so, the page headers and footers are identified by the texts
+   * that occur on all of the first pages (instead of on a third of all pages).
+   * 
+   * @param isFirstPagesOnly
+   *        True, if the PDF documents to process contain only the first pages.
+   */
+  void setIsFirstPagesOnly(boolean isFirstPagesOnly);
 }
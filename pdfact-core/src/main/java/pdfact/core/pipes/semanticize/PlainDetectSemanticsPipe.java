@@ -1,10 +1,14 @@
 package pdfact.core.pipes.semanticize;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import pdfact.core.model.Document;
+import pdfact.core.model.Page;
+import pdfact.core.model.SemanticRole;
 import pdfact.core.pipes.semanticize.modules.AbstractModule;
 import pdfact.core.pipes.semanticize.modules.AcknowledgmentsModule;
 import pdfact.core.pipes.semanticize.modules.BodyTextModule;
@@ -16,7 +20,9 @@ import pdfact.core.pipes.semanticize.modules.HeadingModule;
 import pdfact.core.pipes.semanticize.modules.KeywordsModule;
 import pdfact.core.pipes.semanticize.modules.OtherRoleModule;
 import pdfact.core.pipes.semanticize.modules.PageHeaderFooterModule;
+import pdfact.core.pipes.semanticize.modules.PdfTextSemanticizerCollectingModule;
 import pdfact.core.pipes.semanticize.modules.PdfTextSemanticizerModule;
+import pdfact.core.pipes.semanticize.modules.PdfTextSemanticizerPrefixModule;
 import pdfact.core.pipes.semanticize.modules.ReferenceModule;
 import pdfact.core.pipes.semanticize.modules.TitleModule;
 import pdfact.core.util.exception.PdfActException;
@@ -33,11 +39,23 @@ public class PlainDetectSemanticsPipe
    */
   protected static Logger log = LogManager.getFormatterLogger("role-detection");
 
+  /**
+   * The minimum number of first pages to process when only the first pages of a PDF document are
+   * processed.
+   */
+  protected static final int MIN_NUM_REQUIRED_PAGES = 2;
+
   /**
    * The semanticizer modules.
    */
   protected List<PdfTextSemanticizerModule> modules;
 
+  /**
+   * The boolean flag indicating whether or not the PDF documents to process contain only the
+   * first pages of the PDF files.
+   */
+  protected boolean isFirstPagesOnly;
+
   /**
    * The default constructor.
    */
@@ -82,4 +100,81 @@ public class PlainDetectSemanticsPipe
     }
     return pdf;
   }
+
+  @Override
+  public int getNumRequiredPages(Set<SemanticRole> roles) {
+    if (roles == null || roles.isEmpty()) {
+      return -1;
+    }
+
+    int numRequiredPages = 0;
+    for (SemanticRole role : roles) {
+      // Find the module that identifies the role only within the first pages.
+      PdfTextSemanticizerPrefixModule roleModule = null;
+      for (PdfTextSemanticizerModule module : this.modules) {
+        if (module instanceof PdfTextSemanticizerPrefixModule
+            && ((PdfTextSemanticizerPrefixModule) module).getSemanticRole() == role) {
+          roleModule = (PdfTextSemanticizerPrefixModule) module;
+          break;
+        }
+      }
+      if (roleModule == null) {
+        // The role may occur on any page.
+        return -1;
+      }
+      numRequiredPages = Math.max(numRequiredPages, roleModule.getNumRequiredPages());
+    }
+    // Process at least two pages, to tell the page headers and footers from the other texts.
+    return Math.max(numRequiredPages, MIN_NUM_REQUIRED_PAGES);
+  }
+
+  @Override
+  public Set<SemanticRole> getUnfinishedSemanticRoles() {
+    Set<SemanticRole> roles = new HashSet<>();
+    for (PdfTextSemanticizerModule module : this.modules) {
+      if (module instanceof PdfTextSemanticizerPrefixModule
+          && ((PdfTextSemanticizerPrefixModule) module).isUnfinished()) {
+        roles.add(((PdfTextSemanticizerPrefixModule) module).getSemanticRole());
+      }
+    }
+    return roles;
+  }
+
+  // ==============================================================================================
+
+  @Override
+  public boolean isFirstPagesOnly() {
+    return this.isFirstPagesOnly;
+  }
+
+  @Override
+  public void setIsFirstPagesOnly(boolean isFirstPagesOnly) {
+    this.isFirstPagesOnly = isFirstPagesOnly;
+    for (PdfTextSemanticizerModule module : this.modules) {
+      if (module instanceof PageHeaderFooterModule) {
+        ((PageHeaderFooterModule) module).setIsFirstPagesOnly(isFirstPagesOnly);
+      }
+    }
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Collects the information about the given page needed by the modules that consider all pages
+   * of a PDF document. This allows to detect the semantics of a PDF document page by page: if all
+   * pages were collected before, {@link #execute(Document)} can be called with documents that
+   * contain only a single page each, in page order.
+   * 
+   * @param pdf
+   *        The PDF document to which the page belongs to.
+   * @param page
+   *        The page to collect.
+   */
+  public void collect(Document pdf, Page page) {
+    for (PdfTextSemanticizerModule module : this.modules) {
+      if (module instanceof PdfTextSemanticizerCollectingModule) {
+        ((PdfTextSemanticizerCollectingModule) module).collect(pdf, page);
+      }
+    }
+  }
 }
@@ -13,12 +13,17 @@ import pdfact.core.model.TextBlock;
  * 
  * @author Claudius Korzen
  */
-public class AbstractModule implements PdfTextSemanticizerModule {
+public class AbstractModule implements PdfTextSemanticizerPrefixModule {
   /**
    * The logger.
    */
   protected static Logger log = LogManager.getFormatterLogger("role-detection");
 
+  /**
+   * The number of first pages in which the Abstract section is expected.
+   */
+  protected static final int NUM_REQUIRED_PAGES = 2;
+
   /**
    * A boolean flag that indicates whether the current text block is a member of
    * the abstract or not.
@@ -77,4 +82,21 @@ public class AbstractModule implements PdfTextSemanticizerModule {
       }
     }
   }
+
+  // ==============================================================================================
+
+  @Override
+  public SemanticRole getSemanticRole() {
+    return SemanticRole.ABSTRACT;
+  }
+
+  @Override
+  public int getNumRequiredPages() {
+    return NUM_REQUIRED_PAGES;
+  }
+
+  @Override
+  public boolean isUnfinished() {
+    return this.isAbstract;
+  }
 }
@@ -13,12 +13,17 @@ import pdfact.core.model.TextBlock;
  * 
  * @author Claudius Korzen
  */
-public class CategoriesModule implements PdfTextSemanticizerModule {
+public class CategoriesModule implements PdfTextSemanticizerPrefixModule {
   /**
    * The logger.
    */
   protected static Logger log = LogManager.getFormatterLogger("role-detection");
 
+  /**
+   * The number of first pages in which the Categories section is expected.
+   */
+  protected static final int NUM_REQUIRED_PAGES = 2;
+
   /**
    * A boolean flag that indicates whether the current text block is a member of
    * the Categories section or not.
@@ -77,4 +82,21 @@ public class CategoriesModule implements PdfTextSemanticizerModule {
       }
     }
   }
+
+  // ==============================================================================================
+
+  @Override
+  public SemanticRole getSemanticRole() {
+    return SemanticRole.CATEGORIES;
+  }
+
+  @Override
+  public int getNumRequiredPages() {
+    return NUM_REQUIRED_PAGES;
+  }
+
+  @Override
+  public boolean isUnfinished() {
+    return this.isCategories;
+  }
 }
@@ -14,12 +14,17 @@ import pdfact.core.model.TextBlock;
  * 
  * @author Claudius Korzen
  */
-public class GeneralTermsModule implements PdfTextSemanticizerModule {
+public class GeneralTermsModule implements PdfTextSemanticizerPrefixModule {
   /**
    * The logger.
    */
   protected static Logger log = LogManager.getFormatterLogger("role-detection");
 
+  /**
+   * The number of first pages in which the General Terms section is expected.
+   */
+  protected static final int NUM_REQUIRED_PAGES = 2;
+
   /**
    * A boolean flag that indicates whether the current text block is a member of
    * the "General Terms" section or not.
@@ -78,4 +83,21 @@ public class GeneralTermsModule implements PdfTextSemanticizerModule {
       }
     }
   }
-}
\ No newline at end of file
+
+  // ==============================================================================================
+
+  @Override
+  public SemanticRole getSemanticRole() {
+    return SemanticRole.GENERAL_TERMS;
+  }
+
+  @Override
+  public int getNumRequiredPages() {
+    return NUM_REQUIRED_PAGES;
+  }
+
+  @Override
+  public boolean isUnfinished() {
+    return this.isGeneralTerms;
+  }
+}
@@ -24,7 +24,7 @@ import pdfact.core.util.statistician.CharacterStatistician;
  * 
  * @author Claudius Korzen
  */
-public class HeadingModule implements PdfTextSemanticizerModule {
+public class HeadingModule implements PdfTextSemanticizerCollectingModule {
   /**
    * The logger.
    */
@@ -35,6 +35,16 @@ public class HeadingModule implements PdfTextSemanticizerModule {
    */
   protected CharacterStatistician charStatistician;
 
+  /**
+   * The characters of the known section headings in the collected pages.
+   */
+  protected ElementList<Character> headingCharacters;
+
+  /**
+   * A boolean flag that indicates whether pages were collected before semanticizing.
+   */
+  protected boolean isCollected;
+
   /**
    * The texts of known headings, per *secondary* role.
    */
@@ -104,6 +114,7 @@ public class HeadingModule implements PdfTextSemanticizerModule {
    */
   public HeadingModule() {
     this.charStatistician = new CharacterStatistician();
+    this.headingCharacters = new ElementList<>();
   }
 
   // ==============================================================================================
@@ -168,6 +179,46 @@ public class HeadingModule implements PdfTextSemanticizerModule {
     }
   }
 
+  @Override
+  public void collect(Document pdf, Page page) {
+    this.isCollected = true;
+
+    if (pdf == null || page == null) {
+      return;
+    }
+
+    CharacterStatistic pdfCharStats = pdf.getCharacterStatistic();
+    FontFace pdfFontFace = pdfCharStats.getMostCommonFontFace();
+
+    if (pdfFontFace == null) {
+      return;
+    }
+
+    for (TextBlock block : page.getTextBlocks()) {
+      if (!hasKnownSectionHeadingText(block)) {
+        continue;
+      }
+
+      CharacterStatistic blockCharStats = block.getCharacterStatistic();
+      FontFace fontFace = blockCharStats.getMostCommonFontFace();
+
+      if (fontFace == null) {
+        continue;
+      }
+
+      // TODO: Find a reliable criteria to distinguish headings from the
+      // rest.
+
+      if (fontFace.getFontSize() - pdfFontFace.getFontSize() > 1) {
+        for (TextLine line : block.getTextLines()) {
+          for (Word word : line.getWords()) {
+            this.headingCharacters.addAll(word.getCharacters());
+          }
+        }
+      }
+    }
+  }
+
   /**
    * Searches the PDF document for known section headings and analyzes their
    * font faces.
@@ -189,36 +240,14 @@ public class HeadingModule implements PdfTextSemanticizerModule {
       return null;
     }
 
-    // The characters of all known section headings.
-    ElementList<Character> headingChars = new ElementList<>();
-
-    for (Page page : pdf.getPages()) {
-      for (TextBlock block : page.getTextBlocks()) {
-        if (!hasKnownSectionHeadingText(block)) {
-          continue;
-        }
-
-        CharacterStatistic blockCharStats = block.getCharacterStatistic();
-        FontFace fontFace = blockCharStats.getMostCommonFontFace();
-
-        if (fontFace == null) {
-          continue;
-        }
-
-        // TODO: Find a reliable criteria to distinguish headings from the
-        // rest.
-
-        if (fontFace.getFontSize() - pdfFontFace.getFontSize() > 1) {
-          for (TextLine line : block.getTextLines()) {
-            for (Word word : line.getWords()) {
-              headingChars.addAll(word.getCharacters());
-            }
-          }
-        }
+    // Collect the characters of all known section headings.
+    if (!this.isCollected) {
+      for (Page page : pdf.getPages()) {
+        collect(pdf, page);
       }
     }
 
-    CharacterStatistic stats = this.charStatistician.compute(headingChars);
+    CharacterStatistic stats = this.charStatistician.compute(this.headingCharacters);
     return stats.getMostCommonFontFace();
   }
 
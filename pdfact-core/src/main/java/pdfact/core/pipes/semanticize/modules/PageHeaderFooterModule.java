@@ -18,14 +18,61 @@ import pdfact.core.util.counter.ObjectCounter;
  * 
  * @author Claudius Korzen
  */
-public class PageHeaderFooterModule implements PdfTextSemanticizerModule {
+public class PageHeaderFooterModule implements PdfTextSemanticizerCollectingModule {
   /**
    * The logger.
    */
   protected static Logger log = LogManager.getFormatterLogger("role-detection");
 
+  /**
+   * The frequencies of the (normalized) texts of the lowest blocks of the collected pages.
+   */
+  protected ObjectCounter<String> lowestBlockTexts = new ObjectCounter<>();
+
+  /**
+   * The frequencies of the (normalized) texts of the topmost blocks of the collected pages.
+   */
+  protected ObjectCounter<String> topMostBlockTexts = new ObjectCounter<>();
+
+  /**
+   * The number of collected pages with at least one text block.
+   */
+  protected int numCollectedPages;
+
+  /**
+   * A boolean flag that indicates whether pages were collected before semanticizing.
+   */
+  protected boolean isCollected;
+
+  /**
+   * The boolean flag indicating whether or not the collected pages are only the first pages of a
+   * PDF document.
+   */
+  protected boolean isFirstPagesOnly;
+
+  // ==============================================================================================
+
+  @Override
+  public void collect(Document pdf, Page page) {
+    this.isCollected = true;
+
+    List<TextBlock> sortedBlocks = sortByMinY(page);
+    if (sortedBlocks == null) {
+      return;
+    }
+
+    this.lowestBlockTexts.add(getNormalizedText(sortedBlocks.get(0)));
+    this.topMostBlockTexts.add(getNormalizedText(sortedBlocks.get(sortedBlocks.size() - 1)));
+    this.numCollectedPages++;
+  }
+
   @Override
   public void semanticize(Document pdf) {
+    log.debug("=====================================================");
+    log.debug("Detecting text blocks of semantic role '%s' and '%s' ...", 
+        SemanticRole.PAGE_FOOTER, SemanticRole.PAGE_HEADER);
+    log.debug("=====================================================");
+
     if (pdf == null) {
       return;
     }
@@ -35,69 +82,80 @@ public class PageHeaderFooterModule implements PdfTextSemanticizerModule {
       return;
     }
 
-    // Compute the lowest and topmost blocks of the pages.
-    List<TextBlock> lowestBlocks = new ArrayList<>(pages.size());
-    List<TextBlock> topMostBlocks = new ArrayList<>(pages.size());
-
-    for (Page page : pages) {
-      if (page == null) {
-        continue;
+    // Count the frequencies of the texts in the lowest and topmost blocks of the pages.
+    if (!this.isCollected) {
+      for (Page page : pages) {
+        if (page != null) {
+          collect(pdf, page);
+        }
       }
+    }
 
-      List<TextBlock> textBlocks = page.getTextBlocks();
-      if (textBlocks == null || textBlocks.isEmpty()) {
+    for (Page page : pages) {
+      List<TextBlock> sortedBlocks = sortByMinY(page);
+      if (sortedBlocks == null) {
         continue;
       }
 
-      // Sort the blocks by minY to obtain the lowest and topmost block.
-      List<TextBlock> sortedBlocks = new ArrayList<>(textBlocks);
-      Collections.sort(sortedBlocks, new MinYComparator());
-
-      lowestBlocks.add(sortedBlocks.get(0));
-      topMostBlocks.add(sortedBlocks.get(sortedBlocks.size() - 1));
+      TextBlock lowestBlock = sortedBlocks.get(0);
+      TextBlock topMostBlock = sortedBlocks.get(sortedBlocks.size() - 1);
+      semanticizeBlock(lowestBlock, this.lowestBlockTexts, SemanticRole.PAGE_FOOTER);
+      semanticizeBlock(topMostBlock, this.topMostBlockTexts, SemanticRole.PAGE_HEADER);
     }
-
-    semanticizeBlocks(lowestBlocks, SemanticRole.PAGE_FOOTER);
-    semanticizeBlocks(topMostBlocks, SemanticRole.PAGE_HEADER);
   }
 
   // ==============================================================================================
 
   /**
-   * Searches the given text blocks for page headers (or page footers). Assigns
-   * the given role to each text block that we consider as an member of a page
-   * header (or page footer).
+   * Sorts the text blocks of the given page by their minY values, to obtain the lowest and the
+   * topmost block.
    * 
-   * @param blocks
-   *        The text blocks to process.
-   * @param role
-   *        The semantic role to assign to the related text blocks.
+   * @param page
+   *        The page to process.
+   * 
+   * @return The sorted text blocks or null if the page doesn't contain any text blocks.
    */
-  protected void semanticizeBlocks(List<TextBlock> blocks, SemanticRole role) {
-    log.debug("=====================================================");
-    log.debug("Detecting text blocks of semantic role '%s' ...", role);
-    log.debug("=====================================================");
-    
-    if (blocks == null || blocks.isEmpty()) {
-      return;
+  protected List<TextBlock> sortByMinY(Page page) {
+    if (page == null) {
+      return null;
     }
 
-    // Count the frequencies of texts in the blocks.
-    ObjectCounter<String> textCounter = new ObjectCounter<>();
-    for (TextBlock block : blocks) {
-      textCounter.add(getNormalizedText(block));
+    List<TextBlock> textBlocks = page.getTextBlocks();
+    if (textBlocks == null || textBlocks.isEmpty()) {
+      return null;
     }
 
-    for (TextBlock block : blocks) {
-      String normalizedText = getNormalizedText(block);
-      if (textCounter.getFrequency(normalizedText) >= blocks.size() / 3) {
-        log.debug("-----------------------------------------------------");
-        log.debug("Text block: \"%s\" ...", block.getText());
-        log.debug("... page:          %d", block.getPosition().getPageNumber());
-        log.debug("... assigned role: %s", role);
-        log.debug("... role reason:   the text occurs on more than a third of the pages.");
-        block.setSemanticRole(role);
-      }
+    List<TextBlock> sortedBlocks = new ArrayList<>(textBlocks);
+    Collections.sort(sortedBlocks, new MinYComparator());
+    return sortedBlocks;
+  }
+
+  /**
+   * Assigns the given role to the given text block, if its text occurs in the lowest (or topmost)
+   * blocks of more than a third of the pages.
+   * 
+   * @param block
+   *        The text block to process.
+   * @param textCounter
+   *        The frequencies of the texts in the lowest (or topmost) blocks of the pages.
+   * @param role
+   *        The semantic role to assign to the text block.
+   */
+  protected void semanticizeBlock(TextBlock block, ObjectCounter<String> textCounter,
+      SemanticRole role) {
+    String normalizedText = getNormalizedText(block);
+    // In the first pages only, a text is a page header (or footer) only if it occurs on all pages.
+    int minFrequency = this.numCollectedPages / 3;
+    if (this.isFirstPagesOnly) {
+      minFrequency = Math.max(this.numCollectedPages, 2);
+    }
+    if (textCounter.getFrequency(normalizedText) >= minFrequency) {
+      log.debug("-----------------------------------------------------");
+      log.debug("Text block: \"%s\" ...", block.getText());
+      log.debug("... page:          %d", block.getPosition().getPageNumber());
+      log.debug("... assigned role: %s", role);
+      log.debug("... role reason:   the text occurs on more than a third of the pages.");
+      block.setSemanticRole(role);
     }
   }
 
@@ -123,4 +181,28 @@ public class PageHeaderFooterModule implements PdfTextSemanticizerModule {
 
     return text.replaceAll("\\d", "");
   }
+
+  // ==============================================================================================
+
+  /**
+   * Returns the boolean flag indicating whether or not the collected pages are only the first
+   * pages of a PDF document.
+   * 
+   * @return True, if the collected pages are only the first pages of a PDF document.
+   */
+  public boolean isFirstPagesOnly() {
+    return this.isFirstPagesOnly;
+  }
+
+  /**
+   * Sets the boolean flag indicating whether or not the collected pages are only the first pages
+   * of a PDF document. If so, a text is identified as a page header or footer only if it occurs
+   * on all (and at least two) of the collected pages, instead of on a third of the pages.
+   * 
+   * @param isFirstPagesOnly
+   *        True, if the collected pages are only the first pages of a PDF document.
+   */
+  public void setIsFirstPagesOnly(boolean isFirstPagesOnly) {
+    this.isFirstPagesOnly = isFirstPagesOnly;
+  }
 }
@@ -0,0 +1,24 @@
+package pdfact.core.pipes.semanticize.modules;
+
+import pdfact.core.model.Document;
+import pdfact.core.model.Page;
+
+/**
+ * A semantic role module that needs information about all pages of a PDF document to identify the
+ * text blocks of a specific semantic role in a single page. The information can be collected page
+ * by page, before the text blocks are semanticized. If no page was collected before semanticizing
+ * a PDF document, the module collects the pages of the document itself.
+ *
+ * @author Claudius Korzen
+ */
+public interface PdfTextSemanticizerCollectingModule extends PdfTextSemanticizerModule {
+  /**
+   * Collects the information needed by this module from the given page.
+   *
+   * @param pdf
+   *        The PDF document to which the page belongs to.
+   * @param page
+   *        The page to collect.
+   */
+  void collect(Document pdf, Page page);
+}
@@ -0,0 +1,37 @@
+package pdfact.core.pipes.semanticize.modules;
+
+import pdfact.core.model.SemanticRole;
+
+/**
+ * A semantic role module that identifies the text blocks of its semantic role only within the
+ * first pages of a PDF document (for example, the title or the abstract). If only the roles of
+ * such modules are needed, it suffices to process the first pages of a PDF document.
+ *
+ * @author Claudius Korzen
+ */
+public interface PdfTextSemanticizerPrefixModule extends PdfTextSemanticizerModule {
+  /**
+   * Returns the semantic role of the text blocks identified by this module.
+   *
+   * @return The semantic role of the text blocks identified by this module.
+   */
+  SemanticRole getSemanticRole();
+
+  /**
+   * Returns the number of first pages of a PDF document needed by this module to identify the
+   * text blocks of its semantic role.
+   *
+   * @return The number of first pages needed by this module.
+   */
+  int getNumRequiredPages();
+
+  /**
+   * Checks if the section of the semantic role of this module was started, but not finished in
+   * the pages semanticized so far (for example, an abstract that is not yet followed by a
+   * heading). If so, the section may continue in the next pages, even if these pages are beyond
+   * the required pages.
+   *
+   * @return True, if the section was started but not finished; false otherwise.
+   */
+  boolean isUnfinished();
+}
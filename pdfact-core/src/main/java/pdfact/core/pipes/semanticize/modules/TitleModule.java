@@ -17,12 +17,18 @@ import pdfact.core.model.TextBlock;
  *
  * @author Claudius Korzen
  */
-public class TitleModule implements PdfTextSemanticizerModule {
+public class TitleModule implements PdfTextSemanticizerPrefixModule {
   /**
    * The logger.
    */
   protected static Logger log = LogManager.getFormatterLogger("role-detection");
 
+  /**
+   * The number of first pages needed to identify the title (the title is searched in the first
+   * page only).
+   */
+  protected static final int NUM_REQUIRED_PAGES = 1;
+
   @Override
   public void semanticize(Document pdf) {
     log.debug("=====================================================");
@@ -38,9 +44,10 @@ public class TitleModule implements PdfTextSemanticizerModule {
       return;
     }
 
-    // Search the text blocks of only the first page.
+    // Search the text blocks of only the first page (the document may contain only a single page
+    // which is not the first page of the PDF, when the PDF is processed page by page).
     Page firstPage = pages.get(0);
-    if (firstPage == null) {
+    if (firstPage == null || firstPage.getPageNumber() != 1) {
       return;
     }
 
@@ -77,4 +84,22 @@ public class TitleModule implements PdfTextSemanticizerModule {
       largestFontSizeBlock.setSemanticRole(SemanticRole.TITLE);
     }
   }
+
+  // ==============================================================================================
+
+  @Override
+  public SemanticRole getSemanticRole() {
+    return SemanticRole.TITLE;
+  }
+
+  @Override
+  public int getNumRequiredPages() {
+    return NUM_REQUIRED_PAGES;
+  }
+
+  @Override
+  public boolean isUnfinished() {
+    // The title is identified within the first page only.
+    return false;
+  }
 }
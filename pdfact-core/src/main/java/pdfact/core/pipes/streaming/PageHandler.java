@@ -0,0 +1,36 @@
+package pdfact.core.pipes.streaming;
+
+import pdfact.core.model.Document;
+import pdfact.core.model.Page;
+import pdfact.core.model.Paragraph;
+import pdfact.core.util.exception.PdfActException;
+import pdfact.core.util.list.ElementList;
+
+/**
+ * A handler that is called by a {@link StreamDocumentPipe} each time a page of a PDF document was
+ * processed.
+ *
+ * @author Claudius Korzen
+ */
+public interface PageHandler {
+  /**
+   * Handles the given processed page.
+   *
+   * @param pdf
+   *        The PDF document to which the page belongs to. The document provides the statistics
+   *        about the whole document and the pages of the document, but without their characters,
+   *        figures, shapes, text areas, text lines and text blocks.
+   * @param page
+   *        The processed page, with its characters, figures, shapes, text areas, text lines and
+   *        text blocks. They are released after this method was called.
+   * @param paragraphs
+   *        The paragraphs that were completed with the given page, in reading order. A paragraph
+   *        that starts in the given page but may be continued in the next page is passed together
+   *        with the page in which it is completed.
+   *
+   * @throws PdfActException
+   *         If something went wrong while handling the page.
+   */
+  void handlePage(Document pdf, Page page, ElementList<Paragraph> paragraphs)
+      throws PdfActException;
+}
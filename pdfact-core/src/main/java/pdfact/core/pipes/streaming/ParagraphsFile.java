@@ -0,0 +1,224 @@
+package pdfact.core.pipes.streaming;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import pdfact.core.model.Document;
+import pdfact.core.model.Page;
+import pdfact.core.model.Paragraph;
+import pdfact.core.model.SemanticRole;
+import pdfact.core.model.Word;
+
+/**
+ * A temporary file to which the paragraphs of a PDF document processed page by page are written,
+ * page after page, so that the paragraphs of the whole document don't need to be kept in main
+ * memory until they are serialized. The paragraphs can be iterated (several times) in the order
+ * in which they were written; only the paragraph which is currently iterated is kept in memory.
+ *
+ * <p>
+ * The paragraphs read from the file have the same role, text and positions as the written
+ * paragraphs, and so have their words and characters. Their positions refer to the pages of the
+ * given document (without their per-character data). The character statistics of the paragraphs
+ * and words are not written to the file.
+ *
+ * @author Claudius Korzen
+ */
+public class ParagraphsFile extends SpillFile implements Iterable<Paragraph> {
+  /**
+   * The PDF document to which the paragraphs belong to.
+   */
+  protected Document pdf;
+
+  /**
+   * The number of paragraphs written to the file.
+   */
+  protected int numParagraphs;
+
+  /**
+   * The pages of the PDF document, per page number.
+   */
+  protected Map<Integer, Page> pages;
+
+  // ==============================================================================================
+
+  /**
+   * Creates a new temporary file to write the paragraphs of the given PDF document to.
+   *
+   * @param pdf
+   *        The PDF document to which the paragraphs belong to.
+   *
+   * @throws IOException
+   *         If the file couldn't be created.
+   */
+  public ParagraphsFile(Document pdf) throws IOException {
+    super();
+    this.pdf = pdf;
+    this.pages = new HashMap<>();
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Writes the given paragraphs to the file, including their words and characters.
+   *
+   * @param paragraphs
+   *        The paragraphs to write.
+   *
+   * @throws IOException
+   *         If writing the paragraphs failed.
+   */
+  public void writeParagraphs(List<Paragraph> paragraphs) throws IOException {
+    for (Paragraph paragraph : paragraphs) {
+      writeSemanticRole(paragraph.getSemanticRole());
+      writeSemanticRole(paragraph.getSecondarySemanticRole());
+      writeString(paragraph.getText());
+      writePositions(paragraph.getPositions());
+
+      this.out.writeInt(paragraph.getWords().size());
+      for (Word word : paragraph.getWords()) {
+        writeString(word.getText());
+        writePositions(word.getPositions());
+        this.out.writeBoolean(word.isHyphenated());
+        this.out.writeBoolean(word.isDehyphenated());
+        this.out.writeBoolean(word.isHyphenMandatory());
+        writeCharacters(word.getCharacters());
+      }
+      this.numParagraphs++;
+    }
+  }
+
+  /**
+   * Returns the number of paragraphs written to the file.
+   *
+   * @return The number of paragraphs written to the file.
+   */
+  public int size() {
+    return this.numParagraphs;
+  }
+
+  /**
+   * Returns an iterator over the paragraphs written to the file so far. Each iterator reads the
+   * file from the beginning. Errors on reading the file are thrown as
+   * {@link UncheckedIOException}.
+   *
+   * @return An iterator over the written paragraphs.
+   */
+  @Override
+  public Iterator<Paragraph> iterator() {
+    final int numParagraphs = this.numParagraphs;
+    final DataInputStream in;
+    try {
+      in = numParagraphs > 0 ? openInputStream() : null;
+    } catch (IOException e) {
+      throw new UncheckedIOException("Couldn't read the paragraphs.", e);
+    }
+
+    return new Iterator<Paragraph>() {
+      /**
+       * The number of paragraphs read so far.
+       */
+      protected int numReadParagraphs;
+
+      @Override
+      public boolean hasNext() {
+        return this.numReadParagraphs < numParagraphs;
+      }
+
+      @Override
+      public Paragraph next() {
+        if (!hasNext()) {
+          throw new NoSuchElementException();
+        }
+        try {
+          Paragraph paragraph = readParagraph(in);
+          this.numReadParagraphs++;
+          if (!hasNext()) {
+            closeInputStream(in);
+          }
+          return paragraph;
+        } catch (IOException e) {
+          throw new UncheckedIOException("Couldn't read the paragraphs.", e);
+        }
+      }
+    };
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Reads a paragraph written by {@link #writeParagraphs(List)} from the given stream.
+   *
+   * @param in
+   *        The stream to read from.
+   *
+   * @return The read paragraph.
+   *
+   * @throws IOException
+   *         If reading the paragraph failed.
+   */
+  protected Paragraph readParagraph(DataInputStream in) throws IOException {
+    Paragraph paragraph = new Paragraph();
+    paragraph.setSemanticRole(readSemanticRole(in));
+    paragraph.setSecondarySemanticRole(readSemanticRole(in));
+    paragraph.setText(readString(in));
+    paragraph.setPositions(readPositions(in));
+
+    int numWords = in.readInt();
+    for (int i = 0; i < numWords; i++) {
+      Word word = new Word();
+      word.setText(readString(in));
+      word.setPositions(readPositions(in));
+      word.setIsHyphenated(in.readBoolean());
+      word.setIsDehyphenated(in.readBoolean());
+      word.setIsHyphenMandatory(in.readBoolean());
+      readCharacters(in, word.getCharacters());
+      paragraph.addWord(word);
+    }
+    return paragraph;
+  }
+
+  /**
+   * Writes the given semantic role to the file.
+   *
+   * @param role
+   *        The semantic role to write (may be null).
+   *
+   * @throws IOException
+   *         If writing the role failed.
+   */
+  protected void writeSemanticRole(SemanticRole role) throws IOException {
+    this.out.writeInt(role != null ? role.ordinal() : -1);
+  }
+
+  /**
+   * Reads a semantic role written by {@link #writeSemanticRole(SemanticRole)} from the given
+   * stream.
+   *
+   * @param in
+   *        The stream to read from.
+   *
+   * @return The read semantic role (may be null).
+   *
+   * @throws IOException
+   *         If reading the role failed.
+   */
+  protected SemanticRole readSemanticRole(DataInputStream in) throws IOException {
+    int ordinal = in.readInt();
+    return ordinal >= 0 ? SemanticRole.values()[ordinal] : null;
+  }
+
+  @Override
+  protected Page getPage(int pageNumber) {
+    if (this.pages.isEmpty()) {
+      for (Page page : this.pdf.getPages()) {
+        this.pages.put(page.getPageNumber(), page);
+      }
+    }
+    return this.pages.get(pageNumber);
+  }
+}
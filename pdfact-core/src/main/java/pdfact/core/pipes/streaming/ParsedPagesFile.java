@@ -0,0 +1,128 @@
+package pdfact.core.pipes.streaming;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import pdfact.core.model.Document;
+import pdfact.core.model.Figure;
+import pdfact.core.model.Page;
+import pdfact.core.model.Shape;
+import pdfact.core.pipes.parse.stream.ParsedPageHandler;
+import pdfact.core.util.exception.PdfActException;
+
+/**
+ * A temporary file to which the characters, figures and shapes of parsed pages are written, so
+ * that a PDF document processed page by page needs to be parsed only once, although its pages
+ * are processed several times.
+ *
+ * @author Claudius Korzen
+ */
+public class ParsedPagesFile extends SpillFile {
+  /**
+   * The page which is currently read from the file.
+   */
+  protected Page page;
+
+  // ==============================================================================================
+
+  /**
+   * Creates a new temporary file to write parsed pages to.
+   *
+   * @throws IOException
+   *         If the file couldn't be created.
+   */
+  public ParsedPagesFile() throws IOException {
+    super();
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Writes the characters, figures and shapes of the given parsed page to the file.
+   *
+   * @param page
+   *        The page to write.
+   *
+   * @throws IOException
+   *         If writing the page failed.
+   */
+  public void writePage(Page page) throws IOException {
+    this.out.writeInt(page.getPageNumber());
+    writeCharacters(page.getCharacters());
+
+    this.out.writeInt(page.getFigures().size());
+    for (Figure figure : page.getFigures()) {
+      writePosition(figure.getPosition());
+    }
+
+    this.out.writeInt(page.getShapes().size());
+    for (Shape shape : page.getShapes()) {
+      writePosition(shape.getPosition());
+      writeColor(shape.getColor());
+    }
+  }
+
+  /**
+   * Reads the pages written to the file one after another and passes each page to the given
+   * handler, in the same way as
+   * {@link pdfact.core.pipes.parse.stream.PdfStreamsParser#parse(Document, ParsedPageHandler)}
+   * does on parsing the pages: The given document contains only the page passed to the handler.
+   *
+   * @param pdf
+   *        The document to which the pages belong to.
+   * @param pages
+   *        The written pages, in the order in which they were written. The pages passed to the
+   *        handler are new pages with the same number, size and character statistic, but with
+   *        the characters, figures and shapes read from the file.
+   * @param handler
+   *        The handler to which the pages should be passed.
+   *
+   * @throws IOException
+   *         If reading the pages failed.
+   * @throws PdfActException
+   *         If the handler failed to handle a page.
+   */
+  public void readPages(Document pdf, List<Page> pages, ParsedPageHandler handler)
+      throws IOException, PdfActException {
+    DataInputStream in = openInputStream();
+    try {
+      for (Page writtenPage : pages) {
+        this.page = new Page(in.readInt());
+        this.page.setWidth(writtenPage.getWidth());
+        this.page.setHeight(writtenPage.getHeight());
+        this.page.setCharacterStatistic(writtenPage.getCharacterStatistic());
+        readCharacters(in, this.page.getCharacters());
+
+        int numFigures = in.readInt();
+        for (int i = 0; i < numFigures; i++) {
+          Figure figure = new Figure();
+          figure.setPosition(readPosition(in));
+          this.page.addFigure(figure);
+        }
+
+        int numShapes = in.readInt();
+        for (int i = 0; i < numShapes; i++) {
+          Shape shape = new Shape();
+          shape.setPosition(readPosition(in));
+          shape.setColor(readColor(in));
+          this.page.addShape(shape);
+        }
+
+        List<Page> windowPages = new ArrayList<>(1);
+        windowPages.add(this.page);
+        pdf.setPages(windowPages);
+        handler.handlePage(pdf, this.page);
+      }
+      pdf.setPages(new ArrayList<Page>());
+    } finally {
+      this.page = null;
+      closeInputStream(in);
+    }
+  }
+
+  @Override
+  protected Page getPage(int pageNumber) {
+    return this.page;
+  }
+}
@@ -0,0 +1,483 @@
+package pdfact.core.pipes.streaming;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import pdfact.core.model.Character;
+import pdfact.core.model.Document;
+import pdfact.core.model.Figure;
+import pdfact.core.model.LoadStrategy;
+import pdfact.core.model.Page;
+import pdfact.core.model.Paragraph;
+import pdfact.core.model.ProcessingStage;
+import pdfact.core.model.Shape;
+import pdfact.core.model.TextArea;
+import pdfact.core.model.TextBlock;
+import pdfact.core.model.TextLine;
+import pdfact.core.pipes.PlainPdfActCorePipe;
+import pdfact.core.pipes.dehyphenate.PlainDehyphenateWordsPipe;
+import pdfact.core.pipes.parse.stream.ParsedPageHandler;
+import pdfact.core.pipes.parse.stream.PdfStreamsParser;
+import pdfact.core.pipes.parse.stream.pdfbox.PdfBoxPdfStreamsParser;
+import pdfact.core.pipes.semanticize.PlainDetectSemanticsPipe;
+import pdfact.core.pipes.tokenize.lines.TokenizeToTextLinesPipe;
+import pdfact.core.pipes.tokenize.paragraphs.PlainTokenizeToParagraphsPipe;
+import pdfact.core.util.exception.PdfActException;
+import pdfact.core.util.exception.PdfActParseException;
+import pdfact.core.util.list.ElementList;
+import pdfact.core.util.pipeline.Pipe;
+import pdfact.core.util.pipeline.Pipeline;
+import pdfact.core.util.pipeline.PipelineMetrics;
+import pdfact.core.util.pipeline.PlainPipeline;
+import pdfact.core.util.statistician.CharacterStatistician;
+import pdfact.core.util.statistician.TextLineStatistician;
+
+/**
+ * A plain implementation of {@link StreamDocumentPipe}.
+ *
+ * The PDF document is processed in two phases. The first phase computes the statistics about the
+ * whole document that are needed to process a single page: the character statistic, the text line
+ * statistic, the information collected by the semanticizer modules (e.g., the texts of page
+ * headers) and the word frequencies needed on dehyphenation. Since each of these statistics
+ * depends on the previous one, the first phase processes the pages three times, keeping only the
+ * statistics of each page. The second phase tokenizes and semanticizes one page after another,
+ * passes each page to the page handler and releases its per-character data afterwards. The
+ * result is the same as the result of the {@link PlainPdfActCorePipe}.
+ *
+ * <p>
+ * The PDF document is parsed only once: on computing the character statistic, the characters,
+ * figures and shapes of each parsed page are written to a {@link ParsedPagesFile}, from which the
+ * pages are read on each further pass (instead of parsing the PDF document again).
+ *
+ * @author Claudius Korzen
+ */
+public class PlainStreamDocumentPipe implements StreamDocumentPipe {
+  /**
+   * The logger.
+   */
+  protected static Logger log = LogManager.getLogger(PlainStreamDocumentPipe.class);
+
+  /**
+   * The handler to which the processed pages are passed.
+   */
+  protected PageHandler pageHandler;
+
+  /**
+   * The parser to parse the pages. The same parser is used in all phases, such that the fonts and
+   * colors of the characters are the same objects in all phases.
+   */
+  protected PdfStreamsParser parser;
+
+  /**
+   * The statistician to compute statistics about characters.
+   */
+  protected CharacterStatistician characterStatistician;
+
+  /**
+   * The statistician to compute statistics about text lines.
+   */
+  protected TextLineStatistician textLineStatistician;
+
+  /**
+   * The pipe to detect the semantic roles of the text blocks.
+   */
+  protected PlainDetectSemanticsPipe detectSemanticsPipe;
+
+  /**
+   * The pipe to tokenize the text blocks into paragraphs.
+   */
+  protected PlainTokenizeToParagraphsPipe tokenizeToParagraphsPipe;
+
+  /**
+   * The pipe to dehyphenate the words of the paragraphs.
+   */
+  protected PlainDehyphenateWordsPipe dehyphenateWordsPipe;
+
+  /**
+   * The collector into which the metrics of the pipes that process the single pages are recorded;
+   * null if no metrics should be recorded.
+   */
+  protected PipelineMetrics metrics;
+
+  // ==============================================================================================
+
+  /**
+   * Creates a new pipe that processes a PDF document page by page.
+   */
+  public PlainStreamDocumentPipe() {
+    this.parser = new PdfBoxPdfStreamsParser();
+    this.characterStatistician = new CharacterStatistician();
+    this.textLineStatistician = new TextLineStatistician();
+    this.detectSemanticsPipe = new PlainDetectSemanticsPipe();
+    this.tokenizeToParagraphsPipe = new PlainTokenizeToParagraphsPipe();
+    this.dehyphenateWordsPipe = new PlainDehyphenateWordsPipe();
+  }
+
+  /**
+   * Creates a new pipe that processes a PDF document page by page and passes the processed pages
+   * to the given handler.
+   *
+   * @param handler
+   *        The handler to which the processed pages are passed.
+   */
+  public PlainStreamDocumentPipe(PageHandler handler) {
+    this();
+    this.pageHandler = handler;
+  }
+
+  // ==============================================================================================
+
+  @Override
+  public Document execute(Document pdf) throws PdfActException {
+    log.debug("Start of pipe: " + getClass().getSimpleName() + ".");
+
+    long start = System.currentTimeMillis();
+
+    // The pages of the document, without their per-character data.
+    List<Page> pages = new ArrayList<>();
+
+    try (ParsedPagesFile parsedPages = new ParsedPagesFile()) {
+      // Phase 1: Compute the statistics about the whole document.
+      computeCharacterStatistics(pdf, pages, parsedPages);
+      pdf.setPages(pages);
+      computeTextLineStatistics(pdf, pages, parsedPages);
+      collectPages(pdf, pages, parsedPages);
+
+      // Phase 2: Process the pages one after another.
+      int lastPageNumber = pages.isEmpty() ? 0 : pages.get(pages.size() - 1).getPageNumber();
+      processPages(pdf, pages, parsedPages, lastPageNumber);
+    } catch (IOException e) {
+      throw new PdfActParseException("Couldn't buffer the parsed pages.", e);
+    }
+
+    long length = System.currentTimeMillis() - start;
+    log.debug("Time needed to process the document page by page: " + length + "ms.");
+
+    log.debug("End of pipe: " + getClass().getSimpleName() + ".");
+    return pdf;
+  }
+
+  // ==============================================================================================
+  // Phase 1.
+
+  /**
+   * Parses the pages of the given PDF document, computes the character statistic of the document,
+   * writes the parsed pages to the given file and adds the pages (without their per-character
+   * data) to the given list.
+   *
+   * @param pdf
+   *        The PDF document to process.
+   * @param pages
+   *        The list to which the parsed pages should be added.
+   * @param parsedPages
+   *        The file to which the parsed pages should be written.
+   *
+   * @throws PdfActException
+   *         If something went wrong while parsing the PDF document.
+   */
+  protected void computeCharacterStatistics(Document pdf, final List<Page> pages,
+      final ParsedPagesFile parsedPages) throws PdfActException {
+    this.parser.parse(createWindow(pdf), new ParsedPageHandler() {
+      @Override
+      public void handlePage(Document window, Page page) throws PdfActException {
+        try {
+          parsedPages.writePage(page);
+        } catch (IOException e) {
+          throw new PdfActParseException("Couldn't buffer the parsed pages.", e);
+        }
+        releasePage(page);
+        pages.add(page);
+      }
+    });
+    pdf.setCharacterStatistic(this.characterStatistician.aggregate(pages));
+  }
+
+  /**
+   * Reads the parsed pages of the given PDF document, tokenizes them into text lines and computes
+   * the text line statistic of the document and of the given pages.
+   *
+   * @param pdf
+   *        The PDF document to process.
+   * @param pages
+   *        The pages of the PDF document, without their per-character data.
+   * @param parsedPages
+   *        The file to which the parsed pages were written.
+   *
+   * @throws PdfActException
+   *         If something went wrong while processing the PDF document.
+   */
+  protected void computeTextLineStatistics(Document pdf, final List<Page> pages,
+      ParsedPagesFile parsedPages) throws PdfActException {
+    final Pipeline pipeline = createPagePipeline(pdf, false);
+    // The pages are read in the same order as in phase 1 (which are only the selected pages).
+    final Iterator<Page> pagesIterator = pages.iterator();
+
+    readPages(pdf, pages, parsedPages, new ParsedPageHandler() {
+      @Override
+      public void handlePage(Document window, Page page) throws PdfActException {
+        pipeline.process(window);
+        pagesIterator.next().setTextLineStatistic(page.getTextLineStatistic());
+      }
+    });
+    pdf.setTextLineStatistic(this.textLineStatistician.aggregate(pages));
+  }
+
+  /**
+   * Reads the parsed pages of the given PDF document, tokenizes them into text blocks and
+   * collects the information needed by the semanticizer modules and the frequencies of the words
+   * needed on dehyphenation.
+   *
+   * @param pdf
+   *        The PDF document to process.
+   * @param pages
+   *        The pages of the PDF document, without their per-character data.
+   * @param parsedPages
+   *        The file to which the parsed pages were written.
+   *
+   * @throws PdfActException
+   *         If something went wrong while processing the PDF document.
+   */
+  protected void collectPages(Document pdf, List<Page> pages, ParsedPagesFile parsedPages)
+      throws PdfActException {
+    final Pipeline pipeline = createPagePipeline(pdf, true);
+
+    readPages(pdf, pages, parsedPages, new ParsedPageHandler() {
+      @Override
+      public void handlePage(Document window, Page page) throws PdfActException {
+        pipeline.process(window);
+        detectSemanticsPipe.collect(window, page);
+        dehyphenateWordsPipe.countWords(page);
+      }
+    });
+  }
+
+  // ==============================================================================================
+  // Phase 2.
+
+  /**
+   * Reads the parsed pages of the given PDF document, tokenizes and semanticizes them one after
+   * another and passes them to the page handler.
+   *
+   * @param pdf
+   *        The PDF document to process.
+   * @param pages
+   *        The pages of the PDF document, without their per-character data.
+   * @param parsedPages
+   *        The file to which the parsed pages were written.
+   * @param lastPageNumber
+   *        The number of the last page to process.
+   *
+   * @throws PdfActException
+   *         If something went wrong while processing the PDF document.
+   */
+  protected void processPages(final Document pdf, List<Page> pages, ParsedPagesFile parsedPages,
+      final int lastPageNumber) throws PdfActException {
+    final Pipeline pipeline = createPagePipeline(pdf, true);
+    pipeline.addPipe(this.detectSemanticsPipe);
+
+    readPages(pdf, pages, parsedPages, new ParsedPageHandler() {
+      @Override
+      public void handlePage(Document window, Page page) throws PdfActException {
+        pipeline.process(window);
+
+        boolean isLastPage = page.getPageNumber() == lastPageNumber;
+        ElementList<Paragraph> paragraphs =
+            tokenizeToParagraphsPipe.tokenizeToParagraphs(page.getTextBlocks(), isLastPage);
+        dehyphenateWordsPipe.dehyphenateWordsInParagraphs(paragraphs);
+
+        if (pageHandler != null) {
+          pageHandler.handlePage(pdf, page, paragraphs);
+        }
+        releasePage(page);
+      }
+    });
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Reads the parsed pages of the given PDF document from the given file and passes them to the
+   * given handler, one after another.
+   *
+   * @param pdf
+   *        The PDF document to process.
+   * @param pages
+   *        The pages of the PDF document, without their per-character data.
+   * @param parsedPages
+   *        The file to which the parsed pages were written.
+   * @param handler
+   *        The handler to which the pages should be passed.
+   *
+   * @throws PdfActException
+   *         If something went wrong while processing the PDF document.
+   */
+  protected void readPages(Document pdf, List<Page> pages, ParsedPagesFile parsedPages,
+      ParsedPageHandler handler) throws PdfActException {
+    try {
+      parsedPages.readPages(createWindow(pdf), pages, handler);
+    } catch (IOException e) {
+      throw new PdfActParseException("Couldn't read the buffered parsed pages.", e);
+    }
+  }
+
+  /**
+   * Creates a document that holds a single page of the given PDF document at a time, together
+   * with the statistics about the whole PDF document computed so far.
+   *
+   * @param pdf
+   *        The PDF document.
+   *
+   * @return The created document.
+   */
+  protected Document createWindow(Document pdf) {
+    Document window = new Document(pdf.getPath());
+    window.setCharacterStatistic(pdf.getCharacterStatistic());
+    window.setTextLineStatistic(pdf.getTextLineStatistic());
+    window.setPageSelection(pdf.getPageSelection());
+    return window;
+  }
+
+  /**
+   * Creates the pipeline that processes a single page. The pipes are the page pipes of the
+   * {@link PlainPdfActCorePipe} (see {@link PlainPdfActCorePipe#addPagePipes(Pipeline, List)}),
+   * such that a page is processed in the same way as by the core pipeline.
+   *
+   * @param pdf
+   *        The PDF document to which the pages belong to.
+   * @param withTextBlocks
+   *        True, if the pipeline should tokenize the page into words and text blocks; false if it
+   *        should tokenize the page only into text lines.
+   *
+   * @return The created pipeline.
+   */
+  protected Pipeline createPagePipeline(Document pdf, boolean withTextBlocks) {
+    PlainPdfActCorePipe corePipe = new PlainPdfActCorePipe();
+    corePipe.setLastStage(
+        withTextBlocks ? ProcessingStage.TEXT_BLOCKS : ProcessingStage.TEXT_LINES);
+    Pipeline pagePipes = new PlainPipeline();
+    corePipe.addPagePipes(pagePipes, new ArrayList<String>());
+
+    Pipeline pipeline = new PlainPipeline();
+    pipeline.setMetrics(this.metrics);
+    for (Pipe pipe : pagePipes.getPipes()) {
+      pipeline.addPipe(pipe);
+      if (withTextBlocks && pipe instanceof TokenizeToTextLinesPipe) {
+        pipeline.addPipe(new RestoreTextLineStatisticPipe(pdf));
+      }
+    }
+    return pipeline;
+  }
+
+  /**
+   * Releases the per-character data of the given page, that is: its characters, figures, shapes,
+   * text areas, text lines and text blocks. The statistics about the page are kept.
+   *
+   * @param page
+   *        The page to release.
+   */
+  protected void releasePage(Page page) {
+    if (page.getCharacterStatistic() != null) {
+      page.getCharacterStatistic().materialize();
+    }
+    page.setCharacters(new ElementList<Character>());
+    page.setFigures(new ElementList<Figure>());
+    page.setShapes(new ElementList<Shape>());
+    page.setTextAreas(new ElementList<TextArea>());
+    page.setTextLines(new ElementList<TextLine>());
+    page.setTextBlocks(new ElementList<TextBlock>());
+  }
+
+  // ==============================================================================================
+
+  @Override
+  public PageHandler getPageHandler() {
+    return this.pageHandler;
+  }
+
+  @Override
+  public void setPageHandler(PageHandler handler) {
+    this.pageHandler = handler;
+  }
+
+  // ==============================================================================================
+
+  @Override
+  public boolean isTextOnly() {
+    return this.parser.isTextOnly();
+  }
+
+  @Override
+  public void setIsTextOnly(boolean isTextOnly) {
+    this.parser.setIsTextOnly(isTextOnly);
+  }
+
+  // ==============================================================================================
+
+  @Override
+  public LoadStrategy getLoadStrategy() {
+    return this.parser.getLoadStrategy();
+  }
+
+  @Override
+  public void setLoadStrategy(LoadStrategy strategy) {
+    this.parser.setLoadStrategy(strategy);
+  }
+
+  @Override
+  public long getMaxMainMemoryBytes() {
+    return this.parser.getMaxMainMemoryBytes();
+  }
+
+  @Override
+  public void setMaxMainMemoryBytes(long maxMainMemoryBytes) {
+    this.parser.setMaxMainMemoryBytes(maxMainMemoryBytes);
+  }
+
+  // ==============================================================================================
+
+  @Override
+  public PipelineMetrics getMetrics() {
+    return this.metrics;
+  }
+
+  @Override
+  public void setMetrics(PipelineMetrics metrics) {
+    this.metrics = metrics;
+  }
+
+  // ==============================================================================================
+
+  /**
+   * A pipe that restores the text line statistic of the whole PDF document in the document that
+   * holds the processed page. It is executed after tokenizing the page into text lines, since the
+   * text line pipe sets the text line statistic of the single page as the statistic of the
+   * document.
+   *
+   * @author Claudius Korzen
+   */
+  protected static class RestoreTextLineStatisticPipe implements Pipe {
+    /**
+     * The PDF document whose text line statistic should be restored.
+     */
+    protected Document pdf;
+
+    /**
+     * Creates a new pipe that restores the text line statistic of the given PDF document.
+     *
+     * @param pdf
+     *        The PDF document whose text line statistic should be restored.
+     */
+    protected RestoreTextLineStatisticPipe(Document pdf) {
+      this.pdf = pdf;
+    }
+
+    @Override
+    public Document execute(Document window) {
+      window.setTextLineStatistic(this.pdf.getTextLineStatistic());
+      return window;
+    }
+  }
+}
@@ -0,0 +1,405 @@
+package pdfact.core.pipes.streaming;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import pdfact.core.model.Character;
+import pdfact.core.model.Color;
+import pdfact.core.model.FontFace;
+import pdfact.core.model.Page;
+import pdfact.core.model.Position;
+import pdfact.core.model.Rectangle;
+
+/**
+ * A temporary file to which elements of a PDF document are written in a compact binary form, so
+ * that they don't need to be kept in main memory while a PDF document is processed page by page.
+ *
+ * <p>
+ * The font faces and the colors of the elements are not written to the file, but are kept in
+ * main memory (a document has only few of them) and are referenced by their index. So the
+ * elements read back from the file refer to the same font face and color objects as the written
+ * elements. The pages referred to by the positions of the elements are referenced by their page
+ * number and are resolved by {@link #getPage(int)} on reading. The file is deleted on closing.
+ *
+ * @author Claudius Korzen
+ */
+public abstract class SpillFile implements Closeable {
+  /**
+   * The path to the temporary file.
+   */
+  protected Path path;
+
+  /**
+   * The stream to write the elements to the file.
+   */
+  protected DataOutputStream out;
+
+  /**
+   * The streams opened to read the elements from the file, which are not closed yet.
+   */
+  protected List<DataInputStream> ins;
+
+  /**
+   * The font faces of the written elements, in the order of their indexes.
+   */
+  protected List<FontFace> fontFaces;
+
+  /**
+   * The indexes of the font faces of the written elements.
+   */
+  protected Map<FontFace, Integer> fontFaceIndexes;
+
+  /**
+   * The colors of the written elements, in the order of their indexes.
+   */
+  protected List<Color> colors;
+
+  /**
+   * The indexes of the colors of the written elements.
+   */
+  protected Map<Color, Integer> colorIndexes;
+
+  // ==============================================================================================
+
+  /**
+   * Creates a new temporary file to write elements to.
+   *
+   * @throws IOException
+   *         If the file couldn't be created.
+   */
+  public SpillFile() throws IOException {
+    this.path = Files.createTempFile("pdfact-", ".spill");
+    this.out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(this.path)));
+    this.ins = new ArrayList<>();
+    this.fontFaces = new ArrayList<>();
+    // The font faces and colors are identified by identity, to read back the same objects.
+    this.fontFaceIndexes = new IdentityHashMap<>();
+    this.colors = new ArrayList<>();
+    this.colorIndexes = new IdentityHashMap<>();
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Opens a new stream to read the elements written to the file so far, from the beginning of
+   * the file. The stream is closed on closing this file, if it wasn't closed before.
+   *
+   * @return The opened stream.
+   *
+   * @throws IOException
+   *         If the stream couldn't be opened.
+   */
+  protected DataInputStream openInputStream() throws IOException {
+    this.out.flush();
+    DataInputStream in = new DataInputStream(
+        new BufferedInputStream(Files.newInputStream(this.path)));
+    this.ins.add(in);
+    return in;
+  }
+
+  /**
+   * Closes the given stream, opened by {@link #openInputStream()}.
+   *
+   * @param in
+   *        The stream to close.
+   *
+   * @throws IOException
+   *         If the stream couldn't be closed.
+   */
+  protected void closeInputStream(DataInputStream in) throws IOException {
+    this.ins.remove(in);
+    in.close();
+  }
+
+  @Override
+  public void close() throws IOException {
+    try {
+      this.out.close();
+      for (DataInputStream in : this.ins) {
+        in.close();
+      }
+      this.ins.clear();
+    } finally {
+      Files.deleteIfExists(this.path);
+    }
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Returns the page with the given number, to which the positions read from the file refer.
+   *
+   * @param pageNumber
+   *        The number of the page.
+   *
+   * @return The page with the given number.
+   */
+  protected abstract Page getPage(int pageNumber);
+
+  // ==============================================================================================
+  // Methods to write and read characters.
+
+  /**
+   * Writes the given characters to the file.
+   *
+   * @param characters
+   *        The characters to write.
+   *
+   * @throws IOException
+   *         If writing the characters failed.
+   */
+  protected void writeCharacters(List<Character> characters) throws IOException {
+    this.out.writeInt(characters.size());
+    for (Character character : characters) {
+      writeString(character.getText());
+      writePosition(character.getPosition());
+      writeFontFace(character.getFontFace());
+      writeColor(character.getColor());
+      this.out.writeInt(character.getExtractionRank());
+    }
+  }
+
+  /**
+   * Reads characters written by {@link #writeCharacters(List)} from the given stream.
+   *
+   * @param in
+   *        The stream to read from.
+   * @param characters
+   *        The list to which the read characters should be added.
+   *
+   * @throws IOException
+   *         If reading the characters failed.
+   */
+  protected void readCharacters(DataInputStream in, List<Character> characters)
+      throws IOException {
+    int numCharacters = in.readInt();
+    for (int i = 0; i < numCharacters; i++) {
+      Character character = new Character();
+      character.setText(readString(in));
+      character.setPosition(readPosition(in));
+      character.setFontFace(readFontFace(in));
+      character.setColor(readColor(in));
+      character.setExtractionRank(in.readInt());
+      characters.add(character);
+    }
+  }
+
+  // ==============================================================================================
+  // Methods to write and read positions.
+
+  /**
+   * Writes the given positions to the file.
+   *
+   * @param positions
+   *        The positions to write (may be null).
+   *
+   * @throws IOException
+   *         If writing the positions failed.
+   */
+  protected void writePositions(List<Position> positions) throws IOException {
+    if (positions == null) {
+      this.out.writeInt(-1);
+      return;
+    }
+    this.out.writeInt(positions.size());
+    for (Position position : positions) {
+      writePosition(position);
+    }
+  }
+
+  /**
+   * Reads positions written by {@link #writePositions(List)} from the given stream.
+   *
+   * @param in
+   *        The stream to read from.
+   *
+   * @return The read positions (may be null).
+   *
+   * @throws IOException
+   *         If reading the positions failed.
+   */
+  protected List<Position> readPositions(DataInputStream in) throws IOException {
+    int numPositions = in.readInt();
+    if (numPositions < 0) {
+      return null;
+    }
+    List<Position> positions = new ArrayList<>(numPositions);
+    for (int i = 0; i < numPositions; i++) {
+      positions.add(readPosition(in));
+    }
+    return positions;
+  }
+
+  /**
+   * Writes the given position to the file.
+   *
+   * @param position
+   *        The position to write (may be null).
+   *
+   * @throws IOException
+   *         If writing the position failed.
+   */
+  protected void writePosition(Position position) throws IOException {
+    this.out.writeBoolean(position != null);
+    if (position != null) {
+      Page page = position.getPage();
+      Rectangle rect = position.getRectangle();
+      this.out.writeInt(page != null ? page.getPageNumber() : -1);
+      this.out.writeFloat(rect.getMinX());
+      this.out.writeFloat(rect.getMinY());
+      this.out.writeFloat(rect.getMaxX());
+      this.out.writeFloat(rect.getMaxY());
+    }
+  }
+
+  /**
+   * Reads a position written by {@link #writePosition(Position)} from the given stream.
+   *
+   * @param in
+   *        The stream to read from.
+   *
+   * @return The read position (may be null).
+   *
+   * @throws IOException
+   *         If reading the position failed.
+   */
+  protected Position readPosition(DataInputStream in) throws IOException {
+    if (!in.readBoolean()) {
+      return null;
+    }
+    int pageNumber = in.readInt();
+    Page page = pageNumber >= 0 ? getPage(pageNumber) : null;
+    return new Position(page, in.readFloat(), in.readFloat(), in.readFloat(), in.readFloat());
+  }
+
+  // ==============================================================================================
+  // Methods to write and read font faces, colors and strings.
+
+  /**
+   * Writes the index of the given font face to the file.
+   *
+   * @param fontFace
+   *        The font face to write (may be null).
+   *
+   * @throws IOException
+   *         If writing the font face failed.
+   */
+  protected void writeFontFace(FontFace fontFace) throws IOException {
+    int index = -1;
+    if (fontFace != null) {
+      Integer fontFaceIndex = this.fontFaceIndexes.get(fontFace);
+      if (fontFaceIndex == null) {
+        fontFaceIndex = this.fontFaces.size();
+        this.fontFaces.add(fontFace);
+        this.fontFaceIndexes.put(fontFace, fontFaceIndex);
+      }
+      index = fontFaceIndex;
+    }
+    this.out.writeInt(index);
+  }
+
+  /**
+   * Reads a font face written by {@link #writeFontFace(FontFace)} from the given stream.
+   *
+   * @param in
+   *        The stream to read from.
+   *
+   * @return The read font face (may be null).
+   *
+   * @throws IOException
+   *         If reading the font face failed.
+   */
+  protected FontFace readFontFace(DataInputStream in) throws IOException {
+    int index = in.readInt();
+    return index >= 0 ? this.fontFaces.get(index) : null;
+  }
+
+  /**
+   * Writes the index of the given color to the file.
+   *
+   * @param color
+   *        The color to write (may be null).
+   *
+   * @throws IOException
+   *         If writing the color failed.
+   */
+  protected void writeColor(Color color) throws IOException {
+    int index = -1;
+    if (color != null) {
+      Integer colorIndex = this.colorIndexes.get(color);
+      if (colorIndex == null) {
+        colorIndex = this.colors.size();
+        this.colors.add(color);
+        this.colorIndexes.put(color, colorIndex);
+      }
+      index = colorIndex;
+    }
+    this.out.writeInt(index);
+  }
+
+  /**
+   * Reads a color written by {@link #writeColor(Color)} from the given stream.
+   *
+   * @param in
+   *        The stream to read from.
+   *
+   * @return The read color (may be null).
+   *
+   * @throws IOException
+   *         If reading the color failed.
+   */
+  protected Color readColor(DataInputStream in) throws IOException {
+    int index = in.readInt();
+    return index >= 0 ? this.colors.get(index) : null;
+  }
+
+  /**
+   * Writes the given string to the file, encoded in UTF-8 and prefixed by its length.
+   *
+   * @param str
+   *        The string to write (may be null).
+   *
+   * @throws IOException
+   *         If writing the string failed.
+   */
+  protected void writeString(String str) throws IOException {
+    if (str == null) {
+      this.out.writeInt(-1);
+      return;
+    }
+    byte[] bytes = str.getBytes(StandardCharsets.UTF_8);
+    this.out.writeInt(bytes.length);
+    this.out.write(bytes);
+  }
+
+  /**
+   * Reads a string written by {@link #writeString(String)} from the given stream.
+   *
+   * @param in
+   *        The stream to read from.
+   *
+   * @return The read string (may be null).
+   *
+   * @throws IOException
+   *         If reading the string failed.
+   */
+  protected String readString(DataInputStream in) throws IOException {
+    int length = in.readInt();
+    if (length < 0) {
+      return null;
+    }
+    byte[] bytes = new byte[length];
+    in.readFully(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+}
@@ -0,0 +1,94 @@
+package pdfact.core.pipes.streaming;
+
+import pdfact.core.model.LoadStrategy;
+import pdfact.core.util.pipeline.Pipe;
+import pdfact.core.util.pipeline.PipelineMetrics;
+
+/**
+ * A pipe that processes a PDF document page by page, such that only the per-character data of a
+ * single page is kept in memory at a time. Each processed page is passed to a {@link PageHandler},
+ * together with the paragraphs that were completed with the page.
+ *
+ * @author Claudius Korzen
+ */
+public interface StreamDocumentPipe extends Pipe {
+  /**
+   * Returns the handler to which the processed pages are passed.
+   *
+   * @return The handler to which the processed pages are passed.
+   */
+  PageHandler getPageHandler();
+
+  /**
+   * Sets the handler to which the processed pages are passed.
+   *
+   * @param handler
+   *        The handler to which the processed pages are passed.
+   */
+  void setPageHandler(PageHandler handler);
+
+  /**
+   * Returns the boolean flag indicating whether or not only the text of a document is parsed.
+   *
+   * @return True, if only the text of a document is parsed; false otherwise.
+   */
+  boolean isTextOnly();
+
+  /**
+   * Sets the boolean flag indicating whether or not only the text of a document should be parsed.
+   * If set to true, no shapes and figures are extracted from the pages.
+   *
+   * @param isTextOnly
+   *        True, if only the text of a document should be parsed.
+   */
+  void setIsTextOnly(boolean isTextOnly);
+
+  /**
+   * Returns the strategy to load the file of a document.
+   *
+   * @return The strategy to load the file of a document.
+   */
+  LoadStrategy getLoadStrategy();
+
+  /**
+   * Sets the strategy to load the file of a document.
+   *
+   * @param strategy
+   *        The strategy to load the file of a document.
+   */
+  void setLoadStrategy(LoadStrategy strategy);
+
+  /**
+   * Returns the maximum number of bytes to buffer in main memory on loading the file of a
+   * document with the strategy {@link LoadStrategy#MIXED}.
+   *
+   * @return The maximum number of bytes to buffer in main memory.
+   */
+  long getMaxMainMemoryBytes();
+
+  /**
+   * Sets the maximum number of bytes to buffer in main memory on loading the file of a document
+   * with the strategy {@link LoadStrategy#MIXED}.
+   *
+   * @param maxMainMemoryBytes
+   *        The maximum number of bytes to buffer in main memory.
+   */
+  void setMaxMainMemoryBytes(long maxMainMemoryBytes);
+
+  /**
+   * Returns the collector into which the metrics of the pipes that process the single pages are
+   * recorded.
+   *
+   * @return The collector of the metrics, or null if no metrics are recorded.
+   */
+  PipelineMetrics getMetrics();
+
+  /**
+   * Sets the collector into which the metrics of the pipes that process the single pages should
+   * be recorded.
+   *
+   * @param metrics
+   *        The collector of the metrics, or null if no metrics should be recorded.
+   */
+  void setMetrics(PipelineMetrics metrics);
+}
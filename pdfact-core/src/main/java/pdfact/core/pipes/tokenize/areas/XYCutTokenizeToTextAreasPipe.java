@@ -1,8 +1,10 @@
 package pdfact.core.pipes.tokenize.areas;
 
-import java.util.HashSet;
+import gnu.trove.map.TIntObjectMap;
+import gnu.trove.map.hash.TIntObjectHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Set;
+import java.util.Map;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import pdfact.core.model.Character;
@@ -15,7 +17,9 @@ import pdfact.core.model.TextArea;
 import pdfact.core.util.PdfActUtils;
 import pdfact.core.util.exception.PdfActException;
 import pdfact.core.util.list.ElementList;
+import pdfact.core.util.pipeline.HasCounters;
 import pdfact.core.util.statistician.CharacterStatistician;
+import pdfact.core.util.xycut.CutStatistic;
 import pdfact.core.util.xycut.XYCut;
 
 /**
@@ -23,7 +27,8 @@ import pdfact.core.util.xycut.XYCut;
  * 
  * @author Claudius Korzen
  */
-public class XYCutTokenizeToTextAreasPipe extends XYCut implements TokenizeToTextAreasPipe {
+public class XYCutTokenizeToTextAreasPipe extends XYCut
+    implements TokenizeToTextAreasPipe, HasCounters {
   /**
    * The logger.
    */
@@ -175,16 +180,10 @@ public class XYCutTokenizeToTextAreasPipe extends XYCut implements TokenizeToTex
 
   @Override
   public float assessVerticalCut(Document pdf, Page page,
-      List<ElementList<Character>> halves) {
-    // Compute the statistics for the characters in the left half.
-    ElementList<Character> left = halves.get(0);
-    CharacterStatistic leftStats = this.characterStatistician.compute(left);
-    Rectangle leftRectangle = new Rectangle(left);
-
-    // Compute the statistics for the characters in the right half.
-    ElementList<Character> right = halves.get(1);
-    CharacterStatistic rightStats = this.characterStatistician.compute(right);
-    Rectangle rightRectangle = new Rectangle(right);
+      List<ElementList<Character>> halves, CutStatistic stats) {
+    // The statistics about the characters in the left half and in the right half.
+    CutStatistic.Half leftStats = stats.getFirstHalf();
+    CutStatistic.Half rightStats = stats.getSecondHalf();
 
     // Compute the (fictive) lane between the left and right half.
     float laneMinX = leftStats.getLargestMaxX();
@@ -203,12 +202,14 @@ public class XYCutTokenizeToTextAreasPipe extends XYCut implements TokenizeToTex
 
     // Don't allow the lane, if the resulting areas are too low. This should prevent to split 
     // single text lines into multiple areas, for example the page headers in PDF0008.
-    if (leftRectangle.getHeight() < 2 * leftStats.getMostCommonHeight() 
-        || rightRectangle.getHeight() < 2 * rightStats.getMostCommonHeight()) {
+    if (leftStats.getHeight() < 2 * leftStats.getMostCommonHeight() 
+        || rightStats.getHeight() < 2 * rightStats.getMostCommonHeight()) {
       return -1;
     }
 
     // Don't allow the lane, if it separates consecutive chars.
+    ElementList<Character> left = halves.get(0);
+    ElementList<Character> right = halves.get(1);
     if (separatesConsecutiveCharacters(left, leftStats, right, rightStats)) {
       return -1;
     }
@@ -220,14 +221,10 @@ public class XYCutTokenizeToTextAreasPipe extends XYCut implements TokenizeToTex
 
   @Override
   public float assessHorizontalCut(Document pdf, Page page,
-      List<ElementList<Character>> halves) {
-    // Compute the statistics for the characters in the upper half.
-    ElementList<Character> upper = halves.get(0);
-    CharacterStatistic upperStats = this.characterStatistician.compute(upper);
-
-    // Compute the statistics for the characters in the lower half.
-    ElementList<Character> lower = halves.get(1);
-    CharacterStatistic lowerStats = this.characterStatistician.compute(lower);
+      List<ElementList<Character>> halves, CutStatistic stats) {
+    // The statistics about the characters in the upper half and in the lower half.
+    CutStatistic.Half upperStats = stats.getFirstHalf();
+    CutStatistic.Half lowerStats = stats.getSecondHalf();
 
     // Compute the (fictive) lane between the lower and upper half.
     float laneMinY = lowerStats.getLargestMaxY();
@@ -270,44 +267,53 @@ public class XYCutTokenizeToTextAreasPipe extends XYCut implements TokenizeToTex
    * @return True if there is such a character pair, false otherwise.
    */
   protected boolean separatesConsecutiveCharacters(ElementList<Character> left,
-      CharacterStatistic leftStats, ElementList<Character> right,
-      CharacterStatistic rightStats) {
-    float largestMaxX = leftStats.getLargestMaxX();
-    Set<Character> leftChars = new HashSet<>();
-    for (Character c : left) {
-      Rectangle rect = c.getPosition().getRectangle();
-      if (PdfActUtils.isEqual(rect.getMaxX(), largestMaxX, 3 * leftStats.getMostCommonWidth())) {
-        leftChars.add(c);
-      }
-    }
-
+      CutStatistic.Half leftStats, ElementList<Character> right,
+      CutStatistic.Half rightStats) {
+    // Index the characters next to the cut in the right half by their extraction ranks (which
+    // are unique within a document), so that the right neighbor of a character in the left half
+    // can be looked up without comparing the characters by value.
     float smallestMinX = rightStats.getSmallestMinX();
-    Set<Character> rightChars = new HashSet<>();
+    TIntObjectMap<Character> rightChars = new TIntObjectHashMap<>();
     for (Character c : right) {
       Rectangle rect = c.getPosition().getRectangle();
       if (PdfActUtils.isEqual(rect.getMinX(), smallestMinX, 3 * rightStats.getMostCommonWidth())) {
-        rightChars.add(c);
+        rightChars.put(c.getExtractionRank(), c);
       }
     }
 
-    for (Character leftChar : leftChars) {
-      int leftCharNum = leftChar.getExtractionRank();
+    if (rightChars.isEmpty()) {
+      return false;
+    }
+
+    float largestMaxX = leftStats.getLargestMaxX();
+    for (Character leftChar : left) {
       Rectangle leftCharBox = leftChar.getPosition().getRectangle();
-      for (Character rightChar : rightChars) {
-        int rightCharNum = rightChar.getExtractionRank();
-        Rectangle rightCharNox = rightChar.getPosition().getRectangle();
-
-        // Check if the characters are consecutive.
-        if (rightCharNum != leftCharNum + 1) {
-          continue;
-        }
-        // Check if the characters overlap.
-        if (!leftCharBox.overlapsVertically(rightCharNox)) {
-          continue;
-        }
-        return true;
+      if (!PdfActUtils.isEqual(leftCharBox.getMaxX(), largestMaxX,
+          3 * leftStats.getMostCommonWidth())) {
+        continue;
+      }
+
+      // Check if there is a consecutive character.
+      Character rightChar = rightChars.get(leftChar.getExtractionRank() + 1);
+      if (rightChar == null) {
+        continue;
+      }
+      // Check if the characters overlap.
+      if (!leftCharBox.overlapsVertically(rightChar.getPosition().getRectangle())) {
+        continue;
       }
+      return true;
     }
     return false;
   }
+
+  // ==============================================================================================
+
+  @Override
+  public Map<String, Integer> getCounters() {
+    Map<String, Integer> counters = new LinkedHashMap<>();
+    counters.put("processed-pages", this.numProcessedPages);
+    counters.put("tokenized-text-areas", this.numTokenizedTextAreas);
+    return counters;
+  }
 }
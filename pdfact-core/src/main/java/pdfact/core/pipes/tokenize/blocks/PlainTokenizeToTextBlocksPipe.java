@@ -1,7 +1,9 @@
 package pdfact.core.pipes.tokenize.blocks;
 
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.regex.Pattern;
 
 import org.apache.logging.log4j.LogManager;
@@ -22,6 +24,7 @@ import pdfact.core.model.TextLineStatistic;
 import pdfact.core.util.PdfActUtils;
 import pdfact.core.util.exception.PdfActException;
 import pdfact.core.util.list.ElementList;
+import pdfact.core.util.pipeline.HasCounters;
 import pdfact.core.util.statistician.CharacterStatistician;
 import pdfact.core.util.statistician.TextLineStatistician;
 
@@ -30,7 +33,7 @@ import pdfact.core.util.statistician.TextLineStatistician;
  *
  * @author Claudius Korzen
  */
-public class PlainTokenizeToTextBlocksPipe implements TokenizeToTextBlocksPipe {
+public class PlainTokenizeToTextBlocksPipe implements TokenizeToTextBlocksPipe, HasCounters {
   /**
    * The logger.
    */
@@ -145,7 +148,12 @@ public class PlainTokenizeToTextBlocksPipe implements TokenizeToTextBlocksPipe {
   protected ElementList<TextBlock> tokenizeToTextBlocks(Document pdf, Page page)
           throws PdfActException {
     ElementList<TextBlock> textBlocks = new ElementList<>();
+    // The bounding box of the current text block is kept up to date while adding lines to the
+    // block (instead of recomputing it from all lines of the block on checking the next line).
+    // The final position of a block is computed below.
     TextBlock textBlock = new TextBlock();
+    Rectangle textBlockBox = Rectangle.fromHasPositionElements(textBlock.getTextLines());
+    textBlock.setPosition(new Position(page, textBlockBox));
 
     ElementList<TextLine> lines = page.getTextLines();
     for (int i = 0; i < lines.size(); i++) {
@@ -161,9 +169,12 @@ public class PlainTokenizeToTextBlocksPipe implements TokenizeToTextBlocksPipe {
         }
         // Create a new text block.
         textBlock = new TextBlock();
+        textBlockBox = Rectangle.fromHasPositionElements(textBlock.getTextLines());
+        textBlock.setPosition(new Position(page, textBlockBox));
       }
       // Add the current line to the current text block.
       textBlock.addTextLine(line);
+      extendBoundingBox(textBlockBox, line);
     }
 
     // Don't forget the remaining text block.
@@ -349,8 +360,10 @@ public class PlainTokenizeToTextBlocksPipe implements TokenizeToTextBlocksPipe {
       return false;
     }
 
-    ElementList<TextLine> lines = block.getTextLines();
-    Rectangle blockBox = Rectangle.fromHasPositionElements(lines);
+    // Use the position of the block, which is kept up to date while tokenizing.
+    Position blockPosition = block.getPosition();
+    Rectangle blockBox = blockPosition != null ? blockPosition.getRectangle()
+        : Rectangle.fromHasPositionElements(block.getTextLines());
     Rectangle lineBox = line.getPosition().getRectangle();
     if (blockBox == null || lineBox == null) {
       return false;
@@ -362,6 +375,30 @@ public class PlainTokenizeToTextBlocksPipe implements TokenizeToTextBlocksPipe {
     return blockBox.overlapsHorizontally(lineBox);
   }
 
+  /**
+   * Extends the given bounding box of a text block by the bounding box of the given text line, in
+   * the same way as {@link Rectangle#fromHasPositionElements(Iterable)} computes the bounding box
+   * of all lines of a text block.
+   *
+   * @param blockBox The bounding box of the text block.
+   * @param line     The text line.
+   */
+  protected void extendBoundingBox(Rectangle blockBox, TextLine line) {
+    Rectangle lineBox = line.getPosition().getRectangle();
+    if (lineBox.getMinX() < blockBox.getMinX()) {
+      blockBox.setMinX(lineBox.getMinX());
+    }
+    if (lineBox.getMinY() < blockBox.getMinY()) {
+      blockBox.setMinY(lineBox.getMinY());
+    }
+    if (lineBox.getMaxX() > blockBox.getMaxX()) {
+      blockBox.setMaxX(lineBox.getMaxX());
+    }
+    if (lineBox.getMaxY() > blockBox.getMaxY()) {
+      blockBox.setMaxY(lineBox.getMaxY());
+    }
+  }
+
   /**
    * Checks if the line pitch between the given line and the given previous line is larger than
    * expected (larger than the most common line pitch for the font / font size pair of the given
@@ -689,4 +726,14 @@ public class PlainTokenizeToTextBlocksPipe implements TokenizeToTextBlocksPipe {
     // TODO
     return Math.abs(rectangle1.getMinX() - rectangle2.getMinX()) < 1;
   }
+
+  // ==============================================================================================
+
+  @Override
+  public Map<String, Integer> getCounters() {
+    Map<String, Integer> counters = new LinkedHashMap<>();
+    counters.put("processed-text-lines", this.numProcessedTextLines);
+    counters.put("tokenized-text-blocks", this.numTokenizedTextBlocks);
+    return counters;
+  }
 }
@@ -1,7 +1,9 @@
 package pdfact.core.pipes.tokenize.lines;
 
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import pdfact.core.model.Character;
@@ -18,8 +20,10 @@ import pdfact.core.util.counter.FloatCounter;
 import pdfact.core.util.exception.PdfActException;
 import pdfact.core.util.lexicon.CharacterLexicon;
 import pdfact.core.util.list.ElementList;
+import pdfact.core.util.pipeline.HasCounters;
 import pdfact.core.util.statistician.CharacterStatistician;
 import pdfact.core.util.statistician.TextLineStatistician;
+import pdfact.core.util.xycut.CutStatistic;
 import pdfact.core.util.xycut.XYCut;
 
 /**
@@ -27,7 +31,8 @@ import pdfact.core.util.xycut.XYCut;
  * 
  * @author Claudius Korzen
  */
-public class PlainTokenizeToTextLinesPipe extends XYCut implements TokenizeToTextLinesPipe {
+public class PlainTokenizeToTextLinesPipe extends XYCut
+    implements TokenizeToTextLinesPipe, HasCounters {
   /**
    * The logger.
    */
@@ -197,22 +202,29 @@ public class PlainTokenizeToTextLinesPipe extends XYCut implements TokenizeToTex
   // ==============================================================================================
 
   @Override
-  public float assessVerticalCut(Document pdf, Page page, List<ElementList<Character>> halves) {
+  public float assessVerticalCut(Document pdf, Page page, List<ElementList<Character>> halves,
+      CutStatistic stats) {
     return -1;
   }
 
   // ==============================================================================================
 
   @Override
-  public float assessHorizontalCut(Document pdf, Page page, List<ElementList<Character>> halves) {
-    ElementList<Character> upper = halves.get(0);
-    CharacterStatistic upperStats = this.characterStatistician.compute(upper);
-    float upperMinY = upperStats.getSmallestMinY();
-
-    ElementList<Character> lower = halves.get(1);
-    CharacterStatistic lowerStats = this.characterStatistician.compute(lower);
-    float lowerMaxY = lowerStats.getLargestMaxY();
+  public float assessHorizontalCut(Document pdf, Page page, List<ElementList<Character>> halves,
+      CutStatistic stats) {
+    float upperMinY = stats.getFirstHalf().getSmallestMinY();
+    float lowerMaxY = stats.getSecondHalf().getLargestMaxY();
 
     return upperMinY - lowerMaxY;
   }
+
+  // ==============================================================================================
+
+  @Override
+  public Map<String, Integer> getCounters() {
+    Map<String, Integer> counters = new LinkedHashMap<>();
+    counters.put("processed-text-areas", this.numProcessedTextAreas);
+    counters.put("tokenized-text-lines", this.numTokenizedTextLines);
+    return counters;
+  }
 }
@@ -1,12 +1,14 @@
 package pdfact.core.pipes.tokenize.paragraphs;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Deque;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import gnu.trove.set.TIntSet;
-import gnu.trove.set.hash.TIntHashSet;
 import pdfact.core.model.Character;
 import pdfact.core.model.CharacterStatistic;
 import pdfact.core.model.Color;
@@ -23,6 +25,7 @@ import pdfact.core.util.PdfActUtils;
 import pdfact.core.util.exception.PdfActException;
 import pdfact.core.util.lexicon.CharacterLexicon;
 import pdfact.core.util.list.ElementList;
+import pdfact.core.util.pipeline.HasCounters;
 import pdfact.core.util.statistician.CharacterStatistician;
 import pdfact.core.util.statistician.TextLineStatistician;
 
@@ -31,7 +34,7 @@ import pdfact.core.util.statistician.TextLineStatistician;
  * 
  * @author Claudius Korzen
  */
-public class PlainTokenizeToParagraphsPipe implements TokenizeToParagraphsPipe {
+public class PlainTokenizeToParagraphsPipe implements TokenizeToParagraphsPipe, HasCounters {
   /**
    * The logger.
    */
@@ -57,12 +60,25 @@ public class PlainTokenizeToParagraphsPipe implements TokenizeToParagraphsPipe {
    */
   protected int numTokenizedParagraphs;
 
+  /**
+   * The segments of the paragraphs that were not yet returned, in the order of their first text
+   * blocks (needed when a PDF document is tokenized page by page).
+   */
+  protected Deque<List<TextBlock>> pendingSegments;
+
+  /**
+   * The segment of the body text paragraph that may be continued by the next text blocks, or null
+   * if there is no such paragraph.
+   */
+  protected List<TextBlock> openSegment;
+
   /**
    * Creates a new pipe that tokenizes the text blocks of a PDF document into paragraphs.
    */
   public PlainTokenizeToParagraphsPipe() {
     this.characterStatistician = new CharacterStatistician();
     this.textLineStatistician = new TextLineStatistician();
+    this.pendingSegments = new ArrayDeque<>();
   }
 
   @Override
@@ -116,17 +132,7 @@ public class PlainTokenizeToParagraphsPipe implements TokenizeToParagraphsPipe {
 
     // Create the PdfParagraph objects.
     for (List<TextBlock> segment : segments) {
-      Paragraph paragraph = new Paragraph();
-      for (TextBlock block : segment) {
-        for (TextLine line : block.getTextLines()) {
-          paragraph.addWords(line.getWords());
-        }
-      }
-      paragraph.setText(computeText(paragraph));
-      paragraph.setPositions(computePositions(segment));
-      paragraph.setSemanticRole(computeRole(segment));
-      paragraph.setCharacterStatistic(computeCharacterStatistic(paragraph));
-      paragraphs.add(paragraph);
+      paragraphs.add(createParagraph(segment));
     }
 
     this.numTokenizedParagraphs += paragraphs.size();
@@ -134,6 +140,53 @@ public class PlainTokenizeToParagraphsPipe implements TokenizeToParagraphsPipe {
     pdf.setParagraphs(paragraphs);
   }
 
+  /**
+   * Tokenizes the given text blocks into paragraphs, for tokenizing a PDF document page by page.
+   * The text blocks are the next blocks of the PDF document (e.g., the blocks of the next page).
+   * Since a paragraph may be continued by the text blocks of the next pages, only the paragraphs
+   * that can't be continued anymore are returned. The other paragraphs are returned by one of the
+   * next calls, at the latest when the last text blocks are given.
+   * 
+   * @param blocks
+   *        The next text blocks of the PDF document.
+   * @param isLast
+   *        True, if the given text blocks are the last text blocks of the PDF document.
+   * 
+   * @return The completed paragraphs, in the same order as in {@link #execute(Document)}.
+   */
+  public ElementList<Paragraph> tokenizeToParagraphs(List<TextBlock> blocks, boolean isLast) {
+    ElementList<Paragraph> paragraphs = new ElementList<>();
+    for (List<TextBlock> segment : segmentIntoParagraphs(blocks, isLast)) {
+      paragraphs.add(createParagraph(segment));
+    }
+
+    this.numTokenizedParagraphs += paragraphs.size();
+
+    return paragraphs;
+  }
+
+  /**
+   * Creates a paragraph from the given text blocks.
+   * 
+   * @param segment
+   *        The text blocks of the paragraph.
+   * 
+   * @return The created paragraph.
+   */
+  protected Paragraph createParagraph(List<TextBlock> segment) {
+    Paragraph paragraph = new Paragraph();
+    for (TextBlock block : segment) {
+      for (TextLine line : block.getTextLines()) {
+        paragraph.addWords(line.getWords());
+      }
+    }
+    paragraph.setText(computeText(paragraph));
+    paragraph.setPositions(computePositions(segment));
+    paragraph.setSemanticRole(computeRole(segment));
+    paragraph.setCharacterStatistic(computeCharacterStatistic(paragraph));
+    return paragraph;
+  }
+
   /**
    * Computes the text for the given paragraph.
    * 
@@ -200,54 +253,71 @@ public class PlainTokenizeToParagraphsPipe implements TokenizeToParagraphsPipe {
    * @return The list of list of text blocks of a paragraph.
    */
   protected List<List<TextBlock>> segmentIntoParagraphs(Document pdf) {
-    List<List<TextBlock>> result = new ArrayList<>();
-
     // Put all blocks to a single list to be able to iterate them in one go.
     List<TextBlock> allTextBlocks = new ArrayList<>();
     for (Page page : pdf.getPages()) {
       allTextBlocks.addAll(page.getTextBlocks());
     }
 
-    TIntSet indexesOfAlreadyProcessedBlocks = new TIntHashSet();
+    return segmentIntoParagraphs(allTextBlocks, true);
+  }
 
+  /**
+   * Segments the given text blocks into paragraphs. A paragraph consists of a single text block,
+   * or, if the role of the first block is "body text", of all following body text blocks that
+   * belong to the paragraph. Text blocks of other roles (except headings and itemize items) between
+   * them don't break the paragraph, but form paragraphs of their own.
+   * 
+   * @param blocks
+   *        The next text blocks of the PDF document.
+   * @param isLast
+   *        True, if the given text blocks are the last text blocks of the PDF document.
+   * 
+   * @return The list of list of text blocks of the completed paragraphs.
+   */
+  protected List<List<TextBlock>> segmentIntoParagraphs(List<TextBlock> blocks, boolean isLast) {
     // Identify the paragraphs from the text blocks.
-    for (int i = 0; i < allTextBlocks.size(); i++) {
-      TextBlock block = allTextBlocks.get(i);
-
+    for (TextBlock block : blocks) {
       this.numProcessedTextBlocks++;
 
-      if (indexesOfAlreadyProcessedBlocks.contains(i)) {
-        // The block was already added to a paragraph. Ignore it.
-        continue;
-      }
+      SemanticRole role = block.getSemanticRole();
 
-      // Create a new paragraph.
-      List<TextBlock> paragraphBlocks = new ArrayList<>();
-      paragraphBlocks.add(block);
-      indexesOfAlreadyProcessedBlocks.add(i);
-
-      // If the role of the block is "body text", check if there is another
-      // block in the remaining blocks that belongs to the same paragraph.
-      if (block.getSemanticRole() == SemanticRole.BODY_TEXT) {
-        for (int j = i + 1; j < allTextBlocks.size(); j++) {
-          TextBlock otherBlock = allTextBlocks.get(j);
-          if (otherBlock.getSemanticRole() == SemanticRole.HEADING) {
-            break;
-          }
-          if (otherBlock.getSemanticRole() == SemanticRole.ITEMIZE_ITEM) {
-            break;
-          }
-          if (otherBlock.getSemanticRole() == SemanticRole.BODY_TEXT) {
-            if (!belongsToParagraph(otherBlock, paragraphBlocks)) {
-              break;
-            }
+      // If there is a body text paragraph, check if the block belongs to it.
+      if (this.openSegment != null) {
+        if (role == SemanticRole.HEADING || role == SemanticRole.ITEMIZE_ITEM) {
+          this.openSegment = null;
+        } else if (role == SemanticRole.BODY_TEXT) {
+          if (belongsToParagraph(block, this.openSegment)) {
             // Add the block to the existing paragraph.
-            paragraphBlocks.add(otherBlock);
-            indexesOfAlreadyProcessedBlocks.add(j);
+            this.openSegment.add(block);
+            continue;
           }
+          this.openSegment = null;
         }
       }
-      result.add(paragraphBlocks);
+
+      // Create a new paragraph.
+      List<TextBlock> segment = new ArrayList<>();
+      segment.add(block);
+      this.pendingSegments.add(segment);
+
+      // If the role of the block is "body text", the next blocks may belong to the paragraph.
+      if (this.openSegment == null && role == SemanticRole.BODY_TEXT) {
+        this.openSegment = segment;
+      }
+    }
+
+    if (isLast) {
+      this.openSegment = null;
+    }
+
+    // Return the paragraphs in front of the paragraph that may be continued.
+    List<List<TextBlock>> result = new ArrayList<>();
+    while (!this.pendingSegments.isEmpty()) {
+      if (this.pendingSegments.peekFirst() == this.openSegment) {
+        break;
+      }
+      result.add(this.pendingSegments.pollFirst());
     }
     return result;
   }
@@ -304,4 +374,14 @@ public class PlainTokenizeToParagraphsPipe implements TokenizeToParagraphsPipe {
 
     return false;
   }
-}
\ No newline at end of file
+
+  // ==============================================================================================
+
+  @Override
+  public Map<String, Integer> getCounters() {
+    Map<String, Integer> counters = new LinkedHashMap<>();
+    counters.put("processed-text-blocks", this.numProcessedTextBlocks);
+    counters.put("tokenized-paragraphs", this.numTokenizedParagraphs);
+    return counters;
+  }
+}
@@ -3,7 +3,9 @@ package pdfact.core.pipes.tokenize.words;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import pdfact.core.model.Character;
@@ -21,7 +23,9 @@ import pdfact.core.util.comparator.MinXComparator;
 import pdfact.core.util.exception.PdfActException;
 import pdfact.core.util.lexicon.CharacterLexicon;
 import pdfact.core.util.list.ElementList;
+import pdfact.core.util.pipeline.HasCounters;
 import pdfact.core.util.statistician.CharacterStatistician;
+import pdfact.core.util.xycut.CutStatistic;
 import pdfact.core.util.xycut.XYCut;
 
 /**
@@ -29,7 +33,7 @@ import pdfact.core.util.xycut.XYCut;
  * 
  * @author Claudius Korzen
  */
-public class XYCutTokenizeToWordsPipe extends XYCut implements TokenizeToWordsPipe {
+public class XYCutTokenizeToWordsPipe extends XYCut implements TokenizeToWordsPipe, HasCounters {
   /**
    * The loggers.
    */
@@ -196,14 +200,9 @@ public class XYCutTokenizeToWordsPipe extends XYCut implements TokenizeToWordsPi
 
   @Override
   public float assessVerticalCut(Document pdf, Page page,
-      List<ElementList<Character>> halves) {
-    ElementList<Character> left = halves.get(0);
-    CharacterStatistic leftStats = this.charStatistician.compute(left);
-    float leftMaxX = leftStats.getLargestMaxX();
-
-    ElementList<Character> right = halves.get(1);
-    CharacterStatistic rightStats = this.charStatistician.compute(right);
-    float rightMinX = rightStats.getSmallestMinX();
+      List<ElementList<Character>> halves, CutStatistic stats) {
+    float leftMaxX = stats.getFirstHalf().getLargestMaxX();
+    float rightMinX = stats.getSecondHalf().getSmallestMinX();
 
     float width = rightMinX - leftMaxX;
     if (width < 1f) {
@@ -216,7 +215,7 @@ public class XYCutTokenizeToWordsPipe extends XYCut implements TokenizeToWordsPi
 
   @Override
   public float assessHorizontalCut(Document pdf, Page page,
-      List<ElementList<Character>> halves) {
+      List<ElementList<Character>> halves, CutStatistic stats) {
     return -1;
   }
 
@@ -282,4 +281,14 @@ public class XYCutTokenizeToWordsPipe extends XYCut implements TokenizeToWordsPi
 
     return CharacterLexicon.isHyphen(word.getLastCharacter());
   }
-}
\ No newline at end of file
+
+  // ==============================================================================================
+
+  @Override
+  public Map<String, Integer> getCounters() {
+    Map<String, Integer> counters = new LinkedHashMap<>();
+    counters.put("processed-text-lines", this.numProcessedTextLines);
+    counters.put("tokenized-words", this.numTokenizedWords);
+    return counters;
+  }
+}
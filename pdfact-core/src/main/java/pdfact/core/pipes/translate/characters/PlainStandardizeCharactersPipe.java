@@ -1,6 +1,7 @@
 package pdfact.core.pipes.translate.characters;
 
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import org.apache.logging.log4j.LogManager;
@@ -9,6 +10,7 @@ import pdfact.core.model.Character;
 import pdfact.core.model.Document;
 import pdfact.core.model.Page;
 import pdfact.core.util.exception.PdfActException;
+import pdfact.core.util.pipeline.HasCounters;
 
 /**
  * A plain implementation of {@link StandardizeCharactersPipe}.
@@ -16,7 +18,7 @@ import pdfact.core.util.exception.PdfActException;
  * @author Claudius Korzen
  */
 public class PlainStandardizeCharactersPipe
-    implements StandardizeCharactersPipe {
+    implements StandardizeCharactersPipe, HasCounters {
   /**
    * The logger.
    */
@@ -114,4 +116,13 @@ public class PlainStandardizeCharactersPipe
 
     this.numProcessedCharacters++;
   }
+
+  // ==============================================================================================
+
+  @Override
+  public Map<String, Integer> getCounters() {
+    Map<String, Integer> counters = new LinkedHashMap<>();
+    counters.put("processed-characters", this.numProcessedCharacters);
+    return counters;
+  }
 }
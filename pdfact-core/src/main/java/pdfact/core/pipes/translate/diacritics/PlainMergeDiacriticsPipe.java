@@ -2,6 +2,7 @@ package pdfact.core.pipes.translate.diacritics;
 
 import java.text.Normalizer;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import org.apache.logging.log4j.LogManager;
@@ -13,13 +14,14 @@ import pdfact.core.model.Position;
 import pdfact.core.model.Rectangle;
 import pdfact.core.util.exception.PdfActException;
 import pdfact.core.util.list.ElementList;
+import pdfact.core.util.pipeline.HasCounters;
 
 /**
  * A plain implementation of {@link MergeDiacriticsPipe}.
  * 
  * @author Claudius Korzen
  */
-public class PlainMergeDiacriticsPipe implements MergeDiacriticsPipe {
+public class PlainMergeDiacriticsPipe implements MergeDiacriticsPipe, HasCounters {
   /**
    * The logger.
    */
@@ -294,4 +296,14 @@ public class PlainMergeDiacriticsPipe implements MergeDiacriticsPipe {
     COMBINING_DIACRITICS.put(0x005F, "\u0332");
     COMBINING_DIACRITICS.put(0x204E, "\u0359");
   }
+
+  // ==============================================================================================
+
+  @Override
+  public Map<String, Integer> getCounters() {
+    Map<String, Integer> counters = new LinkedHashMap<>();
+    counters.put("processed-characters", this.numProcessedCharacters);
+    counters.put("merged-diacritics", this.numMergedDiacritics);
+    return counters;
+  }
 }
@@ -0,0 +1,129 @@
+package pdfact.core.util.binary;
+
+/**
+ * The constants of the binary serialization format of a PDF document, shared by the binary
+ * serializer and the {@link PdfBinaryReader}.
+ *
+ * <p>
+ * A serialization starts with a header, followed by a sequence of sections and an end tag. All
+ * numbers are written in big-endian order (as by {@link java.io.DataOutputStream}):
+ *
+ * <pre>
+ * file       := MAGIC:int VERSION:int pdfPath:string section* END:byte
+ * section    := PAGES:byte count:int page*
+ *             | FONTS:byte count:int font*
+ *             | COLORS:byte count:int color*
+ *             | PARAGRAPHS:byte count:int (length:int paragraph)*
+ *             | FIGURES:byte count:int figure*
+ *             | SHAPES:byte count:int shape*
+ * page       := number:int width:float height:float
+ * font       := id:string name:string basename:string familyName:string flags:byte
+ * color      := id:string name:string numComponents:int component:int*
+ * paragraph  := role:string text:string positions numWords:int word*
+ * word       := text:string positions flags:byte numCharacters:int character*
+ * character  := text:string positions font:int fontSize:float color:int
+ * figure     := positions
+ * shape      := positions color:int
+ * positions  := count:int (page:int minX:float minY:float maxX:float maxY:float)*
+ * string     := length:int bytes (encoded in UTF-8; the length is -1 for null)
+ * </pre>
+ *
+ * <p>
+ * The sections with pages, fonts and colors are written before the sections that refer to them.
+ * Fonts and colors are referenced by their index in the respective section (-1 for none). The
+ * components of a color are its RGB values, possibly followed by further values (like an alpha
+ * value). numWords (numCharacters) is -1 if the words of a paragraph (the characters of a word)
+ * are not included in the serialization. Each paragraph is prefixed by its length in bytes, so a
+ * reader can skip paragraphs without decoding them.
+ *
+ * @author Claudius Korzen
+ */
+public class PdfBinaryFormat {
+  /**
+   * The magic number at the beginning of each serialization ("PDFA" in ASCII).
+   */
+  public static final int MAGIC = 0x50444641;
+
+  /**
+   * The current version of the format.
+   */
+  public static final int VERSION = 1;
+
+  // ==============================================================================================
+  // The tags of the sections.
+
+  /**
+   * The tag that marks the end of a serialization.
+   */
+  public static final byte END = 0;
+
+  /**
+   * The tag of the section that contains the pages.
+   */
+  public static final byte PAGES = 1;
+
+  /**
+   * The tag of the section that contains the fonts.
+   */
+  public static final byte FONTS = 2;
+
+  /**
+   * The tag of the section that contains the colors.
+   */
+  public static final byte COLORS = 3;
+
+  /**
+   * The tag of the section that contains the paragraphs.
+   */
+  public static final byte PARAGRAPHS = 4;
+
+  /**
+   * The tag of the section that contains the figures.
+   */
+  public static final byte FIGURES = 5;
+
+  /**
+   * The tag of the section that contains the shapes.
+   */
+  public static final byte SHAPES = 6;
+
+  // ==============================================================================================
+  // The flags of fonts and words.
+
+  /**
+   * The flag of a bold font.
+   */
+  public static final byte FONT_IS_BOLD = 1;
+
+  /**
+   * The flag of an italic font.
+   */
+  public static final byte FONT_IS_ITALIC = 1 << 1;
+
+  /**
+   * The flag of a Type-3 font.
+   */
+  public static final byte FONT_IS_TYPE3 = 1 << 2;
+
+  /**
+   * The flag of a hyphenated word.
+   */
+  public static final byte WORD_IS_HYPHENATED = 1;
+
+  /**
+   * The flag of a dehyphenated word.
+   */
+  public static final byte WORD_IS_DEHYPHENATED = 1 << 1;
+
+  /**
+   * The flag of a word with a mandatory hyphen.
+   */
+  public static final byte WORD_IS_HYPHEN_MANDATORY = 1 << 2;
+
+  // ==============================================================================================
+
+  /**
+   * The value of a reference to a font or color or of a number of elements that is not given.
+   */
+  public static final int NONE = -1;
+}
@@ -0,0 +1,680 @@
+package pdfact.core.util.binary;
+
+import static pdfact.core.PdfActCoreSettings.DEFAULT_ENCODING;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import pdfact.core.model.Character;
+import pdfact.core.model.Color;
+import pdfact.core.model.Document;
+import pdfact.core.model.Figure;
+import pdfact.core.model.Font;
+import pdfact.core.model.FontFace;
+import pdfact.core.model.Page;
+import pdfact.core.model.Paragraph;
+import pdfact.core.model.Position;
+import pdfact.core.model.SemanticRole;
+import pdfact.core.model.Shape;
+import pdfact.core.model.Word;
+import pdfact.core.util.exception.PdfActReadException;
+
+/**
+ * A reader that rebuilds a PDF document from its binary serialization, as described in
+ * {@link PdfBinaryFormat}.
+ *
+ * <p>
+ * The rebuilt document contains the pages, paragraphs, words, characters, figures and shapes
+ * included in the serialization. The characters are added to both, their words and their pages;
+ * the figures and shapes are added to their pages.
+ *
+ * <p>
+ * A malformed serialization is rejected with a {@link PdfActReadException}. Counts and lengths
+ * are checked before anything is allocated for them: they must not be negative and must not
+ * exceed the bytes remaining in the file (if read from a file) or in the current paragraph (as
+ * given by its length prefix). Strings of a stream with unknown length are read in chunks, so
+ * that a corrupt length doesn't allocate more memory than the stream in fact contains.
+ *
+ * @author Claudius Korzen
+ */
+public class PdfBinaryReader {
+  /**
+   * The initial size of the buffer for decoding strings and the size of the chunks in which long
+   * strings are read.
+   */
+  protected static final int CHUNK_SIZE = 1 << 16;
+
+  /**
+   * The minimum number of bytes of a page.
+   */
+  protected static final int MIN_PAGE_BYTES = 12;
+
+  /**
+   * The minimum number of bytes of a font.
+   */
+  protected static final int MIN_FONT_BYTES = 17;
+
+  /**
+   * The minimum number of bytes of a color.
+   */
+  protected static final int MIN_COLOR_BYTES = 12;
+
+  /**
+   * The minimum number of bytes of a paragraph, including its length prefix.
+   */
+  protected static final int MIN_PARAGRAPH_BYTES = 20;
+
+  /**
+   * The minimum number of bytes of a word.
+   */
+  protected static final int MIN_WORD_BYTES = 13;
+
+  /**
+   * The minimum number of bytes of a character.
+   */
+  protected static final int MIN_CHARACTER_BYTES = 20;
+
+  /**
+   * The minimum number of bytes of a figure.
+   */
+  protected static final int MIN_FIGURE_BYTES = 4;
+
+  /**
+   * The minimum number of bytes of a shape.
+   */
+  protected static final int MIN_SHAPE_BYTES = 8;
+
+  /**
+   * The number of bytes of a position.
+   */
+  protected static final int POSITION_BYTES = 20;
+
+  // ==============================================================================================
+
+  /**
+   * The stream from which the serialization is currently read.
+   */
+  protected DataInputStream in;
+
+  /**
+   * The stream that counts the bytes read from the serialization so far.
+   */
+  protected CountingInputStream counter;
+
+  /**
+   * The number of bytes up to which the serialization may be read (the length of the file, the
+   * end of the current paragraph, or Long.MAX_VALUE if unknown).
+   */
+  protected long limit;
+
+  /**
+   * The pages of the document currently read, per page numbers.
+   */
+  protected Map<Integer, Page> pages;
+
+  /**
+   * The fonts of the document currently read, in the order of their indices.
+   */
+  protected List<Font> fonts;
+
+  /**
+   * The colors of the document currently read, in the order of their indices.
+   */
+  protected List<Color> colors;
+
+  /**
+   * The buffer for decoding strings.
+   */
+  protected byte[] buffer;
+
+  // ==============================================================================================
+  // Constructors.
+
+  /**
+   * Creates a new binary reader.
+   */
+  public PdfBinaryReader() {
+    this.pages = new HashMap<>();
+    this.fonts = new ArrayList<>();
+    this.colors = new ArrayList<>();
+    this.buffer = new byte[64];
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Reads the binary serialization of a PDF document from the given file.
+   *
+   * @param path The path to the file to read.
+   *
+   * @return The rebuilt PDF document.
+   *
+   * @throws PdfActReadException If the file couldn't be read or is not a valid serialization.
+   */
+  public Document read(Path path) throws PdfActReadException {
+    try (InputStream stream = Files.newInputStream(path)) {
+      return read(stream, Files.size(path));
+    } catch (IOException e) {
+      throw new PdfActReadException("Couldn't read the file '" + path + "'.", e);
+    }
+  }
+
+  /**
+   * Reads the binary serialization of a PDF document from the given stream. The stream is not
+   * closed.
+   *
+   * @param stream The stream to read from.
+   *
+   * @return The rebuilt PDF document.
+   *
+   * @throws PdfActReadException If the stream couldn't be read or doesn't contain a valid
+   *                             serialization.
+   */
+  public Document read(InputStream stream) throws PdfActReadException {
+    return read(stream, Long.MAX_VALUE);
+  }
+
+  /**
+   * Reads the binary serialization of a PDF document from the given stream. The stream is not
+   * closed.
+   *
+   * @param stream The stream to read from.
+   * @param length The number of bytes of the serialization, or Long.MAX_VALUE if unknown.
+   *
+   * @return The rebuilt PDF document.
+   *
+   * @throws PdfActReadException If the stream couldn't be read or doesn't contain a valid
+   *                             serialization.
+   */
+  protected Document read(InputStream stream, long length) throws PdfActReadException {
+    this.counter = new CountingInputStream(new BufferedInputStream(stream));
+    this.in = new DataInputStream(this.counter);
+    this.limit = length;
+    this.pages.clear();
+    this.fonts.clear();
+    this.colors.clear();
+
+    try {
+      if (this.in.readInt() != PdfBinaryFormat.MAGIC) {
+        throw new PdfActReadException("The stream doesn't contain a binary serialization.");
+      }
+
+      int version = this.in.readInt();
+      if (version != PdfBinaryFormat.VERSION) {
+        throw new PdfActReadException("The version of the serialization (" + version + ") "
+            + "is not supported.");
+      }
+
+      String path = readString();
+      Document pdf = new Document(path != null ? Paths.get(path) : null);
+
+      byte tag;
+      while ((tag = this.in.readByte()) != PdfBinaryFormat.END) {
+        int count = this.in.readInt();
+        switch (tag) {
+          case PdfBinaryFormat.PAGES:
+            checkCount(count, MIN_PAGE_BYTES, "pages");
+            readPages(pdf, count);
+            break;
+          case PdfBinaryFormat.FONTS:
+            checkCount(count, MIN_FONT_BYTES, "fonts");
+            readFonts(count);
+            break;
+          case PdfBinaryFormat.COLORS:
+            checkCount(count, MIN_COLOR_BYTES, "colors");
+            readColors(count);
+            break;
+          case PdfBinaryFormat.PARAGRAPHS:
+            checkCount(count, MIN_PARAGRAPH_BYTES, "paragraphs");
+            readParagraphs(pdf, count);
+            break;
+          case PdfBinaryFormat.FIGURES:
+            checkCount(count, MIN_FIGURE_BYTES, "figures");
+            readFigures(count);
+            break;
+          case PdfBinaryFormat.SHAPES:
+            checkCount(count, MIN_SHAPE_BYTES, "shapes");
+            readShapes(count);
+            break;
+          default:
+            throw new PdfActReadException("Unknown section '" + tag + "'.");
+        }
+      }
+      return pdf;
+    } catch (EOFException e) {
+      throw new PdfActReadException("Unexpected end of the serialization.", e);
+    } catch (IOException e) {
+      throw new PdfActReadException("Couldn't read the serialization.", e);
+    } finally {
+      this.in = null;
+      this.counter = null;
+    }
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Reads the given number of pages and adds them to the given document.
+   *
+   * @param pdf   The document to which the pages should be added.
+   * @param count The number of pages to read.
+   *
+   * @throws IOException If reading from the stream failed.
+   */
+  protected void readPages(Document pdf, int count) throws IOException {
+    for (int i = 0; i < count; i++) {
+      Page page = new Page(this.in.readInt());
+      page.setWidth(this.in.readFloat());
+      page.setHeight(this.in.readFloat());
+      this.pages.put(page.getPageNumber(), page);
+      pdf.addPage(page);
+    }
+  }
+
+  /**
+   * Reads the given number of fonts.
+   *
+   * @param count The number of fonts to read.
+   *
+   * @throws IOException         If reading from the stream failed.
+   * @throws PdfActReadException If a string of a font is malformed.
+   */
+  protected void readFonts(int count) throws IOException, PdfActReadException {
+    for (int i = 0; i < count; i++) {
+      Font font = new Font();
+      font.setId(readString());
+      font.setNormalizedName(readString());
+      font.setBasename(readString());
+      font.setFontFamilyName(readString());
+      byte flags = this.in.readByte();
+      font.setIsBold((flags & PdfBinaryFormat.FONT_IS_BOLD) != 0);
+      font.setIsItalic((flags & PdfBinaryFormat.FONT_IS_ITALIC) != 0);
+      font.setIsType3Font((flags & PdfBinaryFormat.FONT_IS_TYPE3) != 0);
+      this.fonts.add(font);
+    }
+  }
+
+  /**
+   * Reads the given number of colors.
+   *
+   * @param count The number of colors to read.
+   *
+   * @throws IOException         If reading from the stream failed.
+   * @throws PdfActReadException If a string or the number of components of a color is malformed.
+   */
+  protected void readColors(int count) throws IOException, PdfActReadException {
+    for (int i = 0; i < count; i++) {
+      Color color = new Color();
+      color.setId(readString());
+      color.setName(readString());
+      int numComponents = this.in.readInt();
+      checkCount(numComponents, 4, "color components");
+      int[] rgb = new int[numComponents];
+      for (int j = 0; j < rgb.length; j++) {
+        rgb[j] = this.in.readInt();
+      }
+      color.setRGB(rgb);
+      this.colors.add(color);
+    }
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Reads the given number of paragraphs and adds them to the given document.
+   *
+   * @param pdf   The document to which the paragraphs should be added.
+   * @param count The number of paragraphs to read.
+   *
+   * @throws IOException         If reading from the stream failed.
+   * @throws PdfActReadException If a paragraph is malformed or refers to an unknown page, font
+   *                             or color.
+   */
+  protected void readParagraphs(Document pdf, int count) throws IOException, PdfActReadException {
+    long outerLimit = this.limit;
+    for (int i = 0; i < count; i++) {
+      // The content of the paragraph must not exceed its length.
+      int length = this.in.readInt();
+      checkCount(length, 1, "paragraph bytes");
+      long end = this.counter.getCount() + length;
+      this.limit = end;
+
+      Paragraph paragraph = new Paragraph();
+      String role = readString();
+      if (role != null) {
+        paragraph.setSemanticRole(SemanticRole.fromString(role));
+      }
+      paragraph.setText(readString());
+      paragraph.setPositions(readPositions());
+
+      int numWords = this.in.readInt();
+      checkOptionalCount(numWords, MIN_WORD_BYTES, "words");
+      for (int j = 0; j < numWords; j++) {
+        paragraph.addWord(readWord());
+      }
+      if (this.counter.getCount() != end) {
+        throw new PdfActReadException("The length of a paragraph (" + length + ") doesn't match "
+            + "its content.");
+      }
+      this.limit = outerLimit;
+      pdf.addParagraph(paragraph);
+    }
+  }
+
+  /**
+   * Reads a word.
+   *
+   * @return The word.
+   *
+   * @throws IOException         If reading from the stream failed.
+   * @throws PdfActReadException If the word is malformed or refers to an unknown page, font or
+   *                             color.
+   */
+  protected Word readWord() throws IOException, PdfActReadException {
+    Word word = new Word();
+    word.setText(readString());
+    word.setPositions(readPositions());
+
+    byte flags = this.in.readByte();
+    word.setIsHyphenated((flags & PdfBinaryFormat.WORD_IS_HYPHENATED) != 0);
+    word.setIsDehyphenated((flags & PdfBinaryFormat.WORD_IS_DEHYPHENATED) != 0);
+    word.setIsHyphenMandatory((flags & PdfBinaryFormat.WORD_IS_HYPHEN_MANDATORY) != 0);
+
+    int numCharacters = this.in.readInt();
+    checkOptionalCount(numCharacters, MIN_CHARACTER_BYTES, "characters");
+    for (int i = 0; i < numCharacters; i++) {
+      word.addCharacter(readCharacter());
+    }
+    return word;
+  }
+
+  /**
+   * Reads a character and adds it to its page.
+   *
+   * @return The character.
+   *
+   * @throws IOException         If reading from the stream failed.
+   * @throws PdfActReadException If the character is malformed or refers to an unknown page, font
+   *                             or color.
+   */
+  protected Character readCharacter() throws IOException, PdfActReadException {
+    Character character = new Character();
+    character.setText(readString());
+    Position position = readPosition();
+    character.setPosition(position);
+
+    Font font = getResource(this.fonts, this.in.readInt(), "font");
+    float fontSize = this.in.readFloat();
+    if (font != null) {
+      character.setFontFace(new FontFace(font, fontSize));
+    }
+    character.setColor(getResource(this.colors, this.in.readInt(), "color"));
+
+    if (position != null) {
+      position.getPage().addCharacter(character);
+    }
+    return character;
+  }
+
+  /**
+   * Reads the given number of figures and adds them to their pages.
+   *
+   * @param count The number of figures to read.
+   *
+   * @throws IOException         If reading from the stream failed.
+   * @throws PdfActReadException If a figure refers to an unknown page.
+   */
+  protected void readFigures(int count) throws IOException, PdfActReadException {
+    for (int i = 0; i < count; i++) {
+      Figure figure = new Figure();
+      Position position = readPosition();
+      figure.setPosition(position);
+      if (position != null) {
+        position.getPage().addFigure(figure);
+      }
+    }
+  }
+
+  /**
+   * Reads the given number of shapes and adds them to their pages.
+   *
+   * @param count The number of shapes to read.
+   *
+   * @throws IOException         If reading from the stream failed.
+   * @throws PdfActReadException If a shape refers to an unknown page or color.
+   */
+  protected void readShapes(int count) throws IOException, PdfActReadException {
+    for (int i = 0; i < count; i++) {
+      Shape shape = new Shape();
+      Position position = readPosition();
+      shape.setPosition(position);
+      shape.setColor(getResource(this.colors, this.in.readInt(), "color"));
+      if (position != null) {
+        position.getPage().addShape(shape);
+      }
+    }
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Reads a list of positions.
+   *
+   * @return The positions.
+   *
+   * @throws IOException         If reading from the stream failed.
+   * @throws PdfActReadException If the number of positions is malformed or a position refers to
+   *                             an unknown page.
+   */
+  protected List<Position> readPositions() throws IOException, PdfActReadException {
+    int count = this.in.readInt();
+    checkCount(count, POSITION_BYTES, "positions");
+    List<Position> positions = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      positions.add(readPositionEntry());
+    }
+    return positions;
+  }
+
+  /**
+   * Reads a list of positions that consists of at most one position.
+   *
+   * @return The position, or null if the list is empty.
+   *
+   * @throws IOException         If reading from the stream failed.
+   * @throws PdfActReadException If the position refers to an unknown page or the list contains
+   *                             more than one position.
+   */
+  protected Position readPosition() throws IOException, PdfActReadException {
+    int count = this.in.readInt();
+    if (count < 0 || count > 1) {
+      throw new PdfActReadException("Expected at most one position, but found " + count + ".");
+    }
+    return count == 1 ? readPositionEntry() : null;
+  }
+
+  /**
+   * Reads a single position.
+   *
+   * @return The position.
+   *
+   * @throws IOException         If reading from the stream failed.
+   * @throws PdfActReadException If the position refers to an unknown page.
+   */
+  protected Position readPositionEntry() throws IOException, PdfActReadException {
+    int pageNumber = this.in.readInt();
+    Page page = this.pages.get(pageNumber);
+    if (page == null) {
+      throw new PdfActReadException("A position refers to the unknown page " + pageNumber + ".");
+    }
+    float minX = this.in.readFloat();
+    float minY = this.in.readFloat();
+    float maxX = this.in.readFloat();
+    float maxY = this.in.readFloat();
+    return new Position(page, minX, minY, maxX, maxY);
+  }
+
+  /**
+   * Returns the resource with the given index.
+   *
+   * @param resources The resources, in the order of their indices.
+   * @param index     The index of the resource.
+   * @param type      The type of the resource, for error messages.
+   *
+   * @return The resource, or null if the index is {@link PdfBinaryFormat#NONE}.
+   *
+   * @throws PdfActReadException If there is no resource with the given index.
+   */
+  protected <T> T getResource(List<T> resources, int index, String type)
+      throws PdfActReadException {
+    if (index == PdfBinaryFormat.NONE) {
+      return null;
+    }
+    if (index < 0 || index >= resources.size()) {
+      throw new PdfActReadException("Unknown " + type + " '" + index + "'.");
+    }
+    return resources.get(index);
+  }
+
+  /**
+   * Reads a string.
+   *
+   * @return The string, or null if the string was serialized as null.
+   *
+   * @throws IOException         If reading from the stream failed.
+   * @throws PdfActReadException If the length of the string is malformed.
+   */
+  protected String readString() throws IOException, PdfActReadException {
+    int length = this.in.readInt();
+    if (length == -1) {
+      return null;
+    }
+    checkCount(length, 1, "string bytes");
+
+    // Read the string in chunks, so that the buffer grows only with the bytes in fact read.
+    int numRead = 0;
+    while (numRead < length) {
+      if (numRead == this.buffer.length) {
+        int size = (int) Math.min(length, Math.max(2L * this.buffer.length, CHUNK_SIZE));
+        this.buffer = Arrays.copyOf(this.buffer, size);
+      }
+      int chunkLength = Math.min(length, this.buffer.length) - numRead;
+      this.in.readFully(this.buffer, numRead, chunkLength);
+      numRead += chunkLength;
+    }
+    return new String(this.buffer, 0, length, DEFAULT_ENCODING);
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Checks the given number of entries read from the serialization.
+   *
+   * @param count       The number of entries.
+   * @param minNumBytes The minimum number of bytes of an entry.
+   * @param type        The type of the entries, for error messages.
+   *
+   * @throws PdfActReadException If the number is negative or the entries can't fit in the bytes
+   *                             remaining in the file or in the current paragraph.
+   */
+  protected void checkCount(int count, int minNumBytes, String type) throws PdfActReadException {
+    if (count < 0) {
+      throw new PdfActReadException("Invalid number of " + type + ": " + count + ".");
+    }
+    long remaining = this.limit - this.counter.getCount();
+    if ((long) count * minNumBytes > remaining) {
+      throw new PdfActReadException("The number of " + type + " (" + count + ") exceeds the "
+          + remaining + " remaining bytes.");
+    }
+  }
+
+  /**
+   * Checks the given number of entries read from the serialization, which is -1 if the entries
+   * are not included in the serialization.
+   *
+   * @param count       The number of entries, or -1.
+   * @param minNumBytes The minimum number of bytes of an entry.
+   * @param type        The type of the entries, for error messages.
+   *
+   * @throws PdfActReadException If the number is smaller than -1 or the entries can't fit in the
+   *                             bytes remaining in the file or in the current paragraph.
+   */
+  protected void checkOptionalCount(int count, int minNumBytes, String type)
+      throws PdfActReadException {
+    if (count != -1) {
+      checkCount(count, minNumBytes, type);
+    }
+  }
+
+  // ==============================================================================================
+
+  /**
+   * An input stream that counts the bytes read from the underlying stream.
+   */
+  protected static class CountingInputStream extends FilterInputStream {
+    /**
+     * The number of bytes read so far.
+     */
+    protected long count;
+
+    /**
+     * Creates a new input stream that counts the bytes read from the given stream.
+     *
+     * @param in The underlying stream.
+     */
+    protected CountingInputStream(InputStream in) {
+      super(in);
+    }
+
+    @Override
+    public int read() throws IOException {
+      int b = super.read();
+      if (b >= 0) {
+        this.count++;
+      }
+      return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+      int numRead = super.read(b, off, len);
+      if (numRead > 0) {
+        this.count += numRead;
+      }
+      return numRead;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+      long numSkipped = super.skip(n);
+      this.count += numSkipped;
+      return numSkipped;
+    }
+
+    @Override
+    public boolean markSupported() {
+      return false;
+    }
+
+    /**
+     * Returns the number of bytes read so far.
+     *
+     * @return The number of bytes read so far.
+     */
+    public long getCount() {
+      return this.count;
+    }
+  }
+}
@@ -56,6 +56,7 @@ public class FloatCounter extends TFloatIntHashMap {
    */
   public void add(float f) {
     adjustOrPutValue(f, 1, 1);
+    this.isStatisticsComputed = false;
   }
 
   /**
@@ -68,6 +69,21 @@ public class FloatCounter extends TFloatIntHashMap {
     for (float key : f.getFloats()) {
       adjustOrPutValue(key, f.getFrequency(key), f.getFrequency(key));
     }
+    this.isStatisticsComputed = false;
+  }
+
+  /**
+   * Subtracts the given float from this counter, that is: decreases its frequency by one and
+   * removes the float if its frequency drops to zero.
+   * 
+   * @param f
+   *        The float to subtract.
+   */
+  public void subtract(float f) {
+    if (adjustOrPutValue(f, -1, 0) <= 0) {
+      remove(f);
+    }
+    this.isStatisticsComputed = false;
   }
 
   // ==============================================================================================
@@ -137,6 +153,7 @@ public class FloatCounter extends TFloatIntHashMap {
    * Computes the statistic about the float values.
    */
   protected void computeStatistic() {
+    this.mostCommonFloat = Float.NaN;
     float sumFloats = 0;
     float sumFreqs = 0;
     int largestFreq = -1;
@@ -0,0 +1,144 @@
+package pdfact.core.util.counter;
+
+import gnu.trove.iterator.TFloatIntIterator;
+
+/**
+ * A counter of float values that allows to add and to remove floats and that keeps track of the
+ * most common float, such that it can be queried in (amortized) constant time. In contrast to
+ * {@link FloatCounter}, this counter doesn't break ties: if there are multiple most common floats,
+ * {@link #isMostCommonFloatUnique()} returns false, and it is up to the caller to break the tie.
+ *
+ * @author Claudius Korzen
+ */
+public class FloatModeCounter {
+  /**
+   * The frequencies of the floats.
+   */
+  protected FloatCounter frequencies;
+
+  /**
+   * The number of floats per frequency, that is: the i-th entry is the number of floats with
+   * frequency i.
+   */
+  protected int[] numFloatsPerFrequency;
+
+  /**
+   * The largest frequency of a float in this counter.
+   */
+  protected int largestFrequency;
+
+  /**
+   * The most common float (only valid if {@link #isMostCommonFloatKnown} is true).
+   */
+  protected float mostCommonFloat = Float.NaN;
+
+  /**
+   * A flag that indicates whether the most common float is known.
+   */
+  protected boolean isMostCommonFloatKnown;
+
+  /**
+   * Creates a new, empty counter.
+   */
+  public FloatModeCounter() {
+    this.frequencies = new FloatCounter();
+    this.numFloatsPerFrequency = new int[16];
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Adds the given float to this counter.
+   *
+   * @param f
+   *        The float to add.
+   */
+  public void add(float f) {
+    int freq = this.frequencies.adjustOrPutValue(f, 1, 1);
+
+    if (freq >= this.numFloatsPerFrequency.length) {
+      int[] grown = new int[2 * this.numFloatsPerFrequency.length];
+      System.arraycopy(this.numFloatsPerFrequency, 0, grown, 0, this.numFloatsPerFrequency.length);
+      this.numFloatsPerFrequency = grown;
+    }
+    if (freq > 1) {
+      this.numFloatsPerFrequency[freq - 1]--;
+    }
+    this.numFloatsPerFrequency[freq]++;
+
+    if (freq > this.largestFrequency) {
+      // The float is the single most common float.
+      this.largestFrequency = freq;
+      this.mostCommonFloat = f;
+      this.isMostCommonFloatKnown = true;
+    } else if (freq == this.largestFrequency) {
+      // The float ties with the previous most common float(s).
+      this.isMostCommonFloatKnown = false;
+    }
+  }
+
+  /**
+   * Removes the given float from this counter. The float must have been added before.
+   *
+   * @param f
+   *        The float to remove.
+   */
+  public void remove(float f) {
+    int freq = this.frequencies.adjustOrPutValue(f, -1, 0);
+    this.numFloatsPerFrequency[freq + 1]--;
+    if (freq > 0) {
+      this.numFloatsPerFrequency[freq]++;
+    } else {
+      this.frequencies.remove(f);
+    }
+
+    if (freq + 1 == this.largestFrequency) {
+      if (this.numFloatsPerFrequency[freq + 1] == 0) {
+        // The float was the single most common float. It is still a most common float, but
+        // possibly one of many.
+        this.largestFrequency = freq;
+        this.mostCommonFloat = f;
+        this.isMostCommonFloatKnown = freq > 0 && this.numFloatsPerFrequency[freq] == 1;
+      } else {
+        // The float isn't a most common float anymore.
+        this.isMostCommonFloatKnown = false;
+      }
+    }
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Returns true, if there is exactly one most common float in this counter.
+   *
+   * @return True, if there is exactly one most common float in this counter, false otherwise.
+   */
+  public boolean isMostCommonFloatUnique() {
+    return this.largestFrequency > 0 && this.numFloatsPerFrequency[this.largestFrequency] == 1;
+  }
+
+  /**
+   * Returns the most common float, if it is unique.
+   *
+   * @return The most common float, if it is unique; Float.NaN otherwise.
+   */
+  public float getMostCommonFloat() {
+    if (!isMostCommonFloatUnique()) {
+      return Float.NaN;
+    }
+
+    if (!this.isMostCommonFloatKnown) {
+      // Find the float with the largest frequency.
+      TFloatIntIterator itr = this.frequencies.iterator();
+      while (itr.hasNext()) {
+        itr.advance();
+        if (itr.value() == this.largestFrequency) {
+          this.mostCommonFloat = itr.key();
+          this.isMostCommonFloatKnown = true;
+          break;
+        }
+      }
+    }
+    return this.mostCommonFloat;
+  }
+}
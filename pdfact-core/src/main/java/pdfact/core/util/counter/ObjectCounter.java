@@ -54,6 +54,7 @@ public class ObjectCounter<T> extends TObjectIntHashMap<T> {
    */
   public void add(T o) {
     adjustOrPutValue(o, 1, 1);
+    this.isStatisticsComputed = false;
   }
 
   /**
@@ -70,6 +71,21 @@ public class ObjectCounter<T> extends TObjectIntHashMap<T> {
       int count = itr.value();
       adjustOrPutValue(key, count, count);
     }
+    this.isStatisticsComputed = false;
+  }
+
+  /**
+   * Subtracts the given object from this counter, that is: decreases its frequency by one and
+   * removes the object if its frequency drops to zero.
+   * 
+   * @param o
+   *        The object to subtract.
+   */
+  public void subtract(T o) {
+    if (adjustOrPutValue(o, -1, 0) <= 0) {
+      remove(o);
+    }
+    this.isStatisticsComputed = false;
   }
 
   // ==============================================================================================
@@ -125,6 +141,7 @@ public class ObjectCounter<T> extends TObjectIntHashMap<T> {
    * Computes some statistics about the objects.
    */
   protected void computeStatistics() {
+    this.mostCommonObject = null;
     int largestFreq = -1;
 
     TObjectIntIterator<T> itr = iterator();
@@ -0,0 +1,40 @@
+package pdfact.core.util.exception;
+
+/**
+ * The exception to throw on errors while reading a serialized PDF document.
+ * 
+ * @author Claudius Korzen
+ */
+public class PdfActReadException extends PdfActException {
+  /**
+   * The serial id.
+   */
+  protected static final long serialVersionUID = -4216750842174432291L;
+
+  /**
+   * The default exit code of this exception.
+   */
+  protected static final int EXIT_CODE = 70;
+
+  /**
+   * Creates a new read exception.
+   * 
+   * @param message
+   *        The error message to show when the exception was caught.
+   */
+  public PdfActReadException(String message) {
+    super(EXIT_CODE, message);
+  }
+
+  /**
+   * Creates a new read exception.
+   * 
+   * @param message
+   *        The error message to show when the exception was caught.
+   * @param cause
+   *        The cause of this exception (can be used to trace the error).
+   */
+  public PdfActReadException(String message, Throwable cause) {
+    super(EXIT_CODE, message, cause);
+  }
+}
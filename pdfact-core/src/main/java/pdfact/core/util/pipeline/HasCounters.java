@@ -0,0 +1,17 @@
+package pdfact.core.util.pipeline;
+
+import java.util.Map;
+
+/**
+ * An interface that is implemented by pipes that count the elements they process.
+ * 
+ * @author Claudius Korzen
+ */
+public interface HasCounters {
+  /**
+   * Returns the counters of this pipe, for example: the number of processed characters.
+   * 
+   * @return A map that maps the name of each counter to its current value.
+   */
+  Map<String, Integer> getCounters();
+}
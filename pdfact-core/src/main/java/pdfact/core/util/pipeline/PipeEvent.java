@@ -0,0 +1,170 @@
+package pdfact.core.util.pipeline;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * The JFR event of type "pdfact.Pipe" that is committed for each pipe executed by a pipeline, when
+ * recording the metrics of a pipeline (see {@link PipelineMetrics}).
+ *
+ * <p>
+ * JFR is not part of every JVM that runs PdfAct (it is missing in older and in some non-OpenJDK
+ * Java 8 runtimes), so this class doesn't refer to the JFR API at compile time. Instead, the event
+ * type is defined at runtime via jdk.jfr.EventFactory, looked up by reflection. If the lookup
+ * fails, {@link #isAvailable()} returns false and no events are committed.
+ *
+ * @author Claudius Korzen
+ */
+final class PipeEvent {
+  /**
+   * The logger.
+   */
+  protected static Logger log = LogManager.getLogger(PipeEvent.class);
+
+  /**
+   * The fields of the event, in the order in which they are set, each given by its type, its name
+   * and its label.
+   */
+  protected static final Object[][] FIELDS = {
+      { String.class, "pipe", "Pipe" },
+      { String.class, "document", "Document" },
+      { int.class, "depth", "Depth" },
+      { long.class, "wallTime", "Wall Time" },
+      { long.class, "cpuTime", "CPU Time" },
+      { long.class, "allocatedBytes", "Allocated Bytes" }
+  };
+
+  /**
+   * The method jdk.jfr.EventFactory.newEvent().
+   */
+  protected static Method newEventMethod;
+
+  /**
+   * The method jdk.jfr.Event.isEnabled().
+   */
+  protected static Method isEnabledMethod;
+
+  /**
+   * The method jdk.jfr.Event.set(int, Object).
+   */
+  protected static Method setMethod;
+
+  /**
+   * The method jdk.jfr.Event.commit().
+   */
+  protected static Method commitMethod;
+
+  /**
+   * The factory that creates the events (an instance of jdk.jfr.EventFactory); null if JFR is not
+   * available.
+   */
+  protected static final Object FACTORY = createFactory();
+
+  /**
+   * This class is not instantiable.
+   */
+  private PipeEvent() {
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Checks whether the JVM provides JFR, so that events can be committed.
+   *
+   * @return True if the JVM provides JFR; false otherwise.
+   */
+  static boolean isAvailable() {
+    return FACTORY != null;
+  }
+
+  /**
+   * Commits an event for the given metric, if JFR is available and is recording events of this
+   * type.
+   *
+   * @param metric
+   *        The metric to commit.
+   */
+  static void commit(PipeMetric metric) {
+    if (FACTORY == null) {
+      return;
+    }
+    try {
+      Object event = newEventMethod.invoke(FACTORY);
+      if (!((Boolean) isEnabledMethod.invoke(event))) {
+        return;
+      }
+      setMethod.invoke(event, 0, metric.getPipe());
+      setMethod.invoke(event, 1,
+          metric.getDocument() != null ? metric.getDocument().toString() : null);
+      setMethod.invoke(event, 2, metric.getDepth());
+      setMethod.invoke(event, 3, metric.getWallTime());
+      setMethod.invoke(event, 4, metric.getCpuTime());
+      setMethod.invoke(event, 5, metric.getAllocatedBytes());
+      commitMethod.invoke(event);
+    } catch (ReflectiveOperationException | RuntimeException e) {
+      log.debug("Couldn't commit the JFR event of pipe '" + metric.getPipe() + "'.", e);
+    }
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Defines the event type via jdk.jfr.EventFactory and looks up the methods needed to commit
+   * events.
+   *
+   * @return The factory that creates the events; null if JFR is not available.
+   */
+  protected static Object createFactory() {
+    try {
+      Class<?> annotationClass = Class.forName("jdk.jfr.AnnotationElement");
+      Class<?> descriptorClass = Class.forName("jdk.jfr.ValueDescriptor");
+      Class<?> factoryClass = Class.forName("jdk.jfr.EventFactory");
+      Class<?> eventClass = Class.forName("jdk.jfr.Event");
+      Class<?> nameClass = Class.forName("jdk.jfr.Name");
+      Class<?> labelClass = Class.forName("jdk.jfr.Label");
+      Class<?> categoryClass = Class.forName("jdk.jfr.Category");
+      Class<?> timespanClass = Class.forName("jdk.jfr.Timespan");
+
+      Constructor<?> annotation = annotationClass.getConstructor(Class.class, Object.class);
+      Constructor<?> descriptor = descriptorClass.getConstructor(Class.class, String.class,
+          List.class);
+
+      // The annotations of the event type.
+      List<Object> annotations = new ArrayList<>();
+      annotations.add(annotation.newInstance(nameClass, "pdfact.Pipe"));
+      annotations.add(annotation.newInstance(labelClass, "PdfAct Pipe"));
+      annotations.add(annotation.newInstance(categoryClass, new String[] { "PdfAct" }));
+
+      // The fields of the event type (the times are given in nanoseconds).
+      List<Object> fields = new ArrayList<>();
+      for (Object[] field : FIELDS) {
+        Object label = annotation.newInstance(labelClass, field[2]);
+        List<Object> fieldAnnotations = Collections.singletonList(label);
+        if (field[1].toString().endsWith("Time")) {
+          Object timespan = annotation.newInstance(timespanClass, "NANOSECONDS");
+          fieldAnnotations = Arrays.asList(label, timespan);
+        }
+        fields.add(descriptor.newInstance(field[0], field[1], fieldAnnotations));
+      }
+
+      Object factory = factoryClass.getMethod("create", List.class, List.class)
+          .invoke(null, annotations, fields);
+
+      newEventMethod = factoryClass.getMethod("newEvent");
+      isEnabledMethod = eventClass.getMethod("isEnabled");
+      setMethod = eventClass.getMethod("set", int.class, Object.class);
+      commitMethod = eventClass.getMethod("commit");
+
+      return factory;
+    } catch (ReflectiveOperationException | LinkageError | RuntimeException e) {
+      log.debug("JFR is not available, no JFR events will be committed.", e);
+      return null;
+    }
+  }
+}
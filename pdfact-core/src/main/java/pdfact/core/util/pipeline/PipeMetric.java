@@ -0,0 +1,197 @@
+package pdfact.core.util.pipeline;
+
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The metrics recorded on executing a single pipe on a single PDF document.
+ * 
+ * @author Claudius Korzen
+ */
+public class PipeMetric {
+  /**
+   * The (simple) class name of the pipe.
+   */
+  protected String pipe;
+
+  /**
+   * The path to the processed PDF document.
+   */
+  protected Path document;
+
+  /**
+   * The nesting depth of the pipe (0 for a pipe of the top-level pipeline, 1 for a pipe of a
+   * pipeline executed by such a pipe, and so on).
+   */
+  protected int depth;
+
+  /**
+   * The wall time needed to execute the pipe, in nanoseconds.
+   */
+  protected long wallTime;
+
+  /**
+   * The CPU time needed by the executing thread, in nanoseconds; -1 if not supported by the JVM.
+   */
+  protected long cpuTime;
+
+  /**
+   * The number of bytes allocated by the executing thread; -1 if not supported by the JVM.
+   */
+  protected long allocatedBytes;
+
+  /**
+   * The counters of the pipe, see {@link HasCounters}.
+   */
+  protected Map<String, Integer> counters;
+
+  /**
+   * The boolean flag indicating whether or not the pipe was skipped (that is: not executed at all).
+   */
+  protected boolean isSkipped;
+
+  /**
+   * The boolean flag indicating whether or not the result of the pipe was discarded (that is: the
+   * pipe was executed, but its result was thrown away and recomputed afterwards).
+   */
+  protected boolean isDiscarded;
+
+  /**
+   * Creates a new metric.
+   * 
+   * @param pipe
+   *        The (simple) class name of the pipe.
+   * @param document
+   *        The path to the processed PDF document.
+   * @param depth
+   *        The nesting depth of the pipe.
+   * @param wallTime
+   *        The wall time needed to execute the pipe, in nanoseconds.
+   * @param cpuTime
+   *        The CPU time needed to execute the pipe, in nanoseconds.
+   * @param allocatedBytes
+   *        The number of bytes allocated while executing the pipe.
+   * @param counters
+   *        The counters of the pipe.
+   */
+  public PipeMetric(String pipe, Path document, int depth, long wallTime, long cpuTime,
+      long allocatedBytes, Map<String, Integer> counters) {
+    this.pipe = pipe;
+    this.document = document;
+    this.depth = depth;
+    this.wallTime = wallTime;
+    this.cpuTime = cpuTime;
+    this.allocatedBytes = allocatedBytes;
+    this.counters = counters;
+  }
+
+  /**
+   * Creates a new metric for a pipe that was skipped.
+   * 
+   * @param pipe
+   *        The (simple) class name of the pipe.
+   * @param document
+   *        The path to the PDF document.
+   * @param depth
+   *        The nesting depth of the pipe.
+   */
+  public PipeMetric(String pipe, Path document, int depth) {
+    this(pipe, document, depth, 0, 0, 0, new LinkedHashMap<String, Integer>());
+    this.isSkipped = true;
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Returns the (simple) class name of the pipe.
+   * 
+   * @return The class name of the pipe.
+   */
+  public String getPipe() {
+    return this.pipe;
+  }
+
+  /**
+   * Returns the path to the processed PDF document.
+   * 
+   * @return The path to the PDF document, or null if the document has no path.
+   */
+  public Path getDocument() {
+    return this.document;
+  }
+
+  /**
+   * Returns the nesting depth of the pipe.
+   * 
+   * @return The nesting depth of the pipe.
+   */
+  public int getDepth() {
+    return this.depth;
+  }
+
+  /**
+   * Returns the wall time needed to execute the pipe.
+   * 
+   * @return The wall time, in nanoseconds.
+   */
+  public long getWallTime() {
+    return this.wallTime;
+  }
+
+  /**
+   * Returns the CPU time needed to execute the pipe.
+   * 
+   * @return The CPU time, in nanoseconds; or -1 if not supported by the JVM.
+   */
+  public long getCpuTime() {
+    return this.cpuTime;
+  }
+
+  /**
+   * Returns the number of bytes allocated while executing the pipe.
+   * 
+   * @return The number of allocated bytes; or -1 if not supported by the JVM.
+   */
+  public long getAllocatedBytes() {
+    return this.allocatedBytes;
+  }
+
+  /**
+   * Returns the counters of the pipe, that is: the number of elements processed by the pipe.
+   * 
+   * @return A map that maps the name of each counter to its value; empty if the pipe doesn't
+   *         count the elements it processes.
+   */
+  public Map<String, Integer> getCounters() {
+    return this.counters;
+  }
+
+  /**
+   * Returns the boolean flag indicating whether or not the pipe was skipped.
+   * 
+   * @return True, if the pipe was skipped (that is: not executed at all); false otherwise.
+   */
+  public boolean isSkipped() {
+    return this.isSkipped;
+  }
+
+  /**
+   * Returns the boolean flag indicating whether or not the result of the pipe was discarded.
+   * 
+   * @return True, if the pipe was executed but its result was discarded; false otherwise.
+   */
+  public boolean isDiscarded() {
+    return this.isDiscarded;
+  }
+
+  /**
+   * Sets the boolean flag indicating whether or not the result of the pipe was discarded.
+   * 
+   * @param isDiscarded
+   *        True, if the pipe was executed but its result was discarded; false otherwise.
+   */
+  public void setIsDiscarded(boolean isDiscarded) {
+    this.isDiscarded = isDiscarded;
+  }
+}
@@ -66,4 +66,21 @@ public interface Pipeline {
    * @return The number of pipes in this pipeline.
    */
   int size();
+
+  // ==============================================================================================
+
+  /**
+   * Returns the collector into which this pipeline records the metrics of its pipes.
+   * 
+   * @return The collector, or null if no metrics are recorded.
+   */
+  PipelineMetrics getMetrics();
+
+  /**
+   * Sets the collector into which this pipeline should record the metrics of its pipes.
+   * 
+   * @param metrics
+   *        The collector, or null if no metrics should be recorded.
+   */
+  void setMetrics(PipelineMetrics metrics);
 }
@@ -0,0 +1,268 @@
+package pdfact.core.util.pipeline;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Method;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import pdfact.core.model.Document;
+import pdfact.core.util.exception.PdfActException;
+
+/**
+ * A collector of metrics about the pipes executed by pipelines: for each pipe and each PDF
+ * document, the wall time, the CPU time and the number of bytes allocated by the executing thread,
+ * and the counters of the pipe (see {@link HasCounters}). A pipeline records its metrics into a
+ * collector if one was set via {@link Pipeline#setMetrics(PipelineMetrics)}. A collector can be
+ * shared between pipelines that are processed by different threads.
+ * 
+ * <p>
+ * If the JVM provides JFR, a JFR event of type "pdfact.Pipe" is committed for each executed pipe
+ * in addition.
+ * 
+ * @author Claudius Korzen
+ */
+public class PipelineMetrics {
+  /**
+   * The logger.
+   */
+  protected static Logger log = LogManager.getLogger(PipelineMetrics.class);
+
+  /**
+   * The bean to query the CPU time of the current thread.
+   */
+  protected static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+  /**
+   * The method com.sun.management.ThreadMXBean.getThreadAllocatedBytes(long) to query the bytes
+   * allocated by a thread; null if not supported by the JVM. The method is looked up by
+   * reflection, since com.sun.management is not provided by every JVM.
+   */
+  protected static final Method ALLOCATED_BYTES_METHOD = getAllocatedBytesMethod();
+
+  /**
+   * A flag that indicates whether the JVM provides JFR.
+   */
+  protected static final boolean IS_JFR_AVAILABLE = PipeEvent.isAvailable();
+
+  /**
+   * The nesting depth of the pipes currently executed by the current thread.
+   */
+  protected static final ThreadLocal<int[]> DEPTH = new ThreadLocal<int[]>() {
+    @Override
+    protected int[] initialValue() {
+      return new int[1];
+    }
+  };
+
+  /**
+   * The recorded metrics, in the order in which the pipes were finished.
+   */
+  protected final List<PipeMetric> metrics = new ArrayList<>();
+
+  // ==============================================================================================
+
+  /**
+   * Executes the given pipe on the given PDF document and records its metrics.
+   * 
+   * @param pipe
+   *        The pipe to execute.
+   * @param pdf
+   *        The PDF document to process.
+   * 
+   * @return The state of the PDF document after executing the pipe.
+   * 
+   * @throws PdfActException
+   *         If something went wrong while executing the pipe.
+   */
+  public Document execute(Pipe pipe, Document pdf) throws PdfActException {
+    // Take the path before the execution, since a pipe could return another document.
+    Path path = pdf != null ? pdf.getPath() : null;
+    Map<String, Integer> countersBefore = getCounters(pipe);
+    int[] depth = DEPTH.get();
+
+    long allocatedBefore = getAllocatedBytes();
+    long cpuTimeBefore = getCpuTime();
+    long wallTimeBefore = System.nanoTime();
+    depth[0]++;
+    try {
+      return pipe.execute(pdf);
+    } finally {
+      depth[0]--;
+      long wallTime = System.nanoTime() - wallTimeBefore;
+      long cpuTime = cpuTimeBefore < 0 ? -1 : getCpuTime() - cpuTimeBefore;
+      long allocated = allocatedBefore < 0 ? -1 : getAllocatedBytes() - allocatedBefore;
+
+      // Compute the number of elements counted while executing the pipe.
+      Map<String, Integer> counters = getCounters(pipe);
+      for (Map.Entry<String, Integer> entry : counters.entrySet()) {
+        Integer before = countersBefore.get(entry.getKey());
+        if (before != null) {
+          entry.setValue(entry.getValue() - before);
+        }
+      }
+
+      PipeMetric metric = new PipeMetric(pipe.getClass().getSimpleName(), path, depth[0],
+          wallTime, cpuTime, allocated, counters);
+      synchronized (this.metrics) {
+        this.metrics.add(metric);
+      }
+      if (IS_JFR_AVAILABLE) {
+        PipeEvent.commit(metric);
+      }
+    }
+  }
+
+  /**
+   * Records that the given pipe was skipped on processing the given PDF document, for example
+   * because the elements it identifies are not needed.
+   * 
+   * @param pipe
+   *        The (simple) class name of the skipped pipe.
+   * @param pdf
+   *        The PDF document.
+   */
+  public void recordSkipped(String pipe, Document pdf) {
+    Path path = pdf != null ? pdf.getPath() : null;
+    PipeMetric metric = new PipeMetric(pipe, path, DEPTH.get()[0]);
+    synchronized (this.metrics) {
+      this.metrics.add(metric);
+    }
+  }
+
+  /**
+   * Marks the metrics recorded for the given PDF document since the given number of recorded
+   * metrics as discarded, for example because the result of the pipes was thrown away and the
+   * PDF document was processed again. The discarded metrics are kept (since the work was done),
+   * but can be told apart from the metrics of the final result.
+   * 
+   * @param pdf
+   *        The PDF document.
+   * @param fromIndex
+   *        The number of metrics recorded before the pipes with the discarded results were
+   *        executed, see {@link #size()}.
+   */
+  public void markDiscarded(Document pdf, int fromIndex) {
+    Path path = pdf != null ? pdf.getPath() : null;
+    synchronized (this.metrics) {
+      for (int i = fromIndex; i < this.metrics.size(); i++) {
+        PipeMetric metric = this.metrics.get(i);
+        // Other documents could be processed concurrently with the same collector.
+        if (path == null ? metric.getDocument() == null : path.equals(metric.getDocument())) {
+          metric.setIsDiscarded(true);
+        }
+      }
+    }
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Returns the number of recorded metrics.
+   * 
+   * @return The number of recorded metrics.
+   */
+  public int size() {
+    synchronized (this.metrics) {
+      return this.metrics.size();
+    }
+  }
+
+  /**
+   * Returns the recorded metrics, in the order in which the pipes were finished. Note that a pipe
+   * that executes a pipeline itself is finished after the pipes of that pipeline.
+   * 
+   * @return The recorded metrics.
+   */
+  public List<PipeMetric> getPipeMetrics() {
+    synchronized (this.metrics) {
+      return Collections.unmodifiableList(new ArrayList<>(this.metrics));
+    }
+  }
+
+  /**
+   * Removes all recorded metrics.
+   */
+  public void clear() {
+    synchronized (this.metrics) {
+      this.metrics.clear();
+    }
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Returns a copy of the counters of the given pipe.
+   * 
+   * @param pipe
+   *        The pipe.
+   * 
+   * @return A copy of the counters of the given pipe; empty if the pipe doesn't count.
+   */
+  protected static Map<String, Integer> getCounters(Pipe pipe) {
+    Map<String, Integer> counters = new LinkedHashMap<>();
+    if (pipe instanceof HasCounters) {
+      Map<String, Integer> pipeCounters = ((HasCounters) pipe).getCounters();
+      if (pipeCounters != null) {
+        counters.putAll(pipeCounters);
+      }
+    }
+    return counters;
+  }
+
+  /**
+   * Returns the CPU time of the current thread.
+   * 
+   * @return The CPU time of the current thread in nanoseconds; -1 if not supported by the JVM.
+   */
+  protected static long getCpuTime() {
+    if (!THREADS.isCurrentThreadCpuTimeSupported() || !THREADS.isThreadCpuTimeEnabled()) {
+      return -1;
+    }
+    return THREADS.getCurrentThreadCpuTime();
+  }
+
+  /**
+   * Returns the number of bytes allocated by the current thread so far.
+   * 
+   * @return The number of allocated bytes; -1 if not supported (or not enabled) by the JVM.
+   */
+  protected static long getAllocatedBytes() {
+    if (ALLOCATED_BYTES_METHOD == null) {
+      return -1;
+    }
+    try {
+      Object bytes = ALLOCATED_BYTES_METHOD.invoke(THREADS, Thread.currentThread().getId());
+      return ((Long) bytes).longValue();
+    } catch (ReflectiveOperationException | RuntimeException e) {
+      return -1;
+    }
+  }
+
+  /**
+   * Returns the method to query the bytes allocated by a thread.
+   * 
+   * @return The method; or null if the JVM doesn't support to query the allocated bytes.
+   */
+  protected static Method getAllocatedBytesMethod() {
+    try {
+      Class<?> beanClass = Class.forName("com.sun.management.ThreadMXBean");
+      if (!beanClass.isInstance(THREADS)) {
+        return null;
+      }
+      Method isSupported = beanClass.getMethod("isThreadAllocatedMemorySupported");
+      if (!((Boolean) isSupported.invoke(THREADS))) {
+        return null;
+      }
+      return beanClass.getMethod("getThreadAllocatedBytes", long.class);
+    } catch (ReflectiveOperationException | LinkageError | RuntimeException e) {
+      log.debug("Querying the allocated bytes of a thread is not supported.", e);
+    }
+    return null;
+  }
+}
@@ -16,6 +16,12 @@ public class PlainPipeline implements Pipeline {
    */
   protected List<Pipe> pipes;
 
+  /**
+   * The collector into which the metrics of the pipes are recorded; null if no metrics should be
+   * recorded.
+   */
+  protected PipelineMetrics metrics;
+
   /**
    * Creates an empty pipeline.
    */
@@ -29,7 +35,11 @@ public class PlainPipeline implements Pipeline {
   public Document process(Document pdf) throws PdfActException {
     Document processed = pdf;
     for (Pipe pipe : this.pipes) {
-      processed = pipe.execute(processed);
+      if (this.metrics != null) {
+        processed = this.metrics.execute(pipe, processed);
+      } else {
+        processed = pipe.execute(processed);
+      }
     }
     return processed;
   }
@@ -62,4 +72,16 @@ public class PlainPipeline implements Pipeline {
   public int size() {
     return this.pipes != null ? this.pipes.size() : 0;
   }
+
+  // ==============================================================================================
+
+  @Override
+  public PipelineMetrics getMetrics() {
+    return this.metrics;
+  }
+
+  @Override
+  public void setMetrics(PipelineMetrics metrics) {
+    this.metrics = metrics;
+  }
 }
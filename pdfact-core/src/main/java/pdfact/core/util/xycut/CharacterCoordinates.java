@@ -0,0 +1,138 @@
+package pdfact.core.util.xycut;
+
+import java.util.List;
+import pdfact.core.model.Character;
+import pdfact.core.model.Rectangle;
+
+/**
+ * The coordinates of the bounding boxes of a list of characters, stored in primitive arrays in the
+ * order of the list. The arrays are filled once per sweep of {@link XYCut}, such that the sweep and
+ * the {@link CutStatistic} read the coordinates without dereferencing the characters.
+ *
+ * @author Claudius Korzen
+ */
+public class CharacterCoordinates {
+  /**
+   * The minX values of the characters.
+   */
+  protected float[] minX;
+
+  /**
+   * The minY values of the characters.
+   */
+  protected float[] minY;
+
+  /**
+   * The maxX values of the characters.
+   */
+  protected float[] maxX;
+
+  /**
+   * The maxY values of the characters.
+   */
+  protected float[] maxY;
+
+  /**
+   * Creates the coordinates of the given characters.
+   *
+   * @param characters
+   *        The characters, in the order in which they are swept.
+   */
+  public CharacterCoordinates(List<Character> characters) {
+    int n = characters.size();
+    this.minX = new float[n];
+    this.minY = new float[n];
+    this.maxX = new float[n];
+    this.maxY = new float[n];
+    for (int i = 0; i < n; i++) {
+      Rectangle rect = characters.get(i).getPosition().getRectangle();
+      this.minX[i] = rect.getMinX();
+      this.minY[i] = rect.getMinY();
+      this.maxX[i] = rect.getMaxX();
+      this.maxY[i] = rect.getMaxY();
+    }
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Returns the number of characters.
+   *
+   * @return The number of characters.
+   */
+  public int size() {
+    return this.minX.length;
+  }
+
+  /**
+   * Returns the minX value of the character at the given index.
+   *
+   * @param index
+   *        The index of the character.
+   *
+   * @return The minX value.
+   */
+  public float getMinX(int index) {
+    return this.minX[index];
+  }
+
+  /**
+   * Returns the minY value of the character at the given index.
+   *
+   * @param index
+   *        The index of the character.
+   *
+   * @return The minY value.
+   */
+  public float getMinY(int index) {
+    return this.minY[index];
+  }
+
+  /**
+   * Returns the maxX value of the character at the given index.
+   *
+   * @param index
+   *        The index of the character.
+   *
+   * @return The maxX value.
+   */
+  public float getMaxX(int index) {
+    return this.maxX[index];
+  }
+
+  /**
+   * Returns the maxY value of the character at the given index.
+   *
+   * @param index
+   *        The index of the character.
+   *
+   * @return The maxY value.
+   */
+  public float getMaxY(int index) {
+    return this.maxY[index];
+  }
+
+  /**
+   * Returns the width of the character at the given index.
+   *
+   * @param index
+   *        The index of the character.
+   *
+   * @return The width.
+   */
+  public float getWidth(int index) {
+    return this.maxX[index] - this.minX[index];
+  }
+
+  /**
+   * Returns the height of the character at the given index.
+   *
+   * @param index
+   *        The index of the character.
+   *
+   * @return The height.
+   */
+  public float getHeight(int index) {
+    return this.maxY[index] - this.minY[index];
+  }
+}
@@ -0,0 +1,383 @@
+package pdfact.core.util.xycut;
+
+import pdfact.core.util.counter.FloatCounter;
+import pdfact.core.util.counter.FloatModeCounter;
+
+/**
+ * Statistics about the two halves resulting from cutting a list of characters at a given index,
+ * that is: about the characters in front of the cut (the left half resp. the upper half) and the
+ * characters behind the cut (the right half resp. the lower half).
+ *
+ * The characters are given by their {@link CharacterCoordinates}, such that all sweeps read the
+ * coordinates from primitive arrays. The statistics are maintained incrementally while the cut is
+ * moved across the characters: the extreme coordinates of both halves are looked up from prefix
+ * and suffix arrays, and the frequencies of the character heights and widths are maintained by
+ * counters from which the characters are moved from one half to the other. The values are the
+ * same as the values of the statistics computed by a
+ * {@link pdfact.core.util.statistician.CharacterStatistician} for the two halves.
+ *
+ * @author Claudius Korzen
+ */
+public class CutStatistic {
+  /**
+   * The coordinates of the characters to cut, in the order in which they are swept.
+   */
+  protected CharacterCoordinates characters;
+
+  /**
+   * The index at which the characters are cut.
+   */
+  protected int cutIndex;
+
+  /**
+   * The smallest minX values of the first i characters, per i.
+   */
+  protected float[] prefixMinX;
+
+  /**
+   * The smallest minY values of the first i characters, per i.
+   */
+  protected float[] prefixMinY;
+
+  /**
+   * The largest maxX values of the first i characters, per i.
+   */
+  protected float[] prefixMaxX;
+
+  /**
+   * The largest maxY values of the first i characters, per i.
+   */
+  protected float[] prefixMaxY;
+
+  /**
+   * The smallest minX values of the characters starting at index i, per i.
+   */
+  protected float[] suffixMinX;
+
+  /**
+   * The smallest minY values of the characters starting at index i, per i.
+   */
+  protected float[] suffixMinY;
+
+  /**
+   * The largest maxX values of the characters starting at index i, per i.
+   */
+  protected float[] suffixMaxX;
+
+  /**
+   * The largest maxY values of the characters starting at index i, per i.
+   */
+  protected float[] suffixMaxY;
+
+  /**
+   * The frequencies of the heights of the characters in the first half and in the second half
+   * (created on demand).
+   */
+  protected FloatModeCounter[] heightFrequencies;
+
+  /**
+   * The frequencies of the widths of the characters in the first half and in the second half
+   * (created on demand).
+   */
+  protected FloatModeCounter[] widthFrequencies;
+
+  /**
+   * The statistics about the first half.
+   */
+  protected Half firstHalf;
+
+  /**
+   * The statistics about the second half.
+   */
+  protected Half secondHalf;
+
+  /**
+   * Creates new statistics about cutting the given characters.
+   *
+   * @param characters
+   *        The coordinates of the characters to cut, in the order in which they are swept.
+   */
+  public CutStatistic(CharacterCoordinates characters) {
+    this.characters = characters;
+    this.firstHalf = new Half(true);
+    this.secondHalf = new Half(false);
+    computeExtremeCoordinates();
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Moves the cut to the given index. Moving the cut by k characters costs O(k), if the
+   * frequencies of the heights or widths were requested before, and O(1) otherwise.
+   *
+   * @param index
+   *        The index at which the characters should be cut.
+   */
+  public void moveTo(int index) {
+    if (this.heightFrequencies != null || this.widthFrequencies != null) {
+      while (this.cutIndex < index) {
+        int row = this.cutIndex++;
+        move(this.heightFrequencies, this.characters.getHeight(row), true);
+        move(this.widthFrequencies, this.characters.getWidth(row), true);
+      }
+      while (this.cutIndex > index) {
+        int row = --this.cutIndex;
+        move(this.heightFrequencies, this.characters.getHeight(row), false);
+        move(this.widthFrequencies, this.characters.getWidth(row), false);
+      }
+    }
+    this.cutIndex = index;
+  }
+
+  /**
+   * Returns the index at which the characters are cut.
+   *
+   * @return The index at which the characters are cut.
+   */
+  public int getCutIndex() {
+    return this.cutIndex;
+  }
+
+  /**
+   * Returns the statistics about the first half (the characters in front of the cut).
+   *
+   * @return The statistics about the first half.
+   */
+  public Half getFirstHalf() {
+    return this.firstHalf;
+  }
+
+  /**
+   * Returns the statistics about the second half (the characters behind the cut).
+   *
+   * @return The statistics about the second half.
+   */
+  public Half getSecondHalf() {
+    return this.secondHalf;
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Computes the prefix and suffix arrays of the extreme coordinates.
+   */
+  protected void computeExtremeCoordinates() {
+    int n = this.characters.size();
+
+    this.prefixMinX = new float[n + 1];
+    this.prefixMinY = new float[n + 1];
+    this.prefixMaxX = new float[n + 1];
+    this.prefixMaxY = new float[n + 1];
+    this.prefixMinX[0] = Float.MAX_VALUE;
+    this.prefixMinY[0] = Float.MAX_VALUE;
+    this.prefixMaxX[0] = -Float.MAX_VALUE;
+    this.prefixMaxY[0] = -Float.MAX_VALUE;
+    for (int i = 0; i < n; i++) {
+      this.prefixMinX[i + 1] = min(this.prefixMinX[i], this.characters.getMinX(i));
+      this.prefixMinY[i + 1] = min(this.prefixMinY[i], this.characters.getMinY(i));
+      this.prefixMaxX[i + 1] = max(this.prefixMaxX[i], this.characters.getMaxX(i));
+      this.prefixMaxY[i + 1] = max(this.prefixMaxY[i], this.characters.getMaxY(i));
+    }
+
+    this.suffixMinX = new float[n + 1];
+    this.suffixMinY = new float[n + 1];
+    this.suffixMaxX = new float[n + 1];
+    this.suffixMaxY = new float[n + 1];
+    this.suffixMinX[n] = Float.MAX_VALUE;
+    this.suffixMinY[n] = Float.MAX_VALUE;
+    this.suffixMaxX[n] = -Float.MAX_VALUE;
+    this.suffixMaxY[n] = -Float.MAX_VALUE;
+    for (int i = n - 1; i >= 0; i--) {
+      this.suffixMinX[i] = min(this.suffixMinX[i + 1], this.characters.getMinX(i));
+      this.suffixMinY[i] = min(this.suffixMinY[i + 1], this.characters.getMinY(i));
+      this.suffixMaxX[i] = max(this.suffixMaxX[i + 1], this.characters.getMaxX(i));
+      this.suffixMaxY[i] = max(this.suffixMaxY[i + 1], this.characters.getMaxY(i));
+    }
+  }
+
+  /**
+   * Creates the counters for the frequencies of the heights (or widths) of the characters in the
+   * two halves.
+   *
+   * @param heights
+   *        True, if the counters should count the heights; false if they should count the widths.
+   *
+   * @return The counters of the first half and of the second half.
+   */
+  protected FloatModeCounter[] createFrequencies(boolean heights) {
+    FloatModeCounter[] counters = { new FloatModeCounter(), new FloatModeCounter() };
+    for (int i = 0; i < this.characters.size(); i++) {
+      float value = heights ? this.characters.getHeight(i) : this.characters.getWidth(i);
+      counters[i < this.cutIndex ? 0 : 1].add(value);
+    }
+    return counters;
+  }
+
+  /**
+   * Moves the given value from the second half to the first half (or vice versa) in the given
+   * counters.
+   *
+   * @param counters
+   *        The counters of the two halves (may be null).
+   * @param value
+   *        The value to move.
+   * @param forward
+   *        True, if the value should be moved from the second half to the first half; false
+   *        otherwise.
+   */
+  protected void move(FloatModeCounter[] counters, float value, boolean forward) {
+    if (counters != null) {
+      counters[forward ? 0 : 1].add(value);
+      counters[forward ? 1 : 0].remove(value);
+    }
+  }
+
+  /**
+   * Returns the smaller value of the given values, in the same way as the character statistician
+   * (that is: the current value is kept if the given value is not smaller).
+   *
+   * @param current
+   *        The current value.
+   * @param value
+   *        The value to compare.
+   *
+   * @return The smaller value.
+   */
+  protected static float min(float current, float value) {
+    return value < current ? value : current;
+  }
+
+  /**
+   * Returns the larger value of the given values, in the same way as the character statistician
+   * (that is: the current value is kept if the given value is not larger).
+   *
+   * @param current
+   *        The current value.
+   * @param value
+   *        The value to compare.
+   *
+   * @return The larger value.
+   */
+  protected static float max(float current, float value) {
+    return value > current ? value : current;
+  }
+
+  // ==============================================================================================
+
+  /**
+   * The statistics about one of the two halves.
+   *
+   * @author Claudius Korzen
+   */
+  public class Half {
+    /**
+     * True, if this half is the first half; false if it is the second half.
+     */
+    protected boolean isFirst;
+
+    /**
+     * Creates new statistics about one of the two halves.
+     *
+     * @param isFirst
+     *        True, if the half is the first half; false if it is the second half.
+     */
+    protected Half(boolean isFirst) {
+      this.isFirst = isFirst;
+    }
+
+    /**
+     * Returns the smallest minX value of the characters in this half.
+     *
+     * @return The smallest minX value.
+     */
+    public float getSmallestMinX() {
+      return this.isFirst ? prefixMinX[cutIndex] : suffixMinX[cutIndex];
+    }
+
+    /**
+     * Returns the smallest minY value of the characters in this half.
+     *
+     * @return The smallest minY value.
+     */
+    public float getSmallestMinY() {
+      return this.isFirst ? prefixMinY[cutIndex] : suffixMinY[cutIndex];
+    }
+
+    /**
+     * Returns the largest maxX value of the characters in this half.
+     *
+     * @return The largest maxX value.
+     */
+    public float getLargestMaxX() {
+      return this.isFirst ? prefixMaxX[cutIndex] : suffixMaxX[cutIndex];
+    }
+
+    /**
+     * Returns the largest maxY value of the characters in this half.
+     *
+     * @return The largest maxY value.
+     */
+    public float getLargestMaxY() {
+      return this.isFirst ? prefixMaxY[cutIndex] : suffixMaxY[cutIndex];
+    }
+
+    /**
+     * Returns the height of the bounding box around the characters in this half.
+     *
+     * @return The height of the bounding box.
+     */
+    public float getHeight() {
+      return getLargestMaxY() - getSmallestMinY();
+    }
+
+    /**
+     * Returns the most common height of the characters in this half.
+     *
+     * @return The most common height.
+     */
+    public float getMostCommonHeight() {
+      if (heightFrequencies == null) {
+        heightFrequencies = createFrequencies(true);
+      }
+      return getMostCommonFloat(heightFrequencies[this.isFirst ? 0 : 1], true);
+    }
+
+    /**
+     * Returns the most common width of the characters in this half.
+     *
+     * @return The most common width.
+     */
+    public float getMostCommonWidth() {
+      if (widthFrequencies == null) {
+        widthFrequencies = createFrequencies(false);
+      }
+      return getMostCommonFloat(widthFrequencies[this.isFirst ? 0 : 1], false);
+    }
+
+    /**
+     * Returns the most common float of the given counter. If there are multiple most common
+     * floats, the tie is broken in the same way as by a {@link FloatCounter} filled with the
+     * heights (or widths) of the characters in this half.
+     *
+     * @param counter
+     *        The counter to process.
+     * @param heights
+     *        True, if the counter counts the heights; false if it counts the widths.
+     *
+     * @return The most common float.
+     */
+    protected float getMostCommonFloat(FloatModeCounter counter, boolean heights) {
+      if (counter.isMostCommonFloatUnique()) {
+        return counter.getMostCommonFloat();
+      }
+
+      FloatCounter frequencies = new FloatCounter();
+      int from = this.isFirst ? 0 : cutIndex;
+      int to = this.isFirst ? cutIndex : characters.size();
+      for (int i = from; i < to; i++) {
+        frequencies.add(heights ? characters.getHeight(i) : characters.getWidth(i));
+      }
+      return frequencies.getMostCommonFloat();
+    }
+  }
+}
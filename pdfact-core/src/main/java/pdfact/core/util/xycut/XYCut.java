@@ -96,23 +96,31 @@ public abstract class XYCut {
     if (chars != null && !chars.isEmpty()) {
       // Sort the characters by minX in order to sweep them in x direction.
       Collections.sort(chars, new MinXComparator());
+      // The coordinates of the characters, in sweep order.
+      CharacterCoordinates coords = new CharacterCoordinates(chars);
 
       // The score of the best cut found so far.
       float bestCutScore = 0;
       // The index of the best cut found so far.
       int bestCutIndex = -1;
       // The current position in the list of characters.
-      float currentPos = chars.get(0).getPosition().getRectangle().getMaxX();
+      float currentPos = coords.getMaxX(0);
+      // The statistics about the halves of the current cut (created on the first cut).
+      CutStatistic stats = null;
 
       for (int index = 1; index < chars.size(); index++) {
-        Character character = chars.get(index);
+        int row = index;
 
-        if (character.getPosition().getRectangle().getMinX() > currentPos) {
+        if (coords.getMinX(row) > currentPos) {
+          if (stats == null) {
+            stats = new CutStatistic(coords);
+          }
           List<ElementList<Character>> halves = chars.cut(index);
           // Find the position of the "best" cut.
           while (index < chars.size()) {
+            stats.moveTo(index);
             // The score of the current cut.
-            float cutScore = assessVerticalCut(pdf, page, halves);
+            float cutScore = assessVerticalCut(pdf, page, halves, stats);
 
             if (cutScore < 0) {
               break;
@@ -123,7 +131,7 @@ public abstract class XYCut {
             halves = chars.cut(++index);
           }
         }
-        currentPos = character.getPosition().getRectangle().getMaxX();
+        currentPos = coords.getMaxX(row);
       }
 
       if (bestCutIndex > -1) {
@@ -157,22 +165,30 @@ public abstract class XYCut {
     if (chars != null && !chars.isEmpty()) {
       // Sort the characters by minX in order to sweep them in x direction.
       Collections.sort(chars, Collections.reverseOrder(new MaxYComparator()));
+      // The coordinates of the characters, in sweep order.
+      CharacterCoordinates coords = new CharacterCoordinates(chars);
 
       // The score of the best cut found so far.
       float bestCutScore = 0;
       // The index of the best cut found so far.
       int bestCutIndex = -1;
       // The current position in the list of characters.
-      float currentPos = chars.get(0).getPosition().getRectangle().getMinY();
+      float currentPos = coords.getMinY(0);
+      // The statistics about the halves of the current cut (created on the first cut).
+      CutStatistic stats = null;
 
       for (int index = 1; index < chars.size(); index++) {
-        Character character = chars.get(index);
+        int row = index;
 
-        if (character.getPosition().getRectangle().getMaxY() < currentPos) {
+        if (coords.getMaxY(row) < currentPos) {
+          if (stats == null) {
+            stats = new CutStatistic(coords);
+          }
           List<ElementList<Character>> halves = chars.cut(index);
           // Find the position of the "best" cut.
           while (index < chars.size()) {
-            float cutScore = assessHorizontalCut(pdf, page, halves);
+            stats.moveTo(index);
+            float cutScore = assessHorizontalCut(pdf, page, halves, stats);
 
             if (cutScore < 0) {
               break;
@@ -183,7 +199,7 @@ public abstract class XYCut {
             halves = chars.cut(++index);
           }
         }
-        currentPos = character.getPosition().getRectangle().getMinY();
+        currentPos = coords.getMinY(row);
       }
 
       if (bestCutIndex > -1) {
@@ -208,10 +224,12 @@ public abstract class XYCut {
    *        The page in which the characters are located.
    * @param halves
    *        The characters of the two halves.
+   * @param stats
+   *        The statistics about the two halves (the left half is the first half).
    * @return A score that assesses the given cut.
    */
   public abstract float assessVerticalCut(Document pdf, Page page,
-      List<ElementList<Character>> halves);
+      List<ElementList<Character>> halves, CutStatistic stats);
 
   /**
    * Assesses the given horizontal cut. Returns a positive score, if the cut is
@@ -224,10 +242,12 @@ public abstract class XYCut {
    *        The page in which the characters are located.
    * @param halves
    *        The characters of the two halves.
+   * @param stats
+   *        The statistics about the two halves (the upper half is the first half).
    * @return A score that assesses the given cut.
    */
   public abstract float assessHorizontalCut(Document pdf, Page page,
-      List<ElementList<Character>> halves);
+      List<ElementList<Character>> halves, CutStatistic stats);
 
   // /**
   // * Packs the given characters into the target type.
@@ -0,0 +1,251 @@
+package pdfact.core.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class CharacterStatisticTest {
+  /**
+   * The page of the characters.
+   */
+  protected static final Page PAGE = new Page(1);
+
+  /**
+   * The font faces of the characters.
+   */
+  protected static final FontFace[] FONT_FACES = {
+      new FontFace(new Font(), 10), new FontFace(new Font(), 12) };
+
+  /**
+   * The colors of the characters.
+   */
+  protected static final Color[] COLORS = { new Color(0, 0, 0), new Color(255, 0, 0) };
+
+  @Test
+  public void testAdd() {
+    Character a = createCharacter(10, 10, 5, 10, 0);
+    Character b = createCharacter(20, 10, 5, 10, 0);
+    Character c = createCharacter(30, 10, 6, 12, 1);
+    Character d = createCharacter(5, 50, 5, 10, 0);
+
+    CharacterStatistic statistic = CharacterStatistic.fromCharacters(Arrays.asList(a, b, c));
+    // Compute the statistic before adding, such that it is updated incrementally.
+    assertEquals(CharacterStatistic.fromCharacters(Arrays.asList(a, b, c)), statistic);
+
+    // Add a character that extends the bounding box to the left and to the top.
+    statistic.add(d);
+    assertEquals(CharacterStatistic.fromCharacters(Arrays.asList(a, b, c, d)), statistic);
+    Assert.assertEquals(5, statistic.getSmallestMinX(), 0);
+    Assert.assertEquals(60, statistic.getLargestMaxY(), 0);
+  }
+
+  @Test
+  public void testRemove() {
+    Character a = createCharacter(10, 10, 5, 10, 0);
+    Character b = createCharacter(20, 10, 5, 10, 0);
+    Character c = createCharacter(30, 10, 6, 12, 1);
+    Character d = createCharacter(5, 50, 5, 10, 0);
+
+    CharacterStatistic statistic = CharacterStatistic.fromCharacters(Arrays.asList(a, b, c, d));
+    assertEquals(CharacterStatistic.fromCharacters(Arrays.asList(a, b, c, d)), statistic);
+
+    // Remove a character inside of the bounding box.
+    Assert.assertTrue(statistic.remove(b));
+    assertEquals(CharacterStatistic.fromCharacters(Arrays.asList(a, c, d)), statistic);
+
+    // Remove the characters on the boundary.
+    Assert.assertTrue(statistic.remove(d));
+    assertEquals(CharacterStatistic.fromCharacters(Arrays.asList(a, c)), statistic);
+    Assert.assertEquals(10, statistic.getSmallestMinX(), 0);
+    Assert.assertEquals(36, statistic.getLargestMaxX(), 0);
+    Assert.assertTrue(statistic.remove(c));
+    assertEquals(CharacterStatistic.fromCharacters(Arrays.asList(a)), statistic);
+    Assert.assertEquals(15, statistic.getLargestMaxX(), 0);
+
+    // Characters are removed by identity.
+    Assert.assertFalse(statistic.remove(b));
+    Assert.assertFalse(statistic.remove(createCharacter(10, 10, 5, 10, 0)));
+
+    // Remove the last character.
+    Assert.assertTrue(statistic.remove(a));
+    Assert.assertTrue(statistic.getHeightFrequencies().isEmpty());
+    Assert.assertTrue(Float.isNaN(statistic.getMostCommonHeight()));
+    Assert.assertNull(statistic.getMostCommonFontFace());
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void testRemoveFromMaterialized() {
+    Character a = createCharacter(10, 10, 5, 10, 0);
+    CharacterStatistic statistic = CharacterStatistic.fromCharacters(Arrays.asList(a));
+    statistic.materialize();
+    Assert.assertFalse(statistic.isRemovable());
+    statistic.remove(a);
+  }
+
+  @Test
+  public void testMerge() {
+    Character a = createCharacter(10, 10, 5, 10, 0);
+    Character b = createCharacter(20, 10, 5, 10, 0);
+    Character c = createCharacter(30, 10, 6, 12, 1);
+    Character d = createCharacter(5, 50, 5, 10, 0);
+    Character e = createCharacter(40, 70, 5, 10, 1);
+
+    // Merge a statistic computed from characters.
+    CharacterStatistic statistic = CharacterStatistic.fromCharacters(Arrays.asList(a, b));
+    statistic.merge(CharacterStatistic.fromCharacters(Arrays.asList(c)));
+    assertEquals(CharacterStatistic.fromCharacters(Arrays.asList(a, b, c)), statistic);
+
+    // Merge a statistic computed from other statistics.
+    CharacterStatistic other = CharacterStatistic.fromStatistics(Arrays.asList(
+        createPage(d), createPage(e)));
+    statistic.merge(other);
+    assertEquals(CharacterStatistic.fromCharacters(Arrays.asList(a, b, c, d, e)), statistic);
+    Assert.assertEquals(80, statistic.getLargestMaxY(), 0);
+
+    // The characters kept by the statistic can still be removed after merging.
+    Assert.assertTrue(statistic.isRemovable());
+    Assert.assertTrue(statistic.remove(c));
+    assertEquals(CharacterStatistic.fromCharacters(Arrays.asList(a, b, d, e)), statistic);
+    Assert.assertEquals(45, statistic.getLargestMaxX(), 0);
+    // The characters of the merged child statistics can't be removed.
+    Assert.assertFalse(statistic.remove(d));
+
+    // Merge into a materialized statistic.
+    CharacterStatistic materialized = CharacterStatistic.fromCharacters(Arrays.asList(a));
+    materialized.materialize();
+    materialized.merge(CharacterStatistic.fromCharacters(Arrays.asList(b, c)));
+    materialized.merge(CharacterStatistic.fromStatistics(Arrays.asList(createPage(d))));
+    assertEquals(CharacterStatistic.fromCharacters(Arrays.asList(a, b, c, d)), materialized);
+  }
+
+  @Test
+  public void testSingleChildView() {
+    Character a = createCharacter(10, 10, 5, 10, 0);
+    Character b = createCharacter(20, 10, 5, 10, 0);
+    Character c = createCharacter(30, 10, 6, 12, 1);
+    Character d = createCharacter(5, 50, 5, 10, 0);
+
+    Page page = createPage(a, b);
+    CharacterStatistic child = page.getCharacterStatistic();
+    CharacterStatistic view = CharacterStatistic.fromStatistics(Arrays.asList(page));
+    // The view shares the frequencies of the child.
+    Assert.assertSame(child.getHeightFrequencies(), view.getHeightFrequencies());
+
+    // Updating the view doesn't affect the child.
+    view.add(c);
+    Assert.assertNotSame(child.getHeightFrequencies(), view.getHeightFrequencies());
+    assertEquals(CharacterStatistic.fromCharacters(Arrays.asList(a, b)), child);
+    assertEquals(CharacterStatistic.fromCharacters(Arrays.asList(a, b, c)), view);
+
+    // The added characters can be removed from the view, the characters of the child can't.
+    Assert.assertTrue(view.remove(c));
+    Assert.assertFalse(view.remove(a));
+    assertEquals(CharacterStatistic.fromCharacters(Arrays.asList(a, b)), view);
+
+    // Merging into a view doesn't affect the child.
+    CharacterStatistic mergedView = CharacterStatistic.fromStatistics(Arrays.asList(page));
+    mergedView.getHeightFrequencies();
+    mergedView.merge(CharacterStatistic.fromStatistics(Arrays.asList(createPage(d))));
+    assertEquals(CharacterStatistic.fromCharacters(Arrays.asList(a, b)), child);
+    assertEquals(CharacterStatistic.fromCharacters(Arrays.asList(a, b, d)), mergedView);
+
+    // Materializing a view doesn't affect the child.
+    CharacterStatistic materializedView = CharacterStatistic.fromStatistics(Arrays.asList(page));
+    materializedView.materialize();
+    materializedView.add(d);
+    assertEquals(CharacterStatistic.fromCharacters(Arrays.asList(a, b)), child);
+    assertEquals(CharacterStatistic.fromCharacters(Arrays.asList(a, b, d)), materializedView);
+  }
+
+  @Test
+  public void testTieBrokenModes() {
+    // Two heights and two font faces that occur equally often.
+    List<Character> characters = new ArrayList<>();
+    for (int i = 0; i < 8; i++) {
+      characters.add(createCharacter(10 * i, 10, 5, 10 + 2 * (i % 2), i % 2));
+    }
+
+    // Adding the characters one by one breaks the ties as computing the statistic at once.
+    CharacterStatistic statistic = CharacterStatistic.fromCharacters(characters.subList(0, 1));
+    statistic.getHeightFrequencies();
+    statistic.getFontFaceFrequencies();
+    for (Character character : characters.subList(1, characters.size())) {
+      statistic.add(character);
+    }
+    CharacterStatistic expected = CharacterStatistic.fromCharacters(characters);
+    assertEquals(expected, statistic);
+    Assert.assertEquals(expected.getMostCommonHeight(), statistic.getMostCommonHeight(), 0);
+    Assert.assertSame(expected.getMostCommonFontFace(), statistic.getMostCommonFontFace());
+
+    // Merging a statistic breaks the ties as combining the statistics.
+    CharacterStatistic merged = CharacterStatistic.fromStatistics(Arrays.asList(
+        createPage(characters.subList(0, 3)), createPage(characters.subList(3, 5))));
+    merged.merge(CharacterStatistic.fromStatistics(Arrays.asList(
+        createPage(characters.subList(5, 8)))));
+    CharacterStatistic combined = CharacterStatistic.fromStatistics(Arrays.asList(
+        createPage(characters.subList(0, 3)), createPage(characters.subList(3, 5)),
+        createPage(characters.subList(5, 8))));
+    assertEquals(combined, merged);
+    Assert.assertEquals(combined.getMostCommonHeight(), merged.getMostCommonHeight(), 0);
+    Assert.assertSame(combined.getMostCommonFontFace(), merged.getMostCommonFontFace());
+
+    // After removing a character, the tie is resolved by the remaining frequencies.
+    statistic.remove(characters.get(0));
+    Assert.assertEquals(12, statistic.getMostCommonHeight(), 0);
+    Assert.assertSame(FONT_FACES[1], statistic.getMostCommonFontFace());
+    statistic.remove(characters.get(1));
+    float height = statistic.getMostCommonHeight();
+    Assert.assertTrue(height == 10 || height == 12);
+    Assert.assertEquals(3, statistic.getHeightFrequencies().getFrequency(height));
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Asserts that the given statistics have the same frequencies and extreme coordinates.
+   */
+  protected static void assertEquals(CharacterStatistic expected, CharacterStatistic actual) {
+    Assert.assertEquals(expected.getHeightFrequencies(), actual.getHeightFrequencies());
+    Assert.assertEquals(expected.getWidthFrequencies(), actual.getWidthFrequencies());
+    Assert.assertEquals(expected.getFontFaceFrequencies(), actual.getFontFaceFrequencies());
+    Assert.assertEquals(expected.getFontSizeFrequencies(), actual.getFontSizeFrequencies());
+    Assert.assertEquals(expected.getColorFrequencies(), actual.getColorFrequencies());
+    Assert.assertEquals(expected.getAverageHeight(), actual.getAverageHeight(), 0.0001);
+    Assert.assertEquals(expected.getAverageWidth(), actual.getAverageWidth(), 0.0001);
+    Assert.assertEquals(expected.getAverageFontsize(), actual.getAverageFontsize(), 0.0001);
+    Assert.assertEquals(expected.getSmallestMinX(), actual.getSmallestMinX(), 0);
+    Assert.assertEquals(expected.getSmallestMinY(), actual.getSmallestMinY(), 0);
+    Assert.assertEquals(expected.getLargestMaxX(), actual.getLargestMaxX(), 0);
+    Assert.assertEquals(expected.getLargestMaxY(), actual.getLargestMaxY(), 0);
+  }
+
+  /**
+   * Creates a character with the given position, size, font face and color.
+   */
+  protected static Character createCharacter(float minX, float minY, float width, float height,
+      int style) {
+    Character character = new Character();
+    character.setPosition(new Position(PAGE, minX, minY, minX + width, minY + height));
+    character.setFontFace(FONT_FACES[style]);
+    character.setColor(COLORS[style]);
+    return character;
+  }
+
+  /**
+   * Creates a page with the statistic of the given characters.
+   */
+  protected static Page createPage(Character... characters) {
+    return createPage(Arrays.asList(characters));
+  }
+
+  /**
+   * Creates a page with the statistic of the given characters.
+   */
+  protected static Page createPage(List<Character> characters) {
+    Page page = new Page(1);
+    page.setCharacterStatistic(CharacterStatistic.fromCharacters(characters));
+    return page;
+  }
+}
@@ -0,0 +1,52 @@
+package pdfact.core.model;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class PageSelectionTest {
+  @Test
+  public void testFromString() {
+    PageSelection selection = PageSelection.fromString("1-3, 10,12-");
+    Assert.assertTrue(selection.contains(1));
+    Assert.assertTrue(selection.contains(3));
+    Assert.assertFalse(selection.contains(4));
+    Assert.assertTrue(selection.contains(10));
+    Assert.assertFalse(selection.contains(11));
+    Assert.assertTrue(selection.contains(12));
+    Assert.assertTrue(selection.contains(1000));
+    Assert.assertEquals("1-3,10,12-", selection.toString());
+  }
+
+  @Test
+  public void testContainsAny() {
+    PageSelection selection = PageSelection.fromString("10-12,20");
+    Assert.assertFalse(selection.containsAny(0));
+    Assert.assertFalse(selection.containsAny(9));
+    Assert.assertTrue(selection.containsAny(10));
+    Assert.assertTrue(selection.containsAny(15));
+    Assert.assertTrue(PageSelection.fromString("5-").containsAny(5));
+    Assert.assertFalse(PageSelection.fromString("5-").containsAny(4));
+  }
+
+  @Test
+  public void testInvalidStrings() {
+    String[] strings = { "", "a", "0", "3-1", "1-b", "-2", "1,,2" };
+    for (String str : strings) {
+      try {
+        PageSelection.fromString(str);
+        Assert.fail("No exception for \"" + str + "\".");
+      } catch (IllegalArgumentException e) {
+        // Expected.
+      }
+    }
+  }
+
+  @Test
+  public void testDocument() {
+    Document pdf = new Document("test.pdf");
+    Assert.assertTrue(pdf.isSelectedPage(7));
+    pdf.setPageSelection(new PageSelection(2, 3));
+    Assert.assertFalse(pdf.isSelectedPage(1));
+    Assert.assertTrue(pdf.isSelectedPage(2));
+  }
+}
@@ -0,0 +1,104 @@
+package pdfact.core.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Test;
+import pdfact.core.util.list.ElementList;
+
+public class SpatialIndexTest {
+  @Test
+  public void testQueries() {
+    Random random = new Random(42);
+    Page page = new Page(1);
+
+    // Create many small elements (like characters) and a few large ones (like figures).
+    ElementList<Figure> figures = new ElementList<>();
+    for (int i = 0; i < 2000; i++) {
+      float size = i % 100 == 0 ? 200 : 5;
+      figures.add(createFigure(page, random, size));
+    }
+    page.setFigures(figures);
+
+    SpatialIndex<Figure> index = page.getFigureIndex();
+    Assert.assertEquals(figures.size(), index.size());
+    Assert.assertSame(index, page.getFigureIndex());
+
+    for (int i = 0; i < 500; i++) {
+      Rectangle rect = createRectangle(random, 50);
+
+      List<Figure> overlapping = new ArrayList<>();
+      List<Figure> contained = new ArrayList<>();
+      for (Figure figure : figures) {
+        if (figure.getPosition().getRectangle().overlaps(rect)) {
+          overlapping.add(figure);
+        }
+        if (rect.contains(figure.getPosition().getRectangle())) {
+          contained.add(figure);
+        }
+      }
+      Assert.assertEquals(overlapping, index.getOverlapping(rect));
+      Assert.assertEquals(contained, index.getContained(rect));
+
+      Point point = new Point(rect.getMinX(), rect.getMinY());
+      Assert.assertSame(getNearest(figures, point.getX(), point.getY(), point.getX(),
+          point.getY(), null), index.getNearest(point));
+
+      Figure figure = figures.get(i);
+      Rectangle box = figure.getPosition().getRectangle();
+      Assert.assertSame(getNearest(figures, box.getMinX(), box.getMinY(), box.getMaxX(),
+          box.getMaxY(), figure), index.getNearest(figure));
+    }
+
+    // The index is recreated after the figures were changed via the page.
+    page.addFigure(createFigure(page, random, 5));
+    Assert.assertNotSame(index, page.getFigureIndex());
+    Assert.assertEquals(figures.size(), page.getFigureIndex().size());
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Returns the element nearest to the given rectangle by scanning all elements.
+   */
+  protected static Figure getNearest(List<Figure> figures, float minX, float minY, float maxX,
+      float maxY, Figure exclude) {
+    Figure nearest = null;
+    double nearestDistance = Double.POSITIVE_INFINITY;
+    for (Figure figure : figures) {
+      if (figure == exclude) {
+        continue;
+      }
+      Rectangle rect = figure.getPosition().getRectangle();
+      double dx = Math.max(0, Math.max(rect.getMinX() - maxX, minX - rect.getMaxX()));
+      double dy = Math.max(0, Math.max(rect.getMinY() - maxY, minY - rect.getMaxY()));
+      double distance = Math.sqrt(dx * dx + dy * dy);
+      if (distance < nearestDistance) {
+        nearest = figure;
+        nearestDistance = distance;
+      }
+    }
+    return nearest;
+  }
+
+  /**
+   * Creates a figure with a random position.
+   */
+  protected static Figure createFigure(Page page, Random random, float maxSize) {
+    Figure figure = new Figure();
+    figure.setPosition(new Position(page, createRectangle(random, maxSize)));
+    return figure;
+  }
+
+  /**
+   * Creates a random rectangle within a page of size 600x800.
+   */
+  protected static Rectangle createRectangle(Random random, float maxSize) {
+    float minX = random.nextFloat() * 600;
+    float minY = random.nextFloat() * 800;
+    float width = random.nextFloat() * maxSize;
+    float height = random.nextFloat() * maxSize;
+    return new Rectangle(minX, minY, minX + width, minY + height);
+  }
+}
@@ -0,0 +1,78 @@
+package pdfact.core.pipes.semanticize.modules;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Test;
+import pdfact.core.model.Document;
+import pdfact.core.model.Page;
+import pdfact.core.model.Position;
+import pdfact.core.model.SemanticRole;
+import pdfact.core.model.TextBlock;
+import pdfact.core.util.list.ElementList;
+
+public class AbstractModuleTest {
+  @Test
+  public void testUnfinishedAbstract() {
+    AbstractModule module = new AbstractModule();
+    Assert.assertFalse(module.isUnfinished());
+
+    // The first page contains the heading of the abstract and the start of the abstract.
+    Page page1 = new Page(1);
+    TextBlock heading = createBlock(page1, SemanticRole.HEADING, SemanticRole.ABSTRACT);
+    TextBlock block1 = createBlock(page1, SemanticRole.BODY_TEXT, null);
+    module.semanticize(createDocument(page1));
+    Assert.assertEquals(SemanticRole.HEADING, heading.getSemanticRole());
+    Assert.assertEquals(SemanticRole.ABSTRACT, block1.getSemanticRole());
+    Assert.assertTrue(module.isUnfinished());
+
+    // The second page contains the end of the abstract, followed by the next heading.
+    Page page2 = new Page(2);
+    TextBlock block2 = createBlock(page2, SemanticRole.BODY_TEXT, null);
+    TextBlock nextHeading = createBlock(page2, SemanticRole.HEADING, null);
+    TextBlock block3 = createBlock(page2, SemanticRole.BODY_TEXT, null);
+    module.semanticize(createDocument(page2));
+    Assert.assertEquals(SemanticRole.ABSTRACT, block2.getSemanticRole());
+    Assert.assertEquals(SemanticRole.HEADING, nextHeading.getSemanticRole());
+    Assert.assertEquals(SemanticRole.BODY_TEXT, block3.getSemanticRole());
+    Assert.assertFalse(module.isUnfinished());
+  }
+
+  @Test
+  public void testTitleIsNeverUnfinished() {
+    TitleModule module = new TitleModule();
+    Page page = new Page(2);
+    createBlock(page, SemanticRole.BODY_TEXT, null);
+    module.semanticize(createDocument(page));
+    Assert.assertFalse(module.isUnfinished());
+  }
+
+  // ==============================================================================================
+
+  /**
+   * Creates a document that contains the given page only.
+   */
+  protected static Document createDocument(Page page) {
+    Document pdf = new Document("test.pdf");
+    List<Page> pages = new ArrayList<>();
+    pages.add(page);
+    pdf.setPages(pages);
+    return pdf;
+  }
+
+  /**
+   * Creates a text block with the given roles and adds it to the given page.
+   */
+  protected static TextBlock createBlock(Page page, SemanticRole role, SemanticRole secondaryRole) {
+    TextBlock block = new TextBlock();
+    block.setText("text");
+    block.setPosition(new Position(page, 0, 0, 10, 10));
+    block.setSemanticRole(role);
+    block.setSecondarySemanticRole(secondaryRole);
+    if (page.getTextBlocks() == null) {
+      page.setTextBlocks(new ElementList<TextBlock>());
+    }
+    page.addTextBlock(block);
+    return block;
+  }
+}